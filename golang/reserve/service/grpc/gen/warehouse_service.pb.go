@@ -191,6 +191,94 @@ func (x *GetItemCostResponse) GetCost() float64 {
 	return 0
 }
 
+type GetItemCostsRequest struct {
+	state         protoimpl.MessageState `protogen:"open.v1"`
+	Ids           []string               `protobuf:"bytes,1,rep,name=ids,proto3" json:"ids,omitempty"`
+	unknownFields protoimpl.UnknownFields
+	sizeCache     protoimpl.SizeCache
+}
+
+func (x *GetItemCostsRequest) Reset() {
+	*x = GetItemCostsRequest{}
+	mi := &file_warehouse_v1_api_warehouse_service_proto_msgTypes[4]
+	ms := protoimpl.X.MessageStateOf(protoimpl.Pointer(x))
+	ms.StoreMessageInfo(mi)
+}
+
+func (x *GetItemCostsRequest) String() string {
+	return protoimpl.X.MessageStringOf(x)
+}
+
+func (*GetItemCostsRequest) ProtoMessage() {}
+
+func (x *GetItemCostsRequest) ProtoReflect() protoreflect.Message {
+	mi := &file_warehouse_v1_api_warehouse_service_proto_msgTypes[4]
+	if x != nil {
+		ms := protoimpl.X.MessageStateOf(protoimpl.Pointer(x))
+		if ms.LoadMessageInfo() == nil {
+			ms.StoreMessageInfo(mi)
+		}
+		return ms
+	}
+	return mi.MessageOf(x)
+}
+
+// Deprecated: Use GetItemCostsRequest.ProtoReflect.Descriptor instead.
+func (*GetItemCostsRequest) Descriptor() ([]byte, []int) {
+	return file_warehouse_v1_api_warehouse_service_proto_rawDescGZIP(), []int{4}
+}
+
+func (x *GetItemCostsRequest) GetIds() []string {
+	if x != nil {
+		return x.Ids
+	}
+	return nil
+}
+
+type GetItemCostsResponse struct {
+	state         protoimpl.MessageState `protogen:"open.v1"`
+	Costs         map[string]float64     `protobuf:"bytes,1,rep,name=costs,proto3" json:"costs,omitempty" protobuf_key:"bytes,1,opt,name=key" protobuf_val:"fixed64,2,opt,name=value"`
+	unknownFields protoimpl.UnknownFields
+	sizeCache     protoimpl.SizeCache
+}
+
+func (x *GetItemCostsResponse) Reset() {
+	*x = GetItemCostsResponse{}
+	mi := &file_warehouse_v1_api_warehouse_service_proto_msgTypes[5]
+	ms := protoimpl.X.MessageStateOf(protoimpl.Pointer(x))
+	ms.StoreMessageInfo(mi)
+}
+
+func (x *GetItemCostsResponse) String() string {
+	return protoimpl.X.MessageStringOf(x)
+}
+
+func (*GetItemCostsResponse) ProtoMessage() {}
+
+func (x *GetItemCostsResponse) ProtoReflect() protoreflect.Message {
+	mi := &file_warehouse_v1_api_warehouse_service_proto_msgTypes[5]
+	if x != nil {
+		ms := protoimpl.X.MessageStateOf(protoimpl.Pointer(x))
+		if ms.LoadMessageInfo() == nil {
+			ms.StoreMessageInfo(mi)
+		}
+		return ms
+	}
+	return mi.MessageOf(x)
+}
+
+// Deprecated: Use GetItemCostsResponse.ProtoReflect.Descriptor instead.
+func (*GetItemCostsResponse) Descriptor() ([]byte, []int) {
+	return file_warehouse_v1_api_warehouse_service_proto_rawDescGZIP(), []int{5}
+}
+
+func (x *GetItemCostsResponse) GetCosts() map[string]float64 {
+	if x != nil {
+		return x.Costs
+	}
+	return nil
+}
+
 type ItemTopUpRequest struct {
 	state         protoimpl.MessageState  `protogen:"open.v1"`
 	TopUp         *ItemTopUpRequest_TopUp `protobuf:"bytes,1,opt,name=top_up,json=topUp,proto3" json:"top_up,omitempty"`
@@ -200,7 +288,7 @@ type ItemTopUpRequest struct {
 
 func (x *ItemTopUpRequest) Reset() {
 	*x = ItemTopUpRequest{}
-	mi := &file_warehouse_v1_api_warehouse_service_proto_msgTypes[4]
+	mi := &file_warehouse_v1_api_warehouse_service_proto_msgTypes[6]
 	ms := protoimpl.X.MessageStateOf(protoimpl.Pointer(x))
 	ms.StoreMessageInfo(mi)
 }
@@ -212,7 +300,7 @@ func (x *ItemTopUpRequest) String() string {
 func (*ItemTopUpRequest) ProtoMessage() {}
 
 func (x *ItemTopUpRequest) ProtoReflect() protoreflect.Message {
-	mi := &file_warehouse_v1_api_warehouse_service_proto_msgTypes[4]
+	mi := &file_warehouse_v1_api_warehouse_service_proto_msgTypes[6]
 	if x != nil {
 		ms := protoimpl.X.MessageStateOf(protoimpl.Pointer(x))
 		if ms.LoadMessageInfo() == nil {
@@ -225,7 +313,7 @@ func (x *ItemTopUpRequest) ProtoReflect() protoreflect.Message {
 
 // Deprecated: Use ItemTopUpRequest.ProtoReflect.Descriptor instead.
 func (*ItemTopUpRequest) Descriptor() ([]byte, []int) {
-	return file_warehouse_v1_api_warehouse_service_proto_rawDescGZIP(), []int{4}
+	return file_warehouse_v1_api_warehouse_service_proto_rawDescGZIP(), []int{6}
 }
 
 func (x *ItemTopUpRequest) GetTopUp() *ItemTopUpRequest_TopUp {
@@ -244,7 +332,7 @@ type ItemTopUpResponse struct {
 
 func (x *ItemTopUpResponse) Reset() {
 	*x = ItemTopUpResponse{}
-	mi := &file_warehouse_v1_api_warehouse_service_proto_msgTypes[5]
+	mi := &file_warehouse_v1_api_warehouse_service_proto_msgTypes[7]
 	ms := protoimpl.X.MessageStateOf(protoimpl.Pointer(x))
 	ms.StoreMessageInfo(mi)
 }
@@ -256,7 +344,7 @@ func (x *ItemTopUpResponse) String() string {
 func (*ItemTopUpResponse) ProtoMessage() {}
 
 func (x *ItemTopUpResponse) ProtoReflect() protoreflect.Message {
-	mi := &file_warehouse_v1_api_warehouse_service_proto_msgTypes[5]
+	mi := &file_warehouse_v1_api_warehouse_service_proto_msgTypes[7]
 	if x != nil {
 		ms := protoimpl.X.MessageStateOf(protoimpl.Pointer(x))
 		if ms.LoadMessageInfo() == nil {
@@ -269,7 +357,7 @@ func (x *ItemTopUpResponse) ProtoReflect() protoreflect.Message {
 
 // Deprecated: Use ItemTopUpResponse.ProtoReflect.Descriptor instead.
 func (*ItemTopUpResponse) Descriptor() ([]byte, []int) {
-	return file_warehouse_v1_api_warehouse_service_proto_rawDescGZIP(), []int{5}
+	return file_warehouse_v1_api_warehouse_service_proto_rawDescGZIP(), []int{7}
 }
 
 func (x *ItemTopUpResponse) GetAmount() int32 {
@@ -289,7 +377,7 @@ type ItemTopUpRequest_TopUp struct {
 
 func (x *ItemTopUpRequest_TopUp) Reset() {
 	*x = ItemTopUpRequest_TopUp{}
-	mi := &file_warehouse_v1_api_warehouse_service_proto_msgTypes[6]
+	mi := &file_warehouse_v1_api_warehouse_service_proto_msgTypes[9]
 	ms := protoimpl.X.MessageStateOf(protoimpl.Pointer(x))
 	ms.StoreMessageInfo(mi)
 }
@@ -301,7 +389,7 @@ func (x *ItemTopUpRequest_TopUp) String() string {
 func (*ItemTopUpRequest_TopUp) ProtoMessage() {}
 
 func (x *ItemTopUpRequest_TopUp) ProtoReflect() protoreflect.Message {
-	mi := &file_warehouse_v1_api_warehouse_service_proto_msgTypes[6]
+	mi := &file_warehouse_v1_api_warehouse_service_proto_msgTypes[9]
 	if x != nil {
 		ms := protoimpl.X.MessageStateOf(protoimpl.Pointer(x))
 		if ms.LoadMessageInfo() == nil {
@@ -314,7 +402,7 @@ func (x *ItemTopUpRequest_TopUp) ProtoReflect() protoreflect.Message {
 
 // Deprecated: Use ItemTopUpRequest_TopUp.ProtoReflect.Descriptor instead.
 func (*ItemTopUpRequest_TopUp) Descriptor() ([]byte, []int) {
-	return file_warehouse_v1_api_warehouse_service_proto_rawDescGZIP(), []int{4, 0}
+	return file_warehouse_v1_api_warehouse_service_proto_rawDescGZIP(), []int{6, 0}
 }
 
 func (x *ItemTopUpRequest_TopUp) GetId() string {
@@ -342,16 +430,25 @@ const file_warehouse_v1_api_warehouse_service_proto_rawDesc = "" +
 	"\x12GetItemCostRequest\x12\x0e\n" +
 	"\x02id\x18\x01 \x01(\tR\x02id\")\n" +
 	"\x13GetItemCostResponse\x12\x12\n" +
-	"\x04cost\x18\x01 \x01(\x01R\x04cost\"\x80\x01\n" +
+	"\x04cost\x18\x01 \x01(\x01R\x04cost\"'\n" +
+	"\x13GetItemCostsRequest\x12\x10\n" +
+	"\x03ids\x18\x01 \x03(\tR\x03ids\"\x95\x01\n" +
+	"\x14GetItemCostsResponse\x12C\n" +
+	"\x05costs\x18\x01 \x03(\v2-.warehouse.v1.GetItemCostsResponse.CostsEntryR\x05costs\x1a8\n" +
+	"\n" +
+	"CostsEntry\x12\x10\n" +
+	"\x03key\x18\x01 \x01(\tR\x03key\x12\x14\n" +
+	"\x05value\x18\x02 \x01(\x01R\x05value:\x028\x01\"\x80\x01\n" +
 	"\x10ItemTopUpRequest\x12;\n" +
 	"\x06top_up\x18\x01 \x01(\v2$.warehouse.v1.ItemTopUpRequest.TopUpR\x05topUp\x1a/\n" +
 	"\x05TopUp\x12\x0e\n" +
 	"\x02id\x18\x01 \x01(\tR\x02id\x12\x16\n" +
 	"\x06amount\x18\x02 \x01(\x05R\x06amount\"+\n" +
 	"\x11ItemTopUpResponse\x12\x16\n" +
-	"\x06amount\x18\x01 \x01(\x05R\x06amount2\xef\x02\n" +
+	"\x06amount\x18\x01 \x01(\x05R\x06amount2\xee\x03\n" +
 	"\x14WarehouseItemService\x12\x7f\n" +
-	"\vGetItemCost\x12 .warehouse.v1.GetItemCostRequest\x1a!.warehouse.v1.GetItemCostResponse\"+\x82\xd3\xe4\x93\x02%b\x01*\x12 /api/v1/warehouse/item/cost/{id}\x12i\n" +
+	"\vGetItemCost\x12 .warehouse.v1.GetItemCostRequest\x1a!.warehouse.v1.GetItemCostResponse\"+\x82\xd3\xe4\x93\x02%b\x01*\x12 /api/v1/warehouse/item/cost/{id}\x12}\n" +
+	"\fGetItemCosts\x12!.warehouse.v1.GetItemCostsRequest\x1a\".warehouse.v1.GetItemCostsResponse\"&\x82\xd3\xe4\x93\x02 :\x01*\"\x1b/api/v1/warehouse/item/cost\x12i\n" +
 	"\bItemList\x12\x1d.warehouse.v1.ItemListRequest\x1a\x1e.warehouse.v1.ItemListResponse\"\x1e\x82\xd3\xe4\x93\x02\x18\x12\x16/api/v1/warehouse/item\x12k\n" +
 	"\x05TopUp\x12\x1e.warehouse.v1.ItemTopUpRequest\x1a\x1f.warehouse.v1.ItemTopUpResponse\"!\x82\xd3\xe4\x93\x02\x1b:\x01*\x1a\x16/api/v1/warehouse/itemb\x06proto3"
 
@@ -367,31 +464,37 @@ func file_warehouse_v1_api_warehouse_service_proto_rawDescGZIP() []byte {
 	return file_warehouse_v1_api_warehouse_service_proto_rawDescData
 }
 
-var file_warehouse_v1_api_warehouse_service_proto_msgTypes = make([]protoimpl.MessageInfo, 7)
+var file_warehouse_v1_api_warehouse_service_proto_msgTypes = make([]protoimpl.MessageInfo, 10)
 var file_warehouse_v1_api_warehouse_service_proto_goTypes = []any{
 	(*ItemListRequest)(nil),        // 0: warehouse.v1.ItemListRequest
 	(*ItemListResponse)(nil),       // 1: warehouse.v1.ItemListResponse
 	(*GetItemCostRequest)(nil),     // 2: warehouse.v1.GetItemCostRequest
 	(*GetItemCostResponse)(nil),    // 3: warehouse.v1.GetItemCostResponse
-	(*ItemTopUpRequest)(nil),       // 4: warehouse.v1.ItemTopUpRequest
-	(*ItemTopUpResponse)(nil),      // 5: warehouse.v1.ItemTopUpResponse
-	(*ItemTopUpRequest_TopUp)(nil), // 6: warehouse.v1.ItemTopUpRequest.TopUp
-	(*Item)(nil),                   // 7: warehouse.v1.Item
+	(*GetItemCostsRequest)(nil),    // 4: warehouse.v1.GetItemCostsRequest
+	(*GetItemCostsResponse)(nil),   // 5: warehouse.v1.GetItemCostsResponse
+	(*ItemTopUpRequest)(nil),       // 6: warehouse.v1.ItemTopUpRequest
+	(*ItemTopUpResponse)(nil),      // 7: warehouse.v1.ItemTopUpResponse
+	nil,                            // 8: warehouse.v1.GetItemCostsResponse.CostsEntry
+	(*ItemTopUpRequest_TopUp)(nil), // 9: warehouse.v1.ItemTopUpRequest.TopUp
+	(*Item)(nil),                   // 10: warehouse.v1.Item
 }
 var file_warehouse_v1_api_warehouse_service_proto_depIdxs = []int32{
-	7, // 0: warehouse.v1.ItemListResponse.accounts:type_name -> warehouse.v1.Item
-	6, // 1: warehouse.v1.ItemTopUpRequest.top_up:type_name -> warehouse.v1.ItemTopUpRequest.TopUp
-	2, // 2: warehouse.v1.WarehouseItemService.GetItemCost:input_type -> warehouse.v1.GetItemCostRequest
-	0, // 3: warehouse.v1.WarehouseItemService.ItemList:input_type -> warehouse.v1.ItemListRequest
-	4, // 4: warehouse.v1.WarehouseItemService.TopUp:input_type -> warehouse.v1.ItemTopUpRequest
-	3, // 5: warehouse.v1.WarehouseItemService.GetItemCost:output_type -> warehouse.v1.GetItemCostResponse
-	1, // 6: warehouse.v1.WarehouseItemService.ItemList:output_type -> warehouse.v1.ItemListResponse
-	5, // 7: warehouse.v1.WarehouseItemService.TopUp:output_type -> warehouse.v1.ItemTopUpResponse
-	5, // [5:8] is the sub-list for method output_type
-	2, // [2:5] is the sub-list for method input_type
-	2, // [2:2] is the sub-list for extension type_name
-	2, // [2:2] is the sub-list for extension extendee
-	0, // [0:2] is the sub-list for field type_name
+	10, // 0: warehouse.v1.ItemListResponse.accounts:type_name -> warehouse.v1.Item
+	8,  // 1: warehouse.v1.GetItemCostsResponse.costs:type_name -> warehouse.v1.GetItemCostsResponse.CostsEntry
+	9,  // 2: warehouse.v1.ItemTopUpRequest.top_up:type_name -> warehouse.v1.ItemTopUpRequest.TopUp
+	2,  // 3: warehouse.v1.WarehouseItemService.GetItemCost:input_type -> warehouse.v1.GetItemCostRequest
+	4,  // 4: warehouse.v1.WarehouseItemService.GetItemCosts:input_type -> warehouse.v1.GetItemCostsRequest
+	0,  // 5: warehouse.v1.WarehouseItemService.ItemList:input_type -> warehouse.v1.ItemListRequest
+	6,  // 6: warehouse.v1.WarehouseItemService.TopUp:input_type -> warehouse.v1.ItemTopUpRequest
+	3,  // 7: warehouse.v1.WarehouseItemService.GetItemCost:output_type -> warehouse.v1.GetItemCostResponse
+	5,  // 8: warehouse.v1.WarehouseItemService.GetItemCosts:output_type -> warehouse.v1.GetItemCostsResponse
+	1,  // 9: warehouse.v1.WarehouseItemService.ItemList:output_type -> warehouse.v1.ItemListResponse
+	7,  // 10: warehouse.v1.WarehouseItemService.TopUp:output_type -> warehouse.v1.ItemTopUpResponse
+	7,  // [7:11] is the sub-list for method output_type
+	3,  // [3:7] is the sub-list for method input_type
+	3,  // [3:3] is the sub-list for extension type_name
+	3,  // [3:3] is the sub-list for extension extendee
+	0,  // [0:3] is the sub-list for field type_name
 }
 
 func init() { file_warehouse_v1_api_warehouse_service_proto_init() }
@@ -406,7 +509,7 @@ func file_warehouse_v1_api_warehouse_service_proto_init() {
 			GoPackagePath: reflect.TypeOf(x{}).PkgPath(),
 			RawDescriptor: unsafe.Slice(unsafe.StringData(file_warehouse_v1_api_warehouse_service_proto_rawDesc), len(file_warehouse_v1_api_warehouse_service_proto_rawDesc)),
 			NumEnums:      0,
-			NumMessages:   7,
+			NumMessages:   10,
 			NumExtensions: 0,
 			NumServices:   1,
 		},
@@ -74,6 +74,33 @@ func local_request_WarehouseItemService_GetItemCost_0(ctx context.Context, marsh
 	return msg, metadata, err
 }
 
+func request_WarehouseItemService_GetItemCosts_0(ctx context.Context, marshaler runtime.Marshaler, client WarehouseItemServiceClient, req *http.Request, pathParams map[string]string) (proto.Message, runtime.ServerMetadata, error) {
+	var (
+		protoReq GetItemCostsRequest
+		metadata runtime.ServerMetadata
+	)
+	if err := marshaler.NewDecoder(req.Body).Decode(&protoReq); err != nil && !errors.Is(err, io.EOF) {
+		return nil, metadata, status.Errorf(codes.InvalidArgument, "%v", err)
+	}
+	if req.Body != nil {
+		_, _ = io.Copy(io.Discard, req.Body)
+	}
+	msg, err := client.GetItemCosts(ctx, &protoReq, grpc.Header(&metadata.HeaderMD), grpc.Trailer(&metadata.TrailerMD))
+	return msg, metadata, err
+}
+
+func local_request_WarehouseItemService_GetItemCosts_0(ctx context.Context, marshaler runtime.Marshaler, server WarehouseItemServiceServer, req *http.Request, pathParams map[string]string) (proto.Message, runtime.ServerMetadata, error) {
+	var (
+		protoReq GetItemCostsRequest
+		metadata runtime.ServerMetadata
+	)
+	if err := marshaler.NewDecoder(req.Body).Decode(&protoReq); err != nil && !errors.Is(err, io.EOF) {
+		return nil, metadata, status.Errorf(codes.InvalidArgument, "%v", err)
+	}
+	msg, err := server.GetItemCosts(ctx, &protoReq)
+	return msg, metadata, err
+}
+
 func request_WarehouseItemService_ItemList_0(ctx context.Context, marshaler runtime.Marshaler, client WarehouseItemServiceClient, req *http.Request, pathParams map[string]string) (proto.Message, runtime.ServerMetadata, error) {
 	var (
 		protoReq ItemListRequest
@@ -148,6 +175,26 @@ func RegisterWarehouseItemServiceHandlerServer(ctx context.Context, mux *runtime
 		}
 		forward_WarehouseItemService_GetItemCost_0(annotatedContext, mux, outboundMarshaler, w, req, resp, mux.GetForwardResponseOptions()...)
 	})
+	mux.Handle(http.MethodPost, pattern_WarehouseItemService_GetItemCosts_0, func(w http.ResponseWriter, req *http.Request, pathParams map[string]string) {
+		ctx, cancel := context.WithCancel(req.Context())
+		defer cancel()
+		var stream runtime.ServerTransportStream
+		ctx = grpc.NewContextWithServerTransportStream(ctx, &stream)
+		inboundMarshaler, outboundMarshaler := runtime.MarshalerForRequest(mux, req)
+		annotatedContext, err := runtime.AnnotateIncomingContext(ctx, mux, req, "/warehouse.v1.WarehouseItemService/GetItemCosts", runtime.WithHTTPPathPattern("/api/v1/warehouse/item/cost"))
+		if err != nil {
+			runtime.HTTPError(ctx, mux, outboundMarshaler, w, req, err)
+			return
+		}
+		resp, md, err := local_request_WarehouseItemService_GetItemCosts_0(annotatedContext, inboundMarshaler, server, req, pathParams)
+		md.HeaderMD, md.TrailerMD = metadata.Join(md.HeaderMD, stream.Header()), metadata.Join(md.TrailerMD, stream.Trailer())
+		annotatedContext = runtime.NewServerMetadataContext(annotatedContext, md)
+		if err != nil {
+			runtime.HTTPError(annotatedContext, mux, outboundMarshaler, w, req, err)
+			return
+		}
+		forward_WarehouseItemService_GetItemCosts_0(annotatedContext, mux, outboundMarshaler, w, req, resp, mux.GetForwardResponseOptions()...)
+	})
 	mux.Handle(http.MethodGet, pattern_WarehouseItemService_ItemList_0, func(w http.ResponseWriter, req *http.Request, pathParams map[string]string) {
 		ctx, cancel := context.WithCancel(req.Context())
 		defer cancel()
@@ -245,6 +292,23 @@ func RegisterWarehouseItemServiceHandlerClient(ctx context.Context, mux *runtime
 		}
 		forward_WarehouseItemService_GetItemCost_0(annotatedContext, mux, outboundMarshaler, w, req, resp, mux.GetForwardResponseOptions()...)
 	})
+	mux.Handle(http.MethodPost, pattern_WarehouseItemService_GetItemCosts_0, func(w http.ResponseWriter, req *http.Request, pathParams map[string]string) {
+		ctx, cancel := context.WithCancel(req.Context())
+		defer cancel()
+		inboundMarshaler, outboundMarshaler := runtime.MarshalerForRequest(mux, req)
+		annotatedContext, err := runtime.AnnotateContext(ctx, mux, req, "/warehouse.v1.WarehouseItemService/GetItemCosts", runtime.WithHTTPPathPattern("/api/v1/warehouse/item/cost"))
+		if err != nil {
+			runtime.HTTPError(ctx, mux, outboundMarshaler, w, req, err)
+			return
+		}
+		resp, md, err := request_WarehouseItemService_GetItemCosts_0(annotatedContext, inboundMarshaler, client, req, pathParams)
+		annotatedContext = runtime.NewServerMetadataContext(annotatedContext, md)
+		if err != nil {
+			runtime.HTTPError(annotatedContext, mux, outboundMarshaler, w, req, err)
+			return
+		}
+		forward_WarehouseItemService_GetItemCosts_0(annotatedContext, mux, outboundMarshaler, w, req, resp, mux.GetForwardResponseOptions()...)
+	})
 	mux.Handle(http.MethodGet, pattern_WarehouseItemService_ItemList_0, func(w http.ResponseWriter, req *http.Request, pathParams map[string]string) {
 		ctx, cancel := context.WithCancel(req.Context())
 		defer cancel()
@@ -283,13 +347,15 @@ func RegisterWarehouseItemServiceHandlerClient(ctx context.Context, mux *runtime
 }
 
 var (
-	pattern_WarehouseItemService_GetItemCost_0 = runtime.MustPattern(runtime.NewPattern(1, []int{2, 0, 2, 1, 2, 2, 2, 3, 2, 4, 1, 0, 4, 1, 5, 5}, []string{"api", "v1", "warehouse", "item", "cost", "id"}, ""))
-	pattern_WarehouseItemService_ItemList_0    = runtime.MustPattern(runtime.NewPattern(1, []int{2, 0, 2, 1, 2, 2, 2, 3}, []string{"api", "v1", "warehouse", "item"}, ""))
-	pattern_WarehouseItemService_TopUp_0       = runtime.MustPattern(runtime.NewPattern(1, []int{2, 0, 2, 1, 2, 2, 2, 3}, []string{"api", "v1", "warehouse", "item"}, ""))
+	pattern_WarehouseItemService_GetItemCost_0  = runtime.MustPattern(runtime.NewPattern(1, []int{2, 0, 2, 1, 2, 2, 2, 3, 2, 4, 1, 0, 4, 1, 5, 5}, []string{"api", "v1", "warehouse", "item", "cost", "id"}, ""))
+	pattern_WarehouseItemService_GetItemCosts_0 = runtime.MustPattern(runtime.NewPattern(1, []int{2, 0, 2, 1, 2, 2, 2, 3, 2, 4}, []string{"api", "v1", "warehouse", "item", "cost"}, ""))
+	pattern_WarehouseItemService_ItemList_0     = runtime.MustPattern(runtime.NewPattern(1, []int{2, 0, 2, 1, 2, 2, 2, 3}, []string{"api", "v1", "warehouse", "item"}, ""))
+	pattern_WarehouseItemService_TopUp_0        = runtime.MustPattern(runtime.NewPattern(1, []int{2, 0, 2, 1, 2, 2, 2, 3}, []string{"api", "v1", "warehouse", "item"}, ""))
 )
 
 var (
-	forward_WarehouseItemService_GetItemCost_0 = runtime.ForwardResponseMessage
-	forward_WarehouseItemService_ItemList_0    = runtime.ForwardResponseMessage
-	forward_WarehouseItemService_TopUp_0       = runtime.ForwardResponseMessage
+	forward_WarehouseItemService_GetItemCost_0  = runtime.ForwardResponseMessage
+	forward_WarehouseItemService_GetItemCosts_0 = runtime.ForwardResponseMessage
+	forward_WarehouseItemService_ItemList_0     = runtime.ForwardResponseMessage
+	forward_WarehouseItemService_TopUp_0        = runtime.ForwardResponseMessage
 )
@@ -19,9 +19,10 @@ import (
 const _ = grpc.SupportPackageIsVersion9
 
 const (
-	WarehouseItemService_GetItemCost_FullMethodName = "/warehouse.v1.WarehouseItemService/GetItemCost"
-	WarehouseItemService_ItemList_FullMethodName    = "/warehouse.v1.WarehouseItemService/ItemList"
-	WarehouseItemService_TopUp_FullMethodName       = "/warehouse.v1.WarehouseItemService/TopUp"
+	WarehouseItemService_GetItemCost_FullMethodName  = "/warehouse.v1.WarehouseItemService/GetItemCost"
+	WarehouseItemService_GetItemCosts_FullMethodName = "/warehouse.v1.WarehouseItemService/GetItemCosts"
+	WarehouseItemService_ItemList_FullMethodName     = "/warehouse.v1.WarehouseItemService/ItemList"
+	WarehouseItemService_TopUp_FullMethodName        = "/warehouse.v1.WarehouseItemService/TopUp"
 )
 
 // WarehouseItemServiceClient is the client API for WarehouseItemService service.
@@ -29,6 +30,7 @@ const (
 // For semantics around ctx use and closing/ending streaming RPCs, please refer to https://pkg.go.dev/google.golang.org/grpc/?tab=doc#ClientConn.NewStream.
 type WarehouseItemServiceClient interface {
 	GetItemCost(ctx context.Context, in *GetItemCostRequest, opts ...grpc.CallOption) (*GetItemCostResponse, error)
+	GetItemCosts(ctx context.Context, in *GetItemCostsRequest, opts ...grpc.CallOption) (*GetItemCostsResponse, error)
 	ItemList(ctx context.Context, in *ItemListRequest, opts ...grpc.CallOption) (*ItemListResponse, error)
 	TopUp(ctx context.Context, in *ItemTopUpRequest, opts ...grpc.CallOption) (*ItemTopUpResponse, error)
 }
@@ -51,6 +53,16 @@ func (c *warehouseItemServiceClient) GetItemCost(ctx context.Context, in *GetIte
 	return out, nil
 }
 
+func (c *warehouseItemServiceClient) GetItemCosts(ctx context.Context, in *GetItemCostsRequest, opts ...grpc.CallOption) (*GetItemCostsResponse, error) {
+	cOpts := append([]grpc.CallOption{grpc.StaticMethod()}, opts...)
+	out := new(GetItemCostsResponse)
+	err := c.cc.Invoke(ctx, WarehouseItemService_GetItemCosts_FullMethodName, in, out, cOpts...)
+	if err != nil {
+		return nil, err
+	}
+	return out, nil
+}
+
 func (c *warehouseItemServiceClient) ItemList(ctx context.Context, in *ItemListRequest, opts ...grpc.CallOption) (*ItemListResponse, error) {
 	cOpts := append([]grpc.CallOption{grpc.StaticMethod()}, opts...)
 	out := new(ItemListResponse)
@@ -76,6 +88,7 @@ func (c *warehouseItemServiceClient) TopUp(ctx context.Context, in *ItemTopUpReq
 // for forward compatibility.
 type WarehouseItemServiceServer interface {
 	GetItemCost(context.Context, *GetItemCostRequest) (*GetItemCostResponse, error)
+	GetItemCosts(context.Context, *GetItemCostsRequest) (*GetItemCostsResponse, error)
 	ItemList(context.Context, *ItemListRequest) (*ItemListResponse, error)
 	TopUp(context.Context, *ItemTopUpRequest) (*ItemTopUpResponse, error)
 }
@@ -90,6 +103,9 @@ type UnimplementedWarehouseItemServiceServer struct{}
 func (UnimplementedWarehouseItemServiceServer) GetItemCost(context.Context, *GetItemCostRequest) (*GetItemCostResponse, error) {
 	return nil, status.Errorf(codes.Unimplemented, "method GetItemCost not implemented")
 }
+func (UnimplementedWarehouseItemServiceServer) GetItemCosts(context.Context, *GetItemCostsRequest) (*GetItemCostsResponse, error) {
+	return nil, status.Errorf(codes.Unimplemented, "method GetItemCosts not implemented")
+}
 func (UnimplementedWarehouseItemServiceServer) ItemList(context.Context, *ItemListRequest) (*ItemListResponse, error) {
 	return nil, status.Errorf(codes.Unimplemented, "method ItemList not implemented")
 }
@@ -134,6 +150,24 @@ func _WarehouseItemService_GetItemCost_Handler(srv interface{}, ctx context.Cont
 	return interceptor(ctx, in, info, handler)
 }
 
+func _WarehouseItemService_GetItemCosts_Handler(srv interface{}, ctx context.Context, dec func(interface{}) error, interceptor grpc.UnaryServerInterceptor) (interface{}, error) {
+	in := new(GetItemCostsRequest)
+	if err := dec(in); err != nil {
+		return nil, err
+	}
+	if interceptor == nil {
+		return srv.(WarehouseItemServiceServer).GetItemCosts(ctx, in)
+	}
+	info := &grpc.UnaryServerInfo{
+		Server:     srv,
+		FullMethod: WarehouseItemService_GetItemCosts_FullMethodName,
+	}
+	handler := func(ctx context.Context, req interface{}) (interface{}, error) {
+		return srv.(WarehouseItemServiceServer).GetItemCosts(ctx, req.(*GetItemCostsRequest))
+	}
+	return interceptor(ctx, in, info, handler)
+}
+
 func _WarehouseItemService_ItemList_Handler(srv interface{}, ctx context.Context, dec func(interface{}) error, interceptor grpc.UnaryServerInterceptor) (interface{}, error) {
 	in := new(ItemListRequest)
 	if err := dec(in); err != nil {
@@ -181,6 +215,10 @@ var WarehouseItemService_ServiceDesc = grpc.ServiceDesc{
 			MethodName: "GetItemCost",
 			Handler:    _WarehouseItemService_GetItemCost_Handler,
 		},
+		{
+			MethodName: "GetItemCosts",
+			Handler:    _WarehouseItemService_GetItemCosts_Handler,
+		},
 		{
 			MethodName: "ItemList",
 			Handler:    _WarehouseItemService_ItemList_Handler,
@@ -11,6 +11,7 @@ import (
 	_ "google.golang.org/genproto/googleapis/api/annotations"
 	protoreflect "google.golang.org/protobuf/reflect/protoreflect"
 	protoimpl "google.golang.org/protobuf/runtime/protoimpl"
+	timestamppb "google.golang.org/protobuf/types/known/timestamppb"
 	reflect "reflect"
 	sync "sync"
 	unsafe "unsafe"
@@ -295,16 +296,149 @@ func (x *TwoPhaseRollbackResponse) GetId() string {
 	return ""
 }
 
+type TwoPhaseCommitBatchRequest struct {
+	state         protoimpl.MessageState `protogen:"open.v1"`
+	Ids           []string               `protobuf:"bytes,1,rep,name=ids,proto3" json:"ids,omitempty"`
+	unknownFields protoimpl.UnknownFields
+	sizeCache     protoimpl.SizeCache
+}
+
+func (x *TwoPhaseCommitBatchRequest) Reset() {
+	*x = TwoPhaseCommitBatchRequest{}
+	mi := &file_tpc_v1_api_tpc_service_proto_msgTypes[6]
+	ms := protoimpl.X.MessageStateOf(protoimpl.Pointer(x))
+	ms.StoreMessageInfo(mi)
+}
+
+func (x *TwoPhaseCommitBatchRequest) String() string {
+	return protoimpl.X.MessageStringOf(x)
+}
+
+func (*TwoPhaseCommitBatchRequest) ProtoMessage() {}
+
+func (x *TwoPhaseCommitBatchRequest) ProtoReflect() protoreflect.Message {
+	mi := &file_tpc_v1_api_tpc_service_proto_msgTypes[6]
+	if x != nil {
+		ms := protoimpl.X.MessageStateOf(protoimpl.Pointer(x))
+		if ms.LoadMessageInfo() == nil {
+			ms.StoreMessageInfo(mi)
+		}
+		return ms
+	}
+	return mi.MessageOf(x)
+}
+
+// Deprecated: Use TwoPhaseCommitBatchRequest.ProtoReflect.Descriptor instead.
+func (*TwoPhaseCommitBatchRequest) Descriptor() ([]byte, []int) {
+	return file_tpc_v1_api_tpc_service_proto_rawDescGZIP(), []int{6}
+}
+
+func (x *TwoPhaseCommitBatchRequest) GetIds() []string {
+	if x != nil {
+		return x.Ids
+	}
+	return nil
+}
+
+type TwoPhaseRollbackBatchRequest struct {
+	state         protoimpl.MessageState `protogen:"open.v1"`
+	Ids           []string               `protobuf:"bytes,1,rep,name=ids,proto3" json:"ids,omitempty"`
+	unknownFields protoimpl.UnknownFields
+	sizeCache     protoimpl.SizeCache
+}
+
+func (x *TwoPhaseRollbackBatchRequest) Reset() {
+	*x = TwoPhaseRollbackBatchRequest{}
+	mi := &file_tpc_v1_api_tpc_service_proto_msgTypes[7]
+	ms := protoimpl.X.MessageStateOf(protoimpl.Pointer(x))
+	ms.StoreMessageInfo(mi)
+}
+
+func (x *TwoPhaseRollbackBatchRequest) String() string {
+	return protoimpl.X.MessageStringOf(x)
+}
+
+func (*TwoPhaseRollbackBatchRequest) ProtoMessage() {}
+
+func (x *TwoPhaseRollbackBatchRequest) ProtoReflect() protoreflect.Message {
+	mi := &file_tpc_v1_api_tpc_service_proto_msgTypes[7]
+	if x != nil {
+		ms := protoimpl.X.MessageStateOf(protoimpl.Pointer(x))
+		if ms.LoadMessageInfo() == nil {
+			ms.StoreMessageInfo(mi)
+		}
+		return ms
+	}
+	return mi.MessageOf(x)
+}
+
+// Deprecated: Use TwoPhaseRollbackBatchRequest.ProtoReflect.Descriptor instead.
+func (*TwoPhaseRollbackBatchRequest) Descriptor() ([]byte, []int) {
+	return file_tpc_v1_api_tpc_service_proto_rawDescGZIP(), []int{7}
+}
+
+func (x *TwoPhaseRollbackBatchRequest) GetIds() []string {
+	if x != nil {
+		return x.Ids
+	}
+	return nil
+}
+
+type TwoPhaseBatchResponse struct {
+	state         protoimpl.MessageState          `protogen:"open.v1"`
+	Results       []*TwoPhaseBatchResponse_Result `protobuf:"bytes,1,rep,name=results,proto3" json:"results,omitempty"`
+	unknownFields protoimpl.UnknownFields
+	sizeCache     protoimpl.SizeCache
+}
+
+func (x *TwoPhaseBatchResponse) Reset() {
+	*x = TwoPhaseBatchResponse{}
+	mi := &file_tpc_v1_api_tpc_service_proto_msgTypes[8]
+	ms := protoimpl.X.MessageStateOf(protoimpl.Pointer(x))
+	ms.StoreMessageInfo(mi)
+}
+
+func (x *TwoPhaseBatchResponse) String() string {
+	return protoimpl.X.MessageStringOf(x)
+}
+
+func (*TwoPhaseBatchResponse) ProtoMessage() {}
+
+func (x *TwoPhaseBatchResponse) ProtoReflect() protoreflect.Message {
+	mi := &file_tpc_v1_api_tpc_service_proto_msgTypes[8]
+	if x != nil {
+		ms := protoimpl.X.MessageStateOf(protoimpl.Pointer(x))
+		if ms.LoadMessageInfo() == nil {
+			ms.StoreMessageInfo(mi)
+		}
+		return ms
+	}
+	return mi.MessageOf(x)
+}
+
+// Deprecated: Use TwoPhaseBatchResponse.ProtoReflect.Descriptor instead.
+func (*TwoPhaseBatchResponse) Descriptor() ([]byte, []int) {
+	return file_tpc_v1_api_tpc_service_proto_rawDescGZIP(), []int{8}
+}
+
+func (x *TwoPhaseBatchResponse) GetResults() []*TwoPhaseBatchResponse_Result {
+	if x != nil {
+		return x.Results
+	}
+	return nil
+}
+
 type TwoPhaseListActivesResponse_Transaction struct {
 	state         protoimpl.MessageState `protogen:"open.v1"`
 	Id            string                 `protobuf:"bytes,1,opt,name=id,proto3" json:"id,omitempty"`
+	Prepared      *timestamppb.Timestamp `protobuf:"bytes,2,opt,name=prepared,proto3,oneof" json:"prepared,omitempty"`
 	unknownFields protoimpl.UnknownFields
 	sizeCache     protoimpl.SizeCache
 }
 
 func (x *TwoPhaseListActivesResponse_Transaction) Reset() {
 	*x = TwoPhaseListActivesResponse_Transaction{}
-	mi := &file_tpc_v1_api_tpc_service_proto_msgTypes[6]
+	mi := &file_tpc_v1_api_tpc_service_proto_msgTypes[9]
 	ms := protoimpl.X.MessageStateOf(protoimpl.Pointer(x))
 	ms.StoreMessageInfo(mi)
 }
@@ -316,7 +450,7 @@ func (x *TwoPhaseListActivesResponse_Transaction) String() string {
 func (*TwoPhaseListActivesResponse_Transaction) ProtoMessage() {}
 
 func (x *TwoPhaseListActivesResponse_Transaction) ProtoReflect() protoreflect.Message {
-	mi := &file_tpc_v1_api_tpc_service_proto_msgTypes[6]
+	mi := &file_tpc_v1_api_tpc_service_proto_msgTypes[9]
 	if x != nil {
 		ms := protoimpl.X.MessageStateOf(protoimpl.Pointer(x))
 		if ms.LoadMessageInfo() == nil {
@@ -339,16 +473,86 @@ func (x *TwoPhaseListActivesResponse_Transaction) GetId() string {
 	return ""
 }
 
+func (x *TwoPhaseListActivesResponse_Transaction) GetPrepared() *timestamppb.Timestamp {
+	if x != nil {
+		return x.Prepared
+	}
+	return nil
+}
+
+type TwoPhaseBatchResponse_Result struct {
+	state protoimpl.MessageState `protogen:"open.v1"`
+	Id    string                 `protobuf:"bytes,1,opt,name=id,proto3" json:"id,omitempty"`
+	// grpc status code of the operation on the id, 0 - OK
+	Code          int32  `protobuf:"varint,2,opt,name=code,proto3" json:"code,omitempty"`
+	Message       string `protobuf:"bytes,3,opt,name=message,proto3" json:"message,omitempty"`
+	unknownFields protoimpl.UnknownFields
+	sizeCache     protoimpl.SizeCache
+}
+
+func (x *TwoPhaseBatchResponse_Result) Reset() {
+	*x = TwoPhaseBatchResponse_Result{}
+	mi := &file_tpc_v1_api_tpc_service_proto_msgTypes[10]
+	ms := protoimpl.X.MessageStateOf(protoimpl.Pointer(x))
+	ms.StoreMessageInfo(mi)
+}
+
+func (x *TwoPhaseBatchResponse_Result) String() string {
+	return protoimpl.X.MessageStringOf(x)
+}
+
+func (*TwoPhaseBatchResponse_Result) ProtoMessage() {}
+
+func (x *TwoPhaseBatchResponse_Result) ProtoReflect() protoreflect.Message {
+	mi := &file_tpc_v1_api_tpc_service_proto_msgTypes[10]
+	if x != nil {
+		ms := protoimpl.X.MessageStateOf(protoimpl.Pointer(x))
+		if ms.LoadMessageInfo() == nil {
+			ms.StoreMessageInfo(mi)
+		}
+		return ms
+	}
+	return mi.MessageOf(x)
+}
+
+// Deprecated: Use TwoPhaseBatchResponse_Result.ProtoReflect.Descriptor instead.
+func (*TwoPhaseBatchResponse_Result) Descriptor() ([]byte, []int) {
+	return file_tpc_v1_api_tpc_service_proto_rawDescGZIP(), []int{8, 0}
+}
+
+func (x *TwoPhaseBatchResponse_Result) GetId() string {
+	if x != nil {
+		return x.Id
+	}
+	return ""
+}
+
+func (x *TwoPhaseBatchResponse_Result) GetCode() int32 {
+	if x != nil {
+		return x.Code
+	}
+	return 0
+}
+
+func (x *TwoPhaseBatchResponse_Result) GetMessage() string {
+	if x != nil {
+		return x.Message
+	}
+	return ""
+}
+
 var File_tpc_v1_api_tpc_service_proto protoreflect.FileDescriptor
 
 const file_tpc_v1_api_tpc_service_proto_rawDesc = "" +
 	"\n" +
-	"\x1ctpc/v1/api/tpc_service.proto\x12\x06tpc.v1\x1a\x1bbuf/validate/validate.proto\x1a\x1cgoogle/api/annotations.proto\"\x1c\n" +
-	"\x1aTwoPhaseListActivesRequest\"\x9a\x01\n" +
+	"\x1ctpc/v1/api/tpc_service.proto\x12\x06tpc.v1\x1a\x1bbuf/validate/validate.proto\x1a\x1cgoogle/api/annotations.proto\x1a\x1fgoogle/protobuf/timestamp.proto\"\x1c\n" +
+	"\x1aTwoPhaseListActivesRequest\"\xe4\x01\n" +
 	"\x1bTwoPhaseListActivesResponse\x12S\n" +
-	"\ftransactions\x18\x01 \x03(\v2/.tpc.v1.TwoPhaseListActivesResponse.TransactionR\ftransactions\x1a&\n" +
+	"\ftransactions\x18\x01 \x03(\v2/.tpc.v1.TwoPhaseListActivesResponse.TransactionR\ftransactions\x1ap\n" +
 	"\vTransaction\x12\x17\n" +
-	"\x02id\x18\x01 \x01(\tB\a\xbaH\x04r\x02\x10\x01R\x02id\"'\n" +
+	"\x02id\x18\x01 \x01(\tB\a\xbaH\x04r\x02\x10\x01R\x02id\x12;\n" +
+	"\bprepared\x18\x02 \x01(\v2\x1a.google.protobuf.TimestampH\x00R\bprepared\x88\x01\x01B\v\n" +
+	"\t_prepared\"'\n" +
 	"\x15TwoPhaseCommitRequest\x12\x0e\n" +
 	"\x02id\x18\x01 \x01(\tR\x02id\"B\n" +
 	"\x16TwoPhaseCommitResponse\x12\x18\n" +
@@ -358,11 +562,23 @@ const file_tpc_v1_api_tpc_service_proto_rawDesc = "" +
 	"\x02id\x18\x01 \x01(\tR\x02id\"D\n" +
 	"\x18TwoPhaseRollbackResponse\x12\x18\n" +
 	"\amessage\x18\x01 \x01(\tR\amessage\x12\x0e\n" +
-	"\x02id\x18\x02 \x01(\tR\x02id2\xe6\x02\n" +
+	"\x02id\x18\x02 \x01(\tR\x02id\".\n" +
+	"\x1aTwoPhaseCommitBatchRequest\x12\x10\n" +
+	"\x03ids\x18\x01 \x03(\tR\x03ids\"0\n" +
+	"\x1cTwoPhaseRollbackBatchRequest\x12\x10\n" +
+	"\x03ids\x18\x01 \x03(\tR\x03ids\"\x9f\x01\n" +
+	"\x15TwoPhaseBatchResponse\x12>\n" +
+	"\aresults\x18\x01 \x03(\v2$.tpc.v1.TwoPhaseBatchResponse.ResultR\aresults\x1aF\n" +
+	"\x06Result\x12\x0e\n" +
+	"\x02id\x18\x01 \x01(\tR\x02id\x12\x12\n" +
+	"\x04code\x18\x02 \x01(\x05R\x04code\x12\x18\n" +
+	"\amessage\x18\x03 \x01(\tR\amessage2\xde\x04\n" +
 	"\x15TwoPhaseCommitService\x12s\n" +
 	"\vlistActives\x12\".tpc.v1.TwoPhaseListActivesRequest\x1a#.tpc.v1.TwoPhaseListActivesResponse\"\x1b\x82\xd3\xe4\x93\x02\x15\x12\x13/api/v1/transaction\x12g\n" +
 	"\x06commit\x12\x1d.tpc.v1.TwoPhaseCommitRequest\x1a\x1e.tpc.v1.TwoPhaseCommitResponse\"\x1e\x82\xd3\xe4\x93\x02\x18:\x01*\x1a\x13/api/v1/transaction\x12o\n" +
-	"\brollback\x12\x1f.tpc.v1.TwoPhaseRollbackRequest\x1a .tpc.v1.TwoPhaseRollbackResponse\" \x82\xd3\xe4\x93\x02\x1a*\x18/api/v1/transaction/{id}b\x06proto3"
+	"\brollback\x12\x1f.tpc.v1.TwoPhaseRollbackRequest\x1a .tpc.v1.TwoPhaseRollbackResponse\" \x82\xd3\xe4\x93\x02\x1a*\x18/api/v1/transaction/{id}\x12w\n" +
+	"\vcommitBatch\x12\".tpc.v1.TwoPhaseCommitBatchRequest\x1a\x1d.tpc.v1.TwoPhaseBatchResponse\"%\x82\xd3\xe4\x93\x02\x1f:\x01*\"\x1a/api/v1/transaction/commit\x12}\n" +
+	"\rrollbackBatch\x12$.tpc.v1.TwoPhaseRollbackBatchRequest\x1a\x1d.tpc.v1.TwoPhaseBatchResponse\"'\x82\xd3\xe4\x93\x02!:\x01*\"\x1c/api/v1/transaction/rollbackb\x06proto3"
 
 var (
 	file_tpc_v1_api_tpc_service_proto_rawDescOnce sync.Once
@@ -376,7 +592,7 @@ func file_tpc_v1_api_tpc_service_proto_rawDescGZIP() []byte {
 	return file_tpc_v1_api_tpc_service_proto_rawDescData
 }
 
-var file_tpc_v1_api_tpc_service_proto_msgTypes = make([]protoimpl.MessageInfo, 7)
+var file_tpc_v1_api_tpc_service_proto_msgTypes = make([]protoimpl.MessageInfo, 11)
 var file_tpc_v1_api_tpc_service_proto_goTypes = []any{
 	(*TwoPhaseListActivesRequest)(nil),              // 0: tpc.v1.TwoPhaseListActivesRequest
 	(*TwoPhaseListActivesResponse)(nil),             // 1: tpc.v1.TwoPhaseListActivesResponse
@@ -384,21 +600,32 @@ var file_tpc_v1_api_tpc_service_proto_goTypes = []any{
 	(*TwoPhaseCommitResponse)(nil),                  // 3: tpc.v1.TwoPhaseCommitResponse
 	(*TwoPhaseRollbackRequest)(nil),                 // 4: tpc.v1.TwoPhaseRollbackRequest
 	(*TwoPhaseRollbackResponse)(nil),                // 5: tpc.v1.TwoPhaseRollbackResponse
-	(*TwoPhaseListActivesResponse_Transaction)(nil), // 6: tpc.v1.TwoPhaseListActivesResponse.Transaction
+	(*TwoPhaseCommitBatchRequest)(nil),              // 6: tpc.v1.TwoPhaseCommitBatchRequest
+	(*TwoPhaseRollbackBatchRequest)(nil),            // 7: tpc.v1.TwoPhaseRollbackBatchRequest
+	(*TwoPhaseBatchResponse)(nil),                   // 8: tpc.v1.TwoPhaseBatchResponse
+	(*TwoPhaseListActivesResponse_Transaction)(nil), // 9: tpc.v1.TwoPhaseListActivesResponse.Transaction
+	(*TwoPhaseBatchResponse_Result)(nil),            // 10: tpc.v1.TwoPhaseBatchResponse.Result
+	(*timestamppb.Timestamp)(nil),                   // 11: google.protobuf.Timestamp
 }
 var file_tpc_v1_api_tpc_service_proto_depIdxs = []int32{
-	6, // 0: tpc.v1.TwoPhaseListActivesResponse.transactions:type_name -> tpc.v1.TwoPhaseListActivesResponse.Transaction
-	0, // 1: tpc.v1.TwoPhaseCommitService.listActives:input_type -> tpc.v1.TwoPhaseListActivesRequest
-	2, // 2: tpc.v1.TwoPhaseCommitService.commit:input_type -> tpc.v1.TwoPhaseCommitRequest
-	4, // 3: tpc.v1.TwoPhaseCommitService.rollback:input_type -> tpc.v1.TwoPhaseRollbackRequest
-	1, // 4: tpc.v1.TwoPhaseCommitService.listActives:output_type -> tpc.v1.TwoPhaseListActivesResponse
-	3, // 5: tpc.v1.TwoPhaseCommitService.commit:output_type -> tpc.v1.TwoPhaseCommitResponse
-	5, // 6: tpc.v1.TwoPhaseCommitService.rollback:output_type -> tpc.v1.TwoPhaseRollbackResponse
-	4, // [4:7] is the sub-list for method output_type
-	1, // [1:4] is the sub-list for method input_type
-	1, // [1:1] is the sub-list for extension type_name
-	1, // [1:1] is the sub-list for extension extendee
-	0, // [0:1] is the sub-list for field type_name
+	9,  // 0: tpc.v1.TwoPhaseListActivesResponse.transactions:type_name -> tpc.v1.TwoPhaseListActivesResponse.Transaction
+	10, // 1: tpc.v1.TwoPhaseBatchResponse.results:type_name -> tpc.v1.TwoPhaseBatchResponse.Result
+	11, // 2: tpc.v1.TwoPhaseListActivesResponse.Transaction.prepared:type_name -> google.protobuf.Timestamp
+	0,  // 3: tpc.v1.TwoPhaseCommitService.listActives:input_type -> tpc.v1.TwoPhaseListActivesRequest
+	2,  // 4: tpc.v1.TwoPhaseCommitService.commit:input_type -> tpc.v1.TwoPhaseCommitRequest
+	4,  // 5: tpc.v1.TwoPhaseCommitService.rollback:input_type -> tpc.v1.TwoPhaseRollbackRequest
+	6,  // 6: tpc.v1.TwoPhaseCommitService.commitBatch:input_type -> tpc.v1.TwoPhaseCommitBatchRequest
+	7,  // 7: tpc.v1.TwoPhaseCommitService.rollbackBatch:input_type -> tpc.v1.TwoPhaseRollbackBatchRequest
+	1,  // 8: tpc.v1.TwoPhaseCommitService.listActives:output_type -> tpc.v1.TwoPhaseListActivesResponse
+	3,  // 9: tpc.v1.TwoPhaseCommitService.commit:output_type -> tpc.v1.TwoPhaseCommitResponse
+	5,  // 10: tpc.v1.TwoPhaseCommitService.rollback:output_type -> tpc.v1.TwoPhaseRollbackResponse
+	8,  // 11: tpc.v1.TwoPhaseCommitService.commitBatch:output_type -> tpc.v1.TwoPhaseBatchResponse
+	8,  // 12: tpc.v1.TwoPhaseCommitService.rollbackBatch:output_type -> tpc.v1.TwoPhaseBatchResponse
+	8,  // [8:13] is the sub-list for method output_type
+	3,  // [3:8] is the sub-list for method input_type
+	3,  // [3:3] is the sub-list for extension type_name
+	3,  // [3:3] is the sub-list for extension extendee
+	0,  // [0:3] is the sub-list for field type_name
 }
 
 func init() { file_tpc_v1_api_tpc_service_proto_init() }
@@ -406,13 +633,14 @@ func file_tpc_v1_api_tpc_service_proto_init() {
 	if File_tpc_v1_api_tpc_service_proto != nil {
 		return
 	}
+	file_tpc_v1_api_tpc_service_proto_msgTypes[9].OneofWrappers = []any{}
 	type x struct{}
 	out := protoimpl.TypeBuilder{
 		File: protoimpl.DescBuilder{
 			GoPackagePath: reflect.TypeOf(x{}).PkgPath(),
 			RawDescriptor: unsafe.Slice(unsafe.StringData(file_tpc_v1_api_tpc_service_proto_rawDesc), len(file_tpc_v1_api_tpc_service_proto_rawDesc)),
 			NumEnums:      0,
-			NumMessages:   7,
+			NumMessages:   11,
 			NumExtensions: 0,
 			NumServices:   1,
 		},
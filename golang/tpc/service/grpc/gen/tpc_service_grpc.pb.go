@@ -19,9 +19,11 @@ import (
 const _ = grpc.SupportPackageIsVersion9
 
 const (
-	TwoPhaseCommitService_ListActives_FullMethodName = "/tpc.v1.TwoPhaseCommitService/listActives"
-	TwoPhaseCommitService_Commit_FullMethodName      = "/tpc.v1.TwoPhaseCommitService/commit"
-	TwoPhaseCommitService_Rollback_FullMethodName    = "/tpc.v1.TwoPhaseCommitService/rollback"
+	TwoPhaseCommitService_ListActives_FullMethodName   = "/tpc.v1.TwoPhaseCommitService/listActives"
+	TwoPhaseCommitService_Commit_FullMethodName        = "/tpc.v1.TwoPhaseCommitService/commit"
+	TwoPhaseCommitService_Rollback_FullMethodName      = "/tpc.v1.TwoPhaseCommitService/rollback"
+	TwoPhaseCommitService_CommitBatch_FullMethodName   = "/tpc.v1.TwoPhaseCommitService/commitBatch"
+	TwoPhaseCommitService_RollbackBatch_FullMethodName = "/tpc.v1.TwoPhaseCommitService/rollbackBatch"
 )
 
 // TwoPhaseCommitServiceClient is the client API for TwoPhaseCommitService service.
@@ -31,6 +33,8 @@ type TwoPhaseCommitServiceClient interface {
 	ListActives(ctx context.Context, in *TwoPhaseListActivesRequest, opts ...grpc.CallOption) (*TwoPhaseListActivesResponse, error)
 	Commit(ctx context.Context, in *TwoPhaseCommitRequest, opts ...grpc.CallOption) (*TwoPhaseCommitResponse, error)
 	Rollback(ctx context.Context, in *TwoPhaseRollbackRequest, opts ...grpc.CallOption) (*TwoPhaseRollbackResponse, error)
+	CommitBatch(ctx context.Context, in *TwoPhaseCommitBatchRequest, opts ...grpc.CallOption) (*TwoPhaseBatchResponse, error)
+	RollbackBatch(ctx context.Context, in *TwoPhaseRollbackBatchRequest, opts ...grpc.CallOption) (*TwoPhaseBatchResponse, error)
 }
 
 type twoPhaseCommitServiceClient struct {
@@ -71,6 +75,26 @@ func (c *twoPhaseCommitServiceClient) Rollback(ctx context.Context, in *TwoPhase
 	return out, nil
 }
 
+func (c *twoPhaseCommitServiceClient) CommitBatch(ctx context.Context, in *TwoPhaseCommitBatchRequest, opts ...grpc.CallOption) (*TwoPhaseBatchResponse, error) {
+	cOpts := append([]grpc.CallOption{grpc.StaticMethod()}, opts...)
+	out := new(TwoPhaseBatchResponse)
+	err := c.cc.Invoke(ctx, TwoPhaseCommitService_CommitBatch_FullMethodName, in, out, cOpts...)
+	if err != nil {
+		return nil, err
+	}
+	return out, nil
+}
+
+func (c *twoPhaseCommitServiceClient) RollbackBatch(ctx context.Context, in *TwoPhaseRollbackBatchRequest, opts ...grpc.CallOption) (*TwoPhaseBatchResponse, error) {
+	cOpts := append([]grpc.CallOption{grpc.StaticMethod()}, opts...)
+	out := new(TwoPhaseBatchResponse)
+	err := c.cc.Invoke(ctx, TwoPhaseCommitService_RollbackBatch_FullMethodName, in, out, cOpts...)
+	if err != nil {
+		return nil, err
+	}
+	return out, nil
+}
+
 // TwoPhaseCommitServiceServer is the server API for TwoPhaseCommitService service.
 // All implementations should embed UnimplementedTwoPhaseCommitServiceServer
 // for forward compatibility.
@@ -78,6 +102,8 @@ type TwoPhaseCommitServiceServer interface {
 	ListActives(context.Context, *TwoPhaseListActivesRequest) (*TwoPhaseListActivesResponse, error)
 	Commit(context.Context, *TwoPhaseCommitRequest) (*TwoPhaseCommitResponse, error)
 	Rollback(context.Context, *TwoPhaseRollbackRequest) (*TwoPhaseRollbackResponse, error)
+	CommitBatch(context.Context, *TwoPhaseCommitBatchRequest) (*TwoPhaseBatchResponse, error)
+	RollbackBatch(context.Context, *TwoPhaseRollbackBatchRequest) (*TwoPhaseBatchResponse, error)
 }
 
 // UnimplementedTwoPhaseCommitServiceServer should be embedded to have
@@ -96,6 +122,12 @@ func (UnimplementedTwoPhaseCommitServiceServer) Commit(context.Context, *TwoPhas
 func (UnimplementedTwoPhaseCommitServiceServer) Rollback(context.Context, *TwoPhaseRollbackRequest) (*TwoPhaseRollbackResponse, error) {
 	return nil, status.Errorf(codes.Unimplemented, "method Rollback not implemented")
 }
+func (UnimplementedTwoPhaseCommitServiceServer) CommitBatch(context.Context, *TwoPhaseCommitBatchRequest) (*TwoPhaseBatchResponse, error) {
+	return nil, status.Errorf(codes.Unimplemented, "method CommitBatch not implemented")
+}
+func (UnimplementedTwoPhaseCommitServiceServer) RollbackBatch(context.Context, *TwoPhaseRollbackBatchRequest) (*TwoPhaseBatchResponse, error) {
+	return nil, status.Errorf(codes.Unimplemented, "method RollbackBatch not implemented")
+}
 func (UnimplementedTwoPhaseCommitServiceServer) testEmbeddedByValue() {}
 
 // UnsafeTwoPhaseCommitServiceServer may be embedded to opt out of forward compatibility for this service.
@@ -170,6 +202,42 @@ func _TwoPhaseCommitService_Rollback_Handler(srv interface{}, ctx context.Contex
 	return interceptor(ctx, in, info, handler)
 }
 
+func _TwoPhaseCommitService_CommitBatch_Handler(srv interface{}, ctx context.Context, dec func(interface{}) error, interceptor grpc.UnaryServerInterceptor) (interface{}, error) {
+	in := new(TwoPhaseCommitBatchRequest)
+	if err := dec(in); err != nil {
+		return nil, err
+	}
+	if interceptor == nil {
+		return srv.(TwoPhaseCommitServiceServer).CommitBatch(ctx, in)
+	}
+	info := &grpc.UnaryServerInfo{
+		Server:     srv,
+		FullMethod: TwoPhaseCommitService_CommitBatch_FullMethodName,
+	}
+	handler := func(ctx context.Context, req interface{}) (interface{}, error) {
+		return srv.(TwoPhaseCommitServiceServer).CommitBatch(ctx, req.(*TwoPhaseCommitBatchRequest))
+	}
+	return interceptor(ctx, in, info, handler)
+}
+
+func _TwoPhaseCommitService_RollbackBatch_Handler(srv interface{}, ctx context.Context, dec func(interface{}) error, interceptor grpc.UnaryServerInterceptor) (interface{}, error) {
+	in := new(TwoPhaseRollbackBatchRequest)
+	if err := dec(in); err != nil {
+		return nil, err
+	}
+	if interceptor == nil {
+		return srv.(TwoPhaseCommitServiceServer).RollbackBatch(ctx, in)
+	}
+	info := &grpc.UnaryServerInfo{
+		Server:     srv,
+		FullMethod: TwoPhaseCommitService_RollbackBatch_FullMethodName,
+	}
+	handler := func(ctx context.Context, req interface{}) (interface{}, error) {
+		return srv.(TwoPhaseCommitServiceServer).RollbackBatch(ctx, req.(*TwoPhaseRollbackBatchRequest))
+	}
+	return interceptor(ctx, in, info, handler)
+}
+
 // TwoPhaseCommitService_ServiceDesc is the grpc.ServiceDesc for TwoPhaseCommitService service.
 // It's only intended for direct use with grpc.RegisterService,
 // and not to be introspected or modified (even as a copy)
@@ -189,6 +257,14 @@ var TwoPhaseCommitService_ServiceDesc = grpc.ServiceDesc{
 			MethodName: "rollback",
 			Handler:    _TwoPhaseCommitService_Rollback_Handler,
 		},
+		{
+			MethodName: "commitBatch",
+			Handler:    _TwoPhaseCommitService_CommitBatch_Handler,
+		},
+		{
+			MethodName: "rollbackBatch",
+			Handler:    _TwoPhaseCommitService_RollbackBatch_Handler,
+		},
 	},
 	Streams:  []grpc.StreamDesc{},
 	Metadata: "tpc/v1/api/tpc_service.proto",
@@ -1,12 +1,33 @@
 package io.github.m4gshm;
 
+import io.grpc.Context;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 @Slf4j
 public record Grpc(GrpcExceptionConverter grpcExceptionConverter) {
+    private static void awaitReady(ServerCallStreamObserver<?> observer, Object readiness) throws InterruptedException {
+        synchronized (readiness) {
+            while (!observer.isReady()) {
+                if (observer.isCancelled()) {
+                    throw Status.CANCELLED.withDescription("call cancelled by client").asRuntimeException();
+                }
+                readiness.wait();
+            }
+        }
+    }
+
+    private static void signal(Object readiness) {
+        synchronized (readiness) {
+            readiness.notifyAll();
+        }
+    }
+
     public <R> void subscribe(String op,
                               StreamObserver<R> responseObserver,
                               Supplier<R> routine) {
@@ -19,4 +40,35 @@ public record Grpc(GrpcExceptionConverter grpcExceptionConverter) {
             log.error("grpc service error", e);
         }
     }
+
+    // sends each response as soon as the call can take it without buffering.
+    // the onReady and onCancel handlers run in the call executor, so the routine is moved to a virtual thread
+    // that waits for their signal, and the call executor is released
+    public <R> void stream(String op,
+                           StreamObserver<R> responseObserver,
+                           Consumer<Consumer<R>> routine) {
+        var observer = (ServerCallStreamObserver<R>) responseObserver;
+        var readiness = new Object();
+        observer.setOnReadyHandler(() -> signal(readiness));
+        observer.setOnCancelHandler(() -> signal(readiness));
+        Thread.ofVirtual().name("grpc-stream-" + op).start(Context.current().wrap(() -> {
+            try {
+                routine.accept(response -> {
+                    try {
+                        awaitReady(observer, readiness);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw Status.CANCELLED.withDescription("stream interrupted").withCause(e).asRuntimeException();
+                    }
+                    observer.onNext(response);
+                });
+                observer.onCompleted();
+            } catch (Exception e) {
+                if (!observer.isCancelled()) {
+                    observer.onError(grpcExceptionConverter.convertToGrpcStatusException(e));
+                }
+                log.error("grpc service stream error", e);
+            }
+        }));
+    }
 }
@@ -34,6 +34,7 @@ public class StatusExtractorImpl implements StatusExtractor {
             case UNAUTHORIZED -> UNAUTHENTICATED;
             case FORBIDDEN -> PERMISSION_DENIED;
             case NOT_FOUND -> NOT_FOUND;
+            case CONFLICT -> Status.ABORTED;
             case REQUEST_TIMEOUT -> Status.DEADLINE_EXCEEDED;
             default -> INTERNAL;
         };
@@ -2,6 +2,7 @@ package io.github.m4gshm.reactive;
 
 import io.grpc.stub.StreamObserver;
 import reactor.core.CorePublisher;
+import reactor.core.publisher.Flux;
 
 import java.util.function.Supplier;
 
@@ -9,4 +10,6 @@ public interface ReactiveGrpc {
     <P extends CorePublisher<T>, T> void subscribe(String name,
                                                    StreamObserver<T> observer,
                                                    Supplier<P> publisherFactory);
+
+    <T> void stream(String name, StreamObserver<T> observer, Supplier<Flux<T>> fluxFactory);
 }
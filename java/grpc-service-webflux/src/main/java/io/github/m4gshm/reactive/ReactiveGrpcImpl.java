@@ -2,6 +2,7 @@ package io.github.m4gshm.reactive;
 
 import io.github.m4gshm.GrpcExceptionConverter;
 import io.github.m4gshm.tracing.TraceService;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import io.micrometer.observation.Observation;
 import lombok.RequiredArgsConstructor;
@@ -14,6 +15,7 @@ import reactor.core.CoreSubscriber;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
@@ -38,7 +40,9 @@ public class ReactiveGrpcImpl implements ReactiveGrpc {
                                                                                       Consumer<SP> stop,
                                                                                       BiConsumer<SP,
                                                                                               Throwable> errorHandler,
-                                                                                      StreamObserver<T> observer
+                                                                                      StreamObserver<T> observer,
+                                                                                      Consumer<Subscription> onSubscribe,
+                                                                                      Runnable afterNext
     ) {
         return new CoreSubscriber<>() {
             volatile Throwable error;
@@ -76,6 +80,7 @@ public class ReactiveGrpcImpl implements ReactiveGrpc {
                     log.trace("onNext {}", name);
                     observer.onNext(t);
                 }
+                afterNext.run();
             }
 
             @Override
@@ -83,7 +88,7 @@ public class ReactiveGrpcImpl implements ReactiveGrpc {
             public void onSubscribe(Subscription s) {
                 try (var _ = setAsLocalEvent.apply(span, "onSubscribe")) {
                     log.trace("onSubscribe {}", name);
-                    s.request(1);
+                    onSubscribe.accept(s);
                 }
             }
         };
@@ -115,7 +120,72 @@ public class ReactiveGrpcImpl implements ReactiveGrpc {
                     traceService::startLocalEvent,
                     Observation::stop,
                     Observation::error,
-                    observer));
+                    observer,
+                    s -> s.request(1),
+                    () -> {
+                    }));
+        }
+    }
+
+    @Override
+    public <T> void stream(String name, StreamObserver<T> observer, Supplier<Flux<T>> fluxFactory) {
+        var serverObserver = (ServerCallStreamObserver<T>) observer;
+        var flowControl = new FlowControl(serverObserver);
+        serverObserver.setOnReadyHandler(flowControl::requestIfReady);
+        serverObserver.setOnCancelHandler(flowControl::cancel);
+
+        var observation = traceService.startNewObservation("stream:" + name);
+        try (var _ = observation.openScope()) {
+            fluxFactory.get()
+                    .name(name)
+                    .contextWrite(context -> traceService.putToReactContext(context, observation))
+                    .subscribe(newSubscriber(name,
+                            observation,
+                            traceService::startLocalEvent,
+                            Observation::stop,
+                            Observation::error,
+                            observer,
+                            flowControl::onSubscribe,
+                            flowControl::onNext));
+        }
+    }
+
+    // requests the next element only when the previous one is sent and the call can take more without buffering
+    @RequiredArgsConstructor
+    @FieldDefaults(level = PRIVATE)
+    private static final class FlowControl {
+        final ServerCallStreamObserver<?> observer;
+        final AtomicBoolean requested = new AtomicBoolean();
+        volatile Subscription subscription;
+        volatile boolean cancelled;
+
+        void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            if (cancelled) {
+                subscription.cancel();
+            } else {
+                requestIfReady();
+            }
+        }
+
+        void onNext() {
+            requested.set(false);
+            requestIfReady();
+        }
+
+        void requestIfReady() {
+            var s = subscription;
+            if (s != null && !cancelled && observer.isReady() && requested.compareAndSet(false, true)) {
+                s.request(1);
+            }
+        }
+
+        void cancel() {
+            cancelled = true;
+            var s = subscription;
+            if (s != null) {
+                s.cancel();
+            }
         }
     }
 }
@@ -1,5 +1,11 @@
 package io.github.m4gshm.idempotent.consumer;
 
+import java.util.Collection;
+import java.util.Set;
+
 public interface MessageStorage {
     void storeUnique(Message message);
+
+    // stores the batch by one statement, returns the ids of the messages stored for the first time
+    Set<String> storeUniqueAll(Collection<? extends Message> messages);
 }
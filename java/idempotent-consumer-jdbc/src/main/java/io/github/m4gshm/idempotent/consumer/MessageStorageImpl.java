@@ -9,11 +9,15 @@ import org.jooq.DSLContext;
 import java.time.Clock;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
-import java.util.function.Supplier;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 
+import static io.github.m4gshm.idempotent.consumer.MessageStorageJooqUtils.insertUnique;
 import static io.github.m4gshm.idempotent.consumer.PartitionType.CURRENT;
 import static io.github.m4gshm.r2dbc.postgres.PostgresqlExceptionUtils.getPostgresqlException;
 import static java.util.Optional.ofNullable;
+import static java.util.stream.Collectors.toMap;
 import static lombok.AccessLevel.PRIVATE;
 
 @Slf4j
@@ -25,6 +29,8 @@ public class MessageStorageImpl implements MessageStorage {
     InputMessages table;
     Clock clock;
     boolean createPartitionOnStore;
+    RecentMessages recentMessages;
+    KnownPartitions knownPartitions = new KnownPartitions();
 
     private static boolean isNoPartitionOfRelation(Throwable e) {
         return ofNullable(getPostgresqlException(e)).filter(errorDetails -> {
@@ -34,42 +40,57 @@ public class MessageStorageImpl implements MessageStorage {
         }).isPresent();
     }
 
-    private int insert(Message message,
-                       OffsetDateTime createdAt,
-                       OffsetDateTime timestamp,
-                       LocalDate partitionId) {
-        return dsl.insertInto(table)
-                .set(table.ID, message.getMessageID())
-                .set(table.SUBSCRIBER_ID, message.getSubscriberID())
-                .set(table.CREATED_AT, createdAt)
-                .set(table.EVENT_TIMESTAMP, timestamp)
-                .set(table.PARTITION_ID, partitionId)
-                .onDuplicateKeyIgnore()
-                .execute();
+    private LocalDate partitionId(Message message) {
+        return maintenanceService.getPartitionStart(CURRENT, message.getTimestamp());
+    }
+
+    private void addPartitions(Collection<? extends Message> messages) {
+        var moments = messages.stream().collect(toMap(this::partitionId, Message::getTimestamp, (first, _) -> first));
+        for (var partitionId : knownPartitions.unknown(moments.keySet())) {
+            maintenanceService.addPartition(CURRENT, moments.get(partitionId));
+            knownPartitions.add(partitionId);
+        }
+    }
+
+    private Set<String> insert(Collection<? extends Message> messages, OffsetDateTime createdAt) {
+        return insertUnique(dsl, table, messages, createdAt, timestamp -> {
+            return maintenanceService.getPartitionStart(CURRENT, timestamp);
+        }).fetchSet(table.ID);
     }
 
     @Override
     public void storeUnique(Message message) {
-        var timestamp = message.getTimestamp();
-        Supplier<Integer> insert = () -> insert(message,
-                OffsetDateTime.now(clock),
-                timestamp,
-                maintenanceService.getPartitionStart(CURRENT, timestamp));
-        int count;
-        try {
-            count = insert.get();
-        } catch (Exception e) {
-            if (createPartitionOnStore && isNoPartitionOfRelation(e)) {
-                log.info("trying to insert after the current partition "
-                        + "has been created");
-                maintenanceService.addPartition(CURRENT, timestamp);
-                count = insert.get();
-            } else {
-                throw e;
-            }
-        }
-        if (count != 1) {
+        if (storeUniqueAll(List.of(message)).isEmpty()) {
             throw new MessageAlreadyProcessedException(message.getMessageID());
         }
     }
+
+    @Override
+    public Set<String> storeUniqueAll(Collection<? extends Message> messages) {
+        var notRecent = messages.stream().filter(message -> !recentMessages.contains(message, partitionId(message))).toList();
+        if (notRecent.isEmpty()) {
+            return Set.of();
+        }
+        var createdAt = OffsetDateTime.now(clock);
+        Set<String> stored;
+        if (createPartitionOnStore) {
+            addPartitions(notRecent);
+            try {
+                stored = insert(notRecent, createdAt);
+            } catch (Exception e) {
+                if (isNoPartitionOfRelation(e)) {
+                    log.info("trying to insert after the partitions have been created, the known ones are stale");
+                    knownPartitions.clear();
+                    addPartitions(notRecent);
+                    stored = insert(notRecent, createdAt);
+                } else {
+                    throw e;
+                }
+            }
+        } else {
+            stored = insert(notRecent, createdAt);
+        }
+        notRecent.forEach(message -> recentMessages.add(message, partitionId(message)));
+        return stored;
+    }
 }
@@ -12,11 +12,19 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Clock;
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.time.Period;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 import static io.github.m4gshm.idempotent.consumer.MessageStorageMaintenanceJooqUtils.createPartition;
+import static io.github.m4gshm.idempotent.consumer.MessageStorageMaintenanceJooqUtils.detachPartition;
+import static io.github.m4gshm.idempotent.consumer.MessageStorageMaintenanceJooqUtils.dropPartition;
+import static io.github.m4gshm.idempotent.consumer.MessageStorageMaintenanceJooqUtils.selectPartitions;
+import static io.github.m4gshm.idempotent.consumer.MessageStorageMaintenanceJooqUtils.toPartition;
 import static io.github.m4gshm.idempotent.consumer.PartitionType.CURRENT;
-import static io.github.m4gshm.idempotent.consumer.PartitionType.NEXT;
 import static lombok.AccessLevel.PRIVATE;
 import static org.springframework.scheduling.annotation.Scheduled.CRON_DISABLED;
 import static org.springframework.transaction.annotation.Propagation.REQUIRES_NEW;
@@ -32,6 +40,9 @@ public class MessageStorageMaintenanceServiceImpl implements MessageStorageMaint
     Clock clock;
     boolean createTable;
     boolean createPartition;
+    Period retention;
+    int futurePartitions;
+    InputMessagesPartitionMetrics metrics;
 
     public void addPartition(@NonNull PartitionDuration partition) {
         createPartition(dsl, table, partitionSuffixPattern, partition).execute();
@@ -70,10 +81,48 @@ public class MessageStorageMaintenanceServiceImpl implements MessageStorageMaint
     @Scheduled(cron = "${idempotent-consumer.create-partition-scheduler:" + CRON_DISABLED + "}")
     public void scheduledCreatePartition() {
         log.info("starting scheduled create partition");
+        addFuturePartitions(getPartitionStart(CURRENT, OffsetDateTime.now(clock)));
+    }
+
+    @Scheduled(cron = "${idempotent-consumer.retention-scheduler:" + CRON_DISABLED + "}")
+    public void scheduledMaintainPartitions() {
+        log.info("starting scheduled partitions maintenance");
+        var today = getPartitionStart(CURRENT, OffsetDateTime.now(clock));
+        addFuturePartitions(today);
+        removeExpiredPartitions(today);
+        metrics.update(getPartitions());
+    }
+
+    public void addFuturePartitions(LocalDate today) {
+        // each next partition starts at the end of the previous one
         transactionTemplate.executeWithoutResult(_ -> {
-            var now = OffsetDateTime.now();
-            addPartition(CURRENT, now);
-            addPartition(NEXT, now);
+            Stream.iterate(newPartitionDuration(today), partition -> newPartitionDuration(partition.to()))
+                    .limit(futurePartitions + 1)
+                    .forEach(this::addPartition);
         });
     }
+
+    public List<InputMessagesPartition> getPartitions() {
+        return selectPartitions(dsl, table).stream()
+                .map(record -> toPartition(record, table, partitionSuffixPattern))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    // runs out of a transaction, a concurrent detach cannot run in a transaction block
+    public void removeExpiredPartitions(LocalDate today) {
+        for (var partition : getPartitions()) {
+            var detachPending = partition.detachPending();
+            if (detachPending || partition.isExpired(today, retention)) {
+                var name = partition.name();
+                try {
+                    detachPartition(dsl, table, name, detachPending).execute();
+                    dropPartition(dsl, name).execute();
+                    log.info("expired partition dropped: {}, size {}", name, partition.size());
+                } catch (Exception e) {
+                    log.error("drop expired partition error: {}", name, e);
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,60 @@
+package io.github.m4gshm.idempotent.consumer;
+
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.Set;
+import java.util.function.Function;
+
+import static lombok.AccessLevel.PRIVATE;
+
+// checks the mapped message ids before the storage, the storage remains the source of truth on a miss;
+// a message is remembered only after the storage has it, so a hit is always a duplicate
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = PRIVATE)
+public class TieredMessageStorage implements MessageStorage, AutoCloseable {
+    MappedMessageIds mappedMessageIds;
+    MessageStorage storage;
+    Function<OffsetDateTime, LocalDate> partitionStart;
+
+    private LocalDate partitionId(Message message) {
+        return partitionStart.apply(message.getTimestamp());
+    }
+
+    private void remember(Message message) {
+        mappedMessageIds.add(message, partitionId(message));
+    }
+
+    @Override
+    public void storeUnique(Message message) {
+        if (mappedMessageIds.contains(message, partitionId(message))) {
+            throw new MessageAlreadyProcessedException(message.getMessageID());
+        }
+        try {
+            storage.storeUnique(message);
+        } catch (MessageAlreadyProcessedException e) {
+            remember(message);
+            throw e;
+        }
+        remember(message);
+    }
+
+    @Override
+    public Set<String> storeUniqueAll(Collection<? extends Message> messages) {
+        var misses = messages.stream().filter(message -> !mappedMessageIds.contains(message, partitionId(message))).toList();
+        if (misses.isEmpty()) {
+            return Set.of();
+        }
+        var stored = storage.storeUniqueAll(misses);
+        misses.forEach(this::remember);
+        return stored;
+    }
+
+    @Override
+    public void close() {
+        mappedMessageIds.close();
+    }
+}
@@ -1,12 +1,19 @@
 package io.github.m4gshm.idempotent.consumer.config;
 
 import io.github.m4gshm.idempotent.consumer.IdempotentConsumerProperties;
+import io.github.m4gshm.idempotent.consumer.InputMessagesPartitionMetrics;
+import io.github.m4gshm.idempotent.consumer.MappedMessageIds;
 import io.github.m4gshm.idempotent.consumer.MessageStorage;
 import io.github.m4gshm.idempotent.consumer.MessageStorageImpl;
 import io.github.m4gshm.idempotent.consumer.MessageStorageMaintenanceService;
 import io.github.m4gshm.idempotent.consumer.MessageStorageMaintenanceServiceImpl;
+import io.github.m4gshm.idempotent.consumer.RecentMessages;
+import io.github.m4gshm.idempotent.consumer.TieredMessageStorage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.jooq.DSLContext;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -17,8 +24,10 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.file.Path;
 import java.time.Clock;
 
+import static io.github.m4gshm.idempotent.consumer.PartitionType.CURRENT;
 import static io.github.m4gshm.idempotent.consumer.storage.tables.InputMessages.INPUT_MESSAGES;
 
 @EnableScheduling
@@ -38,12 +47,25 @@ public class MessageStorageAutoConfiguration {
     @ConditionalOnMissingBean
     @ConditionalOnBean(DSLContext.class)
     public MessageStorage messageStorage(DSLContext dslContext, MessageStorageMaintenanceService maintenanceService) {
-        return new MessageStorageImpl(
+        var messageStorage = new MessageStorageImpl(
                 maintenanceService,
                 dslContext,
                 INPUT_MESSAGES,
                 getClock(),
-                properties.createPartitionOnInputMessage()
+                properties.createPartitionOnInputMessage(),
+                new RecentMessages(properties.recentMessagesCacheSize())
+        );
+        var mappedTier = properties.mappedTier();
+        if (!mappedTier.enabled()) {
+            return messageStorage;
+        }
+        return new TieredMessageStorage(
+                new MappedMessageIds(Path.of(mappedTier.directory()),
+                        mappedTier.slots(),
+                        properties.retention(),
+                        getClock()),
+                messageStorage,
+                timestamp -> maintenanceService.getPartitionStart(CURRENT, timestamp)
         );
     }
 
@@ -52,7 +74,8 @@ public class MessageStorageAutoConfiguration {
     @ConditionalOnBean(DSLContext.class)
     public MessageStorageMaintenanceService messageStorageMaintenanceService(
                                                                              DSLContext dslContext,
-                                                                             PlatformTransactionManager transactionManager) {
+                                                                             PlatformTransactionManager transactionManager,
+                                                                             ObjectProvider<MeterRegistry> meterRegistry) {
         return new MessageStorageMaintenanceServiceImpl(
                 dslContext,
                 new TransactionTemplate(transactionManager),
@@ -60,7 +83,10 @@ public class MessageStorageAutoConfiguration {
                 properties.partitionSuffixPattern(),
                 getClock(),
                 properties.createTable(),
-                properties.createPartition());
+                properties.createPartition(),
+                properties.retention(),
+                properties.futurePartitions(),
+                new InputMessagesPartitionMetrics(meterRegistry.getIfAvailable(SimpleMeterRegistry::new)));
     }
 
 }
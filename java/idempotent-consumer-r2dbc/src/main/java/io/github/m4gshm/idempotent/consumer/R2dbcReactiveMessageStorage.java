@@ -1,27 +1,36 @@
 package io.github.m4gshm.idempotent.consumer;
 
-import io.github.m4gshm.idempotent.consumer.storage.tables.records.InputMessagesRecord;
 import io.r2dbc.postgresql.api.PostgresqlException;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 import org.jooq.DSLContext;
-import org.jooq.InsertReturningStep;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Clock;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 import java.util.function.Function;
 
+import static io.github.m4gshm.idempotent.consumer.MessageStorageJooqUtils.insertUnique;
 import static io.github.m4gshm.idempotent.consumer.PartitionType.CURRENT;
 import static io.github.m4gshm.idempotent.consumer.storage.tables.InputMessages.INPUT_MESSAGES;
 import static io.github.m4gshm.r2dbc.postgres.PostgresqlExceptionUtils.getPostgresqlException;
 import static java.util.Optional.ofNullable;
+import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
 import static lombok.AccessLevel.PRIVATE;
+import static org.springframework.transaction.reactive.TransactionSynchronizationManager.forCurrentTransaction;
+import static reactor.core.publisher.Mono.defer;
 import static reactor.core.publisher.Mono.error;
-import static reactor.core.publisher.Mono.from;
+import static reactor.core.publisher.Mono.just;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -34,6 +43,8 @@ public class R2dbcReactiveMessageStorage implements InitializingBean, ReactiveMe
     boolean createTable;
     boolean createPartition;
     boolean createPartitionOnStore;
+    RecentMessages recentMessages;
+    KnownPartitions knownPartitions = new KnownPartitions();
 
     private static boolean isNoPartitionOfRelation(Throwable e) {
         return ofNullable(getPostgresqlException(e)).map(PostgresqlException::getErrorDetails)
@@ -55,53 +66,80 @@ public class R2dbcReactiveMessageStorage implements InitializingBean, ReactiveMe
         createTableRoutine.block();
     }
 
-    private InsertReturningStep<InputMessagesRecord> getInputMessagesRecordInsertReturningStep(Message message,
-                                                                                               OffsetDateTime createdAt,
-                                                                                               OffsetDateTime timestamp,
-                                                                                               LocalDate partitionId,
-                                                                                               DSLContext dsl) {
-        return dsl.insertInto(INPUT_MESSAGES)
-                .set(INPUT_MESSAGES.ID, message.getMessageID())
-                .set(INPUT_MESSAGES.SUBSCRIBER_ID, message.getSubscriberID())
-                .set(INPUT_MESSAGES.CREATED_AT, createdAt)
-                .set(INPUT_MESSAGES.EVENT_TIMESTAMP, timestamp)
-                .set(INPUT_MESSAGES.PARTITION_ID, partitionId)
-                .onDuplicateKeyIgnore();
+    private LocalDate partitionId(Message message) {
+        return maintenanceService.getPartitionStart(CURRENT, message.getTimestamp());
     }
 
-    private Mono<Integer> insert(Message message,
-                                 OffsetDateTime createdAt,
-                                 OffsetDateTime timestamp,
-                                 LocalDate partitionId) {
-        return dslContextProvider.provide("insert",
-                dsl -> from(getInputMessagesRecordInsertReturningStep(message,
-                        createdAt,
-                        timestamp,
-                        partitionId,
-                        dsl)));
+    private Mono<Void> addPartitions(Collection<? extends Message> messages) {
+        return defer(() -> {
+            var moments = messages.stream().collect(toMap(this::partitionId, Message::getTimestamp, (first, _) -> first));
+            return Flux.fromIterable(knownPartitions.unknown(moments.keySet())).concatMap(partitionId -> {
+                return maintenanceService.addPartition(CURRENT, moments.get(partitionId))
+                        .doOnSuccess(_ -> knownPartitions.add(partitionId));
+            }).then();
+        });
+    }
+
+    private Mono<Set<String>> insert(Collection<? extends Message> messages, OffsetDateTime createdAt) {
+        return dslContextProvider.provide("insert", dsl -> {
+            return Flux.from(insertUnique(dsl, INPUT_MESSAGES, messages, createdAt, timestamp -> {
+                return maintenanceService.getPartitionStart(CURRENT, timestamp);
+            })).map(record -> record.get(INPUT_MESSAGES.ID)).collect(toSet()).flatMap(stored -> {
+                return rememberAfterCommit(messages).thenReturn(stored);
+            });
+        });
+    }
+
+    // a rolled back insert leaves no recent messages, they would reject the redelivery of the messages
+    private Mono<Void> rememberAfterCommit(Collection<? extends Message> messages) {
+        var remember = Mono.<Void>fromRunnable(() -> messages.forEach(message -> {
+            recentMessages.add(message, partitionId(message));
+        }));
+        return forCurrentTransaction().flatMap(manager -> {
+            if (!manager.isSynchronizationActive()) {
+                return remember;
+            }
+            manager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public Mono<Void> afterCommit() {
+                    return remember;
+                }
+            });
+            return Mono.<Void>empty();
+        }).onErrorResume(NoTransactionException.class, _ -> remember);
     }
 
     @Override
     public Mono<Void> storeUnique(Message message) {
-        var timestamp = message.getTimestamp();
-        var insert = insert(message,
-                OffsetDateTime.now(clock),
-                timestamp,
-                maintenanceService.getPartitionStart(CURRENT, timestamp));
-
-        var store = !createPartitionOnStore
-                ? insert
-                : insert.onErrorResume(e -> isNoPartitionOfRelation(e)
-                        ? maintenanceService.addPartition(CURRENT, timestamp)
-                                .then(insert)
-                                .doOnSubscribe(s -> log.info("trying to insert after the current partition "
-                                        + "has been created"))
-                        : error(e));
+        return storeUniqueAll(List.of(message)).flatMap(stored -> {
+            if (stored.isEmpty()) {
+                return Mono.<Void>error(new MessageAlreadyProcessedException(message.getMessageID()));
+            }
+            return Mono.<Void>empty();
+        });
+    }
 
-        return store.flatMap(count -> {
-            return (count == 1 ? Mono.empty() : error(new MessageAlreadyProcessedException(message.getMessageID())))
-                    .then();
-        }).then();
+    @Override
+    public Mono<Set<String>> storeUniqueAll(Collection<? extends Message> messages) {
+        // the recent messages and the clock are read on subscription
+        return defer(() -> {
+            var notRecent = messages.stream()
+                    .filter(message -> !recentMessages.contains(message, partitionId(message)))
+                    .toList();
+            if (notRecent.isEmpty()) {
+                return just(Set.<String>of());
+            }
+            var insert = insert(notRecent, OffsetDateTime.now(clock));
+            return !createPartitionOnStore
+                    ? insert
+                    : addPartitions(notRecent).then(insert).onErrorResume(e -> isNoPartitionOfRelation(e)
+                            ? Mono.fromRunnable(knownPartitions::clear)
+                                    .then(addPartitions(notRecent))
+                                    .then(insert)
+                                    .doOnSubscribe(s -> log.info("trying to insert after the partitions have been "
+                                            + "created, the known ones are stale"))
+                            : error(e));
+        });
     }
 
     @FunctionalInterface
@@ -6,14 +6,22 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jooq.TableField;
 import org.springframework.scheduling.annotation.Scheduled;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Clock;
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.time.Period;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static io.github.m4gshm.idempotent.consumer.MessageStorageMaintenanceJooqUtils.createPartition;
+import static io.github.m4gshm.idempotent.consumer.MessageStorageMaintenanceJooqUtils.detachPartition;
+import static io.github.m4gshm.idempotent.consumer.MessageStorageMaintenanceJooqUtils.dropPartition;
+import static io.github.m4gshm.idempotent.consumer.MessageStorageMaintenanceJooqUtils.selectPartitions;
+import static io.github.m4gshm.idempotent.consumer.MessageStorageMaintenanceJooqUtils.toPartition;
 import static io.github.m4gshm.idempotent.consumer.PartitionType.CURRENT;
-import static io.github.m4gshm.idempotent.consumer.PartitionType.NEXT;
 import static org.springframework.scheduling.annotation.Scheduled.CRON_DISABLED;
 import static reactor.core.publisher.Mono.from;
 
@@ -21,8 +29,14 @@ import static reactor.core.publisher.Mono.from;
 @RequiredArgsConstructor
 public class R2dbcReactiveMessageStorageMaintenanceService implements ReactiveMessageStorageMaintenanceService {
     private final R2dbcReactiveMessageStorage.DslContextProvider dslFactory;
+    // a concurrent detach cannot run in a transaction block
+    private final R2dbcReactiveMessageStorage.DslContextProvider outOfTransactionDslFactory;
     private final InputMessages table;
     private final String partitionSuffixPattern;
+    private final Clock clock;
+    private final Period retention;
+    private final int futurePartitions;
+    private final InputMessagesPartitionMetrics metrics;
 
     @SuppressWarnings("unchecked")
     private static <R extends org.jooq.Record> TableField<R, ?>[] getArray(List<TableField<R, ?>> refs) {
@@ -52,7 +66,51 @@ public class R2dbcReactiveMessageStorageMaintenanceService implements ReactiveMe
     @Scheduled(cron = "${idempotent-consumer.create-partition-scheduler:" + CRON_DISABLED + "}")
     public void scheduledCreatePartition() {
         log.info("starting scheduled create partition");
-        var now = OffsetDateTime.now();
-        addPartition(CURRENT, now).then(addPartition(NEXT, now)).block();
+        addFuturePartitions(getPartitionStart(CURRENT, OffsetDateTime.now(clock))).block();
+    }
+
+    @Scheduled(cron = "${idempotent-consumer.retention-scheduler:" + CRON_DISABLED + "}")
+    public void scheduledMaintainPartitions() {
+        log.info("starting scheduled partitions maintenance");
+        var today = getPartitionStart(CURRENT, OffsetDateTime.now(clock));
+        addFuturePartitions(today)
+                .then(removeExpiredPartitions(today))
+                .then(getPartitions())
+                .doOnSuccess(metrics::update)
+                .block();
+    }
+
+    public Mono<Void> addFuturePartitions(LocalDate today) {
+        // each next partition starts at the end of the previous one
+        return Flux.fromStream(Stream.iterate(newPartitionDuration(today),
+                partition -> newPartitionDuration(partition.to())).limit(futurePartitions + 1))
+                .concatMap(this::addPartition)
+                .then();
+    }
+
+    public Mono<List<InputMessagesPartition>> getPartitions() {
+        return outOfTransactionDslFactory.provide("getPartitions", dsl -> {
+            return Flux.from(selectPartitions(dsl, table))
+                    .mapNotNull(record -> toPartition(record, table, partitionSuffixPattern))
+                    .collectList();
+        });
+    }
+
+    public Mono<Void> removeExpiredPartitions(LocalDate today) {
+        return getPartitions().flatMapMany(Flux::fromIterable).filter(partition -> {
+            return partition.detachPending() || partition.isExpired(today, retention);
+        }).concatMap(partition -> {
+            var name = partition.name();
+            return outOfTransactionDslFactory.provide("removeExpiredPartition", dsl -> {
+                return from(detachPartition(dsl, table, name, partition.detachPending()))
+                        .then(from(dropPartition(dsl, name)))
+                        .then();
+            }).doOnSuccess(_ -> {
+                log.info("expired partition dropped: {}, size {}", name, partition.size());
+            }).onErrorResume(e -> {
+                log.error("drop expired partition error: {}", name, e);
+                return Mono.empty();
+            });
+        }).then();
     }
 }
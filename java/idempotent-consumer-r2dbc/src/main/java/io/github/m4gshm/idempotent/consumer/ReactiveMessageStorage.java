@@ -2,7 +2,13 @@ package io.github.m4gshm.idempotent.consumer;
 
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+import java.util.Set;
+
 public interface ReactiveMessageStorage {
 
     Mono<Void> storeUnique(Message message);
+
+    // stores the batch by one statement, returns the ids of the messages stored for the first time
+    Mono<Set<String>> storeUniqueAll(Collection<? extends Message> messages);
 }
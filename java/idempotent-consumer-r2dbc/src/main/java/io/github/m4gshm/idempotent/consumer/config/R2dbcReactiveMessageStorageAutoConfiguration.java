@@ -2,12 +2,17 @@ package io.github.m4gshm.idempotent.consumer.config;
 
 import io.github.m4gshm.jooq.ReactiveJooq;
 import io.github.m4gshm.idempotent.consumer.IdempotentConsumerProperties;
+import io.github.m4gshm.idempotent.consumer.InputMessagesPartitionMetrics;
 import io.github.m4gshm.idempotent.consumer.R2dbcReactiveMessageStorage;
 import io.github.m4gshm.idempotent.consumer.R2dbcReactiveMessageStorageMaintenanceService;
 import io.github.m4gshm.idempotent.consumer.ReactiveMessageStorage;
 import io.github.m4gshm.idempotent.consumer.ReactiveMessageStorageMaintenanceService;
+import io.github.m4gshm.idempotent.consumer.RecentMessages;
 import io.github.m4gshm.jooq.config.R2dbcReactiveJooqAutoConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.context.annotation.Bean;
@@ -38,18 +43,27 @@ public class R2dbcReactiveMessageStorageAutoConfiguration {
                 Clock.systemDefaultZone(),
                 properties.createTable(),
                 properties.createPartition(),
-                properties.createPartitionOnInputMessage()
+                properties.createPartitionOnInputMessage(),
+                new RecentMessages(properties.recentMessagesCacheSize())
         );
     }
 
     @Bean
 //    @ConditionalOnMissingBean
     @ConditionalOnBean(ReactiveJooq.class)
-    public ReactiveMessageStorageMaintenanceService reactiveMessageStorageMaintenanceService(ReactiveJooq jooq) {
+    public ReactiveMessageStorageMaintenanceService reactiveMessageStorageMaintenanceService(
+                                                                                           ReactiveJooq jooq,
+                                                                                           ObjectProvider<MeterRegistry> meterRegistry
+    ) {
         return new R2dbcReactiveMessageStorageMaintenanceService(
                 jooq::inTransaction,
+                jooq::outOfTransaction,
                 INPUT_MESSAGES,
-                properties.partitionSuffixPattern());
+                properties.partitionSuffixPattern(),
+                Clock.systemDefaultZone(),
+                properties.retention(),
+                properties.futurePartitions(),
+                new InputMessagesPartitionMetrics(meterRegistry.getIfAvailable(SimpleMeterRegistry::new)));
     }
 
 }
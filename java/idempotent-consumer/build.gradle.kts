@@ -7,6 +7,7 @@ apply(plugin = "io.spring.dependency-management")
 
 dependencies {
     compileOnly("io.projectreactor:reactor-core")
+    api("io.micrometer:micrometer-core")
 
     implementation("org.postgresql:postgresql")
 
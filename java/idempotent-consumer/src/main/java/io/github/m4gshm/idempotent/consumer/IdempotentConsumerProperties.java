@@ -3,11 +3,29 @@ package io.github.m4gshm.idempotent.consumer;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.bind.DefaultValue;
 
+import java.time.Period;
+
 @ConfigurationProperties("idempotent-consumer")
 public record IdempotentConsumerProperties(
                                            @DefaultValue("true") boolean createTable,
                                            @DefaultValue("true") boolean createPartition,
                                            @DefaultValue("true") boolean createPartitionOnInputMessage,
-                                           @DefaultValue("yyyy_MM_dd") String partitionSuffixPattern
+                                           // the partitions are daily (newPartitionDuration), so the pattern names a day
+                                           @DefaultValue("yyyy_MM_dd") String partitionSuffixPattern,
+                                           // recently stored messages checked before the database, 0 - disabled
+                                           @DefaultValue("0") int recentMessagesCacheSize,
+                                           // the deduplication window, older partitions are detached and dropped
+                                           // by idempotent-consumer.retention-scheduler
+                                           @DefaultValue("7d") Period retention,
+                                           // daily partitions created ahead of the current one
+                                           @DefaultValue("2") int futurePartitions,
+                                           @DefaultValue MappedTier mappedTier
 ) {
+    // message ids in memory mapped files checked before the database, the jdbc storage only
+    public record MappedTier(
+                             @DefaultValue("false") boolean enabled,
+                             @DefaultValue("idempotent-consumer-ids") String directory,
+                             // slots of a partition day file, 16 bytes each, a power of two
+                             @DefaultValue("1048576") int slots) {
+    }
 }
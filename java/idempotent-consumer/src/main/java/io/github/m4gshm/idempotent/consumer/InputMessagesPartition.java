@@ -0,0 +1,16 @@
+package io.github.m4gshm.idempotent.consumer;
+
+import java.time.LocalDate;
+import java.time.Period;
+
+public record InputMessagesPartition(String name, LocalDate from, boolean detachPending, long size) {
+
+    public LocalDate to() {
+        return from.plusDays(1);
+    }
+
+    // all the messages of the partition are older than the retention
+    public boolean isExpired(LocalDate today, Period retention) {
+        return !to().isAfter(today.minus(retention));
+    }
+}
@@ -0,0 +1,33 @@
+package io.github.m4gshm.idempotent.consumer;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import lombok.experimental.FieldDefaults;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@FieldDefaults(makeFinal = true, level = PRIVATE)
+public class InputMessagesPartitionMetrics {
+    AtomicInteger count = new AtomicInteger();
+    AtomicLong size = new AtomicLong();
+
+    public InputMessagesPartitionMetrics(MeterRegistry meterRegistry) {
+        Gauge.builder("idempotent.consumer.partitions", count, AtomicInteger::get)
+                .description("The number of input messages partitions")
+                .register(meterRegistry);
+        Gauge.builder("idempotent.consumer.partitions.size", size, AtomicLong::get)
+                .description("The total size of input messages partitions with their indexes")
+                .baseUnit(BaseUnits.BYTES)
+                .register(meterRegistry);
+    }
+
+    public void update(Collection<InputMessagesPartition> partitions) {
+        count.set(partitions.size());
+        size.set(partitions.stream().mapToLong(InputMessagesPartition::size).sum());
+    }
+}
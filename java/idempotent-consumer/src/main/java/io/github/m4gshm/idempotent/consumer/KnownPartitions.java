@@ -0,0 +1,33 @@
+package io.github.m4gshm.idempotent.consumer;
+
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.stream.Collectors.toCollection;
+import static lombok.AccessLevel.PRIVATE;
+
+// the partitions created or found by the storage, a message of a known partition is inserted without a partition check
+@FieldDefaults(makeFinal = true, level = PRIVATE)
+public class KnownPartitions {
+    Set<LocalDate> partitions = ConcurrentHashMap.newKeySet();
+
+    public Set<LocalDate> unknown(Collection<LocalDate> partitionIds) {
+        return partitionIds.stream()
+                .filter(partitionId -> !partitions.contains(partitionId))
+                .collect(toCollection(TreeSet::new));
+    }
+
+    public void add(LocalDate partitionId) {
+        partitions.add(partitionId);
+    }
+
+    // a partition may be dropped behind the cache
+    public void clear() {
+        partitions.clear();
+    }
+}
@@ -0,0 +1,219 @@
+package io.github.m4gshm.idempotent.consumer;
+
+import lombok.SneakyThrows;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.lang.foreign.ValueLayout.JAVA_LONG;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static lombok.AccessLevel.PRIVATE;
+
+// an open addressing hash set of 128 bit message key hashes, a memory mapped file per partition day;
+// survives a restart through the files, must hold only the messages already stored by the database
+@Slf4j
+@FieldDefaults(makeFinal = true, level = PRIVATE)
+public class MappedMessageIds implements AutoCloseable {
+    private static final int SLOT_SIZE = 2 * Long.BYTES;
+    private static final String FILE_PREFIX = "input_messages_";
+    private static final String FILE_SUFFIX = ".ids";
+    private static final DateTimeFormatter FILE_DATE = DateTimeFormatter.ofPattern("yyyy_MM_dd");
+    private static final ThreadLocal<MessageDigest> MD5 = ThreadLocal.withInitial(MappedMessageIds::newMd5);
+
+    Path directory;
+    int slots;
+    int maxSize;
+    Period retention;
+    Clock clock;
+    Map<LocalDate, Day> days = new ConcurrentHashMap<>();
+
+    public MappedMessageIds(Path directory, int slots, Period retention, Clock clock) {
+        if (Integer.bitCount(slots) != 1) {
+            throw new IllegalArgumentException("slots must be a power of two: " + slots);
+        }
+        this.directory = directory;
+        this.slots = slots;
+        // the tail of the probe sequences stays short, the full day is just a miss
+        this.maxSize = slots / 4 * 3;
+        this.retention = retention;
+        this.clock = clock;
+    }
+
+    @SneakyThrows
+    private static MessageDigest newMd5() {
+        return MessageDigest.getInstance("MD5");
+    }
+
+    private static long[] hash(Message message) {
+        var key = message.getSubscriberID() + '\n' + message.getMessageID();
+        var digest = ByteBuffer.wrap(MD5.get().digest(key.getBytes(StandardCharsets.UTF_8))).order(ByteOrder.LITTLE_ENDIAN);
+        var low = digest.getLong();
+        // zero marks an empty slot
+        return new long[] { low == 0 ? 1 : low, digest.getLong() };
+    }
+
+    private static LocalDate fileDate(Path file) {
+        var name = file.getFileName().toString();
+        if (!name.startsWith(FILE_PREFIX) || !name.endsWith(FILE_SUFFIX)) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()), FILE_DATE);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    public boolean contains(Message message, LocalDate partitionId) {
+        var day = day(partitionId);
+        return day != null && day.contains(hash(message));
+    }
+
+    public void add(Message message, LocalDate partitionId) {
+        var day = day(partitionId);
+        if (day != null) {
+            day.add(hash(message));
+        }
+    }
+
+    // null for a partition out of the retention by the clock, its messages are left to the database;
+    // so a future dated message neither maps a file nor expires the valid days
+    @SneakyThrows
+    private Day day(LocalDate partitionId) {
+        var day = days.get(partitionId);
+        if (day == null) {
+            var today = LocalDate.now(clock);
+            var expiredBefore = today.minus(retention);
+            if (partitionId.isAfter(today) || partitionId.isBefore(expiredBefore)) {
+                return null;
+            }
+            synchronized (days) {
+                day = days.get(partitionId);
+                if (day == null) {
+                    removeExpired(expiredBefore);
+                    day = open(partitionId);
+                    days.put(partitionId, day);
+                }
+            }
+        }
+        return day;
+    }
+
+    @Override
+    public void close() {
+        synchronized (days) {
+            days.values().forEach(Day::close);
+            days.clear();
+        }
+    }
+
+    private Day open(LocalDate partitionId) throws IOException {
+        var file = directory.resolve(FILE_PREFIX + partitionId.format(FILE_DATE) + FILE_SUFFIX);
+        var arena = Arena.ofShared();
+        try (var channel = FileChannel.open(file, CREATE, READ, WRITE)) {
+            var day = new Day(arena, channel.map(READ_WRITE, 0, (long) slots * SLOT_SIZE, arena));
+            log.info("mapped message ids opened: {}, size {}", file, day.size);
+            return day;
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    private void removeExpired(LocalDate before) throws IOException {
+        Files.createDirectories(directory);
+        days.entrySet().removeIf(entry -> {
+            var expired = entry.getKey().isBefore(before);
+            if (expired) {
+                entry.getValue().close();
+            }
+            return expired;
+        });
+        try (var files = Files.list(directory)) {
+            for (var file : files.toList()) {
+                var date = fileDate(file);
+                if (date != null && date.isBefore(before)) {
+                    Files.deleteIfExists(file);
+                    log.info("expired mapped message ids deleted: {}", file);
+                }
+            }
+        }
+    }
+
+    @FieldDefaults(level = PRIVATE)
+    private final class Day {
+        final Arena arena;
+        final MemorySegment segment;
+        int size;
+        boolean closed;
+
+        Day(Arena arena, MemorySegment segment) {
+            this.arena = arena;
+            this.segment = segment;
+            for (long offset = 0; offset < segment.byteSize(); offset += SLOT_SIZE) {
+                if (segment.get(JAVA_LONG, offset) != 0) {
+                    size++;
+                }
+            }
+        }
+
+        // the offset of the hash slot or of the empty slot where it would be
+        private long find(long[] hash) {
+            var mask = slots - 1;
+            var index = (int) hash[0] & mask;
+            while (true) {
+                long offset = (long) index * SLOT_SIZE;
+                var low = segment.get(JAVA_LONG, offset);
+                if (low == 0 || (low == hash[0] && segment.get(JAVA_LONG, offset + Long.BYTES) == hash[1])) {
+                    return offset;
+                }
+                index = (index + 1) & mask;
+            }
+        }
+
+        synchronized boolean contains(long[] hash) {
+            return !closed && segment.get(JAVA_LONG, find(hash)) != 0;
+        }
+
+        synchronized void add(long[] hash) {
+            if (closed || size >= maxSize) {
+                return;
+            }
+            var offset = find(hash);
+            if (segment.get(JAVA_LONG, offset) == 0) {
+                // the low half marks the slot as used, it is written last
+                segment.set(JAVA_LONG, offset + Long.BYTES, hash[1]);
+                segment.set(JAVA_LONG, offset, hash[0]);
+                size++;
+            }
+        }
+
+        synchronized void close() {
+            if (!closed) {
+                closed = true;
+                segment.force();
+                arena.close();
+            }
+        }
+    }
+}
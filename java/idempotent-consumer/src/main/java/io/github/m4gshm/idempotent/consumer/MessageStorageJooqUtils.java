@@ -0,0 +1,38 @@
+package io.github.m4gshm.idempotent.consumer;
+
+import io.github.m4gshm.idempotent.consumer.storage.tables.InputMessages;
+import io.github.m4gshm.idempotent.consumer.storage.tables.records.InputMessagesRecord;
+import lombok.experimental.UtilityClass;
+import org.jooq.DSLContext;
+import org.jooq.InsertResultStep;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.function.Function;
+
+import static org.jooq.impl.DSL.row;
+
+@UtilityClass
+public class MessageStorageJooqUtils {
+
+    // one statement for the batch, returns the rows inserted for the first time
+    public static InsertResultStep<InputMessagesRecord> insertUnique(DSLContext dsl,
+                                                                     InputMessages table,
+                                                                     Collection<? extends Message> messages,
+                                                                     OffsetDateTime createdAt,
+                                                                     Function<OffsetDateTime, LocalDate> partitionStart) {
+        var rows = messages.stream().map(message -> {
+            var timestamp = message.getTimestamp();
+            return row(message.getMessageID(),
+                    message.getSubscriberID(),
+                    createdAt,
+                    timestamp,
+                    partitionStart.apply(timestamp));
+        }).toList();
+        return dsl.insertInto(table, table.ID, table.SUBSCRIBER_ID, table.CREATED_AT, table.EVENT_TIMESTAMP, table.PARTITION_ID)
+                .valuesOfRows(rows)
+                .onDuplicateKeyIgnore()
+                .returning(table.ID);
+    }
+}
@@ -3,10 +3,17 @@ package io.github.m4gshm.idempotent.consumer;
 import io.github.m4gshm.idempotent.consumer.storage.tables.InputMessages;
 import lombok.experimental.UtilityClass;
 import org.jooq.DSLContext;
+import org.jooq.DropTableStep;
+import org.jooq.Record;
+import org.jooq.ResultQuery;
 import org.jooq.RowCountQuery;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
 import static java.time.format.DateTimeFormatter.ISO_DATE;
 import static java.time.format.DateTimeFormatter.ofPattern;
+import static org.jooq.impl.DSL.name;
 
 @UtilityClass
 public class MessageStorageMaintenanceJooqUtils {
@@ -49,4 +56,44 @@ public class MessageStorageMaintenanceJooqUtils {
                 + table.PARTITION_ID.getName()
                 + ")");
     }
+
+    public static ResultQuery<Record> selectPartitions(DSLContext dsl, InputMessages table) {
+        return dsl.resultQuery("""
+                select c.relname as name, i.inhdetachpending as detach_pending, pg_total_relation_size(c.oid) as size
+                from pg_inherits i join pg_class c on c.oid = i.inhrelid
+                where i.inhparent = ?::regclass
+                """, table.getName());
+    }
+
+    // null for a partition not named by the suffix pattern, it is not managed by the storage
+    public static InputMessagesPartition toPartition(Record record, InputMessages table, String partitionSuffixPattern) {
+        var name = record.get("name", String.class);
+        var prefix = table.getName() + "_";
+        if (!name.startsWith(prefix)) {
+            return null;
+        }
+        LocalDate from;
+        try {
+            from = LocalDate.parse(name.substring(prefix.length()), ofPattern(partitionSuffixPattern));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+        return new InputMessagesPartition(name,
+                from,
+                record.get("detach_pending", Boolean.class),
+                record.get("size", Long.class));
+    }
+
+    // concurrently - doesn't block the inserts, but cannot run in a transaction block;
+    // finalize - completes a concurrent detach that has been interrupted
+    public static RowCountQuery detachPartition(DSLContext dsl, InputMessages table, String partitionName, boolean finalize) {
+        return dsl.query("alter table " + table.getName()
+                + " detach partition "
+                + partitionName
+                + (finalize ? " finalize" : " concurrently"));
+    }
+
+    public static DropTableStep dropPartition(DSLContext dsl, String partitionName) {
+        return dsl.dropTableIfExists(name(partitionName));
+    }
 }
@@ -0,0 +1,52 @@
+package io.github.m4gshm.idempotent.consumer;
+
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static lombok.AccessLevel.PRIVATE;
+
+// the least recently used keys of stored messages, rejects a redelivery without a database round trip;
+// holds no false positives, unlike a bloom filter, so a new message is never rejected
+@FieldDefaults(makeFinal = true, level = PRIVATE)
+public class RecentMessages {
+    int maximumSize;
+    Map<Key, Boolean> keys;
+
+    public RecentMessages(int maximumSize) {
+        this.maximumSize = maximumSize;
+        this.keys = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Boolean> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    private static Key key(Message message, LocalDate partitionId) {
+        return new Key(message.getSubscriberID(), message.getMessageID(), partitionId);
+    }
+
+    public boolean contains(Message message, LocalDate partitionId) {
+        if (maximumSize <= 0) {
+            return false;
+        }
+        synchronized (keys) {
+            return keys.get(key(message, partitionId)) != null;
+        }
+    }
+
+    public void add(Message message, LocalDate partitionId) {
+        if (maximumSize <= 0) {
+            return;
+        }
+        synchronized (keys) {
+            keys.put(key(message, partitionId), true);
+        }
+    }
+
+    private record Key(String subscriberId, String messageId, LocalDate partitionId) {
+    }
+}
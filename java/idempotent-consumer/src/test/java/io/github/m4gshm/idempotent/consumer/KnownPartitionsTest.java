@@ -0,0 +1,36 @@
+package io.github.m4gshm.idempotent.consumer;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+
+public class KnownPartitionsTest {
+    private static final LocalDate DAY1 = LocalDate.of(2025, 10, 1);
+    private static final LocalDate DAY2 = LocalDate.of(2025, 10, 2);
+    private static final LocalDate DAY3 = LocalDate.of(2025, 10, 3);
+
+    @Test
+    public void testUnknownSortedWithoutAdded() {
+        var partitions = new KnownPartitions();
+        partitions.add(DAY2);
+
+        assertIterableEquals(List.of(DAY1, DAY3), partitions.unknown(List.of(DAY3, DAY2, DAY1, DAY3)));
+        assertEquals(Set.of(), partitions.unknown(List.of(DAY2)));
+    }
+
+    @Test
+    public void testClear() {
+        var partitions = new KnownPartitions();
+        partitions.add(DAY1);
+        partitions.add(DAY2);
+
+        partitions.clear();
+
+        assertEquals(Set.of(DAY1, DAY2), partitions.unknown(List.of(DAY1, DAY2)));
+    }
+}
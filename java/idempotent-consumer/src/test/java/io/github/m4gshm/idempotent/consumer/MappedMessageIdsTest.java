@@ -0,0 +1,118 @@
+package io.github.m4gshm.idempotent.consumer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MappedMessageIdsTest {
+    private static final LocalDate DAY1 = LocalDate.of(2025, 10, 1);
+    private static final LocalDate DAY2 = LocalDate.of(2025, 10, 2);
+    private static final int SLOTS = 16;
+    private static final Clock CLOCK = clock(DAY2);
+
+    @TempDir
+    Path directory;
+
+    private static Clock clock(LocalDate today) {
+        return Clock.fixed(today.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC);
+    }
+
+    private static List<TestMessage> messages(int count) {
+        return IntStream.range(0, count).mapToObj(i -> new TestMessage("orders", String.valueOf(i))).toList();
+    }
+
+    @Test
+    public void testContainsAddedOnly() {
+        try (var ids = new MappedMessageIds(directory, SLOTS, Period.ofDays(7), CLOCK)) {
+            var message = new TestMessage("orders", "1");
+            ids.add(message, DAY1);
+
+            assertTrue(ids.contains(new TestMessage("orders", "1"), DAY1));
+            assertFalse(ids.contains(new TestMessage("orders", "2"), DAY1));
+            assertFalse(ids.contains(new TestMessage("payments", "1"), DAY1));
+            assertFalse(ids.contains(message, DAY2));
+        }
+    }
+
+    @Test
+    public void testProbingUpToMaxSize() {
+        // three quarters of the slots are taken, so colliding hashes are probed to the next slots
+        var maxSize = SLOTS / 4 * 3;
+        var messages = messages(SLOTS);
+        try (var ids = new MappedMessageIds(directory, SLOTS, Period.ofDays(7), CLOCK)) {
+            messages.forEach(message -> ids.add(message, DAY1));
+
+            for (var i = 0; i < messages.size(); i++) {
+                var message = messages.get(i);
+                assertEquals(i < maxSize, ids.contains(message, DAY1), message::toString);
+            }
+        }
+    }
+
+    @Test
+    public void testReopen() {
+        var messages = messages(8);
+        try (var ids = new MappedMessageIds(directory, SLOTS, Period.ofDays(7), CLOCK)) {
+            messages.forEach(message -> ids.add(message, DAY1));
+        }
+
+        try (var ids = new MappedMessageIds(directory, SLOTS, Period.ofDays(7), CLOCK)) {
+            messages.forEach(message -> assertTrue(ids.contains(message, DAY1), message::toString));
+            assertFalse(ids.contains(new TestMessage("orders", "8"), DAY1));
+        }
+    }
+
+    @Test
+    public void testExpiredDayDeleted() {
+        var message = new TestMessage("orders", "1");
+        var file = directory.resolve("input_messages_2025_10_01.ids");
+        try (var ids = new MappedMessageIds(directory, SLOTS, Period.ofDays(2), clock(DAY1))) {
+            ids.add(message, DAY1);
+            assertTrue(Files.exists(file));
+        }
+
+        var today = DAY1.plusDays(5);
+        try (var ids = new MappedMessageIds(directory, SLOTS, Period.ofDays(2), clock(today))) {
+            // opening a day of the clock deletes the days older than the retention
+            assertFalse(ids.contains(message, today));
+
+            assertFalse(Files.exists(file));
+            assertFalse(ids.contains(message, DAY1));
+            assertFalse(Files.exists(file));
+        }
+    }
+
+    @Test
+    public void testFutureDayIgnored() {
+        var message = new TestMessage("orders", "1");
+        var future = DAY2.plusDays(30);
+        try (var ids = new MappedMessageIds(directory, SLOTS, Period.ofDays(2), CLOCK)) {
+            ids.add(message, DAY1);
+            ids.add(message, future);
+
+            // the future day neither expires the valid ones nor maps a file
+            assertFalse(ids.contains(message, future));
+            assertTrue(ids.contains(message, DAY1));
+            assertTrue(Files.exists(directory.resolve("input_messages_2025_10_01.ids")));
+            assertFalse(Files.exists(directory.resolve("input_messages_2025_11_01.ids")));
+        }
+    }
+
+    @Test
+    public void testSlotsPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new MappedMessageIds(directory, 12, Period.ofDays(7), CLOCK));
+    }
+}
@@ -0,0 +1,52 @@
+package io.github.m4gshm.idempotent.consumer;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RecentMessagesTest {
+    private static final LocalDate DAY1 = LocalDate.of(2025, 10, 1);
+    private static final LocalDate DAY2 = LocalDate.of(2025, 10, 2);
+
+    @Test
+    public void testContainsAddedOnly() {
+        var recentMessages = new RecentMessages(10);
+        var message = new TestMessage("orders", "1");
+        recentMessages.add(message, DAY1);
+
+        assertTrue(recentMessages.contains(new TestMessage("orders", "1"), DAY1));
+        assertFalse(recentMessages.contains(new TestMessage("orders", "2"), DAY1));
+        assertFalse(recentMessages.contains(new TestMessage("payments", "1"), DAY1));
+        assertFalse(recentMessages.contains(message, DAY2));
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        var recentMessages = new RecentMessages(2);
+        var first = new TestMessage("orders", "1");
+        var second = new TestMessage("orders", "2");
+        var third = new TestMessage("orders", "3");
+        recentMessages.add(first, DAY1);
+        recentMessages.add(second, DAY1);
+        // the lookup makes the first message the most recently used
+        assertTrue(recentMessages.contains(first, DAY1));
+
+        recentMessages.add(third, DAY1);
+
+        assertTrue(recentMessages.contains(first, DAY1));
+        assertFalse(recentMessages.contains(second, DAY1));
+        assertTrue(recentMessages.contains(third, DAY1));
+    }
+
+    @Test
+    public void testDisabled() {
+        var recentMessages = new RecentMessages(0);
+        var message = new TestMessage("orders", "1");
+        recentMessages.add(message, DAY1);
+
+        assertFalse(recentMessages.contains(message, DAY1));
+    }
+}
@@ -0,0 +1,21 @@
+package io.github.m4gshm.idempotent.consumer;
+
+import java.time.OffsetDateTime;
+
+record TestMessage(String subscriberId, String messageId) implements Message {
+
+    @Override
+    public String getMessageID() {
+        return messageId;
+    }
+
+    @Override
+    public String getSubscriberID() {
+        return subscriberId;
+    }
+
+    @Override
+    public OffsetDateTime getTimestamp() {
+        return null;
+    }
+}
@@ -14,7 +14,7 @@ import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
 import static lombok.AccessLevel.PRIVATE;
-import static reactor.core.publisher.Mono.deferContextual;
+import static reactor.core.publisher.Flux.deferContextual;
 
 @Slf4j
 @FieldDefaults(makeFinal = true, level = PRIVATE)
@@ -40,6 +40,12 @@ public abstract class AbstractReactiveJooqImpl<TS extends TransactionExecution>
     protected <T> Mono<T> execute(String name,
                                   TransactionalExecutor<TS> operator,
                                   Function<DSLContext, Mono<T>> routine) {
+        return executeMany(name, operator, routine).singleOrEmpty();
+    }
+
+    protected <T> Flux<T> executeMany(String name,
+                                      TransactionalExecutor<TS> operator,
+                                      Function<DSLContext, ? extends Publisher<T>> routine) {
         var trace = traceService.startNewObservation(name);
         return operator.execute(name, transaction -> deferContextual(context -> {
             try (var _ = traceService.startLocalEvent(trace, "execute:init")) {
@@ -47,7 +53,7 @@ public abstract class AbstractReactiveJooqImpl<TS extends TransactionExecution>
                         transaction.hasTransaction(),
                         transaction.isNewTransaction(),
                         transaction.isRollbackOnly());
-                return routine.apply(getDslContext(context)).doOnSubscribe(_ -> {
+                return Flux.from(routine.apply(getDslContext(context))).doOnSubscribe(_ -> {
                     traceService.addEvent(trace, "execute:subscribe");
                 }).doFinally(_ -> {
                     traceService.addEvent(trace, "execute:finally");
@@ -56,7 +62,6 @@ public abstract class AbstractReactiveJooqImpl<TS extends TransactionExecution>
         }))
                 .contextWrite(this::initDslContext)
                 .contextWrite(context -> traceService.putToReactContext(context, trace))
-                .singleOrEmpty()
                 .doOnError(e -> {
                     log.error("transactional error", e);
                     traceService.addEvent(trace, "error");
@@ -115,6 +120,11 @@ public abstract class AbstractReactiveJooqImpl<TS extends TransactionExecution>
 
     protected abstract DSLContext newDslContext(ContextView context);
 
+    @Override
+    public <T> Flux<T> inTransactionMany(String op, Function<DSLContext, Flux<T>> function) {
+        return executeMany("inTransactionMany:" + op, required, function);
+    }
+
     @Override
     public <T> Mono<T> newTransaction(String op, Function<DSLContext, Mono<T>> function) {
         return execute("newTransaction:" + op, requiredNew, function);
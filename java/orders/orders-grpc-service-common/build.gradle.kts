@@ -15,4 +15,9 @@ dependencies {
     api(project(":payments:payments-grpc-api"))
     api(project(":reserve:reserve-grpc-api"))
     api(project(":tpc:tpc-grpc-api"))
+
+    api("com.github.ben-manes.caffeine:caffeine")
+    implementation("io.micrometer:micrometer-core")
+    implementation("org.springframework:spring-context")
+    implementation("org.springframework.boot:spring-boot")
 }
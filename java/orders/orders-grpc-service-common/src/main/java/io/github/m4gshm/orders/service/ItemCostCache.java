@@ -0,0 +1,56 @@
+package io.github.m4gshm.orders.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@RequiredArgsConstructor(access = PRIVATE)
+@FieldDefaults(makeFinal = true, level = PRIVATE)
+public class ItemCostCache {
+    Cache<String, Double> cache;
+    Counter invalidations;
+    // the version of the last invalidation of an item, kept while a stale entry could live in the cache
+    Cache<String, Long> invalidatedVersions;
+    AtomicLong version = new AtomicLong();
+
+    public ItemCostCache(Cache<String, Double> cache, Counter invalidations, Duration expireAfterWrite) {
+        this(cache, invalidations, Caffeine.newBuilder().expireAfterWrite(expireAfterWrite).build());
+    }
+
+    public Map<String, Double> getAllPresent(Collection<String> itemIds) {
+        return cache.getAllPresent(itemIds);
+    }
+
+    // taken before loading the costs to put them by putAll
+    public long version() {
+        return version.get();
+    }
+
+    // an item invalidated after the version was taken may have been loaded before its change, so it is dropped.
+    // the check follows the put and the invalidation records the version before removing the entry,
+    // so either the check sees the version or the invalidation removes the put entry
+    public void putAll(Map<String, Double> costs, long loadedVersion) {
+        cache.putAll(costs);
+        costs.keySet().forEach(itemId -> {
+            var invalidatedVersion = invalidatedVersions.getIfPresent(itemId);
+            if (invalidatedVersion != null && invalidatedVersion > loadedVersion) {
+                cache.invalidate(itemId);
+            }
+        });
+    }
+
+    public void invalidate(String itemId) {
+        invalidatedVersions.put(itemId, version.incrementAndGet());
+        cache.invalidate(itemId);
+        invalidations.increment();
+    }
+}
@@ -4,6 +4,7 @@ import io.github.m4gshm.UnexpectedEntityStatusException;
 import io.github.m4gshm.orders.data.access.jooq.enums.DeliveryType;
 import io.github.m4gshm.orders.data.access.jooq.enums.OrderStatus;
 import io.github.m4gshm.orders.data.model.Order;
+import io.github.m4gshm.orders.data.model.OrderCursor;
 import io.github.m4gshm.protobuf.TimestampUtils;
 import io.grpc.Metadata;
 import io.grpc.Status;
@@ -29,9 +30,15 @@ import reserve.v1.ReserveServiceOuterClass.ReserveCreateRequest;
 import reserve.v1.ReserveServiceOuterClass.ReserveReleaseRequest;
 import tpc.v1.TpcService.TwoPhaseCommitRequest;
 import tpc.v1.TpcService.TwoPhaseRollbackRequest;
+import warehouse.v1.WarehouseService.GetItemCostsRequest;
 
 import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 
@@ -46,17 +53,20 @@ import static io.github.m4gshm.orders.data.access.jooq.enums.OrderStatus.RELEASE
 import static io.github.m4gshm.orders.data.access.jooq.enums.OrderStatus.RELEASING;
 import static io.github.m4gshm.protobuf.TimestampUtils.toTimestamp;
 import static io.grpc.Status.NOT_FOUND;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.time.ZoneId.systemDefault;
+import static java.util.Objects.requireNonNull;
 import static java.util.Optional.ofNullable;
+import static java.util.stream.Collectors.toSet;
 
 @Slf4j
 @UtilityClass
 public class OrderServiceUtils {
 
-    static OrderOuterClass.Order toOrderGrpc(
-                                             Order order,
-                                             Payment.Status paymentStatus,
-                                             List<Reserve.Item> items
+    public static OrderOuterClass.Order toOrderGrpc(
+                                                    Order order,
+                                                    Payment.Status paymentStatus,
+                                                    List<Reserve.Item> items
     ) {
         var createdAt = toTimestamp(order.createdAt());
         var updatedAt = toTimestamp(order.updatedAt());
@@ -159,6 +169,28 @@ public class OrderServiceUtils {
                 .build();
     }
 
+    static Set<String> itemIds(List<Order.Item> items) {
+        return items.stream().map(Order.Item::id).collect(toSet());
+    }
+
+    static List<String> missedIds(Set<String> ids, Map<String, Double> costs) {
+        return ids.stream().filter(id -> !costs.containsKey(id)).toList();
+    }
+
+    static GetItemCostsRequest newGetItemCostsRequest(Collection<String> ids) {
+        return GetItemCostsRequest.newBuilder()
+                .addAllIds(ids)
+                .build();
+    }
+
+    static double sumCost(List<Order.Item> items, Function<String, Double> costs) {
+        return items.stream().mapToDouble(item -> {
+            var id = item.id();
+            var cost = requireNonNull(costs.apply(id), "unexpected null cost for item " + id);
+            return cost * item.amount();
+        }).sum();
+    }
+
     static OrderCreateResponse toOrderCreateResponse(Order order) {
         return OrderCreateResponse.newBuilder()
                 .setId(order.id())
@@ -242,6 +274,15 @@ public class OrderServiceUtils {
                 .build();
     }
 
+    // the state of the order after a successful versioned status update
+    public static Order orderWithNextStatus(Order order, OrderStatus status) {
+        var version = order.version();
+        return order.toBuilder()
+                .status(status)
+                .version(version != null ? version + 1 : null)
+                .build();
+    }
+
     @SneakyThrows
     static <T> T statusError(Exception e, Function<String, T> converter) {
         var status = getCurrentStatusFromError(converter, e);
@@ -351,6 +392,41 @@ public class OrderServiceUtils {
         return page == null ? null : new io.github.m4gshm.storage.Page(page.getNum(), page.getSize());
     }
 
+    static String toPageToken(OrderCursor cursor) {
+        var value = cursor.createdAt() + "|" + cursor.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(UTF_8));
+    }
+
+    // a malformed or tampered token is the client error INVALID_ARGUMENT
+    static OrderCursor toOrderCursor(String pageToken) {
+        try {
+            var value = new String(Base64.getUrlDecoder().decode(pageToken), UTF_8);
+            var delimiter = value.indexOf('|');
+            if (delimiter < 0 || delimiter == value.length() - 1) {
+                throw invalidPageToken(pageToken, null);
+            }
+            return new OrderCursor(OffsetDateTime.parse(value.substring(0, delimiter)), value.substring(delimiter + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw invalidPageToken(pageToken, e);
+        }
+    }
+
+    private static StatusRuntimeException invalidPageToken(String pageToken, Throwable cause) {
+        return Status.INVALID_ARGUMENT.withDescription("invalid page token " + pageToken)
+                .withCause(cause)
+                .asRuntimeException();
+    }
+
+    static OrderServiceOuterClass.OrderListResponse toOrderListResponse(List<Order> orders, int size) {
+        var response = OrderServiceOuterClass.OrderListResponse.newBuilder()
+                .addAllOrders(orders.stream().map(order -> toOrderGrpc(order, null, null)).toList());
+        // a page shorter than requested is the last one
+        if (!orders.isEmpty() && orders.size() >= size) {
+            response.setNextPageToken(toPageToken(OrderCursor.of(orders.getLast())));
+        }
+        return response.build();
+    }
+
     public record ErrorInfo(Status status, Metadata metadata) {
     }
 }
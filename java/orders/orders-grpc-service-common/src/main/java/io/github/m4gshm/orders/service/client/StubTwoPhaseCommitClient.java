@@ -0,0 +1,20 @@
+package io.github.m4gshm.orders.service.client;
+
+import io.grpc.stub.StreamObserver;
+import tpc.v1.TpcService.TwoPhaseCommitRequest;
+import tpc.v1.TpcService.TwoPhaseCommitResponse;
+import tpc.v1.TpcService.TwoPhaseRollbackRequest;
+import tpc.v1.TpcService.TwoPhaseRollbackResponse;
+import tpc.v1.TwoPhaseCommitServiceGrpc.TwoPhaseCommitServiceStub;
+
+public record StubTwoPhaseCommitClient(TwoPhaseCommitServiceStub stub) implements TwoPhaseCommitClient {
+    @Override
+    public void commit(TwoPhaseCommitRequest request, StreamObserver<TwoPhaseCommitResponse> responseObserver) {
+        stub.commit(request, responseObserver);
+    }
+
+    @Override
+    public void rollback(TwoPhaseRollbackRequest request, StreamObserver<TwoPhaseRollbackResponse> responseObserver) {
+        stub.rollback(request, responseObserver);
+    }
+}
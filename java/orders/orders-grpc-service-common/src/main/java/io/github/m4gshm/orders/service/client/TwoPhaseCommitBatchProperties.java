@@ -0,0 +1,15 @@
+package io.github.m4gshm.orders.service.client;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("service.orders.tpc-batch")
+public record TwoPhaseCommitBatchProperties(
+                                            @DefaultValue("false") boolean enabled,
+                                            @DefaultValue("2ms") Duration window,
+                                            @DefaultValue("64") int maxBatchSize,
+                                            // of a batch call, a waiting caller fails with DEADLINE_EXCEEDED after it
+                                            @DefaultValue("10s") Duration deadline) {
+}
@@ -0,0 +1,183 @@
+package io.github.m4gshm.orders.service.client;
+
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import tpc.v1.TpcService.TwoPhaseBatchResponse;
+import tpc.v1.TpcService.TwoPhaseCommitBatchRequest;
+import tpc.v1.TpcService.TwoPhaseCommitRequest;
+import tpc.v1.TpcService.TwoPhaseCommitResponse;
+import tpc.v1.TpcService.TwoPhaseRollbackBatchRequest;
+import tpc.v1.TpcService.TwoPhaseRollbackRequest;
+import tpc.v1.TpcService.TwoPhaseRollbackResponse;
+import tpc.v1.TwoPhaseCommitServiceGrpc.TwoPhaseCommitServiceStub;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.stream.Collectors.toMap;
+import static lombok.AccessLevel.PRIVATE;
+
+// coalesces commits and rollbacks of concurrently finishing orders into commitBatch/rollbackBatch calls
+@Slf4j
+@FieldDefaults(makeFinal = true, level = PRIVATE)
+public class TwoPhaseCommitBatcher implements TwoPhaseCommitClient, AutoCloseable {
+    ScheduledExecutorService scheduler;
+    long windowNanos;
+    int maxBatchSize;
+    Batch commits;
+    Batch rollbacks;
+
+    public TwoPhaseCommitBatcher(String name,
+                                 TwoPhaseCommitServiceStub stub,
+                                 Duration window,
+                                 int maxBatchSize,
+                                 Duration deadline) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be positive");
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .daemon()
+                .name(name + "-tpc-batch")
+                .factory());
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        var deadlineNanos = deadline.toNanos();
+        this.commits = new Batch((ids, observer) -> stub.withDeadlineAfter(deadlineNanos, NANOSECONDS)
+                .commitBatch(TwoPhaseCommitBatchRequest.newBuilder()
+                        .addAllIds(ids)
+                        .build(), observer));
+        this.rollbacks = new Batch((ids, observer) -> stub.withDeadlineAfter(deadlineNanos, NANOSECONDS)
+                .rollbackBatch(TwoPhaseRollbackBatchRequest.newBuilder()
+                        .addAllIds(ids)
+                        .build(), observer));
+    }
+
+    private static <T> void complete(StreamObserver<T> observer, TwoPhaseBatchResponse.Result result,
+                                     Function<TwoPhaseBatchResponse.Result, T> responseBuilder) {
+        var code = Status.fromCodeValue(result.getCode());
+        if (code.isOk()) {
+            observer.onNext(responseBuilder.apply(result));
+            observer.onCompleted();
+        } else {
+            observer.onError(code.withDescription(result.getMessage()).asRuntimeException());
+        }
+    }
+
+    @Override
+    public void commit(TwoPhaseCommitRequest request, StreamObserver<TwoPhaseCommitResponse> responseObserver) {
+        commits.add(new Request(request.getId(), responseObserver::onError, result -> {
+            complete(responseObserver, result, r -> TwoPhaseCommitResponse.newBuilder()
+                    .setId(r.getId())
+                    .setMessage(r.getMessage())
+                    .build());
+        }));
+    }
+
+    @Override
+    public void rollback(TwoPhaseRollbackRequest request, StreamObserver<TwoPhaseRollbackResponse> responseObserver) {
+        rollbacks.add(new Request(request.getId(), responseObserver::onError, result -> {
+            complete(responseObserver, result, r -> TwoPhaseRollbackResponse.newBuilder()
+                    .setId(r.getId())
+                    .setMessage(r.getMessage())
+                    .build());
+        }));
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        commits.flush();
+        rollbacks.flush();
+    }
+
+    private record Request(String id,
+                           Consumer<Throwable> onError,
+                           Consumer<TwoPhaseBatchResponse.Result> onResult) {
+    }
+
+    @FieldDefaults(level = PRIVATE)
+    private final class Batch {
+        final BiConsumer<List<String>, StreamObserver<TwoPhaseBatchResponse>> call;
+        List<Request> pending = new ArrayList<>();
+        ScheduledFuture<?> flushTask;
+
+        Batch(BiConsumer<List<String>, StreamObserver<TwoPhaseBatchResponse>> call) {
+            this.call = call;
+        }
+
+        void add(Request request) {
+            boolean full;
+            synchronized (this) {
+                pending.add(request);
+                full = pending.size() >= maxBatchSize;
+                if (!full && flushTask == null && !scheduler.isShutdown()) {
+                    flushTask = scheduler.schedule(this::flush, windowNanos, NANOSECONDS);
+                }
+            }
+            if (full || scheduler.isShutdown()) {
+                flush();
+            }
+        }
+
+        void flush() {
+            List<Request> batch;
+            synchronized (this) {
+                batch = pending;
+                pending = new ArrayList<>();
+                if (flushTask != null) {
+                    flushTask.cancel(false);
+                    flushTask = null;
+                }
+            }
+            if (!batch.isEmpty()) {
+                send(batch);
+            }
+        }
+
+        private void send(List<Request> batch) {
+            log.debug("send batch of {} transactions", batch.size());
+            try {
+                call.accept(batch.stream().map(Request::id).distinct().toList(), new StreamObserver<>() {
+                    @Override
+                    public void onNext(TwoPhaseBatchResponse response) {
+                        Map<String, TwoPhaseBatchResponse.Result> results = response.getResultsList()
+                                .stream()
+                                .collect(toMap(TwoPhaseBatchResponse.Result::getId, r -> r, (r1, r2) -> r1));
+                        for (var request : batch) {
+                            var result = results.get(request.id);
+                            if (result != null) {
+                                request.onResult.accept(result);
+                            } else {
+                                request.onError.accept(Status.INTERNAL
+                                        .withDescription("no batch result for transaction " + request.id)
+                                        .asRuntimeException());
+                            }
+                        }
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        batch.forEach(request -> request.onError.accept(t));
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                    }
+                });
+            } catch (Exception e) {
+                batch.forEach(request -> request.onError.accept(e));
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package io.github.m4gshm.orders.service.client;
+
+import io.grpc.stub.StreamObserver;
+import tpc.v1.TpcService.TwoPhaseCommitRequest;
+import tpc.v1.TpcService.TwoPhaseCommitResponse;
+import tpc.v1.TpcService.TwoPhaseRollbackRequest;
+import tpc.v1.TpcService.TwoPhaseRollbackResponse;
+import tpc.v1.TwoPhaseCommitServiceGrpc.TwoPhaseCommitServiceStub;
+
+public interface TwoPhaseCommitClient {
+    static TwoPhaseCommitClient newTwoPhaseCommitClient(String name,
+                                                        TwoPhaseCommitServiceStub stub,
+                                                        TwoPhaseCommitBatchProperties properties) {
+        return properties.enabled()
+                ? new TwoPhaseCommitBatcher(name,
+                        stub,
+                        properties.window(),
+                        properties.maxBatchSize(),
+                        properties.deadline())
+                : new StubTwoPhaseCommitClient(stub);
+    }
+
+    void commit(TwoPhaseCommitRequest request, StreamObserver<TwoPhaseCommitResponse> responseObserver);
+
+    void rollback(TwoPhaseRollbackRequest request, StreamObserver<TwoPhaseRollbackResponse> responseObserver);
+}
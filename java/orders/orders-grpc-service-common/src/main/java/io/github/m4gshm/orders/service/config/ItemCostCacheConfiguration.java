@@ -0,0 +1,46 @@
+package io.github.m4gshm.orders.service.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.m4gshm.orders.service.ItemCostCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableConfigurationProperties(ItemCostCacheConfiguration.Properties.class)
+public class ItemCostCacheConfiguration {
+
+    public static final String CACHE_NAME = "itemCost";
+
+    // no bean when disabled, the item services call the warehouse directly
+    @Bean
+    @ConditionalOnProperty(value = "service.item-cost-cache.enabled", havingValue = "true", matchIfMissing = true)
+    public ItemCostCache itemCostCache(Properties properties, MeterRegistry meterRegistry) {
+        var cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize)
+                .expireAfterWrite(properties.expireAfterWrite)
+                .recordStats()
+                .<String, Double>build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        var invalidations = Counter.builder("cache.invalidations")
+                .description("The number of entries invalidated by item change events")
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+        return new ItemCostCache(cache, invalidations, properties.expireAfterWrite);
+    }
+
+    @ConfigurationProperties("service.item-cost-cache")
+    public record Properties(
+                             @DefaultValue("true") boolean enabled,
+                             @DefaultValue("10000") long maximumSize,
+                             @DefaultValue("10m") Duration expireAfterWrite) {
+    }
+}
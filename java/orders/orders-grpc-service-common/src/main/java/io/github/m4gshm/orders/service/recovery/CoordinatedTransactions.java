@@ -0,0 +1,54 @@
+package io.github.m4gshm.orders.service.recovery;
+
+import io.github.m4gshm.orders.data.model.Order;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static lombok.AccessLevel.PRIVATE;
+
+// the prepared transactions of the distributed transactions this instance runs now,
+// the heartbeat publishes them so the recovery of any replica leaves them to this coordinator
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = PRIVATE)
+public class CoordinatedTransactions {
+    @Getter
+    String coordinatorId;
+    Map<String, Integer> running = new ConcurrentHashMap<>();
+
+    public static List<String> transactionIds(Order order) {
+        return Stream.of(order.id(), order.paymentTransactionId(), order.reserveTransactionId())
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    public void begin(Collection<String> transactionIds) {
+        transactionIds.forEach(id -> running.merge(id, 1, Integer::sum));
+    }
+
+    public void end(Collection<String> transactionIds) {
+        transactionIds.forEach(id -> running.computeIfPresent(id, (_, count) -> count > 1 ? count - 1 : null));
+    }
+
+    public <T> T coordinate(Collection<String> transactionIds, Supplier<T> routine) {
+        begin(transactionIds);
+        try {
+            return routine.get();
+        } finally {
+            end(transactionIds);
+        }
+    }
+
+    public Set<String> transactionIds() {
+        return Set.copyOf(running.keySet());
+    }
+}
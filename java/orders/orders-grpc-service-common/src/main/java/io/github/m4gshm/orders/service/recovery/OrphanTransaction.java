@@ -0,0 +1,6 @@
+package io.github.m4gshm.orders.service.recovery;
+
+import java.time.Instant;
+
+public record OrphanTransaction(String participant, String id, Instant prepared) {
+}
@@ -0,0 +1,70 @@
+package io.github.m4gshm.orders.service.recovery;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static lombok.AccessLevel.PRIVATE;
+
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = PRIVATE)
+public class OrphanTransactionMetrics {
+    MeterRegistry meterRegistry;
+    Map<String, ParticipantGauges> gauges = new ConcurrentHashMap<>();
+
+    public void update(String participant, Collection<OrphanTransaction> orphans, Instant now) {
+        var maxAge = orphans.stream()
+                .map(OrphanTransaction::prepared)
+                .mapToLong(prepared -> Duration.between(prepared, now).toMillis())
+                .max()
+                .orElse(0);
+        var participantGauges = gauges.computeIfAbsent(participant, this::newParticipantGauges);
+        participantGauges.count.set(orphans.size());
+        participantGauges.maxAgeMillis.set(maxAge);
+    }
+
+    public void resolved(String participant, String decision, int count) {
+        Counter.builder("tpc.orphans.resolved")
+                .description("The number of orphaned prepared transactions finished by the recovery")
+                .tag("participant", participant)
+                .tag("decision", decision)
+                .register(meterRegistry)
+                .increment(count);
+    }
+
+    public void failed(String participant) {
+        Counter.builder("tpc.recovery.errors")
+                .description("The number of failed recovery calls to a participant")
+                .tag("participant", participant)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private ParticipantGauges newParticipantGauges(String participant) {
+        var participantGauges = new ParticipantGauges(new AtomicInteger(), new AtomicLong());
+        Gauge.builder("tpc.orphans", participantGauges.count, AtomicInteger::get)
+                .description("The number of prepared transactions older than the recovery min age")
+                .tag("participant", participant)
+                .register(meterRegistry);
+        TimeGauge.builder("tpc.orphans.age.max", participantGauges.maxAgeMillis, MILLISECONDS, AtomicLong::get)
+                .description("The age of the oldest orphaned prepared transaction")
+                .tag("participant", participant)
+                .register(meterRegistry);
+        return participantGauges;
+    }
+
+    private record ParticipantGauges(AtomicInteger count, AtomicLong maxAgeMillis) {
+    }
+}
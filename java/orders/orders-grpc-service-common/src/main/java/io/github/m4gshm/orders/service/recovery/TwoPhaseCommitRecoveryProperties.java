@@ -0,0 +1,16 @@
+package io.github.m4gshm.orders.service.recovery;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("service.orders.tpc-recovery")
+public record TwoPhaseCommitRecoveryProperties(
+                                               @DefaultValue("false") boolean enabled,
+                                               @DefaultValue("30s") Duration interval,
+                                               // a prepared transaction younger than this may still be finished by its coordinator
+                                               @DefaultValue("1m") Duration minAge,
+                                               // a coordinator without a heartbeat for this long no longer finishes its transactions
+                                               @DefaultValue("30s") Duration coordinatorTimeout) {
+}
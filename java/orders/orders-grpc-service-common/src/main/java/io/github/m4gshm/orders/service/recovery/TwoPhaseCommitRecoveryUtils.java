@@ -0,0 +1,77 @@
+package io.github.m4gshm.orders.service.recovery;
+
+import io.grpc.Status;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import tpc.v1.TpcService.TwoPhaseBatchResponse;
+import tpc.v1.TpcService.TwoPhaseListActivesResponse;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static io.github.m4gshm.protobuf.TimestampUtils.toInstant;
+import static java.util.stream.Collectors.partitioningBy;
+
+@Slf4j
+@UtilityClass
+public class TwoPhaseCommitRecoveryUtils {
+    public static final String LOCAL = "orders";
+    public static final String COMMIT = "commit";
+    public static final String ROLLBACK = "rollback";
+    // the advisory lock that lets one replica at a time run the recovery
+    public static final String RECOVERY_LOCK = "orders.tpc-recovery";
+
+    public static List<OrphanTransaction> toOrphans(String participant, TwoPhaseListActivesResponse response) {
+        return response.getTransactionsList().stream().map(transaction -> {
+            var prepared = transaction.hasPrepared() ? toInstant(transaction.getPrepared()) : null;
+            return new OrphanTransaction(participant, transaction.getId(), prepared);
+        }).toList();
+    }
+
+    public static OrphanTransaction toOrphan(String participant, String id, OffsetDateTime prepared) {
+        return new OrphanTransaction(participant, id, prepared != null ? prepared.toInstant() : null);
+    }
+
+    // without the prepare time the transaction may still be in flight, so it is left to its coordinator,
+    // as well as a transaction of a coordinator that is still alive however old it is
+    public static List<OrphanTransaction> expired(Collection<OrphanTransaction> transactions,
+                                                  Instant now,
+                                                  Duration minAge,
+                                                  Set<String> coordinated) {
+        var threshold = now.minus(minAge);
+        return transactions.stream()
+                .filter(transaction -> transaction.prepared() != null && !transaction.prepared().isAfter(threshold))
+                .filter(transaction -> !coordinated.contains(transaction.id()))
+                .toList();
+    }
+
+    public static List<String> ids(Collection<OrphanTransaction> transactions) {
+        return transactions.stream().map(OrphanTransaction::id).toList();
+    }
+
+    // presumed abort: only commit decisions are logged, everything else is rolled back
+    public static Map<Boolean, List<String>> splitByCommitted(Collection<OrphanTransaction> orphans, Set<String> committed) {
+        return orphans.stream().map(OrphanTransaction::id).collect(partitioningBy(committed::contains));
+    }
+
+    public static int countResolved(String participant, String decision, TwoPhaseBatchResponse response) {
+        var resolved = 0;
+        for (var result : response.getResultsList()) {
+            var status = Status.fromCodeValue(result.getCode());
+            if (status.isOk()) {
+                resolved++;
+            } else if (status.getCode() == Status.Code.NOT_FOUND) {
+                log.debug("orphaned transaction [{}] on [{}] is already finished", result.getId(), participant);
+            } else {
+                log.warn("{} orphaned transaction [{}] on [{}] failed: {}", decision, result.getId(), participant,
+                        result.getMessage());
+            }
+        }
+        return resolved;
+    }
+}
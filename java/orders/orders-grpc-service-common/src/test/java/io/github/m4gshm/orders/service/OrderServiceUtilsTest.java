@@ -0,0 +1,59 @@
+package io.github.m4gshm.orders.service;
+
+import io.github.m4gshm.orders.data.model.OrderCursor;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+
+import static io.github.m4gshm.orders.service.OrderServiceUtils.toOrderCursor;
+import static io.github.m4gshm.orders.service.OrderServiceUtils.toPageToken;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.time.ZoneOffset.UTC;
+import static java.time.ZoneOffset.ofHours;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class OrderServiceUtilsTest {
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(UTF_8));
+    }
+
+    private static void assertInvalidPageToken(String pageToken) {
+        var e = assertThrows(StatusRuntimeException.class, () -> toOrderCursor(pageToken));
+        assertEquals(Status.Code.INVALID_ARGUMENT, e.getStatus().getCode());
+    }
+
+    @Test
+    public void testPageTokenRoundTrip() {
+        var cursor = new OrderCursor(OffsetDateTime.of(LocalDateTime.of(2025, 10, 4, 9, 0, 0, 123456000), UTC),
+                "42488ab7-822b-4838-a338-e9d93adf91de");
+
+        assertEquals(cursor, toOrderCursor(toPageToken(cursor)));
+    }
+
+    @Test
+    public void testPageTokenRoundTripKeepsOffsetAndDelimiterInId() {
+        var cursor = new OrderCursor(OffsetDateTime.of(LocalDateTime.of(2025, 10, 4, 9, 0), ofHours(3)), "a|b");
+
+        assertEquals(cursor, toOrderCursor(toPageToken(cursor)));
+    }
+
+    @Test
+    public void testMalformedPageToken() {
+        assertInvalidPageToken("not base64 !");
+        assertInvalidPageToken("");
+    }
+
+    @Test
+    public void testTamperedPageToken() {
+        assertInvalidPageToken(encode("2025-10-04T09:00Z"));
+        assertInvalidPageToken(encode("2025-10-04T09:00Z|"));
+        assertInvalidPageToken(encode("yesterday|42488ab7-822b-4838-a338-e9d93adf91de"));
+        assertInvalidPageToken(encode("|42488ab7-822b-4838-a338-e9d93adf91de"));
+    }
+}
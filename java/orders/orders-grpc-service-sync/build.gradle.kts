@@ -21,6 +21,7 @@ dependencies {
     api(project(":orders:orders-grpc-service-common"))
     api(project(":payments:payments-grpc-api"))
     api(project(":payments:payments-event-api"))
+    api(project(":reserve:reserve-event-api"))
     api(project(":reserve:reserve-grpc-api"))
     api(project(":tpc:tpc-grpc-api"))
     api(project(":tpc:tpc-grpc-service-sync"))
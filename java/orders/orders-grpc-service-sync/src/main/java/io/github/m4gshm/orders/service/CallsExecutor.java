@@ -0,0 +1,8 @@
+package io.github.m4gshm.orders.service;
+
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+public interface CallsExecutor {
+    <L, R, T> T zip(Supplier<L> left, Supplier<R> right, BiFunction<L, R, T> combiner);
+}
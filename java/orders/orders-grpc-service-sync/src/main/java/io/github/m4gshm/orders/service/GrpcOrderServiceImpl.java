@@ -6,6 +6,7 @@ import io.grpc.stub.StreamObserver;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import orders.v1.OrderOuterClass;
 import orders.v1.OrderServiceGrpc;
 import orders.v1.OrderServiceOuterClass;
 import orders.v1.OrderServiceOuterClass.OrderApproveRequest;
@@ -19,6 +20,7 @@ import orders.v1.OrderServiceOuterClass.OrderListResponse;
 import orders.v1.OrderServiceOuterClass.OrderReleaseRequest;
 import orders.v1.OrderServiceOuterClass.OrderReleaseResponse;
 import orders.v1.OrderServiceOuterClass.OrderResumeRequest;
+import orders.v1.OrderServiceOuterClass.OrderStreamRequest;
 import org.springframework.stereotype.Service;
 
 import static io.github.m4gshm.orders.service.OrderServiceUtils.toOrderStatus;
@@ -66,15 +68,24 @@ public class GrpcOrderServiceImpl extends OrderServiceGrpc.OrderServiceImplBase
         var num = page != null ? page.getNum() : null;
         var size = page != null ? page.getSize() : null;
 
+        var pageToken = request.hasPageToken() ? request.getPageToken() : null;
+
         var condition = request.hasCondition() ? request.getCondition() : null;
         var status = condition != null ? condition.getStatus() : null;
 
         grpc.subscribe("list", responseObserver, () -> {
             var requestPage = num != null ? new Page(num, size) : null;
-            return ordersService.list(requestPage, toOrderStatus(status));
+            return ordersService.list(requestPage, pageToken, toOrderStatus(status));
         });
     }
 
+    @Override
+    public void streamOrders(OrderStreamRequest request, StreamObserver<OrderOuterClass.Order> responseObserver) {
+        var condition = request.hasCondition() ? request.getCondition() : null;
+        var status = condition != null && condition.hasStatus() ? condition.getStatus() : null;
+        grpc.stream("streamOrders", responseObserver, consumer -> ordersService.stream(toOrderStatus(status), consumer));
+    }
+
     @Override
     public void release(OrderReleaseRequest request, StreamObserver<OrderReleaseResponse> responseObserver) {
         grpc.subscribe("release",
@@ -1,28 +1,44 @@
 package io.github.m4gshm.orders.service;
 
 import io.github.m4gshm.orders.data.model.Order;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 import warehouse.v1.WarehouseItemServiceGrpc.WarehouseItemServiceBlockingStub;
 
 import java.util.List;
 
-import static warehouse.v1.WarehouseService.GetItemCostRequest;
+import static io.github.m4gshm.orders.service.OrderServiceUtils.itemIds;
+import static io.github.m4gshm.orders.service.OrderServiceUtils.missedIds;
+import static io.github.m4gshm.orders.service.OrderServiceUtils.newGetItemCostsRequest;
+import static io.github.m4gshm.orders.service.OrderServiceUtils.sumCost;
 
 @Service
-@RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
     private final WarehouseItemServiceBlockingStub warehouseClient;
+    // null when the cache is disabled
+    private final ItemCostCache itemCostCache;
+
+    public ItemServiceImpl(WarehouseItemServiceBlockingStub warehouseClient,
+                           ObjectProvider<ItemCostCache> itemCostCache) {
+        this.warehouseClient = warehouseClient;
+        this.itemCostCache = itemCostCache.getIfAvailable();
+    }
 
     @Override
     public Double getSumCost(List<Order.Item> items) {
-        return items.stream().map(item -> {
-            var request = GetItemCostRequest.newBuilder()
-                    .setId(item.id())
-                    .build();
-
-            var itemCost = warehouseClient.getItemCost(request);
-            return itemCost.getCost() * item.amount();
-        }).reduce(0.0, Double::sum);
+        var ids = itemIds(items);
+        if (itemCostCache == null) {
+            var costs = warehouseClient.getItemCosts(newGetItemCostsRequest(ids)).getCostsMap();
+            return sumCost(items, costs::get);
+        }
+        var cached = itemCostCache.getAllPresent(ids);
+        var missed = missedIds(ids, cached);
+        if (missed.isEmpty()) {
+            return sumCost(items, cached::get);
+        }
+        var version = itemCostCache.version();
+        var loaded = warehouseClient.getItemCosts(newGetItemCostsRequest(missed)).getCostsMap();
+        itemCostCache.putAll(loaded, version);
+        return sumCost(items, id -> cached.getOrDefault(id, loaded.get(id)));
     }
 }
@@ -2,6 +2,7 @@ package io.github.m4gshm.orders.service;
 
 import io.github.m4gshm.orders.data.access.jooq.enums.OrderStatus;
 import io.github.m4gshm.storage.Page;
+import orders.v1.OrderOuterClass;
 import orders.v1.OrderServiceOuterClass.OrderApproveResponse;
 import orders.v1.OrderServiceOuterClass.OrderCancelResponse;
 import orders.v1.OrderServiceOuterClass.OrderCreateRequest.OrderCreate;
@@ -11,6 +12,8 @@ import orders.v1.OrderServiceOuterClass.OrderListResponse;
 import orders.v1.OrderServiceOuterClass.OrderReleaseResponse;
 import orders.v1.OrderServiceOuterClass.OrderResumeResponse;
 
+import java.util.function.Consumer;
+
 public interface OrderService {
     OrderApproveResponse approve(String orderId, boolean twoPhaseCommit);
 
@@ -20,7 +23,9 @@ public interface OrderService {
 
     OrderGetResponse get(String orderId);
 
-    OrderListResponse list(Page page, OrderStatus status);
+    OrderListResponse list(Page page, String pageToken, OrderStatus status);
+
+    void stream(OrderStatus status, Consumer<OrderOuterClass.Order> consumer);
 
     OrderReleaseResponse release(String orderId, boolean twoPhaseCommit);
 
@@ -3,6 +3,9 @@ package io.github.m4gshm.orders.service;
 import io.github.m4gshm.orders.data.access.jooq.enums.OrderStatus;
 import io.github.m4gshm.orders.data.model.Order;
 import io.github.m4gshm.orders.data.storage.OrderStorage;
+import io.github.m4gshm.orders.data.storage.TwoPhaseCommitDecisionStorage;
+import io.github.m4gshm.orders.service.client.BlockingTwoPhaseCommitClient;
+import io.github.m4gshm.orders.service.recovery.CoordinatedTransactions;
 import io.github.m4gshm.postgres.prepared.transaction.PreparedTransactionService;
 import io.github.m4gshm.postgres.prepared.transaction.TwoPhaseTransactionUtils;
 import io.github.m4gshm.storage.Page;
@@ -10,6 +13,7 @@ import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import orders.v1.OrderOuterClass;
 import orders.v1.OrderServiceOuterClass;
 import orders.v1.OrderServiceOuterClass.OrderApproveResponse;
 import orders.v1.OrderServiceOuterClass.OrderCancelResponse;
@@ -20,6 +24,7 @@ import orders.v1.OrderServiceOuterClass.OrderListResponse;
 import orders.v1.OrderServiceOuterClass.OrderReleaseResponse;
 import orders.v1.OrderServiceOuterClass.OrderResumeResponse;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import payment.v1.PaymentOuterClass.Payment;
 import payment.v1.PaymentServiceGrpc.PaymentServiceBlockingStub;
 import payment.v1.PaymentServiceOuterClass.PaymentCreateRequest;
@@ -29,12 +34,13 @@ import reserve.v1.ReserveServiceGrpc;
 import reserve.v1.ReserveServiceOuterClass.ReserveCreateRequest;
 import reserve.v1.ReserveServiceOuterClass.ReserveGetRequest;
 import reserve.v1.ReserveServiceOuterClass.ReserveGetResponse;
-import tpc.v1.TwoPhaseCommitServiceGrpc.TwoPhaseCommitServiceBlockingStub;
 
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static io.github.m4gshm.ExceptionUtils.checkStatus;
 import static io.github.m4gshm.ExceptionUtils.newStatusException;
@@ -55,10 +61,16 @@ import static io.github.m4gshm.orders.service.OrderServiceUtils.newReserveApprov
 import static io.github.m4gshm.orders.service.OrderServiceUtils.newReserveCancelRequest;
 import static io.github.m4gshm.orders.service.OrderServiceUtils.newReserveReleaseRequest;
 import static io.github.m4gshm.orders.service.OrderServiceUtils.newRollbackRequest;
+import static io.github.m4gshm.orders.service.OrderServiceUtils.orderWithNextStatus;
 import static io.github.m4gshm.orders.service.OrderServiceUtils.toDelivery;
 import static io.github.m4gshm.orders.service.OrderServiceUtils.toOrderCreateResponse;
+import static io.github.m4gshm.orders.service.OrderServiceUtils.toOrderCursor;
 import static io.github.m4gshm.orders.service.OrderServiceUtils.toOrderGrpc;
+import static io.github.m4gshm.orders.service.OrderServiceUtils.toOrderListResponse;
 import static io.github.m4gshm.orders.service.OrderServiceUtils.toOrderStatusGrpc;
+import static io.github.m4gshm.orders.service.recovery.CoordinatedTransactions.transactionIds;
+import static io.github.m4gshm.storage.UpdateUtils.versionConflict;
+import static io.github.m4gshm.storage.VersionConflictRetry.retryOnVersionConflict;
 import static java.util.Optional.ofNullable;
 import static lombok.AccessLevel.PROTECTED;
 import static payment.v1.PaymentOuterClass.Payment.Status.PAID;
@@ -70,13 +82,17 @@ import static payment.v1.PaymentOuterClass.Payment.Status.PAID;
 public class OrderServiceImpl implements OrderService {
     OrderStorage orderStorage;
     PreparedTransactionService preparedTransactionService;
+    TwoPhaseCommitDecisionStorage decisionStorage;
+    CoordinatedTransactions coordinatedTransactions;
+    TransactionTemplate transactionTemplate;
 
     ReserveServiceGrpc.ReserveServiceBlockingStub reserveClient;
 
-    TwoPhaseCommitServiceBlockingStub reserveClientTcp;
+    BlockingTwoPhaseCommitClient reserveClientTcp;
     PaymentServiceBlockingStub paymentsClient;
-    TwoPhaseCommitServiceBlockingStub paymentsClientTcp;
+    BlockingTwoPhaseCommitClient paymentsClientTcp;
     ItemService itemService;
+    CallsExecutor callsExecutor;
 
     @Override
     public OrderApproveResponse approve(String orderId, boolean twoPhaseCommit) {
@@ -123,18 +139,6 @@ public class OrderServiceImpl implements OrderService {
         var orderId = order.id();
         var items = order.items();
         var paymentTransactionId = order.paymentTransactionId();
-        var cost = itemService.getSumCost(items);
-
-        var paymentRequestBuilder = PaymentCreateRequest.newBuilder()
-                .setBody(PaymentCreateRequest.PaymentCreate.newBuilder()
-                        .setExternalRef(orderId)
-                        .setClientId(order.customerId())
-                        .setAmount(cost)
-                        .build());
-        ofNullable(paymentTransactionId).ifPresent(paymentRequestBuilder::setPreparedTransactionId);
-        var paymentRequest = paymentRequestBuilder.build();
-        var paymentResponse = paymentsClient.create(paymentRequest);
-
         var reserveTransactionId = order.reserveTransactionId();
 
         var reserveRequestBuilder = ReserveCreateRequest.newBuilder()
@@ -145,21 +149,32 @@ public class OrderServiceImpl implements OrderService {
                                 .toList())
                         .build());
         ofNullable(reserveTransactionId).ifPresent(reserveRequestBuilder::setPreparedTransactionId);
-
-        var reserveResponse = reserveClient.create(reserveRequestBuilder.build());
-
-        var paymentId = paymentResponse.getId();
-        var reserveId = reserveResponse.getId();
-        return updateOrderAndCommit(
-                twoPhaseCommit,
-                order.toBuilder()
-                        .status(CREATED)
-                        .paymentId(paymentId)
-                        .reserveId(reserveId)
-                        .build(),
-                paymentTransactionId,
-                reserveTransactionId
-        );
+        var reserveRequest = reserveRequestBuilder.build();
+
+        return coordinated(twoPhaseCommit, order, () -> callsExecutor.zip(() -> {
+                var cost = itemService.getSumCost(items);
+                var paymentRequestBuilder = PaymentCreateRequest.newBuilder()
+                        .setBody(PaymentCreateRequest.PaymentCreate.newBuilder()
+                                .setExternalRef(orderId)
+                                .setClientId(order.customerId())
+                                .setAmount(cost)
+                                .build());
+                ofNullable(paymentTransactionId).ifPresent(paymentRequestBuilder::setPreparedTransactionId);
+                return paymentsClient.create(paymentRequestBuilder.build());
+            }, () -> reserveClient.create(reserveRequest), (paymentResponse, reserveResponse) -> {
+                var paymentId = paymentResponse.getId();
+                var reserveId = reserveResponse.getId();
+                return updateOrderAndCommit(
+                        twoPhaseCommit,
+                        order.toBuilder()
+                                .status(CREATED)
+                                .paymentId(paymentId)
+                                .reserveId(reserveId)
+                                .build(),
+                        paymentTransactionId,
+                        reserveTransactionId
+                );
+            }));
     }
 
     @Override
@@ -192,9 +207,18 @@ public class OrderServiceImpl implements OrderService {
                                        @NonNull String paymentTransactionId,
                                        @NonNull String reserveTransactionId
     ) {
-        reserveClientTcp.commit(newCommitRequest(reserveTransactionId));
-        paymentsClientTcp.commit(newCommitRequest(paymentTransactionId));
+        callsExecutor.zip(
+                () -> reserveClientTcp.commit(newCommitRequest(reserveTransactionId)),
+                () -> paymentsClientTcp.commit(newCommitRequest(paymentTransactionId)),
+                (reserveResponse, paymentResponse) -> null
+        );
         preparedTransactionService.commit(orderId);
+        try {
+            decisionStorage.delete(List.of(orderId, paymentTransactionId, reserveTransactionId));
+        } catch (Exception e) {
+            // the recovery removes stale decisions
+            log.warn("delete commit decision error, orderId [{}]", orderId, e);
+        }
     }
 
     private void distributedRollback(
@@ -238,14 +262,17 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-    public OrderListResponse list(Page page, OrderStatus status) {
-        var all = orderStorage.findAll(page, status);
-        var orders = all.stream().map(order -> {
-            return toOrderGrpc(order, null, null);
-        }).toList();
-        return OrderListResponse.newBuilder()
-                .addAllOrders(orders)
-                .build();
+    public OrderListResponse list(Page page, String pageToken, OrderStatus status) {
+        var size = Page.getSize(page);
+        var orders = pageToken != null
+                ? orderStorage.findAllAfter(toOrderCursor(pageToken), size, status)
+                : orderStorage.findAll(page, status);
+        return toOrderListResponse(orders, size);
+    }
+
+    @Override
+    public void stream(OrderStatus status, Consumer<OrderOuterClass.Order> consumer) {
+        orderStorage.streamAll(status, order -> consumer.accept(toOrderGrpc(order, null, null)));
     }
 
     @Override
@@ -318,19 +345,19 @@ public class OrderServiceImpl implements OrderService {
     ) {
         var orderId = order.id();
 
-        var savedOrder = orderStorage.saveOrderOnly(order);
         if (!twoPhaseCommit) {
-            return savedOrder;
+            return orderStorage.saveOrderOnly(order);
         } else {
+            Order savedOrder;
             try {
-                // run distributed transaction
-                preparedTransactionService.prepare(orderId);
-                distributedCommit(
-                        orderId,
-                        paymentTransactionId,
-                        reserveTransactionId
-                );
-                return savedOrder;
+                // run distributed transaction, the prepare is the last statement of the transaction of the save
+                savedOrder = transactionTemplate.execute(_ -> {
+                    var saved = orderStorage.saveOrderOnly(order);
+                    preparedTransactionService.prepare(orderId);
+                    return saved;
+                });
+                // the logged decision lets the recovery finish the commit if this service dies in the middle of it
+                decisionStorage.saveCommit(orderId, List.of(orderId, paymentTransactionId, reserveTransactionId));
             } catch (Exception throwable) {
                 // rollback distributed transaction on error
                 log.error("error on transactional operation with orderId [{}]", orderId, throwable);
@@ -342,9 +369,29 @@ public class OrderServiceImpl implements OrderService {
                 );
                 throw throwable;
             }
+            // the commit is decided, so errors are left to the recovery instead of a rollback
+            distributedCommit(
+                    orderId,
+                    paymentTransactionId,
+                    reserveTransactionId
+            );
+            return savedOrder;
         }
     }
 
+    // the recovery of any replica leaves the prepared transactions of a running operation to this coordinator
+    private <T> T coordinated(boolean twoPhaseCommit, Order order, Supplier<T> routine) {
+        return twoPhaseCommit ? coordinatedTransactions.coordinate(transactionIds(order), routine) : routine.get();
+    }
+
+    // the status column only, a concurrent change of the order fails the update by the version check
+    private Order updateStatus(Order order, OrderStatus status) {
+        if (!orderStorage.updateStatus(order, status)) {
+            throw versionConflict("order", order.id(), order.version());
+        }
+        return orderWithNextStatus(order, status);
+    }
+
     protected <T, PI, PO, RI, RO> T updateOrderOp(
                                                   String opName,
                                                   String orderId,
@@ -355,61 +402,67 @@ public class OrderServiceImpl implements OrderService {
                                                   Function<Order, Reserve.Status> reserveOp,
                                                   Function<Order, T> responseBuilder
     ) {
-        var order = orderStorage.getById(orderId);
-        checkStatus(opName, "order", orderId, order.status(), expectedFinal, intermediateStatus);
-
-        if (order.status() != intermediateStatus) {
-            orderStorage.save(order.toBuilder().status(intermediateStatus).build());
-        }
-
-        Payment.Status paymentStatus;
-        try {
-            paymentStatus = paymentOp.apply(order);
-        } catch (Exception e) {
-            paymentStatus = OrderServiceUtils.statusError(e, Payment.Status::valueOf);
-        }
-        Reserve.Status reserveStatus;
-        try {
-            reserveStatus = reserveOp.apply(order);
-        } catch (Exception e) {
-            reserveStatus = OrderServiceUtils.statusError(e, Reserve.Status::valueOf);
-        }
-        log.trace("payment op '{}' result [{}] ", opName, paymentStatus);
-        log.trace("reserve op '{}' result [{}] ", opName, reserveStatus);
-        log.debug("order {} [{}]", opName, orderId);
-        var status = getOrderStatus(paymentStatus, reserveStatus);
-        if (status == null) {
-            log.info(
-                    "order status not changed: order [{}], status [{}]",
-                    order.id(),
-                    order.status()
-            );
-            return responseBuilder.apply(order);
-        } else {
-            log.debug(
-                    "order status has been changed: order [{}], status [{}]",
-                    order.id(),
-                    order.status()
-            );
-            var orderWithNewStatus = OrderServiceUtils.orderWithStatus(
-                    order,
-                    status
-            );
-            if (status == INSUFFICIENT) {
-                log.info("abort op '{}' on insufficient status of orderId [{}]", opName, orderId);
-                var savedOrder = orderStorage.save(orderWithNewStatus);
-                if (twoPhaseCommit) {
-                    remoteRollback(order.paymentTransactionId(), order.reserveTransactionId());
+        // the remote calls are not repeated, only the read and the intermediate status update are retried
+        var order = retryOnVersionConflict(opName, () -> {
+            var storedOrder = orderStorage.getById(orderId);
+            checkStatus(opName, "order", orderId, storedOrder.status(), expectedFinal, intermediateStatus);
+            return storedOrder.status() != intermediateStatus
+                    ? updateStatus(storedOrder, intermediateStatus)
+                    : storedOrder;
+        });
+
+        return coordinated(twoPhaseCommit, order, () -> {
+            var status = callsExecutor.zip(() -> {
+                try {
+                    return paymentOp.apply(order);
+                } catch (Exception e) {
+                    return OrderServiceUtils.statusError(e, Payment.Status::valueOf);
+                }
+            }, () -> {
+                try {
+                    return reserveOp.apply(order);
+                } catch (Exception e) {
+                    return OrderServiceUtils.statusError(e, Reserve.Status::valueOf);
                 }
-                return responseBuilder.apply(savedOrder);
+            }, (paymentStatus, reserveStatus) -> {
+                log.trace("payment op '{}' result [{}] ", opName, paymentStatus);
+                log.trace("reserve op '{}' result [{}] ", opName, reserveStatus);
+                log.debug("order {} [{}]", opName, orderId);
+                return getOrderStatus(paymentStatus, reserveStatus);
+            });
+            if (status == null) {
+                log.info(
+                        "order status not changed: order [{}], status [{}]",
+                        order.id(),
+                        order.status()
+                );
+                return responseBuilder.apply(order);
             } else {
-                return responseBuilder.apply(updateOrderAndCommit(
-                        twoPhaseCommit,
-                        orderWithNewStatus,
-                        order.paymentTransactionId(),
-                        order.reserveTransactionId()
-                ));
+                log.debug(
+                        "order status has been changed: order [{}], status [{}]",
+                        order.id(),
+                        order.status()
+                );
+                var orderWithNewStatus = OrderServiceUtils.orderWithStatus(
+                        order,
+                        status
+                );
+                if (status == INSUFFICIENT) {
+                    log.info("abort op '{}' on insufficient status of orderId [{}]", opName, orderId);
+                    var insufficientOrder = updateStatus(order, INSUFFICIENT);
+                    if (twoPhaseCommit) {
+                        remoteRollback(order.paymentTransactionId(), order.reserveTransactionId());
+                    }
+                    return responseBuilder.apply(insufficientOrder);
+                } else {
+                    return responseBuilder.apply(updateOrderAndCommit(
+                            twoPhaseCommit,
+                            orderWithNewStatus,
+                            order.paymentTransactionId(),
+                            order.reserveTransactionId()
+                    ));
+                }
             }
-        }
+        });
     }
 }
@@ -0,0 +1,13 @@
+package io.github.m4gshm.orders.service;
+
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+public class SequentialCallsExecutor implements CallsExecutor {
+    @Override
+    public <L, R, T> T zip(Supplier<L> left, Supplier<R> right, BiFunction<L, R, T> combiner) {
+        var l = left.get();
+        var r = right.get();
+        return combiner.apply(l, r);
+    }
+}
@@ -0,0 +1,78 @@
+package io.github.m4gshm.orders.service;
+
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.context.ContextSnapshotFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+import static java.util.concurrent.Executors.newThreadPerTaskExecutor;
+import static lombok.AccessLevel.PRIVATE;
+
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = PRIVATE)
+public class StructuredCallsExecutor implements CallsExecutor {
+    ThreadFactory threadFactory;
+    ContextSnapshotFactory contextSnapshotFactory;
+
+    private static <V> V call(ContextSnapshot snapshot, Supplier<V> routine) {
+        try (var _ = snapshot.setThreadLocals()) {
+            return routine.get();
+        }
+    }
+
+    @Override
+    @SneakyThrows
+    @SuppressWarnings("unchecked")
+    public <L, R, T> T zip(Supplier<L> left, Supplier<R> right, BiFunction<L, R, T> combiner) {
+        var snapshot = contextSnapshotFactory.captureAll();
+        // the first failure cancels the sibling call, the executor close waits for both forked threads
+        try (var executor = newThreadPerTaskExecutor(threadFactory)) {
+            var completion = new ExecutorCompletionService<Object>(executor);
+            var leftTask = completion.submit(() -> call(snapshot, left));
+            var rightTask = completion.submit(() -> call(snapshot, right));
+            Throwable error = null;
+            try {
+                for (var i = 0; i < 2; i++) {
+                    var done = completion.take();
+                    try {
+                        done.get();
+                    } catch (ExecutionException e) {
+                        var cause = e.getCause();
+                        if (error == null) {
+                            error = cause;
+                            cancel(leftTask, rightTask);
+                        } else {
+                            error.addSuppressed(cause);
+                        }
+                    } catch (CancellationException _) {
+                        log.trace("call cancelled on sibling failure");
+                    }
+                }
+            } catch (InterruptedException e) {
+                cancel(leftTask, rightTask);
+                Thread.currentThread().interrupt();
+                throw e;
+            }
+            if (error != null) {
+                throw error;
+            }
+            return combiner.apply((L) leftTask.resultNow(), (R) rightTask.resultNow());
+        }
+    }
+
+    private static void cancel(Future<?> leftTask, Future<?> rightTask) {
+        leftTask.cancel(true);
+        rightTask.cancel(true);
+    }
+}
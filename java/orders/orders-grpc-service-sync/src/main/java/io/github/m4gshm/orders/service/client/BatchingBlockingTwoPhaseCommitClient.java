@@ -0,0 +1,71 @@
+package io.github.m4gshm.orders.service.client;
+
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import lombok.RequiredArgsConstructor;
+import tpc.v1.TpcService.TwoPhaseCommitRequest;
+import tpc.v1.TpcService.TwoPhaseCommitResponse;
+import tpc.v1.TpcService.TwoPhaseRollbackRequest;
+import tpc.v1.TpcService.TwoPhaseRollbackResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+@RequiredArgsConstructor
+public class BatchingBlockingTwoPhaseCommitClient implements BlockingTwoPhaseCommitClient, AutoCloseable {
+    private final TwoPhaseCommitBatcher batcher;
+    // the batch window and the call deadline
+    private final Duration timeout;
+
+    private <T> T await(Consumer<StreamObserver<T>> call) {
+        var future = new CompletableFuture<T>();
+        call.accept(new StreamObserver<>() {
+            @Override
+            public void onNext(T value) {
+                future.complete(value);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                future.completeExceptionally(t);
+            }
+
+            @Override
+            public void onCompleted() {
+            }
+        });
+        try {
+            return future.orTimeout(timeout.toNanos(), NANOSECONDS).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                throw Status.DEADLINE_EXCEEDED.withDescription("no batch call result in " + timeout)
+                        .withCause(e.getCause())
+                        .asRuntimeException();
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public TwoPhaseCommitResponse commit(TwoPhaseCommitRequest request) {
+        return await(observer -> batcher.commit(request, observer));
+    }
+
+    @Override
+    public TwoPhaseRollbackResponse rollback(TwoPhaseRollbackRequest request) {
+        return await(observer -> batcher.rollback(request, observer));
+    }
+
+    @Override
+    public void close() {
+        batcher.close();
+    }
+}
@@ -0,0 +1,12 @@
+package io.github.m4gshm.orders.service.client;
+
+import tpc.v1.TpcService.TwoPhaseCommitRequest;
+import tpc.v1.TpcService.TwoPhaseCommitResponse;
+import tpc.v1.TpcService.TwoPhaseRollbackRequest;
+import tpc.v1.TpcService.TwoPhaseRollbackResponse;
+
+public interface BlockingTwoPhaseCommitClient {
+    TwoPhaseCommitResponse commit(TwoPhaseCommitRequest request);
+
+    TwoPhaseRollbackResponse rollback(TwoPhaseRollbackRequest request);
+}
@@ -0,0 +1,20 @@
+package io.github.m4gshm.orders.service.client;
+
+import tpc.v1.TpcService.TwoPhaseCommitRequest;
+import tpc.v1.TpcService.TwoPhaseCommitResponse;
+import tpc.v1.TpcService.TwoPhaseRollbackRequest;
+import tpc.v1.TpcService.TwoPhaseRollbackResponse;
+import tpc.v1.TwoPhaseCommitServiceGrpc.TwoPhaseCommitServiceBlockingStub;
+
+public record StubBlockingTwoPhaseCommitClient(TwoPhaseCommitServiceBlockingStub stub)
+        implements BlockingTwoPhaseCommitClient {
+    @Override
+    public TwoPhaseCommitResponse commit(TwoPhaseCommitRequest request) {
+        return stub.commit(request);
+    }
+
+    @Override
+    public TwoPhaseRollbackResponse rollback(TwoPhaseRollbackRequest request) {
+        return stub.rollback(request);
+    }
+}
@@ -2,26 +2,33 @@ package io.github.m4gshm.orders.service.client.config;
 
 import io.github.m4gshm.grpc.client.ChannelBuilderFactory;
 import io.github.m4gshm.grpc.client.ClientProperties;
+import io.github.m4gshm.orders.service.client.BatchingBlockingTwoPhaseCommitClient;
+import io.github.m4gshm.orders.service.client.BlockingTwoPhaseCommitClient;
+import io.github.m4gshm.orders.service.client.StubBlockingTwoPhaseCommitClient;
+import io.github.m4gshm.orders.service.client.TwoPhaseCommitBatchProperties;
+import io.github.m4gshm.orders.service.client.TwoPhaseCommitBatcher;
 import io.grpc.ClientInterceptor;
 import io.grpc.ManagedChannel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import payment.v1.PaymentServiceGrpc;
 import payment.v1.PaymentServiceGrpc.PaymentServiceBlockingStub;
 import tpc.v1.TwoPhaseCommitServiceGrpc;
-import tpc.v1.TwoPhaseCommitServiceGrpc.TwoPhaseCommitServiceBlockingStub;
 
 import java.util.List;
 
 @Configuration
 @RequiredArgsConstructor
 @FieldDefaults(makeFinal = true)
+@EnableConfigurationProperties(TwoPhaseCommitBatchProperties.class)
 public class PaymentsServiceClientConfiguration {
     List<ClientInterceptor> clientInterceptors;
     ChannelBuilderFactory<?> channelBuilderFactory;
+    TwoPhaseCommitBatchProperties tpcBatchProperties;
 
     private ManagedChannel newManagedChannel() {
         return paymentsClientProperties().newManagedChannelBuilder(channelBuilderFactory, clientInterceptors).build();
@@ -39,8 +46,15 @@ public class PaymentsServiceClientConfiguration {
     }
 
     @Bean
-    public TwoPhaseCommitServiceBlockingStub paymentsClientTcp() {
-        return TwoPhaseCommitServiceGrpc.newBlockingStub(
-                newManagedChannel());
+    public BlockingTwoPhaseCommitClient paymentsClientTcp() {
+        var channel = newManagedChannel();
+        return tpcBatchProperties.enabled()
+                ? new BatchingBlockingTwoPhaseCommitClient(new TwoPhaseCommitBatcher("payments",
+                        TwoPhaseCommitServiceGrpc.newStub(channel),
+                        tpcBatchProperties.window(),
+                        tpcBatchProperties.maxBatchSize(),
+                        tpcBatchProperties.deadline()),
+                        tpcBatchProperties.window().plus(tpcBatchProperties.deadline()))
+                : new StubBlockingTwoPhaseCommitClient(TwoPhaseCommitServiceGrpc.newBlockingStub(channel));
     }
 }
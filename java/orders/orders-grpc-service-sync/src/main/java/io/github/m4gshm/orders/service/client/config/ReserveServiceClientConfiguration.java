@@ -2,18 +2,23 @@ package io.github.m4gshm.orders.service.client.config;
 
 import io.github.m4gshm.grpc.client.ChannelBuilderFactory;
 import io.github.m4gshm.grpc.client.ClientProperties;
+import io.github.m4gshm.orders.service.client.BatchingBlockingTwoPhaseCommitClient;
+import io.github.m4gshm.orders.service.client.BlockingTwoPhaseCommitClient;
+import io.github.m4gshm.orders.service.client.StubBlockingTwoPhaseCommitClient;
+import io.github.m4gshm.orders.service.client.TwoPhaseCommitBatchProperties;
+import io.github.m4gshm.orders.service.client.TwoPhaseCommitBatcher;
 import io.grpc.ClientInterceptor;
 import io.grpc.ManagedChannel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import reserve.v1.ReserveServiceGrpc;
 import reserve.v1.ReserveServiceGrpc.ReserveServiceBlockingStub;
 import tpc.v1.TwoPhaseCommitServiceGrpc;
-import tpc.v1.TwoPhaseCommitServiceGrpc.TwoPhaseCommitServiceBlockingStub;
 
 import java.util.List;
 
@@ -21,9 +26,11 @@ import java.util.List;
 @Configuration
 @RequiredArgsConstructor
 @FieldDefaults(makeFinal = true)
+@EnableConfigurationProperties(TwoPhaseCommitBatchProperties.class)
 public class ReserveServiceClientConfiguration {
     List<ClientInterceptor> clientInterceptors;
     ChannelBuilderFactory<?> channelBuilderFactory;
+    TwoPhaseCommitBatchProperties tpcBatchProperties;
 
     private ManagedChannel newManagedChannel() {
         return reserveClientProperties().newManagedChannelBuilder(channelBuilderFactory, clientInterceptors).build();
@@ -41,8 +48,16 @@ public class ReserveServiceClientConfiguration {
     }
 
     @Bean
-    public TwoPhaseCommitServiceBlockingStub reserveClientTcp() {
-        return TwoPhaseCommitServiceGrpc.newBlockingStub(newManagedChannel());
+    public BlockingTwoPhaseCommitClient reserveClientTcp() {
+        var channel = newManagedChannel();
+        return tpcBatchProperties.enabled()
+                ? new BatchingBlockingTwoPhaseCommitClient(new TwoPhaseCommitBatcher("reserve",
+                        TwoPhaseCommitServiceGrpc.newStub(channel),
+                        tpcBatchProperties.window(),
+                        tpcBatchProperties.maxBatchSize(),
+                        tpcBatchProperties.deadline()),
+                        tpcBatchProperties.window().plus(tpcBatchProperties.deadline()))
+                : new StubBlockingTwoPhaseCommitClient(TwoPhaseCommitServiceGrpc.newBlockingStub(channel));
     }
 
 }
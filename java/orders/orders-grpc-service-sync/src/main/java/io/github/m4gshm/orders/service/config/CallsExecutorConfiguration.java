@@ -0,0 +1,38 @@
+package io.github.m4gshm.orders.service.config;
+
+import io.github.m4gshm.orders.service.CallsExecutor;
+import io.github.m4gshm.orders.service.SequentialCallsExecutor;
+import io.github.m4gshm.orders.service.StructuredCallsExecutor;
+import io.micrometer.context.ContextSnapshotFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(CallsExecutorConfiguration.Properties.class)
+public class CallsExecutorConfiguration {
+    private final Properties properties;
+
+    @Bean
+    public CallsExecutor callsExecutor() {
+        return switch (properties.callsExecution()) {
+            case SEQUENTIAL -> new SequentialCallsExecutor();
+            case STRUCTURED -> new StructuredCallsExecutor(
+                    Thread.ofVirtual().name("orders-call-", 0).factory(),
+                    ContextSnapshotFactory.builder().build()
+            );
+        };
+    }
+
+    public enum CallsExecution {
+        SEQUENTIAL, STRUCTURED;
+    }
+
+    @ConfigurationProperties("service.orders")
+    public record Properties(@DefaultValue("SEQUENTIAL") CallsExecution callsExecution) {
+    }
+}
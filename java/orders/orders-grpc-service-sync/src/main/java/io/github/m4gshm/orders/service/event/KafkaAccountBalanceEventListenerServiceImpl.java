@@ -16,9 +16,12 @@ import payment.v1.PaymentServiceGrpc;
 import payment.v1.PaymentServiceOuterClass.PaymentGetRequest;
 import tools.jackson.databind.json.JsonMapper;
 
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Set;
 
 import static io.github.m4gshm.orders.data.access.jooq.enums.OrderStatus.INSUFFICIENT;
+import static java.util.stream.Collectors.groupingBy;
 import static lombok.AccessLevel.PRIVATE;
 
 @Slf4j
@@ -52,40 +55,64 @@ public class KafkaAccountBalanceEventListenerServiceImpl {
         }
     }
 
-    private void handle(AccountBalanceEvent event) {
-        var requestId = event.requestId();
-        var clientId = event.clientId();
-        var balance = event.balance();
-        messageStorage.storeUnique(MessageImpl.builder()
-                .messageID(requestId)
+    // the latest event wins, the later record of equal timestamps
+    private static AccountBalanceEvent latest(AccountBalanceEvent current, AccountBalanceEvent next) {
+        return next.timestamp().isBefore(current.timestamp()) ? current : next;
+    }
+
+    private void handle(List<AccountBalanceEvent> events) {
+        var storedIds = messageStorage.storeUniqueAll(events.stream().map(event -> MessageImpl.builder()
+                .messageID(event.requestId())
                 .subscriberID("accountBalance")
                 .timestamp(event.timestamp())
-                .build());
-
-        var orders = orderStorage.findByClientIdAndStatuses(clientId, Set.of(INSUFFICIENT));
+                .build()).toList());
 
-        if (log.isDebugEnabled()) {
-            log.debug("found active orders for client {}, amount {}, ids {}",
-                    clientId,
-                    orders.size(),
-                    orders.stream()
-                            .map(Order::id)
-                            .toList());
+        var latestPerClient = new LinkedHashMap<String, AccountBalanceEvent>();
+        for (var event : events) {
+            if (storedIds.contains(event.requestId())) {
+                latestPerClient.merge(event.clientId(), event, KafkaAccountBalanceEventListenerServiceImpl::latest);
+            } else {
+                log.info("account balance event already processed: requestId [{}]", event.requestId());
+            }
+        }
+        if (latestPerClient.isEmpty()) {
+            return;
         }
 
-        for (var order : orders) {
-            try {
-                approveIfEnoughBalance1(order, balance);
-            } catch (Exception e) {
-                log.error("approve order on account balance event error", e);
+        var ordersPerClient = orderStorage.findByClientIdsAndStatuses(latestPerClient.keySet(), Set.of(INSUFFICIENT))
+                .stream()
+                .collect(groupingBy(Order::customerId));
+
+        latestPerClient.forEach((clientId, event) -> {
+            var orders = ordersPerClient.getOrDefault(clientId, List.of());
+            if (log.isDebugEnabled()) {
+                log.debug("found active orders for client {}, amount {}, ids {}",
+                        clientId,
+                        orders.size(),
+                        orders.stream()
+                                .map(Order::id)
+                                .toList());
             }
-        }
+
+            for (var order : orders) {
+                try {
+                    approveIfEnoughBalance1(order, event.balance());
+                } catch (Exception e) {
+                    log.error("approve order on account balance event error", e);
+                }
+            }
+        });
     }
 
     @Observed
-    @KafkaListener(topics = "balance", groupId = "${spring.kafka.consumer.group-id}")
-    public void listen(String value) {
-        log.info("received account balance event from kafka consumer: value {}", value);
-        handle(jsonMapper.readValue(value, AccountBalanceEvent.class));
+    // one poll is handled as one batch, its size is limited by max-poll-records
+    @KafkaListener(
+                   topics = "balance",
+                   groupId = "${spring.kafka.consumer.group-id}",
+                   batch = "true",
+                   properties = "max.poll.records=${service.kafka.account-balance.max-poll-records:500}")
+    public void listen(List<String> values) {
+        log.info("received account balance events from kafka consumer: amount {}", values.size());
+        handle(values.stream().map(value -> jsonMapper.readValue(value, AccountBalanceEvent.class)).toList());
     }
 }
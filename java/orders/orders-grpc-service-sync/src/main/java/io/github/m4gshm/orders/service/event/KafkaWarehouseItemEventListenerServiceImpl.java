@@ -0,0 +1,36 @@
+package io.github.m4gshm.orders.service.event;
+
+import io.github.m4gshm.orders.service.ItemCostCache;
+import io.github.m4gshm.reserve.event.model.WarehouseItemEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.json.JsonMapper;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = PRIVATE)
+@ConditionalOnProperty(value = "spring.kafka.enabled", havingValue = "true", matchIfMissing = true)
+@ConditionalOnProperty(value = "service.item-cost-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class KafkaWarehouseItemEventListenerServiceImpl {
+    JsonMapper jsonMapper;
+    ItemCostCache itemCostCache;
+
+    // every instance owns its cache, so every instance must receive all events by its own group,
+    // the stable instance id lets a restarted instance reuse its group instead of leaving a new one each start
+    @KafkaListener(
+                   topics = "${service.kafka.warehouse-item.topic.name:warehouse-item}",
+                   groupId = "${spring.kafka.consumer.group-id}-item-cost-cache-${service.kafka.warehouse-item.instance-id}",
+                   properties = "auto.offset.reset=latest")
+    public void listen(String value) {
+        log.debug("received warehouse item event from kafka consumer: value {}", value);
+        var event = jsonMapper.readValue(value, WarehouseItemEvent.class);
+        itemCostCache.invalidate(event.itemId());
+    }
+}
@@ -0,0 +1,27 @@
+package io.github.m4gshm.orders.service.recovery;
+
+import io.github.m4gshm.orders.data.storage.TwoPhaseCommitCoordinatorStorage;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = PRIVATE)
+public class TwoPhaseCommitCoordinatorHeartbeat {
+    CoordinatedTransactions coordinatedTransactions;
+    TwoPhaseCommitCoordinatorStorage coordinatorStorage;
+
+    @Scheduled(fixedDelayString = "${service.orders.tpc-coordinator.heartbeat-interval:5s}")
+    public void heartbeat() {
+        try {
+            coordinatorStorage.heartbeat(coordinatedTransactions.getCoordinatorId(),
+                    coordinatedTransactions.transactionIds());
+        } catch (Exception e) {
+            log.warn("two phase commit coordinator heartbeat error", e);
+        }
+    }
+}
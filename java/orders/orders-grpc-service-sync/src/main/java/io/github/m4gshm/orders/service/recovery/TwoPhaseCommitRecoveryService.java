@@ -0,0 +1,164 @@
+package io.github.m4gshm.orders.service.recovery;
+
+import io.github.m4gshm.orders.data.storage.TwoPhaseCommitCoordinatorStorage;
+import io.github.m4gshm.orders.data.storage.TwoPhaseCommitDecisionStorage;
+import io.github.m4gshm.postgres.prepared.transaction.PreparedTransactionService;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import tpc.v1.TpcService.TwoPhaseCommitBatchRequest;
+import tpc.v1.TpcService.TwoPhaseListActivesRequest;
+import tpc.v1.TpcService.TwoPhaseRollbackBatchRequest;
+import tpc.v1.TwoPhaseCommitServiceGrpc.TwoPhaseCommitServiceBlockingStub;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static io.github.m4gshm.orders.service.recovery.TwoPhaseCommitRecoveryUtils.COMMIT;
+import static io.github.m4gshm.orders.service.recovery.TwoPhaseCommitRecoveryUtils.LOCAL;
+import static io.github.m4gshm.orders.service.recovery.TwoPhaseCommitRecoveryUtils.RECOVERY_LOCK;
+import static io.github.m4gshm.orders.service.recovery.TwoPhaseCommitRecoveryUtils.ROLLBACK;
+import static io.github.m4gshm.orders.service.recovery.TwoPhaseCommitRecoveryUtils.countResolved;
+import static io.github.m4gshm.orders.service.recovery.TwoPhaseCommitRecoveryUtils.expired;
+import static io.github.m4gshm.orders.service.recovery.TwoPhaseCommitRecoveryUtils.ids;
+import static io.github.m4gshm.orders.service.recovery.TwoPhaseCommitRecoveryUtils.splitByCommitted;
+import static io.github.m4gshm.orders.service.recovery.TwoPhaseCommitRecoveryUtils.toOrphan;
+import static io.github.m4gshm.orders.service.recovery.TwoPhaseCommitRecoveryUtils.toOrphans;
+import static io.github.m4gshm.r2dbc.postgres.AdvisoryLockUtils.runLocked;
+import static lombok.AccessLevel.PRIVATE;
+
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = PRIVATE)
+public class TwoPhaseCommitRecoveryService {
+    Map<String, TwoPhaseCommitServiceBlockingStub> participants;
+    PreparedTransactionService preparedTransactionService;
+    TwoPhaseCommitDecisionStorage decisionStorage;
+    TwoPhaseCommitCoordinatorStorage coordinatorStorage;
+    DataSource dataSource;
+    OrphanTransactionMetrics metrics;
+    Duration minAge;
+    Duration coordinatorTimeout;
+    Clock clock;
+
+    @Scheduled(fixedDelayString = "${service.orders.tpc-recovery.interval:30s}",
+               initialDelayString = "${service.orders.tpc-recovery.interval:30s}")
+    public void scheduledRecover() {
+        try {
+            // the job runs on every replica, the ones that don't get the lock skip the run
+            if (!runLocked(dataSource, RECOVERY_LOCK, this::recover)) {
+                log.debug("orphaned transactions recovery is running on another replica");
+            }
+        } catch (Exception e) {
+            log.error("orphaned transactions recovery error", e);
+        }
+    }
+
+    public void recover() {
+        var now = clock.instant();
+        var actives = new LinkedHashMap<String, List<OrphanTransaction>>();
+        var listedAll = true;
+        for (var participant : participants.entrySet()) {
+            var name = participant.getKey();
+            try {
+                var response = participant.getValue().listActives(TwoPhaseListActivesRequest.getDefaultInstance());
+                actives.put(name, toOrphans(name, response));
+            } catch (Exception e) {
+                listedAll = false;
+                metrics.failed(name);
+                log.warn("list active transactions error, participant [{}]", name, e);
+            }
+        }
+        try {
+            actives.put(LOCAL, preparedTransactionService.findAll().stream()
+                    .map(transaction -> toOrphan(LOCAL, transaction.gid(), transaction.prepared()))
+                    .toList());
+        } catch (Exception e) {
+            listedAll = false;
+            metrics.failed(LOCAL);
+            log.warn("list local prepared transactions error", e);
+        }
+
+        var aliveAfter = OffsetDateTime.ofInstant(now.minus(coordinatorTimeout), clock.getZone());
+        var coordinated = coordinatorStorage.findCoordinated(aliveAfter);
+        var orphans = new LinkedHashMap<String, List<OrphanTransaction>>();
+        actives.forEach((participant, transactions) -> {
+            var expired = expired(transactions, now, minAge, coordinated);
+            metrics.update(participant, expired, now);
+            if (!expired.isEmpty()) {
+                orphans.put(participant, expired);
+            }
+        });
+
+        if (!orphans.isEmpty()) {
+            var committed = decisionStorage.findCommitted(orphans.values().stream()
+                    .flatMap(List::stream)
+                    .map(OrphanTransaction::id)
+                    .distinct()
+                    .toList());
+            orphans.forEach((participant, transactions) -> {
+                var split = splitByCommitted(transactions, committed);
+                log.info("recover orphaned transactions on [{}], commit {}, rollback {}", participant, split.get(true),
+                        split.get(false));
+                if (LOCAL.equals(participant)) {
+                    resolveLocal(COMMIT, split.get(true), preparedTransactionService::commit);
+                    resolveLocal(ROLLBACK, split.get(false), preparedTransactionService::rollback);
+                } else {
+                    resolveRemote(participant, split.get(true), split.get(false));
+                }
+            });
+        }
+
+        // the decisions are needed only while some participant still keeps the transaction prepared
+        if (listedAll) {
+            var activeIds = new ArrayList<String>();
+            actives.values().forEach(transactions -> activeIds.addAll(ids(transactions)));
+            var deleted = decisionStorage.deleteResolvedBefore(OffsetDateTime.ofInstant(now.minus(minAge), clock.getZone()),
+                    activeIds);
+            log.debug("deleted resolved commit decisions {}", deleted);
+        }
+        var deletedCoordinators = coordinatorStorage.deleteBefore(aliveAfter);
+        log.debug("deleted dead coordinators {}", deletedCoordinators);
+    }
+
+    private void resolveRemote(String participant, List<String> commitIds, List<String> rollbackIds) {
+        var stub = participants.get(participant);
+        try {
+            if (!commitIds.isEmpty()) {
+                var response = stub.commitBatch(TwoPhaseCommitBatchRequest.newBuilder().addAllIds(commitIds).build());
+                metrics.resolved(participant, COMMIT, countResolved(participant, COMMIT, response));
+            }
+            if (!rollbackIds.isEmpty()) {
+                var response = stub.rollbackBatch(TwoPhaseRollbackBatchRequest.newBuilder()
+                        .addAllIds(rollbackIds)
+                        .build());
+                metrics.resolved(participant, ROLLBACK, countResolved(participant, ROLLBACK, response));
+            }
+        } catch (Exception e) {
+            metrics.failed(participant);
+            log.warn("recover orphaned transactions error, participant [{}]", participant, e);
+        }
+    }
+
+    private void resolveLocal(String decision, List<String> ids, Consumer<String> operation) {
+        var resolved = 0;
+        for (var id : ids) {
+            try {
+                operation.accept(id);
+                resolved++;
+            } catch (Exception e) {
+                metrics.failed(LOCAL);
+                log.warn("{} local orphaned transaction [{}] error", decision, id, e);
+            }
+        }
+        metrics.resolved(LOCAL, decision, resolved);
+    }
+}
@@ -0,0 +1,73 @@
+package io.github.m4gshm.orders.service.recovery.config;
+
+import io.github.m4gshm.grpc.client.ChannelBuilderFactory;
+import io.github.m4gshm.grpc.client.ClientProperties;
+import io.github.m4gshm.orders.data.storage.TwoPhaseCommitCoordinatorStorage;
+import io.github.m4gshm.orders.data.storage.TwoPhaseCommitDecisionStorage;
+import io.github.m4gshm.orders.service.recovery.OrphanTransactionMetrics;
+import io.github.m4gshm.orders.service.recovery.TwoPhaseCommitRecoveryProperties;
+import io.github.m4gshm.orders.service.recovery.TwoPhaseCommitRecoveryService;
+import io.github.m4gshm.postgres.prepared.transaction.PreparedTransactionService;
+import io.grpc.ClientInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import tpc.v1.TwoPhaseCommitServiceGrpc;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@EnableScheduling
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true)
+@EnableConfigurationProperties(TwoPhaseCommitRecoveryProperties.class)
+@ConditionalOnProperty(value = "service.orders.tpc-recovery.enabled", havingValue = "true")
+public class TwoPhaseCommitRecoveryConfiguration {
+    List<ClientInterceptor> clientInterceptors;
+    ChannelBuilderFactory<?> channelBuilderFactory;
+
+    private TwoPhaseCommitServiceGrpc.TwoPhaseCommitServiceBlockingStub newStub(ClientProperties clientProperties) {
+        return TwoPhaseCommitServiceGrpc.newBlockingStub(clientProperties.newManagedChannelBuilder(
+                channelBuilderFactory,
+                clientInterceptors
+        ).build());
+    }
+
+    @Bean
+    public OrphanTransactionMetrics orphanTransactionMetrics(MeterRegistry meterRegistry) {
+        return new OrphanTransactionMetrics(meterRegistry);
+    }
+
+    @Bean
+    public TwoPhaseCommitRecoveryService twoPhaseCommitRecoveryService(
+                                                                       TwoPhaseCommitRecoveryProperties properties,
+                                                                       @Qualifier("reserveClientProperties") ClientProperties reserveClientProperties,
+                                                                       @Qualifier("paymentsClientProperties") ClientProperties paymentsClientProperties,
+                                                                       PreparedTransactionService preparedTransactionService,
+                                                                       TwoPhaseCommitDecisionStorage decisionStorage,
+                                                                       TwoPhaseCommitCoordinatorStorage coordinatorStorage,
+                                                                       DataSource dataSource,
+                                                                       OrphanTransactionMetrics orphanTransactionMetrics
+    ) {
+        return new TwoPhaseCommitRecoveryService(
+                Map.of("reserve", newStub(reserveClientProperties), "payments", newStub(paymentsClientProperties)),
+                preparedTransactionService,
+                decisionStorage,
+                coordinatorStorage,
+                dataSource,
+                orphanTransactionMetrics,
+                properties.minAge(),
+                properties.coordinatorTimeout(),
+                Clock.systemDefaultZone()
+        );
+    }
+}
@@ -25,6 +25,7 @@ dependencies {
 
     api(project(":payments:payments-grpc-api"))
     api(project(":payments:payments-event-api"))
+    api(project(":reserve:reserve-event-api"))
     api(project(":reserve:reserve-grpc-api"))
     api(project(":tpc:tpc-grpc-api"))
     api(project(":idempotent-consumer-r2dbc"))
@@ -5,6 +5,7 @@ import io.grpc.stub.StreamObserver;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import orders.v1.OrderOuterClass;
 import orders.v1.OrderServiceGrpc;
 import orders.v1.OrderServiceOuterClass;
 import orders.v1.OrderServiceOuterClass.OrderApproveRequest;
@@ -18,6 +19,7 @@ import orders.v1.OrderServiceOuterClass.OrderListResponse;
 import orders.v1.OrderServiceOuterClass.OrderReleaseRequest;
 import orders.v1.OrderServiceOuterClass.OrderReleaseResponse;
 import orders.v1.OrderServiceOuterClass.OrderResumeRequest;
+import orders.v1.OrderServiceOuterClass.OrderStreamRequest;
 import org.springframework.stereotype.Service;
 
 import static lombok.AccessLevel.PRIVATE;
@@ -63,7 +65,16 @@ public class ReactiveGrpcOrderServiceImpl extends OrderServiceGrpc.OrderServiceI
         grpc.subscribe("list", responseObserver, () -> {
             var condition = request.getCondition();
 
-            return ordersService.list(request.getPage(), condition.hasStatus() ? condition.getStatus() : null);
+            var pageToken = request.hasPageToken() ? request.getPageToken() : null;
+            return ordersService.list(request.getPage(), pageToken, condition.hasStatus() ? condition.getStatus() : null);
+        });
+    }
+
+    @Override
+    public void streamOrders(OrderStreamRequest request, StreamObserver<OrderOuterClass.Order> responseObserver) {
+        grpc.stream("streamOrders", responseObserver, () -> {
+            var condition = request.getCondition();
+            return ordersService.stream(condition.hasStatus() ? condition.getStatus() : null);
         });
     }
 
@@ -3,36 +3,66 @@ package io.github.m4gshm.orders.service;
 import io.github.m4gshm.orders.data.model.Order;
 import io.micrometer.observation.ObservationRegistry;
 import lombok.AccessLevel;
-import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 import warehouse.v1.WarehouseItemServiceGrpc.WarehouseItemServiceStub;
 
 import java.util.List;
 
+import static io.github.m4gshm.orders.service.OrderServiceUtils.itemIds;
+import static io.github.m4gshm.orders.service.OrderServiceUtils.missedIds;
+import static io.github.m4gshm.orders.service.OrderServiceUtils.newGetItemCostsRequest;
+import static io.github.m4gshm.orders.service.OrderServiceUtils.sumCost;
 import static io.github.m4gshm.reactive.ReactiveUtils.toMono;
 import static reactor.core.observability.micrometer.Micrometer.observation;
-import static reactor.core.publisher.Flux.fromIterable;
-import static warehouse.v1.WarehouseService.GetItemCostRequest;
+import static reactor.core.publisher.Mono.defer;
+import static reactor.core.publisher.Mono.just;
 
 @Service
-@RequiredArgsConstructor
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
 public class ReactiveItemServiceImpl implements ReactiveItemService {
     WarehouseItemServiceStub warehouseClient;
+    // null when the cache is disabled
+    ItemCostCache itemCostCache;
     ObservationRegistry observationRegistry;
 
+    public ReactiveItemServiceImpl(WarehouseItemServiceStub warehouseClient,
+                                   ObjectProvider<ItemCostCache> itemCostCache,
+                                   ObservationRegistry observationRegistry) {
+        this.warehouseClient = warehouseClient;
+        this.itemCostCache = itemCostCache.getIfAvailable();
+        this.observationRegistry = observationRegistry;
+    }
+
     @Override
     public Mono<Double> getSumCost(List<Order.Item> items) {
-        return fromIterable(items).flatMap(item -> toMono(
-                "warehouseClient::getItemCost",
-                GetItemCostRequest.newBuilder()
-                        .setId(item.id())
-                        .build(),
-                warehouseClient::getItemCost
-        ).map(response -> response.getCost() * item.amount()))
-                .reduce(0.0, Double::sum)
+        return defer(() -> {
+            var ids = itemIds(items);
+            if (itemCostCache == null) {
+                return toMono(
+                        "warehouseClient::getItemCosts",
+                        newGetItemCostsRequest(ids),
+                        warehouseClient::getItemCosts
+                ).map(response -> sumCost(items, response.getCostsMap()::get));
+            }
+            var cached = itemCostCache.getAllPresent(ids);
+            var missed = missedIds(ids, cached);
+            if (missed.isEmpty()) {
+                return just(sumCost(items, cached::get));
+            }
+            var version = itemCostCache.version();
+            return toMono(
+                    "warehouseClient::getItemCosts",
+                    newGetItemCostsRequest(missed),
+                    warehouseClient::getItemCosts
+            ).map(response -> {
+                var loaded = response.getCostsMap();
+                itemCostCache.putAll(loaded, version);
+                return sumCost(items, id -> cached.getOrDefault(id, loaded.get(id)));
+            });
+        })
                 .name("getSumCost")
                 .tap(observation(observationRegistry));
     }
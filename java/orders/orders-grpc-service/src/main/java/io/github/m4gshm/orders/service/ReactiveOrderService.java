@@ -1,5 +1,6 @@
 package io.github.m4gshm.orders.service;
 
+import orders.v1.OrderOuterClass;
 import orders.v1.OrderOuterClass.Order.Status;
 import orders.v1.OrderServiceOuterClass.OrderApproveResponse;
 import orders.v1.OrderServiceOuterClass.OrderCancelResponse;
@@ -10,6 +11,7 @@ import orders.v1.OrderServiceOuterClass.OrderListResponse;
 import orders.v1.OrderServiceOuterClass.OrderReleaseResponse;
 import orders.v1.OrderServiceOuterClass.OrderResumeResponse;
 import orders.v1.OrderServiceOuterClass.Page;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public interface ReactiveOrderService {
@@ -21,7 +23,9 @@ public interface ReactiveOrderService {
 
     Mono<OrderGetResponse> get(String orderId);
 
-    Mono<OrderListResponse> list(Page page, Status status);
+    Mono<OrderListResponse> list(Page page, String pageToken, Status status);
+
+    Flux<OrderOuterClass.Order> stream(Status status);
 
     Mono<OrderReleaseResponse> release(String orderId, boolean twoPhaseCommit);
 
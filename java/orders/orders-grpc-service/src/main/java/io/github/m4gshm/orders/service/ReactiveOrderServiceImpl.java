@@ -3,12 +3,16 @@ package io.github.m4gshm.orders.service;
 import io.github.m4gshm.orders.data.access.jooq.enums.OrderStatus;
 import io.github.m4gshm.orders.data.model.Order;
 import io.github.m4gshm.orders.data.storage.ReactiveOrderStorage;
+import io.github.m4gshm.orders.data.storage.ReactiveTwoPhaseCommitDecisionStorage;
+import io.github.m4gshm.orders.service.client.TwoPhaseCommitClient;
+import io.github.m4gshm.orders.service.recovery.CoordinatedTransactions;
 import io.github.m4gshm.postgres.prepared.transaction.ReactivePreparedTransactionService;
 import io.github.m4gshm.postgres.prepared.transaction.TwoPhaseTransactionUtils.PrepareTransactionException;
 import io.github.m4gshm.storage.NotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import orders.v1.OrderOuterClass;
 import orders.v1.OrderOuterClass.Order.Status;
 import orders.v1.OrderServiceOuterClass;
 import orders.v1.OrderServiceOuterClass.OrderApproveResponse;
@@ -27,6 +31,7 @@ import payment.v1.PaymentServiceOuterClass.PaymentApproveResponse;
 import payment.v1.PaymentServiceOuterClass.PaymentCancelResponse;
 import payment.v1.PaymentServiceOuterClass.PaymentCreateRequest;
 import payment.v1.PaymentServiceOuterClass.PaymentGetRequest;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reserve.v1.ReserveOuterClass.Reserve;
 import reserve.v1.ReserveServiceGrpc;
@@ -35,7 +40,6 @@ import reserve.v1.ReserveServiceOuterClass.ReserveApproveResponse;
 import reserve.v1.ReserveServiceOuterClass.ReserveCreateRequest;
 import reserve.v1.ReserveServiceOuterClass.ReserveGetRequest;
 import tpc.v1.TpcService.TwoPhaseCommitResponse;
-import tpc.v1.TwoPhaseCommitServiceGrpc.TwoPhaseCommitServiceStub;
 
 import java.util.List;
 import java.util.Set;
@@ -57,12 +61,18 @@ import static io.github.m4gshm.orders.service.OrderServiceUtils.logNoTransaction
 import static io.github.m4gshm.orders.service.OrderServiceUtils.newPaymentCancelRequest;
 import static io.github.m4gshm.orders.service.OrderServiceUtils.newReserveCancelRequest;
 import static io.github.m4gshm.orders.service.OrderServiceUtils.newRollbackRequest;
+import static io.github.m4gshm.orders.service.OrderServiceUtils.orderWithNextStatus;
 import static io.github.m4gshm.orders.service.OrderServiceUtils.toDelivery;
+import static io.github.m4gshm.orders.service.OrderServiceUtils.toOrderCursor;
 import static io.github.m4gshm.orders.service.OrderServiceUtils.toOrderGrpc;
+import static io.github.m4gshm.orders.service.OrderServiceUtils.toOrderListResponse;
 import static io.github.m4gshm.orders.service.OrderServiceUtils.toOrderStatus;
 import static io.github.m4gshm.orders.service.OrderServiceUtils.toOrderStatusGrpc;
 import static io.github.m4gshm.orders.service.OrderServiceUtils.toPage;
+import static io.github.m4gshm.orders.service.recovery.CoordinatedTransactions.transactionIds;
 import static io.github.m4gshm.reactive.ReactiveUtils.toMono;
+import static io.github.m4gshm.storage.ReactiveVersionConflictRetry.retryOnVersionConflict;
+import static io.github.m4gshm.storage.UpdateUtils.versionConflict;
 import static java.util.Objects.requireNonNull;
 import static java.util.Optional.ofNullable;
 import static lombok.AccessLevel.PROTECTED;
@@ -80,12 +90,14 @@ import static reactor.core.publisher.Mono.just;
 public class ReactiveOrderServiceImpl implements ReactiveOrderService {
     ReactiveOrderStorage orderStorage;
     ReactivePreparedTransactionService preparedTransactionService;
+    ReactiveTwoPhaseCommitDecisionStorage decisionStorage;
+    CoordinatedTransactions coordinatedTransactions;
 
     ReserveServiceGrpc.ReserveServiceStub reserveClient;
 
-    TwoPhaseCommitServiceStub reserveClientTcp;
+    TwoPhaseCommitClient reserveClientTcp;
     PaymentServiceStub paymentsClient;
-    TwoPhaseCommitServiceStub paymentsClientTcp;
+    TwoPhaseCommitClient paymentsClientTcp;
     ReactiveItemService reactiveItemService;
 
     @Override
@@ -140,7 +152,7 @@ public class ReactiveOrderServiceImpl implements ReactiveOrderService {
     private Mono<TwoPhaseCommitResponse> commit(
                                                 String operationName,
                                                 String transactionId,
-                                                TwoPhaseCommitServiceStub paymentsClientTcp
+                                                TwoPhaseCommitClient paymentsClientTcp
     ) {
         return toMono(operationName,
                 OrderServiceUtils.newCommitRequest(transactionId),
@@ -189,7 +201,7 @@ public class ReactiveOrderServiceImpl implements ReactiveOrderService {
                 reserveRequestBuilder.build(),
                 reserveClient::create);
 
-        return paymentRoutine.zipWith(reserveRoutine).flatMap(responses -> {
+        return coordinated(twoPhaseCommit, order, paymentRoutine.zipWith(reserveRoutine).flatMap(responses -> {
             var paymentResponse = responses.getT1();
             var reserveResponse = responses.getT2();
             var paymentId = paymentResponse.getId();
@@ -204,7 +216,19 @@ public class ReactiveOrderServiceImpl implements ReactiveOrderService {
                     paymentTransactionId,
                     reserveTransactionId
             );
-        });
+        }));
+    }
+
+    // the recovery of any replica leaves the prepared transactions of a running operation to this coordinator
+    private <T> Mono<T> coordinated(boolean twoPhaseCommit, Order order, Mono<T> routine) {
+        if (!twoPhaseCommit) {
+            return routine;
+        }
+        var transactionIds = transactionIds(order);
+        return defer(() -> {
+            coordinatedTransactions.begin(transactionIds);
+            return routine;
+        }).doFinally(_ -> coordinatedTransactions.end(transactionIds));
     }
 
     @Override
@@ -247,6 +271,12 @@ public class ReactiveOrderServiceImpl implements ReactiveOrderService {
                         paymentsClientTcp::commit
                 ))
                 .then(preparedTransactionService.commit(orderId))
+                .then(decisionStorage.delete(List.of(orderId, paymentTransactionId, reserveTransactionId))
+                        .onErrorResume(e -> {
+                            // the recovery removes stale decisions
+                            log.warn("delete commit decision error, orderId [{}]", orderId, e);
+                            return empty();
+                        }))
                 .thenReturn(result)
                 .doOnSuccess(s -> {
                     log.debug("distributed transaction commit for order is successful, orderId [{}]", orderId);
@@ -322,17 +352,21 @@ public class ReactiveOrderServiceImpl implements ReactiveOrderService {
     }
 
     @Override
-    public Mono<OrderListResponse> list(Page page, Status status) {
-        return orderStorage.findAll(toPage(page), toOrderStatus(status))
-                .defaultIfEmpty(List.of()
-                )
-                .map(orders -> orders.stream()
-                        .map(order -> toOrderGrpc(order, null, null))
-                        .toList()
-                )
-                .map(orders -> OrderListResponse.newBuilder()
-                        .addAllOrders(orders)
-                        .build());
+    public Mono<OrderListResponse> list(Page page, String pageToken, Status status) {
+        return defer(() -> {
+            var storagePage = toPage(page);
+            var size = io.github.m4gshm.storage.Page.getSize(storagePage);
+            var orderStatus = toOrderStatus(status);
+            var orders = pageToken != null
+                    ? orderStorage.findAllAfter(toOrderCursor(pageToken), size, orderStatus)
+                    : orderStorage.findAll(storagePage, orderStatus);
+            return orders.defaultIfEmpty(List.of()).map(all -> toOrderListResponse(all, size));
+        });
+    }
+
+    @Override
+    public Flux<OrderOuterClass.Order> stream(Status status) {
+        return orderStorage.streamAll(toOrderStatus(status)).map(order -> toOrderGrpc(order, null, null));
     }
 
     @Override
@@ -407,7 +441,21 @@ public class ReactiveOrderServiceImpl implements ReactiveOrderService {
         var orderId = order.id();
         var save = orderStorage.saveOrderOnly(order);
         // run distributed transaction
-        return (twoPhaseCommit ? preparedTransactionService.prepare(orderId, save) : save)
+        return (twoPhaseCommit ? preparedTransactionService.prepare(orderId, save).flatMap(savedOrder -> {
+            // the logged decision lets the recovery finish the commit if this service dies in the middle of it
+            return decisionStorage.saveCommit(orderId, List.of(orderId, paymentTransactionId, reserveTransactionId))
+                    .thenReturn(savedOrder)
+                    .onErrorResume(throwable -> {
+                        // the local transaction is prepared already, the distributed rollback below
+                        // takes it for a failed prepare only, so it is rolled back here
+                        return preparedTransactionService.rollback(orderId)
+                                .doOnError(e -> {
+                                    log.error("local prepared transaction rollback error, orderId [{}]", orderId, e);
+                                })
+                                .onErrorComplete()
+                                .then(error(throwable));
+                    });
+        }) : save)
                 .onErrorResume(
                         throwable -> {
                             // rollback distributed transaction on error
@@ -437,6 +485,15 @@ public class ReactiveOrderServiceImpl implements ReactiveOrderService {
                 });
     }
 
+    // the status column only, a concurrent change of the order fails the update by the version check
+    private Mono<Order> updateStatus(Order order, OrderStatus status) {
+        return orderStorage.updateStatus(order, status).flatMap(updated -> {
+            return updated
+                    ? just(orderWithNextStatus(order, status))
+                    : Mono.<Order>error(versionConflict("order", order.id(), order.version()));
+        });
+    }
+
     protected <T, PI, PO, RI, RO> Mono<T> updateOrderOp(
                                                         String opName,
                                                         String orderId,
@@ -448,8 +505,8 @@ public class ReactiveOrderServiceImpl implements ReactiveOrderService {
                                                         Function<Order, T> responseBuilder
     ) {
         return orderStorage.getById(orderId).flatMap(order -> {
-            return checkStatus(opName, "order", orderId, order.status(), expectedFinal, intermediateStatus).then(defer(
-                    () -> {
+            return checkStatus(opName, "order", orderId, order.status(), expectedFinal, intermediateStatus)
+                    .then(defer(() -> {
                         Mono<Void> commit;
                         var uncommitedOrderState = order.status() == intermediateStatus;
                         if (!(uncommitedOrderState && twoPhaseCommit)) {
@@ -476,74 +533,80 @@ public class ReactiveOrderServiceImpl implements ReactiveOrderService {
                         return commit.then(defer(() -> {
                             return order.status() == intermediateStatus
                                     ? just(order)
-                                    : orderStorage.save(order.toBuilder().status(intermediateStatus).build());
+                                    : updateStatus(order, intermediateStatus);
                         }));
-                    }).then(defer(() -> {
-                        // payment and reserve ops
-                        var paymentTransactionId = order.paymentTransactionId();
-                        var reserveTransactionId = order.reserveTransactionId();
-                        return paymentOp.apply(order)
-                                .onErrorResume(statusError(Payment.Status::valueOf))
-                                .zipWith(
-                                        reserveOp.apply(order)
-                                                .onErrorResume(statusError(Reserve.Status::valueOf)),
-                                        (paymentStatus, reserveStatus) -> {
-                                            log.trace("payment op '{}' result [{}] ", opName, paymentStatus);
-                                            log.trace("reserve op '{}' result [{}] ", opName, reserveStatus);
-                                            log.debug("order {} [{}]", opName, orderId);
-                                            return getOrderStatus(paymentStatus, reserveStatus);
-                                        }
-                                )
-                                .onErrorResume(e -> {
-                                    return twoPhaseCommit
-                                            ? remoteRollback(
-                                                    paymentTransactionId,
-                                                    reserveTransactionId
-                                            ).then(error(e))
-                                            : error(e);
-                                })
-                                .flatMap(status -> {
-                                    if (status == null) {
-                                        log.info(
-                                                "order status not changed: order [{}], status [{}]",
-                                                order.id(),
-                                                order.status()
-                                        );
-                                        return just(order);
+                    }));
+        })
+                // the remote calls are not repeated, only the read and the intermediate status update are retried
+                .retryWhen(retryOnVersionConflict())
+                .flatMap(order -> {
+                    // payment and reserve ops
+                    var paymentTransactionId = order.paymentTransactionId();
+                    var reserveTransactionId = order.reserveTransactionId();
+                    return coordinated(twoPhaseCommit, order, paymentOp.apply(order)
+                            .onErrorResume(statusError(Payment.Status::valueOf))
+                            .zipWith(
+                                    reserveOp.apply(order)
+                                            .onErrorResume(statusError(Reserve.Status::valueOf)),
+                                    (paymentStatus, reserveStatus) -> {
+                                        log.trace("payment op '{}' result [{}] ", opName, paymentStatus);
+                                        log.trace("reserve op '{}' result [{}] ", opName, reserveStatus);
+                                        log.debug("order {} [{}]", opName, orderId);
+                                        return getOrderStatus(paymentStatus, reserveStatus);
+                                    }
+                            )
+                            .onErrorResume(e -> {
+                                return twoPhaseCommit
+                                        ? remoteRollback(
+                                                paymentTransactionId,
+                                                reserveTransactionId
+                                        ).then(error(e))
+                                        : error(e);
+                            })
+                            .flatMap(status -> {
+                                if (status == null) {
+                                    log.info(
+                                            "order status not changed: order [{}], status [{}]",
+                                            order.id(),
+                                            order.status()
+                                    );
+                                    return just(order);
+                                } else {
+                                    log.debug(
+                                            "order status has been changed: order [{}], status [{}]",
+                                            order.id(),
+                                            order.status()
+                                    );
+                                    var orderWithNewStatus = OrderServiceUtils.orderWithStatus(
+                                            order,
+                                            status
+                                    );
+                                    if (status == INSUFFICIENT) {
+                                        log.info("abort op '{}' on insufficient status of orderId [{}]",
+                                                opName,
+                                                orderId);
+                                        return updateStatus(order, INSUFFICIENT)
+                                                .flatMap(insufficientOrder -> {
+                                                    return twoPhaseCommit
+                                                            ? remoteRollback(paymentTransactionId,
+                                                                    reserveTransactionId)
+                                                                    .thenReturn(insufficientOrder)
+                                                            : just(insufficientOrder);
+                                                });
                                     } else {
-                                        log.debug(
-                                                "order status has been changed: order [{}], status [{}]",
-                                                order.id(),
-                                                order.status()
-                                        );
-                                        var orderWithNewStatus = OrderServiceUtils.orderWithStatus(
-                                                order,
-                                                status
+                                        return updateOrderAndCommit(
+                                                twoPhaseCommit,
+                                                orderWithNewStatus,
+                                                paymentTransactionId,
+                                                reserveTransactionId
                                         );
-                                        if (status == INSUFFICIENT) {
-                                            log.info("abort op '{}' on insufficient status of orderId [{}]",
-                                                    opName,
-                                                    orderId);
-                                            return orderStorage.save(orderWithNewStatus).flatMap(savedOrder -> {
-                                                return twoPhaseCommit
-                                                        ? remoteRollback(paymentTransactionId, reserveTransactionId)
-                                                                .thenReturn(savedOrder)
-                                                        : just(savedOrder);
-                                            });
-                                        } else {
-                                            return updateOrderAndCommit(
-                                                    twoPhaseCommit,
-                                                    orderWithNewStatus,
-                                                    paymentTransactionId,
-                                                    reserveTransactionId
-                                            );
-                                        }
                                     }
-                                })
-                                .map(responseBuilder);
-                    })));
-        }).doOnSuccess(t -> {
-            log.debug("{}, orderId [{}]", opName, orderId);
-        });
+                                }
+                            }))
+                            .map(responseBuilder);
+                })
+                .doOnSuccess(t -> {
+                    log.debug("{}, orderId [{}]", opName, orderId);
+                });
     }
 }
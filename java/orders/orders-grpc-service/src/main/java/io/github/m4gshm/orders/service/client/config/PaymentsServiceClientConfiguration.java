@@ -2,27 +2,32 @@ package io.github.m4gshm.orders.service.client.config;
 
 import io.github.m4gshm.grpc.client.ChannelBuilderFactory;
 import io.github.m4gshm.grpc.client.ClientProperties;
+import io.github.m4gshm.orders.service.client.TwoPhaseCommitBatchProperties;
+import io.github.m4gshm.orders.service.client.TwoPhaseCommitClient;
 import io.grpc.ClientInterceptor;
 import io.grpc.ManagedChannel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import payment.v1.PaymentServiceGrpc.PaymentServiceStub;
 import tpc.v1.TwoPhaseCommitServiceGrpc;
-import tpc.v1.TwoPhaseCommitServiceGrpc.TwoPhaseCommitServiceStub;
 
 import java.util.List;
 
+import static io.github.m4gshm.orders.service.client.TwoPhaseCommitClient.newTwoPhaseCommitClient;
 import static payment.v1.PaymentServiceGrpc.newStub;
 
 @Configuration
 @RequiredArgsConstructor
 @FieldDefaults(makeFinal = true)
+@EnableConfigurationProperties(TwoPhaseCommitBatchProperties.class)
 public class PaymentsServiceClientConfiguration {
     List<ClientInterceptor> clientInterceptors;
     ChannelBuilderFactory<?> channelBuilderFactory;
+    TwoPhaseCommitBatchProperties tpcBatchProperties;
 
     private ManagedChannel newManagedChannel(ClientProperties clientProperties) {
         return clientProperties.newManagedChannelBuilder(channelBuilderFactory, clientInterceptors).build();
@@ -40,8 +45,10 @@ public class PaymentsServiceClientConfiguration {
     }
 
     @Bean
-    public TwoPhaseCommitServiceStub paymentsClientTcp() {
-        return TwoPhaseCommitServiceGrpc.newStub(newManagedChannel(paymentsClientProperties()));
+    public TwoPhaseCommitClient paymentsClientTcp() {
+        return newTwoPhaseCommitClient("payments",
+                TwoPhaseCommitServiceGrpc.newStub(newManagedChannel(paymentsClientProperties())),
+                tpcBatchProperties);
     }
 
 }
@@ -2,28 +2,34 @@ package io.github.m4gshm.orders.service.client.config;
 
 import io.github.m4gshm.grpc.client.ChannelBuilderFactory;
 import io.github.m4gshm.grpc.client.ClientProperties;
+import io.github.m4gshm.orders.service.client.TwoPhaseCommitBatchProperties;
+import io.github.m4gshm.orders.service.client.TwoPhaseCommitClient;
 import io.grpc.ClientInterceptor;
 import io.grpc.ManagedChannel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import reserve.v1.ReserveServiceGrpc;
 import reserve.v1.ReserveServiceGrpc.ReserveServiceStub;
 import tpc.v1.TwoPhaseCommitServiceGrpc;
-import tpc.v1.TwoPhaseCommitServiceGrpc.TwoPhaseCommitServiceStub;
 
 import java.util.List;
 
+import static io.github.m4gshm.orders.service.client.TwoPhaseCommitClient.newTwoPhaseCommitClient;
+
 @Slf4j
 @Configuration
 @RequiredArgsConstructor
 @FieldDefaults(makeFinal = true)
+@EnableConfigurationProperties(TwoPhaseCommitBatchProperties.class)
 public class ReserveServiceClientConfiguration {
     List<ClientInterceptor> clientInterceptors;
     ChannelBuilderFactory<?> channelBuilderFactory;
+    TwoPhaseCommitBatchProperties tpcBatchProperties;
 
     private ManagedChannel newManagedChannel() {
         return reserveClientProperties().newManagedChannelBuilder(channelBuilderFactory, clientInterceptors).build();
@@ -41,7 +47,9 @@ public class ReserveServiceClientConfiguration {
     }
 
     @Bean
-    public TwoPhaseCommitServiceStub reserveClientTcp() {
-        return TwoPhaseCommitServiceGrpc.newStub(newManagedChannel());
+    public TwoPhaseCommitClient reserveClientTcp() {
+        return newTwoPhaseCommitClient("reserve",
+                TwoPhaseCommitServiceGrpc.newStub(newManagedChannel()),
+                tpcBatchProperties);
     }
 }
@@ -0,0 +1,54 @@
+package io.github.m4gshm.orders.service.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.experimental.FieldDefaults;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@FieldDefaults(makeFinal = true, level = PRIVATE)
+public class AccountBalanceListenerMetrics {
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicLong lag = new AtomicLong();
+    Timer delay;
+    Counter failed;
+
+    public AccountBalanceListenerMetrics(MeterRegistry meterRegistry) {
+        Gauge.builder("kafka.balance.in.flight", inFlight, AtomicInteger::get)
+                .description("The number of received and not yet handled account balance records")
+                .register(meterRegistry);
+        Gauge.builder("kafka.balance.lag", lag, AtomicLong::get)
+                .description("The number of account balance records not yet fetched from the assigned partitions")
+                .register(meterRegistry);
+        delay = Timer.builder("kafka.balance.delay")
+                .description("The time from the account balance record production to the end of its handling")
+                .register(meterRegistry);
+        failed = Counter.builder("kafka.balance.failed")
+                .description("The number of account balance records failed to be handled")
+                .register(meterRegistry);
+    }
+
+    public void received() {
+        inFlight.incrementAndGet();
+    }
+
+    public void handled(Instant produced, Instant now) {
+        inFlight.decrementAndGet();
+        delay.record(Duration.between(produced, now));
+    }
+
+    public void failed() {
+        failed.increment();
+    }
+
+    public void lag(long records) {
+        lag.set(records);
+    }
+}
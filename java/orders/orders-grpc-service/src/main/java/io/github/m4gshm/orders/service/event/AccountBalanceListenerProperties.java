@@ -0,0 +1,23 @@
+package io.github.m4gshm.orders.service.event;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("service.kafka.account-balance")
+public record AccountBalanceListenerProperties(
+                                               // events of different clients handled concurrently, events of one client are handled in order
+                                               @DefaultValue("16") int concurrency,
+                                               // records requested from the receiver ahead of the handling
+                                               @DefaultValue("256") int prefetch,
+                                               @DefaultValue("500") int maxPollRecords,
+                                               @DefaultValue("100") int commitBatchSize,
+                                               @DefaultValue("1s") Duration commitInterval,
+                                               // acknowledged records waiting for a preceding one, the receiver pauses above it
+                                               @DefaultValue("1000") int maxDeferredCommits,
+                                               @DefaultValue("30s") Duration lagInterval,
+                                               // a record failed after the retries stops the consumer unacknowledged
+                                               @DefaultValue("5") int retryAttempts,
+                                               @DefaultValue("200ms") Duration retryBackoff) {
+}
@@ -1,5 +1,6 @@
 package io.github.m4gshm.orders.service.event;
 
+import io.github.m4gshm.idempotent.consumer.MessageAlreadyProcessedException;
 import io.github.m4gshm.idempotent.consumer.MessageImpl;
 import io.github.m4gshm.idempotent.consumer.ReactiveMessageStorage;
 import io.github.m4gshm.orders.data.model.Order;
@@ -13,14 +14,19 @@ import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 import orders.v1.OrderServiceOuterClass.OrderApproveResponse;
+import org.apache.kafka.clients.consumer.Consumer;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 import payment.v1.PaymentServiceGrpc.PaymentServiceStub;
 import payment.v1.PaymentServiceOuterClass.PaymentGetRequest;
 import reactor.core.Disposable;
+import reactor.core.Disposables;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.kafka.receiver.ReceiverOptions;
+import reactor.kafka.receiver.ReceiverRecord;
+import reactor.util.retry.Retry;
+import reactor.util.retry.RetryBackoffSpec;
 import tools.jackson.databind.json.JsonMapper;
 
 import java.time.Instant;
@@ -28,6 +34,7 @@ import java.util.Set;
 
 import static io.github.m4gshm.orders.data.access.jooq.enums.OrderStatus.INSUFFICIENT;
 import static io.github.m4gshm.reactive.ReactiveUtils.toMono;
+import static java.lang.Math.floorMod;
 import static lombok.AccessLevel.PRIVATE;
 import static reactor.core.publisher.Mono.empty;
 import static reactor.kafka.receiver.KafkaReceiver.create;
@@ -47,6 +54,8 @@ public class KafkaAccountBalanceEventListenerServiceImpl {
     // todo move to config of order table
     final boolean twoPhaseCommit = false;
     final ObservationRegistry observationRegistry;
+    final AccountBalanceListenerProperties properties;
+    final AccountBalanceListenerMetrics metrics;
 
     volatile Disposable subscribe;
 
@@ -74,27 +83,71 @@ public class KafkaAccountBalanceEventListenerServiceImpl {
                 });
     }
 
+    private static int group(EventRecord eventRecord, int groups) {
+        return floorMod(eventRecord.event().clientId().hashCode(), groups);
+    }
+
+    private static long lag(Consumer<String, String> consumer) {
+        return consumer.assignment().stream().mapToLong(partition -> consumer.currentLag(partition).orElse(0)).sum();
+    }
+
     @PostConstruct
     public void consumeRecord() {
         var kafkaReceiver = create(balanceReceiverOptions);
-        var receive = kafkaReceiver.receive();
-        subscribe = receive.map(record -> {
-            var offset = record.receiverOffset();
-            var timestamp = Instant.ofEpochMilli(record.timestamp());
-            var key = record.key();
-            var value = record.value();
+        var concurrency = properties.concurrency();
+        var receive = kafkaReceiver.receive(properties.prefetch()).doOnNext(record -> {
             log.info("received account balance event from kafka consumer: key {}, value {}, offset {}, timestamp {} ",
-                    key,
-                    value,
-                    offset,
-                    timestamp);
-            offset.acknowledge();
-            return value;
+                    record.key(),
+                    record.value(),
+                    record.receiverOffset(),
+                    Instant.ofEpochMilli(record.timestamp()));
+            metrics.received();
         }).doOnError(error -> {
             log.error("receive account balance event error", error);
-        }).map(this::readEvent).flatMap(this::handle).doOnError(error -> {
-            log.error("handle account balance event error", error);
-        }).subscribe();
+        }).<EventRecord>handle((record, sink) -> {
+            try {
+                sink.next(new EventRecord(record, readEvent(record.value())));
+            } catch (Exception e) {
+                log.error("skip unreadable account balance event: value {}", record.value(), e);
+                metrics.failed();
+                acknowledge(record);
+            }
+        });
+        // the groups are as many as the flatMap subscribes, so no group waits for a subscriber and stalls the groupBy;
+        // the events of one client fall into one group and are handled one after another
+        var handle = receive.groupBy(eventRecord -> group(eventRecord, concurrency), properties.prefetch())
+                .flatMap(group -> group.concatMap(this::handleRecord), concurrency);
+        var lag = Flux.interval(properties.lagInterval())
+                .concatMap(_ -> kafkaReceiver.doOnConsumer(KafkaAccountBalanceEventListenerServiceImpl::lag))
+                .doOnError(error -> log.error("account balance lag error", error))
+                .retry();
+        subscribe = Disposables.composite(handle.subscribe(), lag.subscribe(metrics::lag));
+    }
+
+    // acknowledged after the handling or as an already processed one, so a record in progress is received again
+    // after a restart; a record failed after the retries is not acknowledged and stops the consumer
+    private Mono<Void> handleRecord(EventRecord eventRecord) {
+        var record = eventRecord.record();
+        return handle(eventRecord.event()).then().onErrorResume(MessageAlreadyProcessedException.class, _ -> {
+            log.info("account balance event already processed: requestId [{}]", eventRecord.event().requestId());
+            return empty();
+        }).doOnError(error -> {
+            log.error("handle account balance event error, consumer stopped: offset {}", record.receiverOffset(), error);
+            metrics.failed();
+        }).then(Mono.fromRunnable(() -> acknowledge(record)));
+    }
+
+    private RetryBackoffSpec retry() {
+        return Retry.backoff(properties.retryAttempts(), properties.retryBackoff())
+                .filter(error -> !(error instanceof MessageAlreadyProcessedException))
+                .doBeforeRetry(signal -> log.warn("retry account balance event handling, attempt {}",
+                        signal.totalRetries() + 1,
+                        signal.failure()));
+    }
+
+    private void acknowledge(ReceiverRecord<String, String> record) {
+        record.receiverOffset().acknowledge();
+        metrics.handled(Instant.ofEpochMilli(record.timestamp()), Instant.now());
     }
 
     @PreDestroy
@@ -114,7 +167,9 @@ public class KafkaAccountBalanceEventListenerServiceImpl {
                 .subscriberID("accountBalance")
                 .timestamp(event.timestamp())
                 .build())
+                .retryWhen(retry())
                 .thenMany(orderStorage.findByClientIdAndStatuses(clientId, Set.of(INSUFFICIENT))
+                        .retryWhen(retry())
                         .doOnSuccess(orders -> {
                             if (log.isDebugEnabled()) {
                                 log.debug("found active orders for client {}, amount {}, ids {}",
@@ -144,4 +199,7 @@ public class KafkaAccountBalanceEventListenerServiceImpl {
             throw new RuntimeException("deserialize AccountBalanceEvent error", e);
         }
     }
+
+    private record EventRecord(ReceiverRecord<String, String> record, AccountBalanceEvent event) {
+    }
 }
@@ -0,0 +1,59 @@
+package io.github.m4gshm.orders.service.event;
+
+import io.github.m4gshm.orders.service.ItemCostCache;
+import io.github.m4gshm.reserve.event.model.WarehouseItemEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.kafka.receiver.ReceiverOptions;
+import tools.jackson.databind.json.JsonMapper;
+
+import static lombok.AccessLevel.PRIVATE;
+import static reactor.kafka.receiver.KafkaReceiver.create;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = PRIVATE)
+@ConditionalOnProperty(value = "spring.kafka.enabled", havingValue = "true", matchIfMissing = true)
+@ConditionalOnProperty(value = "service.item-cost-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class KafkaWarehouseItemEventListenerServiceImpl {
+    final JsonMapper jsonMapper;
+    final ReceiverOptions<String, String> warehouseItemReceiverOptions;
+    final ItemCostCache itemCostCache;
+
+    volatile Disposable subscribe;
+
+    @PostConstruct
+    public void consumeRecord() {
+        var kafkaReceiver = create(warehouseItemReceiverOptions);
+        subscribe = kafkaReceiver.receiveAutoAck().concatMap(records -> records).doOnNext(record -> {
+            var value = record.value();
+            log.debug("received warehouse item event from kafka consumer: key {}, value {}", record.key(), value);
+            handle(value);
+        }).doOnError(error -> {
+            log.error("receive warehouse item event error", error);
+        }).subscribe();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        var s = subscribe;
+        if (s != null && !s.isDisposed()) {
+            s.dispose();
+        }
+    }
+
+    private void handle(String value) {
+        try {
+            itemCostCache.invalidate(jsonMapper.readValue(value, WarehouseItemEvent.class).itemId());
+        } catch (Exception e) {
+            log.error("handle warehouse item event error: value {}", value, e);
+        }
+    }
+}
@@ -1,6 +1,11 @@
 package io.github.m4gshm.orders.service.event.config;
 
+import io.github.m4gshm.orders.service.event.AccountBalanceListenerMetrics;
+import io.github.m4gshm.orders.service.event.AccountBalanceListenerProperties;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.kafka.autoconfigure.KafkaProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -8,16 +13,44 @@ import reactor.kafka.receiver.ReceiverOptions;
 
 import java.util.List;
 
+import static org.apache.kafka.clients.consumer.ConsumerConfig.AUTO_OFFSET_RESET_CONFIG;
+import static org.apache.kafka.clients.consumer.ConsumerConfig.GROUP_ID_CONFIG;
+import static org.apache.kafka.clients.consumer.ConsumerConfig.MAX_POLL_RECORDS_CONFIG;
+
 @Configuration
 @RequiredArgsConstructor
+@EnableConfigurationProperties(AccountBalanceListenerProperties.class)
 public class KafkaConfiguration {
 
     private final KafkaProperties kafkaProperties;
 
     @Bean
-    public ReceiverOptions<String, String> balanceReceiverOptions() {
+    public ReceiverOptions<String, String> balanceReceiverOptions(AccountBalanceListenerProperties properties) {
         return ReceiverOptions.<String, String>create(kafkaProperties.buildConsumerProperties())
+                .consumerProperty(MAX_POLL_RECORDS_CONFIG, properties.maxPollRecords())
+                .commitBatchSize(properties.commitBatchSize())
+                .commitInterval(properties.commitInterval())
+                // records of different clients are acknowledged out of order,
+                // an offset is committed once all the preceding ones are acknowledged
+                .maxDeferredCommits(properties.maxDeferredCommits())
                 .subscription(List.of("balance"));
     }
 
+    @Bean
+    public AccountBalanceListenerMetrics accountBalanceListenerMetrics(MeterRegistry meterRegistry) {
+        return new AccountBalanceListenerMetrics(meterRegistry);
+    }
+
+    @Bean
+    public ReceiverOptions<String, String> warehouseItemReceiverOptions(
+            @Value("${service.kafka.warehouse-item.topic.name:warehouse-item}") String topic,
+            @Value("${service.kafka.warehouse-item.instance-id}") String instanceId) {
+        var properties = kafkaProperties.buildConsumerProperties();
+        // every instance owns its item cost cache, so every instance must receive all events by its own group,
+        // the stable instance id lets a restarted instance reuse its group
+        properties.put(GROUP_ID_CONFIG, properties.get(GROUP_ID_CONFIG) + "-item-cost-cache-" + instanceId);
+        properties.put(AUTO_OFFSET_RESET_CONFIG, "latest");
+        return ReceiverOptions.<String, String>create(properties).subscription(List.of(topic));
+    }
+
 }
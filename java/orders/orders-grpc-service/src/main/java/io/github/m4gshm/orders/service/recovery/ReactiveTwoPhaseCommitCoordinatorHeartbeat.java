@@ -0,0 +1,27 @@
+package io.github.m4gshm.orders.service.recovery;
+
+import io.github.m4gshm.orders.data.storage.ReactiveTwoPhaseCommitCoordinatorStorage;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import static lombok.AccessLevel.PRIVATE;
+import static reactor.core.publisher.Mono.empty;
+
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = PRIVATE)
+public class ReactiveTwoPhaseCommitCoordinatorHeartbeat {
+    CoordinatedTransactions coordinatedTransactions;
+    ReactiveTwoPhaseCommitCoordinatorStorage coordinatorStorage;
+
+    @Scheduled(fixedDelayString = "${service.orders.tpc-coordinator.heartbeat-interval:5s}")
+    public void heartbeat() {
+        coordinatorStorage.heartbeat(coordinatedTransactions.getCoordinatorId(),
+                coordinatedTransactions.transactionIds()).onErrorResume(e -> {
+                    log.warn("two phase commit coordinator heartbeat error", e);
+                    return empty();
+                }).block();
+    }
+}
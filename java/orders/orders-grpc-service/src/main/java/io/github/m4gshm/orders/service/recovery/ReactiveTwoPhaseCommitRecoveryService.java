@@ -0,0 +1,187 @@
+package io.github.m4gshm.orders.service.recovery;
+
+import io.github.m4gshm.orders.data.storage.ReactiveTwoPhaseCommitCoordinatorStorage;
+import io.github.m4gshm.orders.data.storage.ReactiveTwoPhaseCommitDecisionStorage;
+import io.github.m4gshm.postgres.prepared.transaction.ReactivePreparedTransactionService;
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tpc.v1.TpcService.TwoPhaseCommitBatchRequest;
+import tpc.v1.TpcService.TwoPhaseListActivesRequest;
+import tpc.v1.TpcService.TwoPhaseRollbackBatchRequest;
+import tpc.v1.TwoPhaseCommitServiceGrpc.TwoPhaseCommitServiceStub;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import static io.github.m4gshm.orders.service.recovery.TwoPhaseCommitRecoveryUtils.COMMIT;
+import static io.github.m4gshm.orders.service.recovery.TwoPhaseCommitRecoveryUtils.LOCAL;
+import static io.github.m4gshm.orders.service.recovery.TwoPhaseCommitRecoveryUtils.RECOVERY_LOCK;
+import static io.github.m4gshm.orders.service.recovery.TwoPhaseCommitRecoveryUtils.ROLLBACK;
+import static io.github.m4gshm.orders.service.recovery.TwoPhaseCommitRecoveryUtils.countResolved;
+import static io.github.m4gshm.orders.service.recovery.TwoPhaseCommitRecoveryUtils.expired;
+import static io.github.m4gshm.orders.service.recovery.TwoPhaseCommitRecoveryUtils.ids;
+import static io.github.m4gshm.orders.service.recovery.TwoPhaseCommitRecoveryUtils.splitByCommitted;
+import static io.github.m4gshm.orders.service.recovery.TwoPhaseCommitRecoveryUtils.toOrphan;
+import static io.github.m4gshm.orders.service.recovery.TwoPhaseCommitRecoveryUtils.toOrphans;
+import static io.github.m4gshm.r2dbc.postgres.ReactiveAdvisoryLockUtils.runLocked;
+import static io.github.m4gshm.reactive.ReactiveUtils.toMono;
+import static lombok.AccessLevel.PRIVATE;
+import static reactor.core.publisher.Mono.defer;
+import static reactor.core.publisher.Mono.empty;
+import static reactor.core.publisher.Mono.just;
+
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = PRIVATE)
+public class ReactiveTwoPhaseCommitRecoveryService {
+    Map<String, TwoPhaseCommitServiceStub> participants;
+    ReactivePreparedTransactionService preparedTransactionService;
+    ReactiveTwoPhaseCommitDecisionStorage decisionStorage;
+    ReactiveTwoPhaseCommitCoordinatorStorage coordinatorStorage;
+    ConnectionFactory connectionFactory;
+    OrphanTransactionMetrics metrics;
+    Duration minAge;
+    Duration coordinatorTimeout;
+    Clock clock;
+
+    @Scheduled(fixedDelayString = "${service.orders.tpc-recovery.interval:30s}",
+               initialDelayString = "${service.orders.tpc-recovery.interval:30s}")
+    public void scheduledRecover() {
+        // the job runs on every replica, the ones that don't get the lock skip the run
+        runLocked(connectionFactory, RECOVERY_LOCK, recover()).doOnNext(locked -> {
+            if (!locked) {
+                log.debug("orphaned transactions recovery is running on another replica");
+            }
+        }).onErrorResume(e -> {
+            log.error("orphaned transactions recovery error", e);
+            return empty();
+        }).block();
+    }
+
+    public Mono<Void> recover() {
+        return defer(() -> {
+            var now = clock.instant();
+            var remotes = participants.entrySet().stream().map(participant -> {
+                return listActives(participant.getKey(), participant.getValue());
+            }).toList();
+            var local = preparedTransactionService.findAll().map(transactions -> {
+                return new Actives(LOCAL, transactions.stream()
+                        .map(transaction -> toOrphan(LOCAL, transaction.gid(), transaction.prepared()))
+                        .toList());
+            }).onErrorResume(e -> {
+                metrics.failed(LOCAL);
+                log.warn("list local prepared transactions error", e);
+                return just(new Actives(LOCAL, null));
+            });
+            var aliveAfter = OffsetDateTime.ofInstant(now.minus(coordinatorTimeout), clock.getZone());
+            return Flux.merge(Flux.fromIterable(remotes).concatWithValues(local))
+                    .collectList()
+                    .zipWith(coordinatorStorage.findCoordinated(aliveAfter))
+                    .flatMap(actives -> recover(actives.getT1(), actives.getT2(), now))
+                    .then(coordinatorStorage.deleteBefore(aliveAfter).doOnNext(deleted -> {
+                        log.debug("deleted dead coordinators {}", deleted);
+                    }).then());
+        }).name("recover");
+    }
+
+    private Mono<Actives> listActives(String participant, TwoPhaseCommitServiceStub stub) {
+        return toMono("tpcClient::listActives", TwoPhaseListActivesRequest.getDefaultInstance(), stub::listActives)
+                .map(response -> new Actives(participant, toOrphans(participant, response)))
+                .onErrorResume(e -> {
+                    metrics.failed(participant);
+                    log.warn("list active transactions error, participant [{}]", participant, e);
+                    return just(new Actives(participant, null));
+                });
+    }
+
+    private Mono<Void> recover(List<Actives> actives, Set<String> coordinated, Instant now) {
+        var orphans = new LinkedHashMap<String, List<OrphanTransaction>>();
+        var listedAll = true;
+        for (var participantActives : actives) {
+            var transactions = participantActives.transactions();
+            if (transactions == null) {
+                listedAll = false;
+            } else {
+                var expired = expired(transactions, now, minAge, coordinated);
+                metrics.update(participantActives.participant(), expired, now);
+                if (!expired.isEmpty()) {
+                    orphans.put(participantActives.participant(), expired);
+                }
+            }
+        }
+
+        var resolve = orphans.isEmpty() ? Mono.<Void>empty() : decisionStorage.findCommitted(orphans.values().stream()
+                .flatMap(List::stream)
+                .map(OrphanTransaction::id)
+                .distinct()
+                .toList()).flatMap(committed -> {
+                    return Flux.fromIterable(orphans.entrySet()).concatMap(entry -> {
+                        var split = splitByCommitted(entry.getValue(), committed);
+                        return resolve(entry.getKey(), split.get(true), split.get(false));
+                    }).then();
+                });
+        if (!listedAll) {
+            return resolve;
+        }
+        // the decisions are needed only while some participant still keeps the transaction prepared
+        var activeIds = actives.stream().flatMap(participantActives -> ids(participantActives.transactions()).stream())
+                .toList();
+        var before = OffsetDateTime.ofInstant(now.minus(minAge), clock.getZone());
+        return resolve.then(decisionStorage.deleteResolvedBefore(before, activeIds).doOnNext(deleted -> {
+            log.debug("deleted resolved commit decisions {}", deleted);
+        }).then());
+    }
+
+    private Mono<Void> resolve(String participant, List<String> commitIds, List<String> rollbackIds) {
+        log.info("recover orphaned transactions on [{}], commit {}, rollback {}", participant, commitIds, rollbackIds);
+        if (LOCAL.equals(participant)) {
+            return resolveLocal(COMMIT, commitIds, preparedTransactionService::commit)
+                    .then(resolveLocal(ROLLBACK, rollbackIds, preparedTransactionService::rollback));
+        }
+        var stub = participants.get(participant);
+        var commit = commitIds.isEmpty() ? Mono.<Void>empty() : toMono("tpcClient::commitBatch",
+                TwoPhaseCommitBatchRequest.newBuilder().addAllIds(commitIds).build(),
+                stub::commitBatch
+        ).doOnNext(response -> {
+            metrics.resolved(participant, COMMIT, countResolved(participant, COMMIT, response));
+        }).then();
+        var rollback = rollbackIds.isEmpty() ? Mono.<Void>empty() : toMono("tpcClient::rollbackBatch",
+                TwoPhaseRollbackBatchRequest.newBuilder().addAllIds(rollbackIds).build(),
+                stub::rollbackBatch
+        ).doOnNext(response -> {
+            metrics.resolved(participant, ROLLBACK, countResolved(participant, ROLLBACK, response));
+        }).then();
+        return commit.then(rollback).onErrorResume(e -> {
+            metrics.failed(participant);
+            log.warn("recover orphaned transactions error, participant [{}]", participant, e);
+            return empty();
+        });
+    }
+
+    private Mono<Void> resolveLocal(String decision, List<String> ids, Function<String, Mono<Void>> operation) {
+        return Flux.fromIterable(ids).concatMap(id -> {
+            return operation.apply(id).thenReturn(1).onErrorResume(e -> {
+                metrics.failed(LOCAL);
+                log.warn("{} local orphaned transaction [{}] error", decision, id, e);
+                return just(0);
+            });
+        }).reduce(0, Integer::sum).doOnNext(resolved -> {
+            metrics.resolved(LOCAL, decision, resolved);
+        }).then();
+    }
+
+    private record Actives(String participant, List<OrphanTransaction> transactions) {
+    }
+}
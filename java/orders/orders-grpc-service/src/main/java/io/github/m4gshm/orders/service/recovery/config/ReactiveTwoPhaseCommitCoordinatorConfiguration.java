@@ -0,0 +1,32 @@
+package io.github.m4gshm.orders.service.recovery.config;
+
+import io.github.m4gshm.orders.data.storage.ReactiveTwoPhaseCommitCoordinatorStorage;
+import io.github.m4gshm.orders.service.recovery.CoordinatedTransactions;
+import io.github.m4gshm.orders.service.recovery.ReactiveTwoPhaseCommitCoordinatorHeartbeat;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.UUID;
+
+// the heartbeat is sent with the recovery enabled, whether the recovery lock is taken by this instance or not,
+// the recovery of another replica relies on it; the transactions are tracked anyway
+@Configuration
+@EnableScheduling
+public class ReactiveTwoPhaseCommitCoordinatorConfiguration {
+
+    @Bean
+    public CoordinatedTransactions coordinatedTransactions() {
+        return new CoordinatedTransactions(UUID.randomUUID().toString());
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "service.orders.tpc-recovery.enabled", havingValue = "true")
+    public ReactiveTwoPhaseCommitCoordinatorHeartbeat reactiveTwoPhaseCommitCoordinatorHeartbeat(
+                                                                                                 CoordinatedTransactions coordinatedTransactions,
+                                                                                                 ReactiveTwoPhaseCommitCoordinatorStorage coordinatorStorage
+    ) {
+        return new ReactiveTwoPhaseCommitCoordinatorHeartbeat(coordinatedTransactions, coordinatorStorage);
+    }
+}
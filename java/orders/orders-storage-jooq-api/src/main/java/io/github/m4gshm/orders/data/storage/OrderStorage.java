@@ -2,6 +2,7 @@ package io.github.m4gshm.orders.data.storage;
 
 import io.github.m4gshm.orders.data.access.jooq.enums.OrderStatus;
 import io.github.m4gshm.orders.data.model.Order;
+import io.github.m4gshm.orders.data.model.OrderCursor;
 import io.github.m4gshm.storage.CrudStorage;
 import io.github.m4gshm.storage.Page;
 import io.github.m4gshm.storage.PageableReadOperations;
@@ -9,12 +10,24 @@ import jakarta.validation.Valid;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface OrderStorage extends CrudStorage<Order, String>, PageableReadOperations<Order, String> {
 
     List<Order> findAll(Page page, OrderStatus status);
 
+    List<Order> findAllAfter(OrderCursor after, int size, OrderStatus status);
+
+    // passes orders to the consumer while reading them from an open cursor, items are not loaded
+    void streamAll(OrderStatus status, Consumer<Order> consumer);
+
     List<Order> findByClientIdAndStatuses(String clientId, Collection<OrderStatus> statuses);
 
+    // the orders of all the clients by one query
+    List<Order> findByClientIdsAndStatuses(Collection<String> clientIds, Collection<OrderStatus> statuses);
+
     Order saveOrderOnly(@Valid Order order);
+
+    // changes only the status if the order is still in the read status and version, returns false otherwise
+    boolean updateStatus(Order order, OrderStatus status);
 }
@@ -0,0 +1,15 @@
+package io.github.m4gshm.orders.data.storage;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.Set;
+
+public interface TwoPhaseCommitCoordinatorStorage {
+
+    void heartbeat(String coordinatorId, Collection<String> transactionIds);
+
+    // the transactions of the coordinators that have sent a heartbeat since the time
+    Set<String> findCoordinated(OffsetDateTime aliveAfter);
+
+    int deleteBefore(OffsetDateTime before);
+}
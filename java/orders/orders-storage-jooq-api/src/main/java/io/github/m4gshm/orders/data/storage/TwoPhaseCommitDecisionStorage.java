@@ -0,0 +1,16 @@
+package io.github.m4gshm.orders.data.storage;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.Set;
+
+public interface TwoPhaseCommitDecisionStorage {
+
+    void saveCommit(String orderId, Collection<String> transactionIds);
+
+    Set<String> findCommitted(Collection<String> transactionIds);
+
+    void delete(Collection<String> transactionIds);
+
+    int deleteResolvedBefore(OffsetDateTime before, Collection<String> activeTransactionIds);
+}
@@ -2,7 +2,10 @@ package io.github.m4gshm.orders.data.storage.jdbc;
 
 import io.github.m4gshm.orders.data.access.jooq.enums.OrderStatus;
 import io.github.m4gshm.orders.data.model.Order;
+import io.github.m4gshm.orders.data.model.OrderCursor;
 import io.github.m4gshm.orders.data.storage.OrderStorage;
+import io.github.m4gshm.orders.data.storage.jooq.OrderReadStrategy;
+import io.github.m4gshm.orders.data.storage.jooq.OrderStorageJooqMapperUtils;
 import io.github.m4gshm.storage.Page;
 import io.micrometer.observation.annotation.Observed;
 import lombok.Getter;
@@ -10,25 +13,38 @@ import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.ResultQuery;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static io.github.m4gshm.orders.data.access.jooq.Tables.ITEM;
 import static io.github.m4gshm.orders.data.access.jooq.Tables.ORDERS;
+import static io.github.m4gshm.orders.data.storage.jooq.OrderReadStrategy.MULTISET;
 import static io.github.m4gshm.orders.data.storage.jooq.OrderStorageJooqMapperUtils.toOrder;
+import static io.github.m4gshm.orders.data.storage.jooq.OrderStorageJooqUtils.STREAM_FETCH_SIZE;
 import static io.github.m4gshm.orders.data.storage.jooq.OrderStorageJooqUtils.mergeOrder;
 import static io.github.m4gshm.orders.data.storage.jooq.OrderStorageJooqUtils.mergeOrderFullBatch;
 import static io.github.m4gshm.orders.data.storage.jooq.OrderStorageJooqUtils.selectItemsByOrderId;
+import static io.github.m4gshm.orders.data.storage.jooq.OrderStorageJooqUtils.selectOrdersJoinDeliveryAfter;
 import static io.github.m4gshm.orders.data.storage.jooq.OrderStorageJooqUtils.selectOrdersJoinDeliveryByCustomerIdAndStatusIn;
+import static io.github.m4gshm.orders.data.storage.jooq.OrderStorageJooqUtils.selectOrdersJoinDeliveryByCustomerIdInAndStatusIn;
 import static io.github.m4gshm.orders.data.storage.jooq.OrderStorageJooqUtils.selectOrdersJoinDeliveryById;
+import static io.github.m4gshm.orders.data.storage.jooq.OrderStorageJooqUtils.selectOrdersJoinDeliveryOrdered;
 import static io.github.m4gshm.orders.data.storage.jooq.OrderStorageJooqUtils.selectOrdersJoinDeliveryPaged;
+import static io.github.m4gshm.orders.data.storage.jooq.OrderStorageJooqUtils.selectOrdersJoinDeliveryWithItemsByCustomerIdAndStatusIn;
+import static io.github.m4gshm.orders.data.storage.jooq.OrderStorageJooqUtils.selectOrdersJoinDeliveryWithItemsByCustomerIdInAndStatusIn;
+import static io.github.m4gshm.orders.data.storage.jooq.OrderStorageJooqUtils.selectOrdersJoinDeliveryWithItemsById;
+import static io.github.m4gshm.orders.data.storage.jooq.OrderStorageJooqUtils.updateOrderStatus;
 import static io.github.m4gshm.storage.Page.getNum;
 import static io.github.m4gshm.storage.Page.getSize;
 import static io.github.m4gshm.storage.Page.validatePaging;
+import static io.github.m4gshm.storage.UpdateUtils.checkVersion;
 import static io.github.m4gshm.storage.jooq.Query.selectAllFrom;
 import static java.util.stream.Collectors.groupingBy;
 import static lombok.AccessLevel.PRIVATE;
@@ -42,6 +58,7 @@ public class OrderStorageImpl implements OrderStorage {
     @Getter
     private final Class<Order> entityClass = Order.class;
     DSLContext dsl;
+    OrderReadStrategy readStrategy;
 
     @Override
     public List<Order> findAll() {
@@ -62,10 +79,47 @@ public class OrderStorageImpl implements OrderStorage {
         return records.stream().map(record -> toOrder(record, record, List.of())).toList();
     }
 
+    @Override
+    public List<Order> findAllAfter(OrderCursor after, int size, OrderStatus status) {
+        validatePaging(null, size);
+        var records = selectOrdersJoinDeliveryAfter(dsl, status, size, after);
+        return records.stream().map(record -> toOrder(record, record, List.of())).toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAll(OrderStatus status, Consumer<Order> consumer) {
+        // the postgres driver fetches by fetchSize rows only within a transaction
+        try (var cursor = selectOrdersJoinDeliveryOrdered(dsl, status).fetchSize(STREAM_FETCH_SIZE).fetchLazy()) {
+            for (var record : cursor) {
+                consumer.accept(toOrder(record, record, List.of()));
+            }
+        }
+    }
+
     @Override
     public List<Order> findByClientIdAndStatuses(String clientId, Collection<OrderStatus> statuses) {
-        var selectOrder = selectOrdersJoinDeliveryByCustomerIdAndStatusIn(dsl, clientId, statuses);
-        var orders = selectOrder.stream().toList();
+        return readStrategy == MULTISET
+                ? toOrders(selectOrdersJoinDeliveryWithItemsByCustomerIdAndStatusIn(dsl, clientId, statuses))
+                : toOrdersWithItems(selectOrdersJoinDeliveryByCustomerIdAndStatusIn(dsl, clientId, statuses));
+    }
+
+    @Override
+    public List<Order> findByClientIdsAndStatuses(Collection<String> clientIds, Collection<OrderStatus> statuses) {
+        if (clientIds.isEmpty()) {
+            return List.of();
+        }
+        return readStrategy == MULTISET
+                ? toOrders(selectOrdersJoinDeliveryWithItemsByCustomerIdInAndStatusIn(dsl, clientIds, statuses))
+                : toOrdersWithItems(selectOrdersJoinDeliveryByCustomerIdInAndStatusIn(dsl, clientIds, statuses));
+    }
+
+    private static List<Order> toOrders(ResultQuery<Record> selectOrders) {
+        return selectOrders.stream().map(OrderStorageJooqMapperUtils::toOrder).toList();
+    }
+
+    private List<Order> toOrdersWithItems(ResultQuery<Record> selectOrders) {
+        var orders = selectOrders.stream().toList();
         var orderIds = orders.stream().map(record -> record.get(ORDERS.ID)).toList();
 
         var selectItems = selectAllFrom(dsl, ITEM).where(ITEM.ORDER_ID.in(orderIds));
@@ -80,6 +134,10 @@ public class OrderStorageImpl implements OrderStorage {
 
     @Override
     public Order findById(String id) {
+        if (readStrategy == MULTISET) {
+            var order = selectOrdersJoinDeliveryWithItemsById(dsl, id).fetchOne();
+            return order != null ? toOrder(order) : null;
+        }
         var selectOrder = selectOrdersJoinDeliveryById(dsl, id);
         var selectItems = selectItemsByOrderId(dsl, id);
         var order = selectOrder.fetchOne();
@@ -91,15 +149,21 @@ public class OrderStorageImpl implements OrderStorage {
     @Transactional
     public Order save(Order order) {
         var batch = mergeOrderFullBatch(dsl, order);
-        var insertedRowsCount = Arrays.stream(batch.execute()).sum();
-        log.debug("save order stored  rows {}", insertedRowsCount);
-        return order;
+        var counts = batch.execute();
+        log.debug("save order stored  rows {}", Arrays.stream(counts).sum());
+        // the order row goes first in the batch
+        return checkVersion(counts[0], "order", order.id(), order.version(), () -> order);
     }
 
     @Override
     @Transactional
     public Order saveOrderOnly(Order order) {
-        mergeOrder(dsl, order).execute();
-        return order;
+        var count = mergeOrder(dsl, order).execute();
+        return checkVersion(count, "order", order.id(), order.version(), () -> order);
+    }
+
+    @Override
+    public boolean updateStatus(Order order, OrderStatus status) {
+        return updateOrderStatus(dsl, order, status).execute() > 0;
     }
 }
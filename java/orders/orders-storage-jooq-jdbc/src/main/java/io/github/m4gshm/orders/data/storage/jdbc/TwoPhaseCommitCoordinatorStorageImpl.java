@@ -0,0 +1,45 @@
+package io.github.m4gshm.orders.data.storage.jdbc;
+
+import io.github.m4gshm.orders.data.storage.TwoPhaseCommitCoordinatorStorage;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.DSLContext;
+
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+
+import static io.github.m4gshm.orders.data.storage.jooq.TwoPhaseCommitCoordinatorJooqUtils.deleteCoordinatorsBefore;
+import static io.github.m4gshm.orders.data.storage.jooq.TwoPhaseCommitCoordinatorJooqUtils.selectCoordinatedTransactions;
+import static io.github.m4gshm.orders.data.storage.jooq.TwoPhaseCommitCoordinatorJooqUtils.upsertCoordinator;
+import static java.util.stream.Collectors.toSet;
+import static lombok.AccessLevel.PRIVATE;
+
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = PRIVATE)
+public class TwoPhaseCommitCoordinatorStorageImpl implements TwoPhaseCommitCoordinatorStorage {
+    DSLContext dsl;
+    Clock clock;
+
+    @Override
+    public void heartbeat(String coordinatorId, Collection<String> transactionIds) {
+        upsertCoordinator(dsl, coordinatorId, transactionIds, OffsetDateTime.now(clock)).execute();
+    }
+
+    @Override
+    public Set<String> findCoordinated(OffsetDateTime aliveAfter) {
+        return selectCoordinatedTransactions(dsl, aliveAfter).fetch(0, String[].class)
+                .stream()
+                .flatMap(Arrays::stream)
+                .collect(toSet());
+    }
+
+    @Override
+    public int deleteBefore(OffsetDateTime before) {
+        return deleteCoordinatorsBefore(dsl, before).execute();
+    }
+}
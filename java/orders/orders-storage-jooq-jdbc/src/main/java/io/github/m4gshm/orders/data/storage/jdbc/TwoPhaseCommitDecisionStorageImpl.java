@@ -0,0 +1,50 @@
+package io.github.m4gshm.orders.data.storage.jdbc;
+
+import io.github.m4gshm.orders.data.storage.TwoPhaseCommitDecisionStorage;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.DSLContext;
+
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.Set;
+
+import static io.github.m4gshm.orders.data.storage.jooq.TwoPhaseCommitDecisionJooqUtils.deleteCommitDecisions;
+import static io.github.m4gshm.orders.data.storage.jooq.TwoPhaseCommitDecisionJooqUtils.deleteCommitDecisionsBefore;
+import static io.github.m4gshm.orders.data.storage.jooq.TwoPhaseCommitDecisionJooqUtils.insertCommitDecisions;
+import static io.github.m4gshm.orders.data.storage.jooq.TwoPhaseCommitDecisionJooqUtils.selectCommitDecisions;
+import static lombok.AccessLevel.PRIVATE;
+
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = PRIVATE)
+public class TwoPhaseCommitDecisionStorageImpl implements TwoPhaseCommitDecisionStorage {
+    DSLContext dsl;
+    Clock clock;
+
+    @Override
+    public void saveCommit(String orderId, Collection<String> transactionIds) {
+        if (!transactionIds.isEmpty()) {
+            insertCommitDecisions(dsl, orderId, transactionIds, OffsetDateTime.now(clock)).execute();
+        }
+    }
+
+    @Override
+    public Set<String> findCommitted(Collection<String> transactionIds) {
+        return transactionIds.isEmpty() ? Set.of() : selectCommitDecisions(dsl, transactionIds).fetchSet(0, String.class);
+    }
+
+    @Override
+    public void delete(Collection<String> transactionIds) {
+        if (!transactionIds.isEmpty()) {
+            deleteCommitDecisions(dsl, transactionIds).execute();
+        }
+    }
+
+    @Override
+    public int deleteResolvedBefore(OffsetDateTime before, Collection<String> activeTransactionIds) {
+        return deleteCommitDecisionsBefore(dsl, before, activeTransactionIds).execute();
+    }
+}
@@ -1,22 +1,52 @@
 package io.github.m4gshm.orders.data.storage.jdbc.config;
 
 import io.github.m4gshm.orders.data.storage.OrderStorage;
+import io.github.m4gshm.orders.data.storage.TwoPhaseCommitCoordinatorStorage;
+import io.github.m4gshm.orders.data.storage.TwoPhaseCommitDecisionStorage;
 import io.github.m4gshm.orders.data.storage.jdbc.OrderStorageImpl;
+import io.github.m4gshm.orders.data.storage.jdbc.TwoPhaseCommitCoordinatorStorageImpl;
+import io.github.m4gshm.orders.data.storage.jdbc.TwoPhaseCommitDecisionStorageImpl;
+import io.github.m4gshm.orders.data.storage.jooq.OrderReadStrategy;
 import lombok.RequiredArgsConstructor;
 import org.jooq.DSLContext;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
 import org.springframework.context.annotation.Bean;
 
+import java.time.Clock;
+
 @AutoConfiguration
 @RequiredArgsConstructor
+@EnableConfigurationProperties(OrderStorageImplAutoConfiguration.Properties.class)
 public class OrderStorageImplAutoConfiguration {
+    private final Properties properties;
 
     @Bean
     @ConditionalOnMissingBean(OrderStorage.class)
     @ConditionalOnBean(DSLContext.class)
     public OrderStorage orderStorage(DSLContext dslContext) {
-        return new OrderStorageImpl(dslContext);
+        return new OrderStorageImpl(dslContext, properties.readStrategy());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(TwoPhaseCommitDecisionStorage.class)
+    @ConditionalOnBean(DSLContext.class)
+    public TwoPhaseCommitDecisionStorage twoPhaseCommitDecisionStorage(DSLContext dslContext) {
+        return new TwoPhaseCommitDecisionStorageImpl(dslContext, Clock.systemDefaultZone());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(TwoPhaseCommitCoordinatorStorage.class)
+    @ConditionalOnBean(DSLContext.class)
+    public TwoPhaseCommitCoordinatorStorage twoPhaseCommitCoordinatorStorage(DSLContext dslContext) {
+        return new TwoPhaseCommitCoordinatorStorageImpl(dslContext, Clock.systemDefaultZone());
+    }
+
+    @ConfigurationProperties("service.orders.storage")
+    public record Properties(@DefaultValue("TWO_QUERIES") OrderReadStrategy readStrategy) {
     }
 }
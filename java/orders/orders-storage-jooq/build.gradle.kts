@@ -69,6 +69,12 @@ tasks.named("jooqCodegen") {
     dependsOn("liquibaseUpdate")
 }
 
+tasks.test {
+    systemProperty("db.url", dbUrl)
+    systemProperty("db.username", dbUsername)
+    systemProperty("db.password", dbPassword)
+}
+
 //tasks.withType<JavaCompile> {
 //    if (!project.hasProperty("no-codegen")) {
 //        dependsOn(tasks.named("jooqCodegen"))
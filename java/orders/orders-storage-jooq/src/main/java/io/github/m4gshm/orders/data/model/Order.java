@@ -22,7 +22,9 @@ public record Order(
                     Delivery delivery,
                     List<Item> items,
                     String paymentTransactionId,
-                    String reserveTransactionId
+                    String reserveTransactionId,
+                    // optimistic lock version, null for an order that has not been read from the storage
+                    Long version
 ) {
 
     @Builder(toBuilder = true)
@@ -0,0 +1,10 @@
+package io.github.m4gshm.orders.data.model;
+
+import java.time.OffsetDateTime;
+
+// position of an order in the list ordered by created_at, id
+public record OrderCursor(OffsetDateTime createdAt, String id) {
+    public static OrderCursor of(Order order) {
+        return new OrderCursor(order.createdAt(), order.id());
+    }
+}
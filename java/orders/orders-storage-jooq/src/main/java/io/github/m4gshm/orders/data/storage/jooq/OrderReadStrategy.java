@@ -0,0 +1,8 @@
+package io.github.m4gshm.orders.data.storage.jooq;
+
+public enum OrderReadStrategy {
+    // the order joined with the delivery, then the items by a second statement
+    TWO_QUERIES,
+    // the order joined with the delivery and the items nested by multiset, one statement
+    MULTISET
+}
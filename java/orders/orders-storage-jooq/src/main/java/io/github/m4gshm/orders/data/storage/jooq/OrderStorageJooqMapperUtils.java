@@ -10,6 +10,7 @@ import lombok.experimental.UtilityClass;
 import static io.github.m4gshm.orders.data.access.jooq.Tables.DELIVERY;
 import static io.github.m4gshm.orders.data.access.jooq.Tables.ITEM;
 import static io.github.m4gshm.orders.data.access.jooq.Tables.ORDERS;
+import static io.github.m4gshm.orders.data.storage.jooq.OrderStorageJooqUtils.ORDER_ITEMS;
 
 @UtilityClass
 public class OrderStorageJooqMapperUtils {
@@ -34,7 +35,12 @@ public class OrderStorageJooqMapperUtils {
                 .build();
     }
 
-    public static Order toOrder(Record order, Record delivery, List<Record> items) {
+    // maps a row of selectOrdersJoinDeliveryWithItems, the items are nested into the row
+    public static Order toOrder(Record order) {
+        return toOrder(order, order, order.get(ORDER_ITEMS));
+    }
+
+    public static Order toOrder(Record order, Record delivery, List<? extends Record> items) {
         return Order.builder()
                 .id(order.get(ORDERS.ID))
                 .status(order.get(ORDERS.STATUS))
@@ -45,6 +51,7 @@ public class OrderStorageJooqMapperUtils {
                 .paymentId(order.get(ORDERS.PAYMENT_ID))
                 .reserveTransactionId(order.get(ORDERS.RESERVE_TRANSACTION_ID))
                 .paymentTransactionId(order.get(ORDERS.PAYMENT_TRANSACTION_ID))
+                .version(order.get(ORDERS.VERSION))
                 .delivery(toDelivery(delivery))
                 .items(items.stream().map(OrderStorageJooqMapperUtils::toItem).toList())
                 .build();
@@ -5,21 +5,29 @@ import io.github.m4gshm.orders.data.access.jooq.tables.records.DeliveryRecord;
 import io.github.m4gshm.orders.data.access.jooq.tables.records.ItemRecord;
 import io.github.m4gshm.orders.data.access.jooq.tables.records.OrdersRecord;
 import io.github.m4gshm.orders.data.model.Order;
+import io.github.m4gshm.orders.data.model.OrderCursor;
 import jakarta.annotation.Nonnull;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 import org.jooq.Batch;
 import org.jooq.DSLContext;
+import org.jooq.Field;
 import org.jooq.InsertOnDuplicateSetMoreStep;
 import org.jooq.InsertReturningStep;
 import org.jooq.JoinType;
 import org.jooq.Record;
+import org.jooq.Record2;
+import org.jooq.Result;
 import org.jooq.SelectConditionStep;
 import org.jooq.SelectForUpdateStep;
 import org.jooq.SelectOnConditionStep;
+import org.jooq.SelectSeekStep2;
+import org.jooq.UpdateConditionStep;
 
+import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 
 import static io.github.m4gshm.DateTimeUtils.orNow;
@@ -29,12 +37,23 @@ import static io.github.m4gshm.orders.data.access.jooq.Tables.ORDERS;
 import static io.github.m4gshm.storage.jooq.Query.selectAll;
 import static io.github.m4gshm.storage.jooq.Query.selectAllFrom;
 import static java.util.Optional.ofNullable;
+import static java.util.stream.Collectors.toMap;
 import static org.jooq.impl.DSL.coalesce;
 import static org.jooq.impl.DSL.excluded;
+import static org.jooq.impl.DSL.multiset;
+import static org.jooq.impl.DSL.row;
+import static org.jooq.impl.DSL.select;
 
 @Slf4j
 @UtilityClass
 public class OrderStorageJooqUtils {
+    // rows fetched by one round trip when orders are streamed
+    public static final int STREAM_FETCH_SIZE = 256;
+
+    // items of the order aggregated into a nested collection of the order row
+    public static final Field<Result<Record2<String, Integer>>> ORDER_ITEMS = multiset(
+            select(ITEM.ID, ITEM.AMOUNT).from(ITEM).where(ITEM.ORDER_ID.eq(ORDERS.ID))
+    ).as("items");
 
     @Nonnull
     public static InsertOnDuplicateSetMoreStep<DeliveryRecord> mergeDelivery(
@@ -50,22 +69,29 @@ public class OrderStorageJooqUtils {
                 .set(DELIVERY.TYPE, excluded(DELIVERY.TYPE));
     }
 
+    // all items by one INSERT ... VALUES (...), (...) ON CONFLICT statement;
+    // a statement cannot update a row twice, so the last of repeated items wins as it did with a statement per item
     @Nonnull
-    public static InsertOnDuplicateSetMoreStep<ItemRecord> mergeItem(
-                                                                     DSLContext dsl,
-                                                                     Order order,
-                                                                     Order.Item item) {
-        return dsl.insertInto(ITEM)
-                .set(ITEM.ORDER_ID, order.id())
-                .set(ITEM.ID, item.id())
-                .set(ITEM.AMOUNT, item.amount())
+    public static InsertOnDuplicateSetMoreStep<ItemRecord> mergeItems(
+                                                                      DSLContext dsl,
+                                                                      Order order,
+                                                                      Collection<Order.Item> items) {
+        var rows = items.stream()
+                .collect(toMap(Order.Item::id, item -> item, (_, last) -> last, LinkedHashMap::new))
+                .values()
+                .stream()
+                .map(item -> row(order.id(), item.id(), item.amount()))
+                .toList();
+        return dsl.insertInto(ITEM, ITEM.ORDER_ID, ITEM.ID, ITEM.AMOUNT)
+                .valuesOfRows(rows)
                 .onDuplicateKeyUpdate()
-                .set(ITEM.AMOUNT, item.amount());
+                .set(ITEM.AMOUNT, excluded(ITEM.AMOUNT));
     }
 
+    // a read order is written only if its version has not been changed since the read
     @Nonnull
-    public static InsertOnDuplicateSetMoreStep<OrdersRecord> mergeOrder(DSLContext dsl, Order order) {
-        return dsl.insertInto(ORDERS)
+    public static InsertReturningStep<OrdersRecord> mergeOrder(DSLContext dsl, Order order) {
+        var merge = dsl.insertInto(ORDERS)
                 .set(ORDERS.ID, order.id())
                 .set(ORDERS.STATUS, order.status())
                 .set(ORDERS.CREATED_AT, orNow(order.createdAt()))
@@ -78,7 +104,10 @@ public class OrderStorageJooqUtils {
                 .set(ORDERS.UPDATED_AT, orNow(order.updatedAt()))
                 .set(ORDERS.STATUS, order.status())
                 .set(ORDERS.PAYMENT_ID, coalesce(excluded(ORDERS.PAYMENT_ID), order.paymentTransactionId()))
-                .set(ORDERS.RESERVE_ID, coalesce(excluded(ORDERS.RESERVE_ID), order.reserveTransactionId()));
+                .set(ORDERS.RESERVE_ID, coalesce(excluded(ORDERS.RESERVE_ID), order.reserveTransactionId()))
+                .set(ORDERS.VERSION, ORDERS.VERSION.plus(1));
+        var version = order.version();
+        return version != null ? merge.where(ORDERS.VERSION.eq(version)) : merge;
     }
 
     public static Batch mergeOrderFullBatch(DSLContext dsl, Order order) {
@@ -87,7 +116,7 @@ public class OrderStorageJooqUtils {
 
     public static List<InsertReturningStep<?>> mergeOrderFullQueries(DSLContext dsl, Order order) {
         var items = ofNullable(order.items()).orElse(List.of());
-        var queries = new ArrayList<InsertReturningStep<?>>(2 + items.size());
+        var queries = new ArrayList<InsertReturningStep<?>>(3);
         queries.add(mergeOrder(dsl, order));
 
         var delivery = order.delivery();
@@ -97,7 +126,9 @@ public class OrderStorageJooqUtils {
             queries.add(mergeDelivery);
         }
 
-        queries.addAll(items.stream().map(item -> mergeItem(dsl, order, item)).toList());
+        if (!items.isEmpty()) {
+            queries.add(mergeItems(dsl, order, items));
+        }
         return queries;
     }
 
@@ -124,6 +155,51 @@ public class OrderStorageJooqUtils {
                 .and(ORDERS.STATUS.in(statuses)));
     }
 
+    @Nonnull
+    public static SelectConditionStep<Record> selectOrdersJoinDeliveryByCustomerIdInAndStatusIn(
+                                                                                                DSLContext dsl,
+                                                                                                Collection<String> clientIds,
+                                                                                                Collection<
+                                                                                                        OrderStatus> statuses) {
+        return selectOrdersJoinDelivery(dsl).where(ORDERS.CUSTOMER_ID.in(clientIds)
+                .and(ORDERS.STATUS.in(statuses)));
+    }
+
+    @Nonnull
+    public static SelectOnConditionStep<Record> selectOrdersJoinDeliveryWithItems(DSLContext dsl) {
+        return dsl.select(ORDERS.fields())
+                .select(DELIVERY.fields())
+                .select(ORDER_ITEMS)
+                .from(ORDERS)
+                .join(DELIVERY, JoinType.LEFT_OUTER_JOIN)
+                .on(DELIVERY.ORDER_ID.eq(ORDERS.ID));
+    }
+
+    @Nonnull
+    public static SelectConditionStep<Record> selectOrdersJoinDeliveryWithItemsByCustomerIdAndStatusIn(
+                                                                                                       DSLContext dsl,
+                                                                                                       String clientId,
+                                                                                                       Collection<
+                                                                                                               OrderStatus> statuses) {
+        return selectOrdersJoinDeliveryWithItems(dsl).where(ORDERS.CUSTOMER_ID.eq(clientId)
+                .and(ORDERS.STATUS.in(statuses)));
+    }
+
+    @Nonnull
+    public static SelectConditionStep<Record> selectOrdersJoinDeliveryWithItemsByCustomerIdInAndStatusIn(
+                                                                                                         DSLContext dsl,
+                                                                                                         Collection<String> clientIds,
+                                                                                                         Collection<
+                                                                                                                 OrderStatus> statuses) {
+        return selectOrdersJoinDeliveryWithItems(dsl).where(ORDERS.CUSTOMER_ID.in(clientIds)
+                .and(ORDERS.STATUS.in(statuses)));
+    }
+
+    @Nonnull
+    public static SelectConditionStep<Record> selectOrdersJoinDeliveryWithItemsById(DSLContext dsl, String id) {
+        return selectOrdersJoinDeliveryWithItems(dsl).where(ORDERS.ID.eq(id));
+    }
+
     @Nonnull
     public static SelectConditionStep<Record> selectOrdersJoinDeliveryById(DSLContext dsl, String id) {
         return selectOrdersJoinDelivery(dsl).where(ORDERS.ID.eq(id));
@@ -136,7 +212,37 @@ public class OrderStorageJooqUtils {
         var baseQuery = selectOrdersJoinDelivery(dsl);
         var queryWithCondition = status != null ? baseQuery.where(ORDERS.STATUS.eq(status)) : baseQuery;
         return num != null
-                ? queryWithCondition.orderBy(ORDERS.CREATED_AT).limit(size).offset(num * size)
+                ? queryWithCondition.orderBy(ORDERS.CREATED_AT, ORDERS.ID).limit(size).offset(num * size)
                 : queryWithCondition;
     }
+
+    // keyset variant of selectOrdersJoinDeliveryPaged, the page after the cursor is read without skipping rows
+    public static SelectForUpdateStep<Record> selectOrdersJoinDeliveryAfter(DSLContext dsl,
+                                                                           OrderStatus status,
+                                                                           int size,
+                                                                           OrderCursor after) {
+        var ordered = selectOrdersJoinDeliveryOrdered(dsl, status);
+        if (after == null) {
+            return ordered.limit(size);
+        }
+        return ordered.seek(after.createdAt(), after.id()).limit(size);
+    }
+
+    public static SelectSeekStep2<Record, OffsetDateTime, String> selectOrdersJoinDeliveryOrdered(DSLContext dsl,
+                                                                                                 OrderStatus status) {
+        var baseQuery = selectOrdersJoinDelivery(dsl);
+        var queryWithCondition = status != null ? baseQuery.where(ORDERS.STATUS.eq(status)) : baseQuery;
+        return queryWithCondition.orderBy(ORDERS.CREATED_AT, ORDERS.ID);
+    }
+
+    // compare-and-set of the status, no rows are updated if the order has left the read status or version
+    public static UpdateConditionStep<OrdersRecord> updateOrderStatus(DSLContext dsl, Order order, OrderStatus status) {
+        var condition = ORDERS.ID.eq(order.id()).and(ORDERS.STATUS.eq(order.status()));
+        var version = order.version();
+        return dsl.update(ORDERS)
+                .set(ORDERS.STATUS, status)
+                .set(ORDERS.UPDATED_AT, OffsetDateTime.now())
+                .set(ORDERS.VERSION, ORDERS.VERSION.plus(1))
+                .where(version != null ? condition.and(ORDERS.VERSION.eq(version)) : condition);
+    }
 }
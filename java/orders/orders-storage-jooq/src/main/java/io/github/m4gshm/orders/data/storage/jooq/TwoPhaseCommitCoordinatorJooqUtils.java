@@ -0,0 +1,48 @@
+package io.github.m4gshm.orders.data.storage.jooq;
+
+import io.github.m4gshm.orders.data.access.jooq.tables.records.TpcCoordinatorRecord;
+import lombok.experimental.UtilityClass;
+import org.jooq.DSLContext;
+import org.jooq.DeleteConditionStep;
+import org.jooq.InsertOnDuplicateSetMoreStep;
+import org.jooq.Record1;
+import org.jooq.SelectConditionStep;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+
+import static io.github.m4gshm.orders.data.access.jooq.Tables.TPC_COORDINATOR;
+import static org.jooq.impl.DSL.excluded;
+
+@UtilityClass
+public class TwoPhaseCommitCoordinatorJooqUtils {
+
+    public static InsertOnDuplicateSetMoreStep<TpcCoordinatorRecord> upsertCoordinator(
+                                                                                      DSLContext dsl,
+                                                                                      String coordinatorId,
+                                                                                      Collection<String> transactionIds,
+                                                                                      OffsetDateTime heartbeatAt
+    ) {
+        return dsl.insertInto(TPC_COORDINATOR)
+                .set(TPC_COORDINATOR.COORDINATOR_ID, coordinatorId)
+                .set(TPC_COORDINATOR.TRANSACTION_IDS, transactionIds.toArray(String[]::new))
+                .set(TPC_COORDINATOR.HEARTBEAT_AT, heartbeatAt)
+                .onDuplicateKeyUpdate()
+                .set(TPC_COORDINATOR.TRANSACTION_IDS, excluded(TPC_COORDINATOR.TRANSACTION_IDS))
+                .set(TPC_COORDINATOR.HEARTBEAT_AT, excluded(TPC_COORDINATOR.HEARTBEAT_AT));
+    }
+
+    public static SelectConditionStep<Record1<String[]>> selectCoordinatedTransactions(
+                                                                                      DSLContext dsl,
+                                                                                      OffsetDateTime aliveAfter
+    ) {
+        return dsl.select(TPC_COORDINATOR.TRANSACTION_IDS)
+                .from(TPC_COORDINATOR)
+                .where(TPC_COORDINATOR.HEARTBEAT_AT.ge(aliveAfter));
+    }
+
+    public static DeleteConditionStep<TpcCoordinatorRecord> deleteCoordinatorsBefore(DSLContext dsl,
+                                                                                     OffsetDateTime before) {
+        return dsl.deleteFrom(TPC_COORDINATOR).where(TPC_COORDINATOR.HEARTBEAT_AT.lt(before));
+    }
+}
@@ -0,0 +1,63 @@
+package io.github.m4gshm.orders.data.storage.jooq;
+
+import io.github.m4gshm.orders.data.access.jooq.tables.records.TpcCommitDecisionRecord;
+import lombok.experimental.UtilityClass;
+import org.jooq.DSLContext;
+import org.jooq.DeleteConditionStep;
+import org.jooq.InsertOnDuplicateSetMoreStep;
+import org.jooq.Record1;
+import org.jooq.SelectConditionStep;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+
+import static io.github.m4gshm.orders.data.access.jooq.Tables.TPC_COMMIT_DECISION;
+import static org.jooq.impl.DSL.excluded;
+
+@UtilityClass
+public class TwoPhaseCommitDecisionJooqUtils {
+
+    public static InsertOnDuplicateSetMoreStep<TpcCommitDecisionRecord> insertCommitDecisions(
+                                                                                             DSLContext dsl,
+                                                                                             String orderId,
+                                                                                             Collection<String> transactionIds,
+                                                                                             OffsetDateTime createdAt
+    ) {
+        var insert = dsl.insertInto(TPC_COMMIT_DECISION,
+                TPC_COMMIT_DECISION.TRANSACTION_ID,
+                TPC_COMMIT_DECISION.ORDER_ID,
+                TPC_COMMIT_DECISION.CREATED_AT);
+        for (var transactionId : transactionIds) {
+            insert = insert.values(transactionId, orderId, createdAt);
+        }
+        return insert.onDuplicateKeyUpdate()
+                .set(TPC_COMMIT_DECISION.ORDER_ID, excluded(TPC_COMMIT_DECISION.ORDER_ID))
+                .set(TPC_COMMIT_DECISION.CREATED_AT, excluded(TPC_COMMIT_DECISION.CREATED_AT));
+    }
+
+    public static SelectConditionStep<Record1<String>> selectCommitDecisions(
+                                                                             DSLContext dsl,
+                                                                             Collection<String> transactionIds
+    ) {
+        return dsl.select(TPC_COMMIT_DECISION.TRANSACTION_ID)
+                .from(TPC_COMMIT_DECISION)
+                .where(TPC_COMMIT_DECISION.TRANSACTION_ID.in(transactionIds));
+    }
+
+    public static DeleteConditionStep<TpcCommitDecisionRecord> deleteCommitDecisions(
+                                                                                     DSLContext dsl,
+                                                                                     Collection<String> transactionIds
+    ) {
+        return dsl.deleteFrom(TPC_COMMIT_DECISION).where(TPC_COMMIT_DECISION.TRANSACTION_ID.in(transactionIds));
+    }
+
+    public static DeleteConditionStep<TpcCommitDecisionRecord> deleteCommitDecisionsBefore(
+                                                                                           DSLContext dsl,
+                                                                                           OffsetDateTime before,
+                                                                                           Collection<String> activeTransactionIds
+    ) {
+        return dsl.deleteFrom(TPC_COMMIT_DECISION)
+                .where(TPC_COMMIT_DECISION.CREATED_AT.lt(before))
+                .and(TPC_COMMIT_DECISION.TRANSACTION_ID.notIn(activeTransactionIds));
+    }
+}
@@ -0,0 +1,126 @@
+package io.github.m4gshm.orders.data.storage.jooq;
+
+import io.github.m4gshm.orders.data.model.OrderCursor;
+import org.jooq.DSLContext;
+import org.jooq.Query;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static io.github.m4gshm.orders.data.access.jooq.Tables.ITEM;
+import static io.github.m4gshm.orders.data.access.jooq.enums.OrderStatus.CREATED;
+import static io.github.m4gshm.orders.data.access.jooq.enums.OrderStatus.INSUFFICIENT;
+import static io.github.m4gshm.orders.data.storage.jooq.OrderStorageJooqUtils.selectItemsByOrderId;
+import static io.github.m4gshm.orders.data.storage.jooq.OrderStorageJooqUtils.selectOrdersJoinDeliveryAfter;
+import static io.github.m4gshm.orders.data.storage.jooq.OrderStorageJooqUtils.selectOrdersJoinDeliveryByCustomerIdAndStatusIn;
+import static io.github.m4gshm.orders.data.storage.jooq.OrderStorageJooqUtils.selectOrdersJoinDeliveryPaged;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// checks the query plans against the migrated jvm_orders database, run liquibaseUpdate before;
+// the seeded rows are rolled back, there are enough of them for the planner to prefer the indexes over a seq scan
+public class OrderStorageIndexTest {
+    private static final int ORDERS = 100_000;
+    private static final int CUSTOMERS = 2_000;
+
+    private final String prefix = UUID.randomUUID() + "-";
+    private Connection connection;
+    private DSLContext dsl;
+
+    private static Connection connect() {
+        try {
+            return DriverManager.getConnection(
+                    System.getProperty("db.url", "jdbc:postgresql://localhost:5000/jvm_orders"),
+                    System.getProperty("db.username", "postgres"),
+                    System.getProperty("db.password", "postgres")
+            );
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        connection = connect();
+        assumeTrue(connection != null, "orders database is not available");
+        connection.setAutoCommit(false);
+        dsl = DSL.using(connection, SQLDialect.POSTGRES);
+
+        dsl.execute("""
+                insert into orders (id, customer_id, status, created_at)
+                select ? || i, ? || (i % ?),
+                       (enum_range(null::order_status))[1 + i % array_length(enum_range(null::order_status), 1)],
+                       now() - i * interval '1 second'
+                from generate_series(1, ?) i
+                """, prefix, prefix, CUSTOMERS, ORDERS);
+        dsl.execute("""
+                insert into item (id, order_id, amount)
+                select ? || (i % 50), ? || i, 1
+                from generate_series(1, ?) i
+                """, prefix, prefix, ORDERS);
+        dsl.execute("analyze orders");
+        dsl.execute("analyze item");
+    }
+
+    @AfterEach
+    public void tearDown() throws SQLException {
+        if (connection != null) {
+            connection.rollback();
+            connection.close();
+        }
+    }
+
+    private void assertIndexUsed(Query query, String index) {
+        // inlined values let the planner match the partial index predicate as a custom plan of the driver does
+        var plan = String.join("\n", dsl.fetch("explain " + dsl.renderInlined(query)).getValues(0, String.class));
+        assertTrue(plan.contains(index), () -> index + " is not used by plan:\n" + plan);
+    }
+
+    @Test
+    public void testSelectByCustomerIdAndStatuses() {
+        assertIndexUsed(
+                selectOrdersJoinDeliveryByCustomerIdAndStatusIn(dsl, prefix + 1, Set.of(CREATED, INSUFFICIENT)),
+                "orders_customer_id_status_i"
+        );
+    }
+
+    @Test
+    public void testSelectInsufficientByCustomerId() {
+        assertIndexUsed(
+                selectOrdersJoinDeliveryByCustomerIdAndStatusIn(dsl, prefix + 1, Set.of(INSUFFICIENT)),
+                "orders_insufficient_customer_id_i"
+        );
+    }
+
+    @Test
+    public void testSelectPagedByStatus() {
+        assertIndexUsed(selectOrdersJoinDeliveryPaged(dsl, CREATED, 10, 1), "orders_status_created_at_i");
+    }
+
+    @Test
+    public void testSelectAfterByStatus() {
+        var after = new OrderCursor(OffsetDateTime.now().minusHours(1), prefix + 3600);
+        assertIndexUsed(selectOrdersJoinDeliveryAfter(dsl, CREATED, 10, after), "orders_status_created_at_i");
+    }
+
+    @Test
+    public void testSelectItemsByOrderId() {
+        assertIndexUsed(selectItemsByOrderId(dsl, prefix + 1), "item_order_id_i");
+    }
+
+    @Test
+    public void testSelectItemsByOrderIds() {
+        var orderIds = List.of(prefix + 1, prefix + 2, prefix + 3);
+        assertIndexUsed(dsl.selectFrom(ITEM).where(ITEM.ORDER_ID.in(orderIds)), "item_order_id_i");
+    }
+}
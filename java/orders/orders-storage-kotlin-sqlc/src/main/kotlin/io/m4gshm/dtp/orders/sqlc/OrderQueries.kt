@@ -0,0 +1,77 @@
+package io.m4gshm.dtp.orders.sqlc
+
+import io.m4gshm.dtp.orders.sqlc.gen.FindOrdersPagedRow
+import io.m4gshm.dtp.orders.sqlc.gen.OrderStatus
+import java.sql.Connection
+import java.sql.Types
+import java.time.OffsetDateTime
+
+// queries the sqlc query files shared with the go storage have no counterpart for
+
+const val updateOrderStatusIfStatus = """
+UPDATE
+  orders
+SET
+  status = ?,
+  updated_at = ?,
+  version = version + 1
+WHERE
+  id = ?
+  AND status = ?
+  AND (?::int8 IS NULL OR version = ?::int8)
+"""
+
+// compare-and-set of the status, returns the number of updated rows
+fun Connection.updateOrderStatusIfStatus(
+    id: String,
+    expectedStatus: OrderStatus,
+    expectedVersion: Long?,
+    status: OrderStatus,
+    updatedAt: OffsetDateTime
+): Int = prepareStatement(updateOrderStatusIfStatus).use { stmt ->
+    stmt.setObject(1, status.value, Types.OTHER)
+    stmt.setObject(2, updatedAt)
+    stmt.setString(3, id)
+    stmt.setObject(4, expectedStatus.value, Types.OTHER)
+    stmt.setObject(5, expectedVersion, Types.BIGINT)
+    stmt.setObject(6, expectedVersion, Types.BIGINT)
+    stmt.executeUpdate()
+}
+
+const val findOrdersAfter = """
+SELECT
+  o.id, o.created_at, o.updated_at, o.status, o.customer_id, o.reserve_id, o.payment_id, o.payment_transaction_id, o.reserve_transaction_id,
+  d.order_id, d.address, d.type
+FROM
+  orders o
+  LEFT JOIN delivery d ON o.id = d.order_id
+WHERE
+  (?::order_status IS NULL OR o.status = ?::order_status)
+  AND (?::timestamptz IS NULL OR (o.created_at, o.id) > (?::timestamptz, ?::text))
+ORDER BY
+  o.created_at, o.id
+LIMIT ?::int
+"""
+
+// keyset page of the orders ordered by created_at, id, starts from the first order when afterCreatedAt is null
+fun Connection.findOrdersAfter(
+    status: OrderStatus?,
+    afterCreatedAt: OffsetDateTime?,
+    afterId: String?,
+    size: Int
+): List<FindOrdersPagedRow> = prepareStatement(findOrdersAfter).use { stmt ->
+    val statusValue = status?.value
+    stmt.setObject(1, statusValue, Types.OTHER)
+    stmt.setObject(2, statusValue, Types.OTHER)
+    stmt.setObject(3, afterCreatedAt, Types.TIMESTAMP_WITH_TIMEZONE)
+    stmt.setObject(4, afterCreatedAt, Types.TIMESTAMP_WITH_TIMEZONE)
+    stmt.setString(5, afterId)
+    stmt.setInt(6, size)
+    stmt.executeQuery().use { results ->
+        val ret = mutableListOf<FindOrdersPagedRow>()
+        while (results.next()) {
+            ret.add(FindOrdersPagedRow(results.getOrder(), results.getDelivery()))
+        }
+        ret
+    }
+}
@@ -3,14 +3,19 @@ package io.m4gshm.dtp.orders.sqlc
 import io.github.m4gshm.orders.data.access.jooq.enums.DeliveryType
 import io.github.m4gshm.orders.data.access.jooq.enums.OrderStatus
 import io.github.m4gshm.orders.data.model.Order
+import io.github.m4gshm.orders.data.model.OrderCursor
 import io.github.m4gshm.orders.data.storage.OrderStorage
 import io.github.m4gshm.storage.Page
 import io.m4gshm.dtp.orders.sqlc.gen.Delivery
 import io.m4gshm.dtp.orders.sqlc.gen.QueriesImpl
 import jakarta.validation.Valid
 import java.sql.Connection
+import java.time.OffsetDateTime
+import java.util.function.Consumer
 import javax.sql.DataSource
 
+private const val STREAM_PAGE_SIZE = 256
+
 class OrderStorageSqlcImpl(val dataSource: DataSource) : OrderStorage {
     private fun connection(): Connection = dataSource.connection
 
@@ -20,6 +25,10 @@ class OrderStorageSqlcImpl(val dataSource: DataSource) : OrderStorage {
         return block.invoke(QueriesImpl(connection))
     }
 
+    private fun <T> connected(block: Connection.() -> T): T = connection().use { connection ->
+        return block.invoke(connection)
+    }
+
     override fun findAll(page: Page?, status: OrderStatus?): List<Order> = query {
         val num = Page.getNum(page)
         val size = Page.getSize(page)
@@ -35,6 +44,11 @@ class OrderStorageSqlcImpl(val dataSource: DataSource) : OrderStorage {
         this.findOrdersByClientAndStatuses(clientId, orderStatuses).map { row -> toJooq(row.orders!!, row.delivery!!) }
     }
 
+    // no generated query for a client list, one query per client
+    override fun findByClientIdsAndStatuses(
+        clientIds: Collection<String>, statuses: Collection<OrderStatus>
+    ): List<Order> = clientIds.flatMap { findByClientIdAndStatuses(it, statuses) }
+
     override fun findAll(): List<Order> = query {
         this.findAllOrders().map { row -> toJooq(row.orders!!, row.delivery!!) }
     }
@@ -48,6 +62,27 @@ class OrderStorageSqlcImpl(val dataSource: DataSource) : OrderStorage {
         TODO("Not yet implemented")
     }
 
+    override fun findAllAfter(after: OrderCursor?, size: Int, status: OrderStatus?): List<Order> {
+        Page.validatePaging(null, size)
+        return findPageAfter(after, size, status)
+    }
+
+    // reads keyset pages by a connection per page, so no connection or cursor is held while the consumer is slow
+    override fun streamAll(status: OrderStatus?, consumer: Consumer<Order>) {
+        var after: OrderCursor? = null
+        do {
+            val orders = findPageAfter(after, STREAM_PAGE_SIZE, status)
+            orders.forEach(consumer::accept)
+            after = orders.lastOrNull()?.let(OrderCursor::of)
+        } while (orders.size == STREAM_PAGE_SIZE)
+    }
+
+    private fun findPageAfter(after: OrderCursor?, size: Int, status: OrderStatus?): List<Order> = connected {
+        findOrdersAfter(status.toSqlc(), after?.createdAt(), after?.id(), size).map { row ->
+            toJooq(row.orders!!, row.delivery!!)
+        }
+    }
+
     override fun save(order: @Valid Order): Order = query {
         insertOrUpdateOrder(order)
         val delivery = order.delivery()
@@ -65,6 +100,16 @@ class OrderStorageSqlcImpl(val dataSource: DataSource) : OrderStorage {
         order
     }
 
+    override fun updateStatus(order: Order, status: OrderStatus): Boolean = connected {
+        updateOrderStatusIfStatus(
+            id = order.id(),
+            expectedStatus = order.status().toSqlc()!!,
+            expectedVersion = order.version(),
+            status = status.toSqlc()!!,
+            updatedAt = OffsetDateTime.now(),
+        ) > 0
+    }
+
     private fun QueriesImpl.insertOrUpdateOrder(order: Order) {
         this.insertOrUpdateOrder(
             id = order.id(),
@@ -94,6 +139,8 @@ private fun toJooq(
     listOf(),
     order.paymentTransactionId,
     order.reserveTransactionId,
+    // the sqlc queries are generated without the version column, the writes stay unconditional
+    null,
 )
 
 private fun Delivery.toJooq(): Order.Delivery = Order.Delivery(
@@ -8,6 +8,7 @@ dependencies {
     api(project(":orders:orders-storage-jooq"))
     api(project(":reactive-utils"))
     api(project(":storage-api-reactive"))
+    api(project(":storage-reactive-jooq"))
 
     api(project(":jooq-r2dbc"))
     api(project(":postgres-prepared-transaction"))
@@ -4,7 +4,10 @@ import io.github.m4gshm.jooq.ReactiveJooq;
 import io.github.m4gshm.orders.data.access.jooq.Tables;
 import io.github.m4gshm.orders.data.access.jooq.enums.OrderStatus;
 import io.github.m4gshm.orders.data.model.Order;
+import io.github.m4gshm.orders.data.model.OrderCursor;
 import io.github.m4gshm.orders.data.storage.ReactiveOrderStorage;
+import io.github.m4gshm.orders.data.storage.jooq.OrderReadStrategy;
+import io.github.m4gshm.orders.data.storage.jooq.OrderStorageJooqMapperUtils;
 import io.github.m4gshm.storage.Page;
 import io.github.m4gshm.tracing.TraceService;
 import lombok.Getter;
@@ -18,14 +21,22 @@ import reactor.core.publisher.Mono;
 import java.util.Collection;
 import java.util.List;
 
+import static io.github.m4gshm.orders.data.storage.jooq.OrderReadStrategy.MULTISET;
 import static io.github.m4gshm.orders.data.storage.jooq.OrderStorageJooqMapperUtils.toOrder;
+import static io.github.m4gshm.orders.data.storage.jooq.OrderStorageJooqUtils.STREAM_FETCH_SIZE;
 import static io.github.m4gshm.orders.data.storage.jooq.OrderStorageJooqUtils.mergeOrder;
 import static io.github.m4gshm.orders.data.storage.jooq.OrderStorageJooqUtils.mergeOrderFullBatch;
 import static io.github.m4gshm.orders.data.storage.jooq.OrderStorageJooqUtils.selectItemsByOrderId;
+import static io.github.m4gshm.orders.data.storage.jooq.OrderStorageJooqUtils.selectOrdersJoinDeliveryAfter;
 import static io.github.m4gshm.orders.data.storage.jooq.OrderStorageJooqUtils.selectOrdersJoinDeliveryByCustomerIdAndStatusIn;
 import static io.github.m4gshm.orders.data.storage.jooq.OrderStorageJooqUtils.selectOrdersJoinDeliveryById;
+import static io.github.m4gshm.orders.data.storage.jooq.OrderStorageJooqUtils.selectOrdersJoinDeliveryOrdered;
 import static io.github.m4gshm.orders.data.storage.jooq.OrderStorageJooqUtils.selectOrdersJoinDeliveryPaged;
+import static io.github.m4gshm.orders.data.storage.jooq.OrderStorageJooqUtils.selectOrdersJoinDeliveryWithItemsByCustomerIdAndStatusIn;
+import static io.github.m4gshm.orders.data.storage.jooq.OrderStorageJooqUtils.selectOrdersJoinDeliveryWithItemsById;
+import static io.github.m4gshm.orders.data.storage.jooq.OrderStorageJooqUtils.updateOrderStatus;
 import static io.github.m4gshm.storage.jooq.Query.selectAllFrom;
+import static io.github.m4gshm.storage.jooq.ReactiveUpdateUtils.checkVersion;
 import static java.util.stream.Collectors.groupingBy;
 import static lombok.AccessLevel.PRIVATE;
 import static reactor.core.publisher.Mono.from;
@@ -39,6 +50,7 @@ public class ReactiveOrderStorageR2dbc implements ReactiveOrderStorage {
     Class<Order> entityClass = Order.class;
     ReactiveJooq jooq;
     TraceService traceService;
+    OrderReadStrategy readStrategy;
 
     private static String getOp(String op) {
         return Order.class.getSimpleName() + ":" + op;
@@ -74,9 +86,34 @@ public class ReactiveOrderStorageR2dbc implements ReactiveOrderStorage {
         });
     }
 
+    @Override
+    public Mono<List<Order>> findAllAfter(OrderCursor after, int size, OrderStatus status) {
+        return Mono.defer(() -> {
+            Page.validatePaging(null, size);
+            return jooq.supportTransaction(getOp("findAllAfter"), dsl -> {
+                return Flux.from(selectOrdersJoinDeliveryAfter(dsl, status, size, after))
+                        .map(record -> toOrder(record, record, List.of()))
+                        .collectList();
+            });
+        });
+    }
+
+    @Override
+    public Flux<Order> streamAll(OrderStatus status) {
+        return jooq.inTransactionMany(getOp("streamAll"), dsl -> {
+            return Flux.from(selectOrdersJoinDeliveryOrdered(dsl, status).fetchSize(STREAM_FETCH_SIZE))
+                    .map(record -> toOrder(record, record, List.of()));
+        });
+    }
+
     @Override
     public Mono<List<Order>> findByClientIdAndStatuses(String clientId, Collection<OrderStatus> statuses) {
         return jooq.supportTransaction(getOp("findByClientIdAndStatuses"), dsl -> {
+            if (readStrategy == MULTISET) {
+                return Flux.from(selectOrdersJoinDeliveryWithItemsByCustomerIdAndStatusIn(dsl, clientId, statuses))
+                        .map(OrderStorageJooqMapperUtils::toOrder)
+                        .collectList();
+            }
             var selectOrder = selectOrdersJoinDeliveryByCustomerIdAndStatusIn(dsl,
                     clientId,
                     statuses
@@ -99,6 +136,9 @@ public class ReactiveOrderStorageR2dbc implements ReactiveOrderStorage {
     @Override
     public Mono<Order> findById(String id) {
         return jooq.supportTransaction(getOp("findById"), dsl -> {
+            if (readStrategy == MULTISET) {
+                return from(selectOrdersJoinDeliveryWithItemsById(dsl, id)).map(OrderStorageJooqMapperUtils::toOrder);
+            }
             var selectOrder = selectOrdersJoinDeliveryById(dsl, id);
             var selectItems = selectItemsByOrderId(dsl, id);
             return from(selectOrder).zipWith(Flux.from(selectItems).collectList(), (order, items) -> {
@@ -110,17 +150,26 @@ public class ReactiveOrderStorageR2dbc implements ReactiveOrderStorage {
     @Override
     public Mono<Order> save(Order order) {
         return jooq.supportTransaction(getOp("save"), dsl -> {
-            Mono<Void> merge;
 //            merge = Flux.concat(mergeOrderFullQueries(dsl, order).stream().map(Mono::from).toList()).then();
-            merge = Mono.from(mergeOrderFullBatch(dsl, order)).then();
-            return merge.thenReturn(order);
+            // the order row goes first in the batch
+            return Flux.from(mergeOrderFullBatch(dsl, order))
+                    .collectList()
+                    .map(List::getFirst)
+                    .flatMap(checkVersion("order", order.id(), order.version(), () -> order));
         });
     }
 
     @Override
     public Mono<Order> saveOrderOnly(Order order) {
         return jooq.supportTransaction(getOp("saveOrderOnly"), dsl -> {
-            return from(mergeOrder(dsl, order)).thenReturn(order);
+            return from(mergeOrder(dsl, order)).flatMap(checkVersion("order", order.id(), order.version(), () -> order));
+        });
+    }
+
+    @Override
+    public Mono<Boolean> updateStatus(Order order, OrderStatus status) {
+        return jooq.supportTransaction(getOp("updateStatus"), dsl -> {
+            return from(updateOrderStatus(dsl, order, status)).map(count -> count > 0);
         });
     }
 }
@@ -0,0 +1,55 @@
+package io.github.m4gshm.orders.data.storage.r2dbc;
+
+import io.github.m4gshm.jooq.ReactiveJooq;
+import io.github.m4gshm.orders.data.storage.ReactiveTwoPhaseCommitCoordinatorStorage;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.Record1;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+
+import static io.github.m4gshm.orders.data.storage.jooq.TwoPhaseCommitCoordinatorJooqUtils.deleteCoordinatorsBefore;
+import static io.github.m4gshm.orders.data.storage.jooq.TwoPhaseCommitCoordinatorJooqUtils.selectCoordinatedTransactions;
+import static io.github.m4gshm.orders.data.storage.jooq.TwoPhaseCommitCoordinatorJooqUtils.upsertCoordinator;
+import static java.util.stream.Collectors.toSet;
+import static lombok.AccessLevel.PRIVATE;
+import static reactor.core.publisher.Mono.from;
+
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = PRIVATE)
+public class ReactiveTwoPhaseCommitCoordinatorStorageR2dbc implements ReactiveTwoPhaseCommitCoordinatorStorage {
+    ReactiveJooq jooq;
+    Clock clock;
+
+    @Override
+    public Mono<Void> heartbeat(String coordinatorId, Collection<String> transactionIds) {
+        return jooq.newTransaction("TwoPhaseCommitCoordinator:heartbeat", dsl -> {
+            return from(upsertCoordinator(dsl, coordinatorId, transactionIds, OffsetDateTime.now(clock))).then();
+        });
+    }
+
+    @Override
+    public Mono<Set<String>> findCoordinated(OffsetDateTime aliveAfter) {
+        return jooq.supportTransaction("TwoPhaseCommitCoordinator:findCoordinated", dsl -> {
+            return Flux.from(selectCoordinatedTransactions(dsl, aliveAfter))
+                    .map(Record1::value1)
+                    .flatMapIterable(Arrays::asList)
+                    .collect(toSet());
+        });
+    }
+
+    @Override
+    public Mono<Integer> deleteBefore(OffsetDateTime before) {
+        return jooq.newTransaction("TwoPhaseCommitCoordinator:deleteBefore", dsl -> {
+            return from(deleteCoordinatorsBefore(dsl, before));
+        });
+    }
+}
@@ -0,0 +1,60 @@
+package io.github.m4gshm.orders.data.storage.r2dbc;
+
+import io.github.m4gshm.jooq.ReactiveJooq;
+import io.github.m4gshm.orders.data.storage.ReactiveTwoPhaseCommitDecisionStorage;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.Record1;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.Set;
+
+import static io.github.m4gshm.orders.data.storage.jooq.TwoPhaseCommitDecisionJooqUtils.deleteCommitDecisions;
+import static io.github.m4gshm.orders.data.storage.jooq.TwoPhaseCommitDecisionJooqUtils.deleteCommitDecisionsBefore;
+import static io.github.m4gshm.orders.data.storage.jooq.TwoPhaseCommitDecisionJooqUtils.insertCommitDecisions;
+import static io.github.m4gshm.orders.data.storage.jooq.TwoPhaseCommitDecisionJooqUtils.selectCommitDecisions;
+import static java.util.stream.Collectors.toSet;
+import static lombok.AccessLevel.PRIVATE;
+import static reactor.core.publisher.Mono.from;
+
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = PRIVATE)
+public class ReactiveTwoPhaseCommitDecisionStorageR2dbc implements ReactiveTwoPhaseCommitDecisionStorage {
+    ReactiveJooq jooq;
+    Clock clock;
+
+    @Override
+    public Mono<Void> saveCommit(String orderId, Collection<String> transactionIds) {
+        // the decision must be durable before any participant commits, so it never joins the caller's transaction
+        return transactionIds.isEmpty() ? Mono.empty() : jooq.newTransaction("TwoPhaseCommitDecision:saveCommit", dsl -> {
+            return from(insertCommitDecisions(dsl, orderId, transactionIds, OffsetDateTime.now(clock))).then();
+        });
+    }
+
+    @Override
+    public Mono<Set<String>> findCommitted(Collection<String> transactionIds) {
+        return transactionIds.isEmpty() ? Mono.just(Set.of()) : jooq.supportTransaction("TwoPhaseCommitDecision:findCommitted", dsl -> {
+            return Flux.from(selectCommitDecisions(dsl, transactionIds)).map(Record1::value1).collect(toSet());
+        });
+    }
+
+    @Override
+    public Mono<Void> delete(Collection<String> transactionIds) {
+        return transactionIds.isEmpty() ? Mono.empty() : jooq.newTransaction("TwoPhaseCommitDecision:delete", dsl -> {
+            return from(deleteCommitDecisions(dsl, transactionIds)).then();
+        });
+    }
+
+    @Override
+    public Mono<Integer> deleteResolvedBefore(OffsetDateTime before, Collection<String> activeTransactionIds) {
+        return jooq.newTransaction("TwoPhaseCommitDecision:deleteResolvedBefore", dsl -> {
+            return from(deleteCommitDecisionsBefore(dsl, before, activeTransactionIds));
+        });
+    }
+}
@@ -1,26 +1,53 @@
 package io.github.m4gshm.orders.data.storage.r2dbc.config;
 
+import io.github.m4gshm.jooq.ReactiveJooq;
+import io.github.m4gshm.jooq.config.R2dbcReactiveJooqAutoConfiguration;
+import io.github.m4gshm.orders.data.storage.ReactiveOrderStorage;
+import io.github.m4gshm.orders.data.storage.ReactiveTwoPhaseCommitCoordinatorStorage;
+import io.github.m4gshm.orders.data.storage.ReactiveTwoPhaseCommitDecisionStorage;
+import io.github.m4gshm.orders.data.storage.jooq.OrderReadStrategy;
+import io.github.m4gshm.orders.data.storage.r2dbc.ReactiveOrderStorageR2dbc;
+import io.github.m4gshm.orders.data.storage.r2dbc.ReactiveTwoPhaseCommitCoordinatorStorageR2dbc;
+import io.github.m4gshm.orders.data.storage.r2dbc.ReactiveTwoPhaseCommitDecisionStorageR2dbc;
 import io.github.m4gshm.tracing.TraceService;
+import lombok.RequiredArgsConstructor;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
 import org.springframework.context.annotation.Bean;
 
-import io.github.m4gshm.jooq.ReactiveJooq;
-import io.github.m4gshm.jooq.config.R2dbcReactiveJooqAutoConfiguration;
-import io.github.m4gshm.orders.data.storage.ReactiveOrderStorage;
-import io.github.m4gshm.orders.data.storage.r2dbc.ReactiveOrderStorageR2dbc;
-import lombok.RequiredArgsConstructor;
+import java.time.Clock;
 
 @AutoConfiguration(after = R2dbcReactiveJooqAutoConfiguration.class)
 @RequiredArgsConstructor
 @ConditionalOnBean(ReactiveJooq.class)
+@EnableConfigurationProperties(ReactiveOrderStorageR2DBCAutoConfiguration.Properties.class)
 public class ReactiveOrderStorageR2DBCAutoConfiguration {
     private final ReactiveJooq jooq;
+    private final Properties properties;
 
     @Bean
     @ConditionalOnMissingBean(ReactiveOrderStorage.class)
     public ReactiveOrderStorage reactiveOrderStorage(TraceService traceService) {
-        return new ReactiveOrderStorageR2dbc(jooq, traceService);
+        return new ReactiveOrderStorageR2dbc(jooq, traceService, properties.readStrategy());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(ReactiveTwoPhaseCommitDecisionStorage.class)
+    public ReactiveTwoPhaseCommitDecisionStorage reactiveTwoPhaseCommitDecisionStorage() {
+        return new ReactiveTwoPhaseCommitDecisionStorageR2dbc(jooq, Clock.systemDefaultZone());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(ReactiveTwoPhaseCommitCoordinatorStorage.class)
+    public ReactiveTwoPhaseCommitCoordinatorStorage reactiveTwoPhaseCommitCoordinatorStorage() {
+        return new ReactiveTwoPhaseCommitCoordinatorStorageR2dbc(jooq, Clock.systemDefaultZone());
+    }
+
+    @ConfigurationProperties("service.orders.storage")
+    public record Properties(@DefaultValue("TWO_QUERIES") OrderReadStrategy readStrategy) {
     }
 }
@@ -2,9 +2,11 @@ package io.github.m4gshm.orders.data.storage;
 
 import io.github.m4gshm.orders.data.access.jooq.enums.OrderStatus;
 import io.github.m4gshm.orders.data.model.Order;
+import io.github.m4gshm.orders.data.model.OrderCursor;
 import io.github.m4gshm.storage.Page;
 import io.github.m4gshm.storage.ReactiveCrudStorage;
 import io.github.m4gshm.storage.ReactivePageableReadOperations;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.Collection;
@@ -15,7 +17,15 @@ public interface ReactiveOrderStorage extends ReactiveCrudStorage<Order, String>
 
     Mono<List<Order>> findAll(Page page, OrderStatus status);
 
+    Mono<List<Order>> findAllAfter(OrderCursor after, int size, OrderStatus status);
+
+    // emits orders on demand of the subscriber, items are not loaded
+    Flux<Order> streamAll(OrderStatus status);
+
     Mono<List<Order>> findByClientIdAndStatuses(String clientId, Collection<OrderStatus> statuses);
 
     Mono<Order> saveOrderOnly(Order order);
+
+    // changes only the status if the order is still in the read status and version, emits false otherwise
+    Mono<Boolean> updateStatus(Order order, OrderStatus status);
 }
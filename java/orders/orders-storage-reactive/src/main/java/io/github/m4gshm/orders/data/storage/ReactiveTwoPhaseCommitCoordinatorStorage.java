@@ -0,0 +1,17 @@
+package io.github.m4gshm.orders.data.storage;
+
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.Set;
+
+public interface ReactiveTwoPhaseCommitCoordinatorStorage {
+
+    Mono<Void> heartbeat(String coordinatorId, Collection<String> transactionIds);
+
+    // the transactions of the coordinators that have sent a heartbeat since the time
+    Mono<Set<String>> findCoordinated(OffsetDateTime aliveAfter);
+
+    Mono<Integer> deleteBefore(OffsetDateTime before);
+}
@@ -0,0 +1,18 @@
+package io.github.m4gshm.orders.data.storage;
+
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.Set;
+
+public interface ReactiveTwoPhaseCommitDecisionStorage {
+
+    Mono<Void> saveCommit(String orderId, Collection<String> transactionIds);
+
+    Mono<Set<String>> findCommitted(Collection<String> transactionIds);
+
+    Mono<Void> delete(Collection<String> transactionIds);
+
+    Mono<Integer> deleteResolvedBefore(OffsetDateTime before, Collection<String> activeTransactionIds);
+}
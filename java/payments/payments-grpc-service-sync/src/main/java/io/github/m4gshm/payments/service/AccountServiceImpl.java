@@ -15,8 +15,10 @@ import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import static io.github.m4gshm.protobuf.TimestampUtils.toTimestamp;
+import static java.util.Objects.requireNonNull;
 import static lombok.AccessLevel.PRIVATE;
 
 @Slf4j
@@ -28,6 +30,7 @@ public class AccountServiceImpl extends AccountServiceImplBase {
     Grpc grpc;
     AccountStorage reactiveAccountStorage;
     AccountEventService accountEventService;
+    TransactionTemplate transactionTemplate;
 
     @Override
     public void list(AccountListRequest request,
@@ -51,12 +54,12 @@ public class AccountServiceImpl extends AccountServiceImplBase {
             var topUp = request.getTopUp();
             var plus = topUp.getAmount();
             var clientId = topUp.getClientId();
-            var result = reactiveAccountStorage.addAmount(clientId, plus);
-            try {
-                accountEventService.sendAccountBalanceEvent(clientId, result.balance(), result.timestamp());
-            } catch (Exception e) {
-                log.error("event send error", e);
-            }
+            // the event is stored in the outbox with the balance change, the relay publishes it after the commit
+            var result = requireNonNull(transactionTemplate.execute(_ -> {
+                var balance = reactiveAccountStorage.addAmount(clientId, plus);
+                accountEventService.sendAccountBalanceEvent(clientId, balance.balance(), balance.timestamp());
+                return balance;
+            }));
             return AccountTopUpResponse.newBuilder().setBalance(result.balance()).build();
         });
     }
@@ -13,6 +13,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import payment.v1.PaymentServiceOuterClass.PaymentApproveRequest;
 import payment.v1.PaymentServiceOuterClass.PaymentApproveResponse;
 import payment.v1.PaymentServiceOuterClass.PaymentCancelRequest;
@@ -54,6 +55,7 @@ public class PaymentServiceImpl extends PaymentServiceImplBase {
     AccountStorage accountStorage;
 
     PreparedTransactionService preparedTransactionService;
+    TransactionTemplate transactionTemplate;
 
     private static Payment withStatus(Payment payment, PaymentStatus status) {
         return payment.toBuilder().status(status).build();
@@ -119,10 +121,11 @@ public class PaymentServiceImpl extends PaymentServiceImplBase {
             var preparedTransactionId = getOrNull(request,
                     PaymentCreateRequest::hasPreparedTransactionId,
                     PaymentCreateRequest::getPreparedTransactionId);
-            if (preparedTransactionId != null) {
-                preparedTransactionService.prepare(preparedTransactionId);
-            }
-            paymentStorage.save(payment);
+            // the prepare is the last statement of the transaction of the save
+            transactionTemplate.executeWithoutResult(_ -> {
+                paymentStorage.save(payment);
+                prepare(preparedTransactionId);
+            });
             return response;
         });
     }
@@ -175,12 +178,22 @@ public class PaymentServiceImpl extends PaymentServiceImplBase {
                                     BiFunction<Payment, Account, T> routine
     ) {
         grpc.subscribe("paymentAccount", responseObserver, () -> {
-            if (preparedTransactionId != null) {
-                preparedTransactionService.prepare(preparedTransactionId);
-            }
-            var payment = paymentStorage.getById(paymentId);
-            checkStatus(opName, "payment", paymentId, payment.status(), expected, null);
-            return routine.apply(payment, accountStorage.getById(payment.clientId()));
+            // the read, the account changes and the versioned save are one transaction,
+            // so a concurrent call that loses the version check rolls back its account changes;
+            // the prepare is its last statement
+            return transactionTemplate.execute(_ -> {
+                var payment = paymentStorage.getById(paymentId);
+                checkStatus(opName, "payment", paymentId, payment.status(), expected, null);
+                var result = routine.apply(payment, accountStorage.getById(payment.clientId()));
+                prepare(preparedTransactionId);
+                return result;
+            });
         });
     }
+
+    private void prepare(String preparedTransactionId) {
+        if (preparedTransactionId != null) {
+            preparedTransactionService.prepare(preparedTransactionId);
+        }
+    }
 }
@@ -0,0 +1,82 @@
+package io.github.m4gshm.payments.service.event;
+
+import io.github.m4gshm.payments.data.AccountEventOutboxStorage;
+import io.github.m4gshm.payments.data.model.AccountEvent;
+import io.github.m4gshm.payments.event.model.AccountBalanceEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static lombok.AccessLevel.PRIVATE;
+
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = PRIVATE)
+public class KafkaAccountEventRelay {
+    KafkaTemplate<String, AccountBalanceEvent> sender;
+    String topicName;
+    AccountEventOutboxStorage outboxStorage;
+    TransactionTemplate transactionTemplate;
+    int batchSize;
+    Duration sendTimeout;
+
+    private static AccountBalanceEvent toAccountBalanceEvent(AccountEvent event) {
+        return AccountBalanceEvent.builder()
+                .requestId(event.requestId())
+                .clientId(event.clientId())
+                .balance(event.balance())
+                .timestamp(event.updatedAt())
+                .build();
+    }
+
+    @SneakyThrows
+    private static void await(List<? extends CompletableFuture<?>> sends, Duration timeout) {
+        CompletableFuture.allOf(sends.toArray(new CompletableFuture<?>[0])).get(timeout.toMillis(), MILLISECONDS);
+    }
+
+    @Scheduled(fixedDelayString = "${service.kafka.account.outbox.interval:100ms}")
+    public void scheduledRelay() {
+        try {
+            // a full batch means the outbox may have more events
+            while (relay() == batchSize) {
+                log.trace("relay next account events batch");
+            }
+        } catch (Exception e) {
+            log.error("account events relay error", e);
+        }
+    }
+
+    // sends the batch asynchronously and removes it from the outbox in one transaction;
+    // a failed send rolls the removal back, so an event is published at least once.
+    // the relay lock serializes the replicas, so the events of a client are sent in the outbox order;
+    // it is held up to send-timeout per batch, the other replicas skip the run instead of waiting
+    public int relay() {
+        return requireNonNull(transactionTemplate.execute(_ -> {
+            if (!outboxStorage.tryLockRelay()) {
+                log.trace("account events are relayed by another replica");
+                return 0;
+            }
+            var events = outboxStorage.findOldestForUpdate(batchSize);
+            if (events.isEmpty()) {
+                return 0;
+            }
+            // the client id key keeps the balance events of a client in order within a partition
+            await(events.stream()
+                    .map(event -> sender.send(topicName, event.clientId(), toAccountBalanceEvent(event)))
+                    .toList(), sendTimeout);
+            var deleted = outboxStorage.delete(events.stream().map(AccountEvent::id).toList());
+            log.debug("account events relayed {}", deleted);
+            return events.size();
+        }));
+    }
+}
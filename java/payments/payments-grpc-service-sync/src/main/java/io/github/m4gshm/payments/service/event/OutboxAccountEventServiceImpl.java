@@ -0,0 +1,31 @@
+package io.github.m4gshm.payments.service.event;
+
+import io.github.m4gshm.payments.data.AccountEventOutboxStorage;
+import io.github.m4gshm.payments.data.model.AccountEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import static lombok.AccessLevel.PRIVATE;
+
+// stores the event in the transaction of the balance change, KafkaAccountEventRelay publishes it after the commit
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = PRIVATE)
+public class OutboxAccountEventServiceImpl implements AccountEventService {
+
+    AccountEventOutboxStorage outboxStorage;
+
+    @Override
+    public void sendAccountBalanceEvent(String clientId, double balance, OffsetDateTime timestamp) {
+        outboxStorage.save(AccountEvent.builder()
+                .requestId(UUID.randomUUID().toString())
+                .clientId(clientId)
+                .balance(balance)
+                .updatedAt(timestamp)
+                .build());
+    }
+}
@@ -1,8 +1,10 @@
 package io.github.m4gshm.payments.service.event.config;
 
+import io.github.m4gshm.payments.data.AccountEventOutboxStorage;
 import io.github.m4gshm.payments.event.model.AccountBalanceEvent;
 import io.github.m4gshm.payments.service.event.AccountEventService;
-import io.github.m4gshm.payments.service.event.KafkaAccountEventServiceImpl;
+import io.github.m4gshm.payments.service.event.KafkaAccountEventRelay;
+import io.github.m4gshm.payments.service.event.OutboxAccountEventServiceImpl;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -13,14 +15,21 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+
+@EnableScheduling
 @RequiredArgsConstructor
 @Configuration
-@EnableConfigurationProperties(KafkaAccountEventServiceImplConfiguration.Properties.class)
-public class KafkaAccountEventServiceImplConfiguration {
+@EnableConfigurationProperties(AccountEventServiceConfiguration.Properties.class)
+public class AccountEventServiceConfiguration {
 
     private final KafkaProperties kafkaProperties;
     private final Properties properties;
+    private final AccountEventOutboxStorage outboxStorage;
 
     @Bean
     public ProducerFactory<String, AccountBalanceEvent> producerFactory() {
@@ -34,15 +43,35 @@ public class KafkaAccountEventServiceImplConfiguration {
 
     @Bean
     public AccountEventService accountEventService() {
-        return new KafkaAccountEventServiceImpl(kafkaTemplate(), properties.topic.name);
+        return new OutboxAccountEventServiceImpl(outboxStorage);
+    }
+
+    @Bean
+    public KafkaAccountEventRelay kafkaAccountEventRelay(PlatformTransactionManager transactionManager) {
+        var outbox = properties.outbox;
+        return new KafkaAccountEventRelay(
+                kafkaTemplate(),
+                properties.topic.name,
+                outboxStorage,
+                new TransactionTemplate(transactionManager),
+                outbox.batchSize,
+                outbox.sendTimeout
+        );
     }
 
     @ConfigurationProperties("service.kafka.account")
-    public record Properties(@DefaultValue Topic topic) {
+    public record Properties(@DefaultValue Topic topic, @DefaultValue Outbox outbox) {
         public record Topic(
                             @DefaultValue("balance") String name,
                             @DefaultValue("1") Integer partitions,
                             @DefaultValue("1") Integer replicas) {
         }
+
+        // interval is read by the @Scheduled placeholder of the relay
+        public record Outbox(
+                             @DefaultValue("100ms") Duration interval,
+                             @DefaultValue("500") int batchSize,
+                             @DefaultValue("10s") Duration sendTimeout) {
+        }
     }
 }
@@ -0,0 +1,19 @@
+package io.github.m4gshm.payments.data;
+
+import io.github.m4gshm.payments.data.model.AccountEvent;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface AccountEventOutboxStorage {
+    // must be called in the transaction of the balance change
+    void save(AccountEvent event);
+
+    // takes the relay lock until the end of the current transaction, false when another relay holds it
+    boolean tryLockRelay();
+
+    // locks the oldest events until the end of the current transaction
+    List<AccountEvent> findOldestForUpdate(int limit);
+
+    int delete(Collection<Long> ids);
+}
@@ -0,0 +1,148 @@
+package io.github.m4gshm.payments.data.jdbc;
+
+import io.github.m4gshm.payments.data.AccountBucketStorageUtils;
+import io.github.m4gshm.payments.data.AccountBucketStorageUtils.Balance;
+import io.github.m4gshm.payments.data.AccountStorage;
+import io.github.m4gshm.payments.data.BalanceResult;
+import io.github.m4gshm.payments.data.InvalidUnlockFundValueException;
+import io.github.m4gshm.payments.data.LockResult;
+import io.github.m4gshm.payments.data.WriteOffException;
+import io.github.m4gshm.payments.data.model.Account;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.DSLContext;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static io.github.m4gshm.payments.data.AccountBucketStorageUtils.deleteBucketsFrom;
+import static io.github.m4gshm.payments.data.AccountBucketStorageUtils.distribute;
+import static io.github.m4gshm.payments.data.AccountBucketStorageUtils.resetAccountBalance;
+import static io.github.m4gshm.payments.data.AccountBucketStorageUtils.selectBucketedAccounts;
+import static io.github.m4gshm.payments.data.AccountBucketStorageUtils.selectBucketsForUpdate;
+import static io.github.m4gshm.payments.data.AccountBucketStorageUtils.toBucketedAccount;
+import static io.github.m4gshm.payments.data.AccountBucketStorageUtils.total;
+import static io.github.m4gshm.payments.data.AccountBucketStorageUtils.updateAnyBucket;
+import static io.github.m4gshm.payments.data.AccountBucketStorageUtils.upsertBucket;
+import static io.github.m4gshm.payments.data.AccountStorageUtils.selectForUpdate;
+import static io.github.m4gshm.storage.UpdateUtils.notFound;
+import static lombok.AccessLevel.PRIVATE;
+import static payments.data.access.jooq.Tables.ACCOUNT;
+import static payments.data.access.jooq.Tables.ACCOUNT_BUCKET;
+
+// spreads the balance of a client over several account_bucket rows, so concurrent payments of one client
+// lock different rows; a bucket that cannot take a change triggers the rebalance of all buckets of the client
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = PRIVATE)
+public class AccountBucketStorageImpl implements AccountStorage {
+    @Getter
+    Class<Account> entityClass = Account.class;
+    DSLContext dsl;
+    int buckets;
+
+    private static Account getAccount(DSLContext dsl, String clientId) {
+        var record = selectBucketedAccounts(dsl).where(ACCOUNT.CLIENT_ID.eq(clientId)).fetchOne();
+        if (record == null) {
+            throw notFound("account", clientId);
+        }
+        return toBucketedAccount(record);
+    }
+
+    @Override
+    public BalanceResult addAmount(String clientId, double replenishment) {
+        return dsl.transactionResult(configuration -> {
+            var balance = rebalance(configuration.dsl(), clientId, replenishment, 0).available();
+            if (balance < 0) {
+                throw new IllegalStateException("balance overflow " + balance
+                        + " with replenishment "
+                        + replenishment);
+            }
+            return BalanceResult.builder().balance(balance).timestamp(OffsetDateTime.now()).build();
+        });
+    }
+
+    @Override
+    public LockResult addLock(String clientId, @Positive double amount) {
+        var balance = dsl.transactionResult(configuration -> apply(configuration.dsl(), clientId, 0, amount));
+        var result = LockResult.builder();
+        return balance.isValid()
+                ? result.success(true).build()
+                : result.success(false).insufficientAmount(-balance.available()).build();
+    }
+
+    @Override
+    public List<Account> findAll() {
+        return selectBucketedAccounts(dsl).stream().map(AccountBucketStorageUtils::toBucketedAccount).toList();
+    }
+
+    @Override
+    public Account findById(String clientId) {
+        return getAccount(dsl, clientId);
+    }
+
+    @Override
+    public void unlock(String clientId, @Positive double amount) throws InvalidUnlockFundValueException {
+        var balance = dsl.transactionResult(configuration -> apply(configuration.dsl(), clientId, 0, -amount));
+        if (!balance.isValid()) {
+            throw new InvalidUnlockFundValueException(clientId, amount, balance.locked() + amount);
+        }
+    }
+
+    @Override
+    public BalanceResult writeOff(String clientId, @Positive double amount) throws WriteOffException {
+        return dsl.transactionResult(configuration -> {
+            var dsl = configuration.dsl();
+            var balance = apply(dsl, clientId, -amount, -amount);
+            if (!balance.isValid()) {
+                double newLocked = balance.locked();
+                double newAmount = balance.amount();
+                throw new WriteOffException(
+                        clientId,
+                        newLocked < 0 ? -newLocked : 0,
+                        newAmount < 0 ? -newAmount : 0
+                );
+            }
+            // the fast path knows only its own bucket
+            return BalanceResult.builder().balance(getAccount(dsl, clientId).amount()).build();
+        });
+    }
+
+    // returns the balance after the change, an invalid balance means the change was not applied
+    private Balance apply(DSLContext dsl, String clientId, double deltaAmount, double deltaLocked) {
+        var bucket = updateAnyBucket(dsl, clientId, deltaAmount, deltaLocked, true).fetchOne();
+        if (bucket == null) {
+            // all suitable buckets are locked by concurrent transactions, wait for any of them
+            bucket = updateAnyBucket(dsl, clientId, deltaAmount, deltaLocked, false).fetchOne();
+        }
+        return bucket != null
+                ? new Balance(bucket.get(ACCOUNT_BUCKET.AMOUNT), bucket.get(ACCOUNT_BUCKET.LOCKED))
+                : rebalance(dsl, clientId, deltaAmount, deltaLocked);
+    }
+
+    private Balance rebalance(DSLContext dsl, String clientId, double deltaAmount, double deltaLocked) {
+        var account = selectForUpdate(dsl, clientId).fetchOne();
+        if (account == null) {
+            throw notFound("account", clientId);
+        }
+        var accountBalance = new Balance(account.get(ACCOUNT.AMOUNT), account.get(ACCOUNT.LOCKED));
+        var balance = total(accountBalance, selectBucketsForUpdate(dsl, clientId).fetch())
+                .plus(deltaAmount, deltaLocked);
+        if (balance.isValid()) {
+            var updatedAt = OffsetDateTime.now();
+            var distributed = distribute(balance, buckets);
+            for (var bucket = 0; bucket < distributed.size(); bucket++) {
+                upsertBucket(dsl, clientId, bucket, distributed.get(bucket), updatedAt).execute();
+            }
+            deleteBucketsFrom(dsl, clientId, buckets).execute();
+            resetAccountBalance(dsl, clientId).execute();
+        } else {
+            log.debug("account rebalance is not applicable: clientId [{}], amount [{}], locked [{}]",
+                    clientId, balance.amount(), balance.locked());
+        }
+        return balance;
+    }
+}
@@ -0,0 +1,48 @@
+package io.github.m4gshm.payments.data.jdbc;
+
+import io.github.m4gshm.payments.data.AccountEventOutboxStorage;
+import io.github.m4gshm.payments.data.AccountEventOutboxStorageUtils;
+import io.github.m4gshm.payments.data.model.AccountEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.DSLContext;
+
+import java.util.Collection;
+import java.util.List;
+
+import static io.github.m4gshm.payments.data.AccountEventOutboxStorageUtils.deleteAccountEvents;
+import static io.github.m4gshm.payments.data.AccountEventOutboxStorageUtils.insertAccountEvent;
+import static io.github.m4gshm.payments.data.AccountEventOutboxStorageUtils.selectAccountEventsForUpdate;
+import static io.github.m4gshm.payments.data.AccountEventOutboxStorageUtils.selectTryRelayLock;
+import static java.lang.Boolean.TRUE;
+import static lombok.AccessLevel.PRIVATE;
+
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = PRIVATE)
+public class AccountEventOutboxStorageImpl implements AccountEventOutboxStorage {
+    DSLContext dsl;
+
+    @Override
+    public void save(AccountEvent event) {
+        insertAccountEvent(dsl, event).execute();
+    }
+
+    @Override
+    public boolean tryLockRelay() {
+        return TRUE.equals(dsl.fetchValue(selectTryRelayLock(dsl)));
+    }
+
+    @Override
+    public List<AccountEvent> findOldestForUpdate(int limit) {
+        return selectAccountEventsForUpdate(dsl, limit).stream()
+                .map(AccountEventOutboxStorageUtils::toAccountEvent)
+                .toList();
+    }
+
+    @Override
+    public int delete(Collection<Long> ids) {
+        return ids.isEmpty() ? 0 : deleteAccountEvents(dsl, ids).execute();
+    }
+}
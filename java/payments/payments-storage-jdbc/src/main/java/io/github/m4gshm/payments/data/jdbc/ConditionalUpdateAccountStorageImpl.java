@@ -0,0 +1,108 @@
+package io.github.m4gshm.payments.data.jdbc;
+
+import io.github.m4gshm.payments.data.AccountStorage;
+import io.github.m4gshm.payments.data.AccountStorageUtils;
+import io.github.m4gshm.payments.data.BalanceResult;
+import io.github.m4gshm.payments.data.InvalidUnlockFundValueException;
+import io.github.m4gshm.payments.data.LockResult;
+import io.github.m4gshm.payments.data.WriteOffException;
+import io.github.m4gshm.payments.data.model.Account;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.DSLContext;
+import org.jooq.Record2;
+
+import java.util.List;
+
+import static io.github.m4gshm.payments.data.AccountStorageUtils.selectAccountById;
+import static io.github.m4gshm.payments.data.AccountStorageUtils.selectBalance;
+import static io.github.m4gshm.payments.data.AccountStorageUtils.toAccount;
+import static io.github.m4gshm.payments.data.AccountStorageUtils.updateAccountAddAmount;
+import static io.github.m4gshm.payments.data.AccountStorageUtils.updateAccountLockIfAvailable;
+import static io.github.m4gshm.payments.data.AccountStorageUtils.updateAccountUnlockIfLocked;
+import static io.github.m4gshm.payments.data.AccountStorageUtils.updateAccountWriteOffIfLocked;
+import static io.github.m4gshm.storage.UpdateUtils.notFound;
+import static lombok.AccessLevel.PRIVATE;
+import static payments.data.access.jooq.Tables.ACCOUNT;
+
+// checks and changes the balance by one UPDATE statement; the balance is read only to describe a failed check
+// and may already differ from the one the update has seen
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = PRIVATE)
+public class ConditionalUpdateAccountStorageImpl implements AccountStorage {
+    @Getter
+    Class<Account> entityClass = Account.class;
+    DSLContext dsl;
+
+    private static <T> T checkFound(String clientId, T account) {
+        if (account == null) {
+            throw notFound("account", clientId);
+        }
+        return account;
+    }
+
+    private Record2<Double, Double> getBalance(String clientId) {
+        return checkFound(clientId, selectBalance(dsl, clientId).fetchOne());
+    }
+
+    @Override
+    public BalanceResult addAmount(String clientId, double replenishment) {
+        var accountRecord = checkFound(clientId, updateAccountAddAmount(dsl, clientId, replenishment).fetchOne());
+        var balance = accountRecord.get(ACCOUNT.AMOUNT) - accountRecord.get(ACCOUNT.LOCKED);
+        if (balance < 0) {
+            throw new IllegalStateException("balance overflow " + balance
+                    + " with replenishment "
+                    + replenishment);
+        }
+        var timestamp = accountRecord.get(ACCOUNT.UPDATED_AT);
+        return BalanceResult.builder().balance(balance).timestamp(timestamp).build();
+    }
+
+    @Override
+    public LockResult addLock(String clientId, @Positive double amount) {
+        var result = LockResult.builder();
+        if (updateAccountLockIfAvailable(dsl, clientId, amount).fetchOne() != null) {
+            return result.success(true).build();
+        }
+        var balance = getBalance(clientId);
+        var newLocked = balance.get(ACCOUNT.LOCKED) + amount;
+        return result.success(false).insufficientAmount(newLocked - balance.get(ACCOUNT.AMOUNT)).build();
+    }
+
+    @Override
+    public List<Account> findAll() {
+        return AccountStorageUtils.selectAccounts(dsl).stream().map(AccountStorageUtils::toAccount).toList();
+    }
+
+    @Override
+    public Account findById(String clientId) {
+        return toAccount(checkFound(clientId, selectAccountById(dsl, clientId).fetchOne()));
+    }
+
+    @Override
+    public void unlock(String clientId, @Positive double amount) throws InvalidUnlockFundValueException {
+        if (updateAccountUnlockIfLocked(dsl, clientId, amount).fetchOne() == null) {
+            throw new InvalidUnlockFundValueException(clientId, amount, getBalance(clientId).get(ACCOUNT.LOCKED));
+        }
+    }
+
+    @Override
+    public BalanceResult writeOff(String clientId, @Positive double amount) throws WriteOffException {
+        var record = updateAccountWriteOffIfLocked(dsl, clientId, amount).fetchOne();
+        if (record == null) {
+            var balance = getBalance(clientId);
+            double newLocked = balance.get(ACCOUNT.LOCKED) - amount;
+            double newAmount = balance.get(ACCOUNT.AMOUNT) - amount;
+            throw new WriteOffException(
+                    clientId,
+                    newLocked < 0 ? -newLocked : 0,
+                    newAmount < 0 ? -newAmount : 0
+            );
+        }
+        return BalanceResult.builder().balance(record.get(ACCOUNT.AMOUNT)).build();
+    }
+}
@@ -52,6 +52,6 @@ public class PaymentStorageImpl implements PaymentStorage {
     public Payment save(@Valid Payment payment) {
         var count = upsertPayment(payment, dsl).execute();
 //        log.debug("stored payment rows {}", count);
-        return UpdateUtils.checkUpdateCount(count, "payment", payment.id(), () -> payment);
+        return UpdateUtils.checkVersion(count, "payment", payment.id(), payment.version(), () -> payment);
     }
 }
@@ -0,0 +1,19 @@
+package io.github.m4gshm.payments.data.jdbc.config;
+
+import io.github.m4gshm.payments.data.AccountEventOutboxStorage;
+import io.github.m4gshm.payments.data.jdbc.AccountEventOutboxStorageImpl;
+import lombok.RequiredArgsConstructor;
+import org.jooq.DSLContext;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.context.annotation.Bean;
+
+@AutoConfiguration
+@RequiredArgsConstructor
+public class AccountEventOutboxStorageImplAutoConfiguration {
+    private final DSLContext dsl;
+
+    @Bean
+    public AccountEventOutboxStorage accountEventOutboxStorage() {
+        return new AccountEventOutboxStorageImpl(dsl);
+    }
+}
@@ -1,19 +1,39 @@
 package io.github.m4gshm.payments.data.jdbc.config;
 
 import io.github.m4gshm.payments.data.AccountStorage;
+import io.github.m4gshm.payments.data.AccountUpdateStrategy;
+import io.github.m4gshm.payments.data.jdbc.AccountBucketStorageImpl;
 import io.github.m4gshm.payments.data.jdbc.AccountStorageImpl;
+import io.github.m4gshm.payments.data.jdbc.ConditionalUpdateAccountStorageImpl;
 import lombok.RequiredArgsConstructor;
 import org.jooq.DSLContext;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
 import org.springframework.context.annotation.Bean;
 
 @AutoConfiguration
 @RequiredArgsConstructor
+@EnableConfigurationProperties(AccountStorageImplAutoConfiguration.Properties.class)
 public class AccountStorageImplAutoConfiguration {
     private final DSLContext dsl;
+    private final Properties properties;
 
     @Bean
     public AccountStorage accountStorage() {
-        return new AccountStorageImpl(dsl);
+        var buckets = properties.buckets();
+        if (buckets > 1) {
+            return new AccountBucketStorageImpl(dsl, buckets);
+        }
+        return switch (properties.updateStrategy()) {
+            case SELECT_FOR_UPDATE -> new AccountStorageImpl(dsl);
+            case CONDITIONAL_UPDATE -> new ConditionalUpdateAccountStorageImpl(dsl);
+        };
+    }
+
+    @ConfigurationProperties("service.payments.account")
+    public record Properties(@DefaultValue("1") int buckets,
+                             @DefaultValue("SELECT_FOR_UPDATE") AccountUpdateStrategy updateStrategy) {
     }
 }
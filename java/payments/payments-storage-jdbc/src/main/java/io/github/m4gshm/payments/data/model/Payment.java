@@ -17,7 +17,9 @@ public record Payment(
                       @Positive Double amount,
                       @Positive Double insufficient,
                       OffsetDateTime createdAt,
-                      OffsetDateTime updatedAt) {
+                      OffsetDateTime updatedAt,
+                      // optimistic lock version, null for a payment that has not been read from the storage
+                      Long version) {
 
 //    public enum Status implements EnumWithCode<Status> {
 //            CREATED,
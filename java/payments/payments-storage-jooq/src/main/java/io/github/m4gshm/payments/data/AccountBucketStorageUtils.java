@@ -0,0 +1,176 @@
+package io.github.m4gshm.payments.data;
+
+import io.github.m4gshm.payments.data.model.Account;
+import lombok.experimental.UtilityClass;
+import org.jooq.DSLContext;
+import org.jooq.DeleteConditionStep;
+import org.jooq.Field;
+import org.jooq.InsertOnDuplicateSetMoreStep;
+import org.jooq.Record;
+import org.jooq.Record1;
+import org.jooq.Record2;
+import org.jooq.Record4;
+import org.jooq.Select;
+import org.jooq.SelectForUpdateOfStep;
+import org.jooq.SelectOnConditionStep;
+import org.jooq.Table;
+import org.jooq.UpdateConditionStep;
+import org.jooq.UpdateResultStep;
+import payments.data.access.jooq.tables.records.AccountBucketRecord;
+import payments.data.access.jooq.tables.records.AccountRecord;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.jooq.impl.DSL.coalesce;
+import static org.jooq.impl.DSL.excluded;
+import static org.jooq.impl.DSL.greatest;
+import static org.jooq.impl.DSL.inline;
+import static org.jooq.impl.DSL.max;
+import static org.jooq.impl.DSL.name;
+import static org.jooq.impl.DSL.rand;
+import static org.jooq.impl.DSL.select;
+import static org.jooq.impl.DSL.sum;
+import static payments.data.access.jooq.Tables.ACCOUNT;
+import static payments.data.access.jooq.Tables.ACCOUNT_BUCKET;
+
+// bucketed layout: the balance of a client is the sum of its account row and its account_bucket rows
+@UtilityClass
+public class AccountBucketStorageUtils {
+    private static final Table<Record4<String, Double, Double, OffsetDateTime>> BUCKET_SUM = select(
+            ACCOUNT_BUCKET.CLIENT_ID,
+            sum(ACCOUNT_BUCKET.AMOUNT).cast(Double.class).as(ACCOUNT_BUCKET.AMOUNT.getName()),
+            sum(ACCOUNT_BUCKET.LOCKED).cast(Double.class).as(ACCOUNT_BUCKET.LOCKED.getName()),
+            max(ACCOUNT_BUCKET.UPDATED_AT).as(ACCOUNT_BUCKET.UPDATED_AT.getName())
+    )
+            .from(ACCOUNT_BUCKET)
+            .groupBy(ACCOUNT_BUCKET.CLIENT_ID)
+            .asTable("bucket_sum");
+    private static final Field<Double> TOTAL_AMOUNT = ACCOUNT.AMOUNT
+            .plus(coalesce(BUCKET_SUM.field(ACCOUNT_BUCKET.AMOUNT), inline(0.0)))
+            .as(name("total_amount"));
+    private static final Field<Double> TOTAL_LOCKED = ACCOUNT.LOCKED
+            .plus(coalesce(BUCKET_SUM.field(ACCOUNT_BUCKET.LOCKED), inline(0.0)))
+            .as(name("total_locked"));
+    private static final Field<OffsetDateTime> LAST_UPDATED_AT = greatest(ACCOUNT.UPDATED_AT,
+            BUCKET_SUM.field(ACCOUNT_BUCKET.UPDATED_AT))
+            .as(name("last_updated_at"));
+
+    // one statement, so the sums come from one snapshot even while buckets are changed concurrently
+    public static SelectOnConditionStep<Record> selectBucketedAccounts(DSLContext dsl) {
+        return dsl.select(ACCOUNT.CLIENT_ID, TOTAL_AMOUNT, TOTAL_LOCKED, LAST_UPDATED_AT)
+                .from(ACCOUNT)
+                .leftJoin(BUCKET_SUM)
+                .on(BUCKET_SUM.field(ACCOUNT_BUCKET.CLIENT_ID).eq(ACCOUNT.CLIENT_ID));
+    }
+
+    public static Account toBucketedAccount(Record record) {
+        return Account.builder()
+                .clientId(record.get(ACCOUNT.CLIENT_ID))
+                .amount(record.get(TOTAL_AMOUNT))
+                .locked(record.get(TOTAL_LOCKED))
+                .updatedAt(record.get(LAST_UPDATED_AT))
+                .build();
+    }
+
+    // takes the delta on a single bucket that keeps 0 <= locked <= amount, concurrent callers spread over buckets
+    public static UpdateResultStep<AccountBucketRecord> updateAnyBucket(DSLContext dsl,
+                                                                        String clientId,
+                                                                        double deltaAmount,
+                                                                        double deltaLocked,
+                                                                        boolean skipLocked) {
+        var bucket = ACCOUNT_BUCKET.as("candidate");
+        var candidate = dsl.select(bucket.BUCKET)
+                .from(bucket)
+                .where(bucket.CLIENT_ID.eq(clientId))
+                .and(bucket.LOCKED.plus(deltaLocked).ge(0.0))
+                .and(bucket.AMOUNT.plus(deltaAmount).ge(bucket.LOCKED.plus(deltaLocked)))
+                .orderBy(rand())
+                .limit(1)
+                .forNoKeyUpdate();
+        Select<Record1<Integer>> bucketToUpdate = skipLocked ? candidate.skipLocked() : candidate;
+        return dsl.update(ACCOUNT_BUCKET)
+                .set(ACCOUNT_BUCKET.AMOUNT, ACCOUNT_BUCKET.AMOUNT.plus(deltaAmount))
+                .set(ACCOUNT_BUCKET.LOCKED, ACCOUNT_BUCKET.LOCKED.plus(deltaLocked))
+                .set(ACCOUNT_BUCKET.UPDATED_AT, OffsetDateTime.now())
+                .where(ACCOUNT_BUCKET.CLIENT_ID.eq(clientId))
+                .and(ACCOUNT_BUCKET.BUCKET.eq(bucketToUpdate))
+                .returning(ACCOUNT_BUCKET.AMOUNT, ACCOUNT_BUCKET.LOCKED);
+    }
+
+    public static SelectForUpdateOfStep<Record2<Double, Double>> selectBucketsForUpdate(DSLContext dsl,
+                                                                                       String clientId) {
+        return dsl.select(ACCOUNT_BUCKET.AMOUNT, ACCOUNT_BUCKET.LOCKED)
+                .from(ACCOUNT_BUCKET)
+                .where(ACCOUNT_BUCKET.CLIENT_ID.eq(clientId))
+                .orderBy(ACCOUNT_BUCKET.BUCKET)
+                .forNoKeyUpdate();
+    }
+
+    public static InsertOnDuplicateSetMoreStep<AccountBucketRecord> upsertBucket(DSLContext dsl,
+                                                                                 String clientId,
+                                                                                 int bucket,
+                                                                                 Balance balance,
+                                                                                 OffsetDateTime updatedAt) {
+        return dsl.insertInto(ACCOUNT_BUCKET)
+                .set(ACCOUNT_BUCKET.CLIENT_ID, clientId)
+                .set(ACCOUNT_BUCKET.BUCKET, bucket)
+                .set(ACCOUNT_BUCKET.AMOUNT, balance.amount())
+                .set(ACCOUNT_BUCKET.LOCKED, balance.locked())
+                .set(ACCOUNT_BUCKET.UPDATED_AT, updatedAt)
+                .onDuplicateKeyUpdate()
+                .set(ACCOUNT_BUCKET.AMOUNT, excluded(ACCOUNT_BUCKET.AMOUNT))
+                .set(ACCOUNT_BUCKET.LOCKED, excluded(ACCOUNT_BUCKET.LOCKED))
+                .set(ACCOUNT_BUCKET.UPDATED_AT, excluded(ACCOUNT_BUCKET.UPDATED_AT));
+    }
+
+    public static DeleteConditionStep<AccountBucketRecord> deleteBucketsFrom(DSLContext dsl,
+                                                                             String clientId,
+                                                                             int bucket) {
+        return dsl.deleteFrom(ACCOUNT_BUCKET)
+                .where(ACCOUNT_BUCKET.CLIENT_ID.eq(clientId))
+                .and(ACCOUNT_BUCKET.BUCKET.ge(bucket));
+    }
+
+    // the account row balance is moved to the buckets on rebalance
+    public static UpdateConditionStep<AccountRecord> resetAccountBalance(DSLContext dsl, String clientId) {
+        return AccountStorageUtils.updateAccountLockedAmount(dsl, clientId, 0, 0);
+    }
+
+    public static Balance total(Balance account, Collection<? extends Record2<Double, Double>> buckets) {
+        var amount = account.amount();
+        var locked = account.locked();
+        for (var bucket : buckets) {
+            amount += bucket.value1();
+            locked += bucket.value2();
+        }
+        return new Balance(amount, locked);
+    }
+
+    // equal shares, the last bucket takes the rounding rest so the sums stay the same
+    public static List<Balance> distribute(Balance total, int count) {
+        var amountShare = total.amount() / count;
+        var lockedShare = total.locked() / count;
+        var last = count - 1;
+        return IntStream.range(0, count).mapToObj(bucket -> bucket < last
+                ? new Balance(amountShare, lockedShare)
+                : new Balance(total.amount() - amountShare * last, total.locked() - lockedShare * last)
+        ).toList();
+    }
+
+    public record Balance(double amount, double locked) {
+        public Balance plus(double deltaAmount, double deltaLocked) {
+            return new Balance(amount + deltaAmount, locked + deltaLocked);
+        }
+
+        public double available() {
+            return amount - locked;
+        }
+
+        public boolean isValid() {
+            return locked >= 0 && locked <= amount;
+        }
+    }
+}
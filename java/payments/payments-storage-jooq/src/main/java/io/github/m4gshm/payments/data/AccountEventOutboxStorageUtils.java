@@ -0,0 +1,59 @@
+package io.github.m4gshm.payments.data;
+
+import io.github.m4gshm.payments.data.model.AccountEvent;
+import lombok.experimental.UtilityClass;
+import org.jooq.DSLContext;
+import org.jooq.DeleteConditionStep;
+import org.jooq.InsertSetMoreStep;
+import org.jooq.Record;
+import org.jooq.Record1;
+import org.jooq.Select;
+import org.jooq.SelectForStep;
+import payments.data.access.jooq.tables.records.AccountEventOutboxRecord;
+
+import java.util.Collection;
+
+import static org.jooq.impl.DSL.field;
+import static payments.data.access.jooq.Tables.ACCOUNT_EVENT_OUTBOX;
+
+@UtilityClass
+public class AccountEventOutboxStorageUtils {
+    public static final String RELAY_LOCK = "payments.account-event-relay";
+
+    public static InsertSetMoreStep<AccountEventOutboxRecord> insertAccountEvent(DSLContext dsl, AccountEvent event) {
+        return dsl.insertInto(ACCOUNT_EVENT_OUTBOX)
+                .set(ACCOUNT_EVENT_OUTBOX.REQUEST_ID, event.requestId())
+                .set(ACCOUNT_EVENT_OUTBOX.CLIENT_ID, event.clientId())
+                .set(ACCOUNT_EVENT_OUTBOX.BALANCE, event.balance())
+                .set(ACCOUNT_EVENT_OUTBOX.UPDATED_AT, event.updatedAt());
+    }
+
+    // a transaction lock taken without waiting, released on commit or rollback
+    public static Select<Record1<Boolean>> selectTryRelayLock(DSLContext dsl) {
+        return dsl.select(field("pg_try_advisory_xact_lock(hashtext({0}))", Boolean.class, RELAY_LOCK));
+    }
+
+    // the oldest events, the rows locked by a concurrent relay are skipped
+    public static SelectForStep<Record> selectAccountEventsForUpdate(DSLContext dsl, int limit) {
+        return dsl.select(ACCOUNT_EVENT_OUTBOX.fields())
+                .from(ACCOUNT_EVENT_OUTBOX)
+                .orderBy(ACCOUNT_EVENT_OUTBOX.ID)
+                .limit(limit)
+                .forUpdate()
+                .skipLocked();
+    }
+
+    public static DeleteConditionStep<AccountEventOutboxRecord> deleteAccountEvents(DSLContext dsl, Collection<Long> ids) {
+        return dsl.deleteFrom(ACCOUNT_EVENT_OUTBOX).where(ACCOUNT_EVENT_OUTBOX.ID.in(ids));
+    }
+
+    public static AccountEvent toAccountEvent(Record record) {
+        return AccountEvent.builder()
+                .id(record.get(ACCOUNT_EVENT_OUTBOX.ID))
+                .requestId(record.get(ACCOUNT_EVENT_OUTBOX.REQUEST_ID))
+                .clientId(record.get(ACCOUNT_EVENT_OUTBOX.CLIENT_ID))
+                .balance(record.get(ACCOUNT_EVENT_OUTBOX.BALANCE))
+                .updatedAt(record.get(ACCOUNT_EVENT_OUTBOX.UPDATED_AT))
+                .build();
+    }
+}
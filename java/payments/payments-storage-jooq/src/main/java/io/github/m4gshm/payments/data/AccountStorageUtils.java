@@ -28,11 +28,15 @@ public class AccountStorageUtils {
         return Query.selectAllFrom(dsl, ACCOUNT);
     }
 
-    public static SelectForUpdateOfStep<Record2<Double, Double>> selectForUpdate(DSLContext dsl, String clientId) {
+    public static SelectConditionStep<Record2<Double, Double>> selectBalance(DSLContext dsl, String clientId) {
         return dsl
                 .select(ACCOUNT.LOCKED, ACCOUNT.AMOUNT)
                 .from(ACCOUNT)
-                .where(ACCOUNT.CLIENT_ID.eq(clientId))
+                .where(ACCOUNT.CLIENT_ID.eq(clientId));
+    }
+
+    public static SelectForUpdateOfStep<Record2<Double, Double>> selectForUpdate(DSLContext dsl, String clientId) {
+        return selectBalance(dsl, clientId)
                 .orderBy(ACCOUNT.CLIENT_ID)
                 .forNoKeyUpdate();
     }
@@ -77,6 +81,35 @@ public class AccountStorageUtils {
                 .where(ACCOUNT.CLIENT_ID.eq(clientId));
     }
 
+    // the conditional updates check and change the balance in one statement, no rows means the check failed
+    public static UpdateResultStep<AccountRecord> updateAccountLockIfAvailable(DSLContext dsl,
+                                                                               String clientId,
+                                                                               double amount) {
+        return updateAccountLock(dsl, clientId, amount)
+                .and(ACCOUNT.AMOUNT.minus(ACCOUNT.LOCKED).ge(amount))
+                .returning(ACCOUNT.AMOUNT, ACCOUNT.LOCKED);
+    }
+
+    public static UpdateResultStep<AccountRecord> updateAccountUnlockIfLocked(DSLContext dsl,
+                                                                              String clientId,
+                                                                              double amount) {
+        return updateAccountUnlock(dsl, clientId, amount)
+                .and(ACCOUNT.LOCKED.ge(amount))
+                .returning(ACCOUNT.AMOUNT, ACCOUNT.LOCKED);
+    }
+
+    public static UpdateResultStep<AccountRecord> updateAccountWriteOffIfLocked(DSLContext dsl,
+                                                                                String clientId,
+                                                                                double amount) {
+        return updateAccount(dsl)
+                .set(ACCOUNT.LOCKED, ACCOUNT.LOCKED.minus(amount))
+                .set(ACCOUNT.AMOUNT, ACCOUNT.AMOUNT.minus(amount))
+                .where(ACCOUNT.CLIENT_ID.eq(clientId))
+                .and(ACCOUNT.LOCKED.ge(amount))
+                .and(ACCOUNT.AMOUNT.ge(amount))
+                .returning(ACCOUNT.AMOUNT, ACCOUNT.LOCKED);
+    }
+
     public static UpdateConditionStep<AccountRecord> updateAccountUnlock(DSLContext dsl,
                                                                          String clientId,
                                                                          double amount) {
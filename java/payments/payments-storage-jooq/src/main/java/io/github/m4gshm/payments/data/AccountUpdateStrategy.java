@@ -0,0 +1,8 @@
+package io.github.m4gshm.payments.data;
+
+public enum AccountUpdateStrategy {
+    // select ... for no key update, check the balance in the service, then update
+    SELECT_FOR_UPDATE,
+    // update ... where <balance check> returning, the row lock is held by one statement only
+    CONDITIONAL_UPDATE
+}
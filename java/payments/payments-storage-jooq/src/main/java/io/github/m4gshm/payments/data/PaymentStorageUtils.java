@@ -5,7 +5,7 @@ import io.github.m4gshm.storage.jooq.Query;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 import org.jooq.DSLContext;
-import org.jooq.InsertOnDuplicateSetMoreStep;
+import org.jooq.InsertReturningStep;
 import org.jooq.Record;
 import org.jooq.SelectConditionStep;
 import org.jooq.SelectJoinStep;
@@ -37,11 +37,13 @@ public class PaymentStorageUtils {
                 .clientId(record.get(Tables.PAYMENT.CLIENT_ID))
                 .createdAt(record.get(Tables.PAYMENT.CREATED_AT))
                 .updatedAt(record.get(Tables.PAYMENT.UPDATED_AT))
+                .version(record.get(Tables.PAYMENT.VERSION))
                 .build();
     }
 
-    public static InsertOnDuplicateSetMoreStep<PaymentRecord> upsertPayment(Payment payment, DSLContext dsl) {
-        return dsl.insertInto(PAYMENT)
+    // a read payment is written only if its version has not been changed since the read
+    public static InsertReturningStep<PaymentRecord> upsertPayment(Payment payment, DSLContext dsl) {
+        var upsert = dsl.insertInto(PAYMENT)
                 .set(PAYMENT.ID, payment.id())
                 .set(PAYMENT.CREATED_AT, orNow(payment.createdAt()))
                 .set(PAYMENT.EXTERNAL_REF, payment.externalRef())
@@ -53,6 +55,9 @@ public class PaymentStorageUtils {
                 .set(PAYMENT.UPDATED_AT, orNow(payment.updatedAt()))
                 .set(PAYMENT.STATUS, DSL.excluded(PAYMENT.STATUS))
                 .set(PAYMENT.AMOUNT, DSL.excluded(PAYMENT.AMOUNT))
-                .set(PAYMENT.INSUFFICIENT, DSL.excluded(PAYMENT.INSUFFICIENT));
+                .set(PAYMENT.INSUFFICIENT, DSL.excluded(PAYMENT.INSUFFICIENT))
+                .set(PAYMENT.VERSION, PAYMENT.VERSION.plus(1));
+        var version = payment.version();
+        return version != null ? upsert.where(PAYMENT.VERSION.eq(version)) : upsert;
     }
 }
@@ -0,0 +1,10 @@
+package io.github.m4gshm.payments.data.model;
+
+import lombok.Builder;
+
+import java.time.OffsetDateTime;
+
+// balance change waiting in the outbox for publishing, id is null until stored
+@Builder(toBuilder = true)
+public record AccountEvent(Long id, String requestId, String clientId, double balance, OffsetDateTime updatedAt) {
+}
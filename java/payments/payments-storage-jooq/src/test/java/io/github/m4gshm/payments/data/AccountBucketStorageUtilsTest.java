@@ -0,0 +1,65 @@
+package io.github.m4gshm.payments.data;
+
+import io.github.m4gshm.payments.data.AccountBucketStorageUtils.Balance;
+import org.jooq.Record2;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static io.github.m4gshm.payments.data.AccountBucketStorageUtils.distribute;
+import static io.github.m4gshm.payments.data.AccountBucketStorageUtils.total;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static payments.data.access.jooq.Tables.ACCOUNT_BUCKET;
+
+public class AccountBucketStorageUtilsTest {
+    private static final double DELTA = 1e-9;
+
+    private static List<Record2<Double, Double>> buckets(List<Balance> balances) {
+        var dsl = DSL.using(SQLDialect.POSTGRES);
+        return balances.stream()
+                .map(b -> dsl.newRecord(ACCOUNT_BUCKET.AMOUNT, ACCOUNT_BUCKET.LOCKED).values(b.amount(), b.locked()))
+                .toList();
+    }
+
+    private static void assertBalance(Balance expected, Balance actual) {
+        assertEquals(expected.amount(), actual.amount(), DELTA, "amount");
+        assertEquals(expected.locked(), actual.locked(), DELTA, "locked");
+    }
+
+    @Test
+    public void testTotal() {
+        var buckets = buckets(List.of(new Balance(10.5, 1), new Balance(20, 0), new Balance(0.25, 0.25)));
+
+        assertBalance(new Balance(130.75, 6.25), total(new Balance(100, 5), buckets));
+        assertBalance(new Balance(100, 5), total(new Balance(100, 5), List.of()));
+    }
+
+    @Test
+    public void testDistributeKeepsTotal() {
+        var total = new Balance(100, 30);
+
+        var buckets = distribute(total, 3);
+
+        assertEquals(3, buckets.size());
+        assertBalance(new Balance(100.0 / 3, 10), buckets.getFirst());
+        assertBalance(total, total(new Balance(0, 0), buckets(buckets)));
+    }
+
+    @Test
+    public void testDistributeKeepsBucketsValid() {
+        for (var total : List.of(new Balance(0, 0), new Balance(1, 0.5), new Balance(100, 99.99), new Balance(0.07, 0.01))) {
+            for (var count = 1; count <= 8; count++) {
+                var buckets = distribute(total, count);
+
+                assertEquals(count, buckets.size());
+                assertBalance(total, total(new Balance(0, 0), buckets(buckets)));
+                for (var bucket : buckets) {
+                    assertTrue(bucket.isValid(), () -> bucket + " of " + total);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package io.github.m4gshm.payments.data.r2dbc;
+
+import io.github.m4gshm.jooq.ReactiveJooq;
+import io.github.m4gshm.payments.data.AccountBucketStorageUtils;
+import io.github.m4gshm.payments.data.AccountBucketStorageUtils.Balance;
+import io.github.m4gshm.payments.data.InvalidUnlockFundValueException;
+import io.github.m4gshm.payments.data.ReactiveAccountStorage;
+import io.github.m4gshm.payments.data.WriteOffException;
+import io.github.m4gshm.payments.data.model.Account;
+import io.github.m4gshm.storage.jooq.ReactiveUpdateUtils;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.DSLContext;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static io.github.m4gshm.payments.data.AccountBucketStorageUtils.deleteBucketsFrom;
+import static io.github.m4gshm.payments.data.AccountBucketStorageUtils.distribute;
+import static io.github.m4gshm.payments.data.AccountBucketStorageUtils.resetAccountBalance;
+import static io.github.m4gshm.payments.data.AccountBucketStorageUtils.selectBucketedAccounts;
+import static io.github.m4gshm.payments.data.AccountBucketStorageUtils.selectBucketsForUpdate;
+import static io.github.m4gshm.payments.data.AccountBucketStorageUtils.total;
+import static io.github.m4gshm.payments.data.AccountBucketStorageUtils.updateAnyBucket;
+import static io.github.m4gshm.payments.data.AccountBucketStorageUtils.upsertBucket;
+import static io.github.m4gshm.payments.data.AccountStorageUtils.selectForUpdate;
+import static lombok.AccessLevel.PRIVATE;
+import static payments.data.access.jooq.Tables.ACCOUNT;
+import static payments.data.access.jooq.Tables.ACCOUNT_BUCKET;
+import static reactor.core.publisher.Mono.error;
+import static reactor.core.publisher.Mono.from;
+import static reactor.core.publisher.Mono.just;
+
+// reactive variant of AccountBucketStorageImpl
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = PRIVATE)
+public class ReactiveAccountBucketStorageR2dbc implements ReactiveAccountStorage {
+    @Getter
+    Class<Account> entityClass = Account.class;
+
+    ReactiveJooq jooq;
+    int buckets;
+
+    private static Mono<Account> getAccount(DSLContext dsl, String clientId) {
+        return from(selectBucketedAccounts(dsl).where(ACCOUNT.CLIENT_ID.eq(clientId)))
+                .map(AccountBucketStorageUtils::toBucketedAccount);
+    }
+
+    @Override
+    public Mono<BalanceResult> addAmount(String clientId, double replenishment) {
+        return jooq.inTransaction("addAmount", dsl -> {
+            return rebalance(dsl, clientId, replenishment, 0).map(result -> {
+                var balance = result.available();
+                if (balance < 0) {
+                    throw new IllegalStateException("balance overflow " + balance
+                            + " with replenishment "
+                            + replenishment);
+                }
+                return BalanceResult.builder().balance(balance).timestamp(OffsetDateTime.now()).build();
+            });
+        });
+    }
+
+    @Override
+    public Mono<LockResult> addLock(String clientId, @Positive double amount) {
+        return jooq.inTransaction("addLock", dsl -> {
+            return apply(dsl, clientId, 0, amount).map(balance -> {
+                var result = LockResult.builder();
+                return balance.isValid()
+                        ? result.success(true).build()
+                        : result.success(false).insufficientAmount(-balance.available()).build();
+            });
+        });
+    }
+
+    @Override
+    public Mono<List<Account>> findAll() {
+        return jooq.supportTransaction("findAll", dsl -> {
+            return Flux.from(selectBucketedAccounts(dsl))
+                    .map(AccountBucketStorageUtils::toBucketedAccount)
+                    .collectList();
+        });
+    }
+
+    @Override
+    public Mono<Account> findById(String id) {
+        return jooq.supportTransaction("findById", dsl -> getAccount(dsl, id));
+    }
+
+    @Override
+    public Mono<Void> unlock(String clientId, @Positive double amount) {
+        return jooq.inTransaction("unlock", dsl -> {
+            return apply(dsl, clientId, 0, -amount).flatMap(balance -> {
+                return balance.isValid()
+                        ? Mono.<Void>empty()
+                        : Mono.<Void>error(new InvalidUnlockFundValueException(clientId, amount, balance.locked() + amount));
+            });
+        });
+    }
+
+    @Override
+    public Mono<BalanceResult> writeOff(String clientId, @Positive double amount) {
+        return jooq.inTransaction("writeOff", dsl -> {
+            return apply(dsl, clientId, -amount, -amount).flatMap(balance -> {
+                if (!balance.isValid()) {
+                    double newLocked = balance.locked();
+                    double newAmount = balance.amount();
+                    return error(new WriteOffException(clientId,
+                            newLocked < 0 ? -newLocked : 0,
+                            newAmount < 0 ? -newAmount : 0
+                    ));
+                }
+                // the fast path knows only its own bucket
+                return getAccount(dsl, clientId)
+                        .map(account -> BalanceResult.builder().balance(account.amount()).build());
+            });
+        });
+    }
+
+    // emits the balance after the change, an invalid balance means the change was not applied
+    private Mono<Balance> apply(DSLContext dsl, String clientId, double deltaAmount, double deltaLocked) {
+        return from(updateAnyBucket(dsl, clientId, deltaAmount, deltaLocked, true))
+                .switchIfEmpty(Mono.defer(() -> {
+                    return from(updateAnyBucket(dsl, clientId, deltaAmount, deltaLocked, false));
+                }))
+                .map(bucket -> new Balance(bucket.get(ACCOUNT_BUCKET.AMOUNT), bucket.get(ACCOUNT_BUCKET.LOCKED)))
+                .switchIfEmpty(Mono.defer(() -> rebalance(dsl, clientId, deltaAmount, deltaLocked)));
+    }
+
+    private Mono<Balance> rebalance(DSLContext dsl, String clientId, double deltaAmount, double deltaLocked) {
+        return from(selectForUpdate(dsl, clientId))
+                .switchIfEmpty(ReactiveUpdateUtils.notFound("account", clientId))
+                .flatMap(account -> {
+                    var accountBalance = new Balance(account.get(ACCOUNT.AMOUNT), account.get(ACCOUNT.LOCKED));
+                    return Flux.from(selectBucketsForUpdate(dsl, clientId)).collectList().flatMap(bucketBalances -> {
+                        var balance = total(accountBalance, bucketBalances).plus(deltaAmount, deltaLocked);
+                        if (!balance.isValid()) {
+                            log.debug("account rebalance is not applicable: clientId [{}], amount [{}], locked [{}]",
+                                    clientId, balance.amount(), balance.locked());
+                            return just(balance);
+                        }
+                        var updatedAt = OffsetDateTime.now();
+                        var distributed = distribute(balance, buckets);
+                        return Flux.range(0, distributed.size())
+                                .concatMap(bucket -> {
+                                    return from(upsertBucket(dsl, clientId, bucket, distributed.get(bucket), updatedAt));
+                                })
+                                .then(from(deleteBucketsFrom(dsl, clientId, buckets)))
+                                .then(from(resetAccountBalance(dsl, clientId)))
+                                .thenReturn(balance);
+                    });
+                });
+    }
+}
@@ -0,0 +1,121 @@
+package io.github.m4gshm.payments.data.r2dbc;
+
+import io.github.m4gshm.jooq.ReactiveJooq;
+import io.github.m4gshm.payments.data.AccountStorageUtils;
+import io.github.m4gshm.payments.data.InvalidUnlockFundValueException;
+import io.github.m4gshm.payments.data.ReactiveAccountStorage;
+import io.github.m4gshm.payments.data.WriteOffException;
+import io.github.m4gshm.payments.data.model.Account;
+import io.github.m4gshm.storage.jooq.ReactiveUpdateUtils;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.DSLContext;
+import org.jooq.Record2;
+import payments.data.access.jooq.tables.records.AccountRecord;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static io.github.m4gshm.payments.data.AccountStorageUtils.selectBalance;
+import static io.github.m4gshm.payments.data.AccountStorageUtils.updateAccountAddAmount;
+import static io.github.m4gshm.payments.data.AccountStorageUtils.updateAccountLockIfAvailable;
+import static io.github.m4gshm.payments.data.AccountStorageUtils.updateAccountUnlockIfLocked;
+import static io.github.m4gshm.payments.data.AccountStorageUtils.updateAccountWriteOffIfLocked;
+import static lombok.AccessLevel.PRIVATE;
+import static payments.data.access.jooq.Tables.ACCOUNT;
+import static reactor.core.publisher.Mono.defer;
+import static reactor.core.publisher.Mono.from;
+
+// reactive variant of ConditionalUpdateAccountStorageImpl
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = PRIVATE)
+public class ReactiveConditionalUpdateAccountStorageR2dbc implements ReactiveAccountStorage {
+    @Getter
+    Class<Account> entityClass = Account.class;
+
+    ReactiveJooq jooq;
+
+    private static Mono<Record2<Double, Double>> getBalance(DSLContext dsl, String clientId) {
+        return from(selectBalance(dsl, clientId)).switchIfEmpty(ReactiveUpdateUtils.notFound("account", clientId));
+    }
+
+    @Override
+    public Mono<BalanceResult> addAmount(String clientId, double replenishment) {
+        return jooq.supportTransaction("addAmount", dsl -> {
+            return from(updateAccountAddAmount(dsl, clientId, replenishment)).map(accountRecord -> {
+                var balance = accountRecord.get(ACCOUNT.AMOUNT) - accountRecord.get(ACCOUNT.LOCKED);
+                if (balance < 0) {
+                    throw new IllegalStateException("balance overflow " + balance
+                            + " with replenishment "
+                            + replenishment);
+                }
+                var timestamp = accountRecord.get(ACCOUNT.UPDATED_AT);
+                return BalanceResult.builder().balance(balance).timestamp(timestamp).build();
+            }).switchIfEmpty(ReactiveUpdateUtils.notFound("account", clientId));
+        });
+    }
+
+    @Override
+    public Mono<LockResult> addLock(String clientId, @Positive double amount) {
+        return jooq.supportTransaction("addLock", dsl -> {
+            var result = LockResult.builder();
+            return from(updateAccountLockIfAvailable(dsl, clientId, amount))
+                    .map(_ -> result.success(true).build())
+                    .switchIfEmpty(defer(() -> getBalance(dsl, clientId).map(balance -> {
+                        var newLocked = balance.get(ACCOUNT.LOCKED) + amount;
+                        return result.success(false)
+                                .insufficientAmount(newLocked - balance.get(ACCOUNT.AMOUNT))
+                                .build();
+                    })));
+        });
+    }
+
+    @Override
+    public Mono<List<Account>> findAll() {
+        return jooq.supportTransaction("findAll", dsl -> {
+            return Flux.from(AccountStorageUtils.selectAccounts(dsl)).map(AccountStorageUtils::toAccount).collectList();
+        });
+    }
+
+    @Override
+    public Mono<Account> findById(String id) {
+        return jooq.supportTransaction("findById", dsl -> {
+            return from(AccountStorageUtils.selectAccountById(dsl, id))
+                    .map(AccountStorageUtils::toAccount);
+        });
+    }
+
+    @Override
+    public Mono<Void> unlock(String clientId, @Positive double amount) {
+        return jooq.supportTransaction("unlock", dsl -> {
+            return from(updateAccountUnlockIfLocked(dsl, clientId, amount))
+                    .switchIfEmpty(defer(() -> getBalance(dsl, clientId).flatMap(balance -> {
+                        return Mono.<AccountRecord>error(new InvalidUnlockFundValueException(clientId,
+                                amount,
+                                balance.get(ACCOUNT.LOCKED)));
+                    })))
+                    .then();
+        });
+    }
+
+    @Override
+    public Mono<BalanceResult> writeOff(String clientId, @Positive double amount) {
+        return jooq.supportTransaction("writeOff", dsl -> {
+            return from(updateAccountWriteOffIfLocked(dsl, clientId, amount))
+                    .map(record -> BalanceResult.builder().balance(record.get(ACCOUNT.AMOUNT)).build())
+                    .switchIfEmpty(defer(() -> getBalance(dsl, clientId).flatMap(balance -> {
+                        double newLocked = balance.get(ACCOUNT.LOCKED) - amount;
+                        double newAmount = balance.get(ACCOUNT.AMOUNT) - amount;
+                        return Mono.<BalanceResult>error(new WriteOffException(clientId,
+                                newLocked < 0 ? -newLocked : 0,
+                                newAmount < 0 ? -newAmount : 0
+                        ));
+                    })));
+        });
+    }
+}
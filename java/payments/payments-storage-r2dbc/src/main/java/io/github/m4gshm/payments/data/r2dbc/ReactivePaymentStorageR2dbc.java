@@ -18,6 +18,7 @@ import java.util.List;
 import static io.github.m4gshm.payments.data.PaymentStorageUtils.selectPaymentById;
 import static io.github.m4gshm.payments.data.PaymentStorageUtils.selectPayments;
 import static io.github.m4gshm.payments.data.PaymentStorageUtils.upsertPayment;
+import static io.github.m4gshm.storage.jooq.ReactiveUpdateUtils.checkVersion;
 import static lombok.AccessLevel.PRIVATE;
 
 @Slf4j
@@ -50,10 +51,8 @@ public class ReactivePaymentStorageR2dbc implements ReactivePaymentStorage {
     @Override
     public Mono<Payment> save(@Valid Payment payment) {
         return jooq.supportTransaction(getOp("save"), dsl -> {
-            return Mono.from(upsertPayment(payment, dsl)).map(count -> {
-//                        log.debug("stored payment rows {}", count);
-                return payment;
-            });
+            return Mono.from(upsertPayment(payment, dsl))
+                    .flatMap(checkVersion("payment", payment.id(), payment.version(), () -> payment));
         });
     }
 }
@@ -2,22 +2,42 @@ package io.github.m4gshm.payments.data.r2dbc.config;
 
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
 import org.springframework.context.annotation.Bean;
 
 import io.github.m4gshm.jooq.ReactiveJooq;
 import io.github.m4gshm.jooq.config.R2dbcReactiveJooqAutoConfiguration;
+import io.github.m4gshm.payments.data.AccountUpdateStrategy;
 import io.github.m4gshm.payments.data.ReactiveAccountStorage;
+import io.github.m4gshm.payments.data.r2dbc.ReactiveAccountBucketStorageR2dbc;
 import io.github.m4gshm.payments.data.r2dbc.ReactiveAccountStorageR2dbc;
+import io.github.m4gshm.payments.data.r2dbc.ReactiveConditionalUpdateAccountStorageR2dbc;
 import lombok.RequiredArgsConstructor;
 
 @AutoConfiguration(after = R2dbcReactiveJooqAutoConfiguration.class)
 @RequiredArgsConstructor
 @ConditionalOnBean(ReactiveJooq.class)
+@EnableConfigurationProperties(ReactiveAccountStorageR2dbcAutoConfiguration.Properties.class)
 public class ReactiveAccountStorageR2dbcAutoConfiguration {
     private final ReactiveJooq jooq;
+    private final Properties properties;
 
     @Bean
     public ReactiveAccountStorage accountStorage() {
-        return new ReactiveAccountStorageR2dbc(jooq);
+        var buckets = properties.buckets();
+        if (buckets > 1) {
+            return new ReactiveAccountBucketStorageR2dbc(jooq, buckets);
+        }
+        return switch (properties.updateStrategy()) {
+            case SELECT_FOR_UPDATE -> new ReactiveAccountStorageR2dbc(jooq);
+            case CONDITIONAL_UPDATE -> new ReactiveConditionalUpdateAccountStorageR2dbc(jooq);
+        };
+    }
+
+    @ConfigurationProperties("service.payments.account")
+    public record Properties(@DefaultValue("1") int buckets,
+                             @DefaultValue("SELECT_FOR_UPDATE") AccountUpdateStrategy updateStrategy) {
     }
 }
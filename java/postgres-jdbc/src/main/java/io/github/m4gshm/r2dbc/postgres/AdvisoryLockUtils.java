@@ -0,0 +1,39 @@
+package io.github.m4gshm.r2dbc.postgres;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+@Slf4j
+@UtilityClass
+public class AdvisoryLockUtils {
+
+    // a session lock taken without waiting, so the routine runs on one of the sessions at a time and the others skip it;
+    // the lock is released before the connection returns to the pool
+    public static boolean runLocked(DataSource dataSource, String name, Runnable routine) throws SQLException {
+        try (var connection = dataSource.getConnection()) {
+            if (!execute(connection, "select pg_try_advisory_lock(hashtext(?))", name)) {
+                log.debug("advisory lock [{}] is held by another session", name);
+                return false;
+            }
+            try {
+                routine.run();
+            } finally {
+                execute(connection, "select pg_advisory_unlock(hashtext(?))", name);
+            }
+            return true;
+        }
+    }
+
+    private static boolean execute(Connection connection, String sql, String name) throws SQLException {
+        try (var statement = connection.prepareStatement(sql)) {
+            statement.setString(1, name);
+            try (var resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+}
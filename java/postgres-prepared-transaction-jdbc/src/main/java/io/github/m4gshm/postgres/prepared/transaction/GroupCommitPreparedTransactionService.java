@@ -0,0 +1,63 @@
+package io.github.m4gshm.postgres.prepared.transaction;
+
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static io.github.m4gshm.postgres.prepared.transaction.PreparedTransactionServiceImpl.notFoundable;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static lombok.AccessLevel.PRIVATE;
+
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = PRIVATE)
+public class GroupCommitPreparedTransactionService implements PreparedTransactionService {
+    PreparedTransactionService delegate;
+    PreparedTransactionGroupCommitter groupCommitter;
+    // bounds the wait of a caller for a stuck batch
+    Duration timeout;
+
+    private Void await(CompletableFuture<Void> future) {
+        try {
+            return future.orTimeout(timeout.toNanos(), NANOSECONDS).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public Class<PreparedTransaction> getEntityClass() {
+        return delegate.getEntityClass();
+    }
+
+    @Override
+    public void commit(String id) {
+        notFoundable(id, () -> await(groupCommitter.commit(id)));
+    }
+
+    @Override
+    public List<PreparedTransaction> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public PreparedTransaction findById(String id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public void prepare(String id) {
+        delegate.prepare(id);
+    }
+
+    @Override
+    public void rollback(String id) {
+        notFoundable(id, () -> await(groupCommitter.rollback(id)));
+    }
+}
@@ -0,0 +1,153 @@
+package io.github.m4gshm.postgres.prepared.transaction;
+
+import lombok.NonNull;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.DSLContext;
+import org.jooq.RowCountQuery;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.BiFunction;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static lombok.AccessLevel.PRIVATE;
+
+// PostgreSQL refuses COMMIT/ROLLBACK PREPARED inside a pipeline or an implicit transaction block and flushes WAL
+// for each of them, so a gathered batch is started at once, one pooled connection per statement: the statements
+// of different backends reach the server together and their WAL flushes are combined by the server group commit
+// (see commit_delay, commit_siblings)
+@Slf4j
+@FieldDefaults(level = PRIVATE)
+public class PreparedTransactionGroupCommitter implements AutoCloseable {
+    final BlockingQueue<Request> queue = new LinkedBlockingQueue<>();
+    final DataSource dataSource;
+    final long windowNanos;
+    final int maxBatchSize;
+    // bounds the borrowed connections, a saturated committer collects bigger batches
+    final Semaphore inFlight;
+    final ExecutorService executor;
+    final Thread worker;
+
+    volatile boolean closed;
+
+    public PreparedTransactionGroupCommitter(DataSource dataSource,
+            Duration window,
+            int maxBatchSize,
+            int maxParallelism,
+            ThreadFactory threadFactory) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be positive");
+        }
+        if (maxParallelism < 1) {
+            throw new IllegalArgumentException("maxParallelism must be positive");
+        }
+        this.dataSource = dataSource;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.inFlight = new Semaphore(maxParallelism);
+        this.executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("prepared-transaction-commit-", 0).factory());
+        this.worker = threadFactory.newThread(this::run);
+        this.worker.start();
+    }
+
+    public CompletableFuture<Void> commit(@NonNull String id) {
+        return submit(TwoPhaseTransactionUtils::commit, id);
+    }
+
+    public CompletableFuture<Void> rollback(@NonNull String id) {
+        return submit(TwoPhaseTransactionUtils::rollback, id);
+    }
+
+    private CompletableFuture<Void> submit(BiFunction<DSLContext, String, RowCountQuery> operation, String id) {
+        var result = new CompletableFuture<Void>();
+        var request = new Request(operation, id, result);
+        queue.add(request);
+        // the worker may have drained the queue on close before the add, the request taken back is rejected here;
+        // otherwise the worker has taken it and completes it
+        if (closed && queue.remove(request)) {
+            result.completeExceptionally(new IllegalStateException("group committer is closed"));
+        }
+        return result;
+    }
+
+    private void run() {
+        var batch = new ArrayList<Request>(maxBatchSize);
+        try {
+            while (!closed) {
+                batch.add(queue.take());
+                collect(batch);
+                dispatch(batch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            var rejected = new IllegalStateException("group committer is closed");
+            batch.forEach(request -> request.result.completeExceptionally(rejected));
+            queue.forEach(request -> request.result.completeExceptionally(rejected));
+        }
+    }
+
+    private void collect(List<Request> batch) throws InterruptedException {
+        var deadline = System.nanoTime() + windowNanos;
+        while (batch.size() < maxBatchSize) {
+            var remaining = deadline - System.nanoTime();
+            var next = remaining > 0 ? queue.poll(remaining, NANOSECONDS) : queue.poll();
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    // removes the started requests from the batch, the rest are rejected if the worker is interrupted
+    private void dispatch(List<Request> batch) throws InterruptedException {
+        log.debug("group commit of {} prepared transactions", batch.size());
+        for (var iterator = batch.iterator(); iterator.hasNext();) {
+            var request = iterator.next();
+            inFlight.acquire();
+            iterator.remove();
+            executor.execute(() -> {
+                try {
+                    execute(request);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+    }
+
+    private void execute(Request request) {
+        try (var connection = dataSource.getConnection()) {
+            request.operation.apply(DSL.using(connection, SQLDialect.POSTGRES), request.id).execute();
+            request.result.complete(null);
+        } catch (Exception e) {
+            request.result.completeExceptionally(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        worker.interrupt();
+        // the started statements are completed
+        executor.close();
+    }
+
+    private record Request(BiFunction<DSLContext, String, RowCountQuery> operation,
+                           String id,
+                           CompletableFuture<Void> result) {
+    }
+}
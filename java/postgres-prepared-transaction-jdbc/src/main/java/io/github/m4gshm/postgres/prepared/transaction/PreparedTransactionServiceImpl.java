@@ -31,7 +31,7 @@ public class PreparedTransactionServiceImpl implements PreparedTransactionServic
         return notFound ? newNotFoundException(e, PreparedTransaction.class, id) : null;
     }
 
-    private static <T> T notFoundable(Object id, Supplier<T> routine) {
+    static <T> T notFoundable(Object id, Supplier<T> routine) {
         try {
             return routine.get();
         } catch (Exception e) {
@@ -45,7 +45,7 @@ public class PreparedTransactionServiceImpl implements PreparedTransactionServic
 
     @Override
     public void commit(String id) {
-        notFoundable(id, () -> TwoPhaseTransactionUtils.commit(dsl, id));
+        notFoundable(id, TwoPhaseTransactionUtils.commit(dsl, id)::execute);
     }
 
     @Override
@@ -1,20 +1,65 @@
 package io.github.m4gshm.postgres.prepared.transaction.config;
 
+import io.github.m4gshm.postgres.prepared.transaction.GroupCommitPreparedTransactionService;
+import io.github.m4gshm.postgres.prepared.transaction.PreparedTransactionGroupCommitter;
 import io.github.m4gshm.postgres.prepared.transaction.PreparedTransactionService;
 import io.github.m4gshm.postgres.prepared.transaction.PreparedTransactionServiceImpl;
 import lombok.RequiredArgsConstructor;
 import org.jooq.DSLContext;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
 import org.springframework.context.annotation.Bean;
 
+import javax.sql.DataSource;
+import java.time.Duration;
+
 @AutoConfiguration
 @RequiredArgsConstructor
+@EnableConfigurationProperties(PreparedTransactionAutoConfiguration.Properties.class)
 public class PreparedTransactionAutoConfiguration {
 
     private final DSLContext dslContext;
 
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(value = "prepared-transaction.group-commit.enabled", havingValue = "true")
+    public PreparedTransactionGroupCommitter preparedTransactionGroupCommitter(DataSource dataSource,
+                                                                               Properties properties) {
+        var groupCommit = properties.groupCommit;
+        return new PreparedTransactionGroupCommitter(dataSource,
+                groupCommit.window,
+                groupCommit.maxBatchSize,
+                groupCommit.maxParallelism,
+                Thread.ofPlatform().daemon().name("prepared-transaction-group-commit").factory());
+    }
+
     @Bean
-    public PreparedTransactionService preparedTransactionService() {
-        return new PreparedTransactionServiceImpl(dslContext);
+    public PreparedTransactionService preparedTransactionService(
+                                                                 ObjectProvider<PreparedTransactionGroupCommitter> groupCommitter,
+                                                                 Properties properties
+    ) {
+        var preparedTransactionService = new PreparedTransactionServiceImpl(dslContext);
+        var committer = groupCommitter.getIfAvailable();
+        return committer != null
+                ? new GroupCommitPreparedTransactionService(preparedTransactionService,
+                        committer,
+                        properties.groupCommit.timeout)
+                : preparedTransactionService;
+    }
+
+    @ConfigurationProperties("prepared-transaction")
+    public record Properties(@DefaultValue GroupCommit groupCommit) {
+        public record GroupCommit(
+                                  @DefaultValue("false") boolean enabled,
+                                  @DefaultValue("2ms") Duration window,
+                                  @DefaultValue("64") int maxBatchSize,
+                                  // statements of a batch run at the same time, each on its own connection
+                                  @DefaultValue("16") int maxParallelism,
+                                  // the longest wait of a caller for its statement
+                                  @DefaultValue("10s") Duration timeout) {
+        }
     }
 }
@@ -0,0 +1,176 @@
+package io.github.m4gshm.postgres.prepared.transaction;
+
+import org.jooq.tools.jdbc.MockConnection;
+import org.jooq.tools.jdbc.MockResult;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// the statements wait for a gate standing for the WAL flush of COMMIT PREPARED
+public class PreparedTransactionGroupCommitterTest {
+    private static final int MAX_BATCH_SIZE = 8;
+    private static final int MAX_PARALLELISM = 4;
+    // longer than a test, so only a full batch is dispatched
+    private static final Duration WINDOW = Duration.ofMinutes(1);
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger maxRunning = new AtomicInteger();
+    private final Semaphore started = new Semaphore(0);
+    private final CountDownLatch gate = new CountDownLatch(1);
+
+    private PreparedTransactionGroupCommitter newCommitter(int maxBatchSize) {
+        return new PreparedTransactionGroupCommitter(new MockDataSource(),
+                WINDOW,
+                maxBatchSize,
+                MAX_PARALLELISM,
+                Thread.ofPlatform().daemon().factory());
+    }
+
+    private MockResult[] execute(String sql) throws SQLException {
+        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+        started.release();
+        try {
+            gate.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            running.decrementAndGet();
+        }
+        if (sql.contains("'missing'")) {
+            throw new SQLException("prepared transaction with identifier \"missing\" does not exist", "42704");
+        }
+        return new MockResult[] { new MockResult(0, null) };
+    }
+
+    private void awaitStarted(int statements) throws InterruptedException {
+        assertTrue(started.tryAcquire(statements, TIMEOUT_SECONDS, SECONDS), () -> statements + " statements not started");
+    }
+
+    @Test
+    public void testBatchRunsInParallel() throws Exception {
+        try (var committer = newCommitter(MAX_BATCH_SIZE)) {
+            var results = IntStream.range(0, MAX_BATCH_SIZE).mapToObj(i -> committer.commit("tx-" + i)).toList();
+
+            // the full batch is dispatched before the window ends, the parallelism bounds the started statements
+            awaitStarted(MAX_PARALLELISM);
+            assertEquals(MAX_PARALLELISM, running.get());
+            assertTrue(results.stream().noneMatch(CompletableFuture::isDone));
+
+            gate.countDown();
+            CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(TIMEOUT_SECONDS, SECONDS);
+
+            assertEquals(MAX_BATCH_SIZE, connections.get());
+            assertEquals(MAX_PARALLELISM, maxRunning.get());
+        }
+    }
+
+    @Test
+    public void testBatchUpToMaxBatchSize() throws Exception {
+        var committer = newCommitter(2);
+        var first = committer.commit("tx-1");
+        var second = committer.commit("tx-2");
+        var third = committer.commit("tx-3");
+
+        awaitStarted(2);
+        // the third request waits for the window of the next batch
+        assertFalse(started.tryAcquire(100, MILLISECONDS));
+        assertEquals(2, connections.get());
+
+        gate.countDown();
+        CompletableFuture.allOf(first, second).get(TIMEOUT_SECONDS, SECONDS);
+        committer.close();
+
+        var error = assertThrows(ExecutionException.class, () -> third.get(TIMEOUT_SECONDS, SECONDS));
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+        assertEquals(2, connections.get());
+    }
+
+    @Test
+    public void testFailureIsPerRequest() throws Exception {
+        gate.countDown();
+        try (var committer = newCommitter(2)) {
+            var missing = committer.rollback("missing");
+            var existing = committer.rollback("existing");
+
+            existing.get(TIMEOUT_SECONDS, SECONDS);
+            var error = assertThrows(ExecutionException.class, () -> missing.get(TIMEOUT_SECONDS, SECONDS));
+            assertInstanceOf(SQLException.class, error.getCause().getCause());
+        }
+    }
+
+    @Test
+    public void testRejectedAfterClose() {
+        var committer = newCommitter(MAX_BATCH_SIZE);
+        committer.close();
+        var error = assertThrows(CompletionException.class, () -> committer.commit("tx").join());
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+    }
+
+    private class MockDataSource implements DataSource {
+        @Override
+        public Connection getConnection() {
+            connections.incrementAndGet();
+            return new MockConnection(context -> execute(context.sql()));
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) {
+            return getConnection();
+        }
+
+        @Override
+        public PrintWriter getLogWriter() {
+            return null;
+        }
+
+        @Override
+        public void setLogWriter(PrintWriter out) {
+        }
+
+        @Override
+        public void setLoginTimeout(int seconds) {
+        }
+
+        @Override
+        public int getLoginTimeout() {
+            return 0;
+        }
+
+        @Override
+        public Logger getParentLogger() {
+            return Logger.getGlobal();
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> iface) throws SQLException {
+            throw new SQLException("not a wrapper");
+        }
+
+        @Override
+        public boolean isWrapperFor(Class<?> iface) {
+            return false;
+        }
+    }
+}
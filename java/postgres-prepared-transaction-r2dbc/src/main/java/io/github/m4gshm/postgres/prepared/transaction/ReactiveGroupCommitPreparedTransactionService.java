@@ -0,0 +1,47 @@
+package io.github.m4gshm.postgres.prepared.transaction;
+
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static io.github.m4gshm.postgres.prepared.transaction.ReactivePreparedTransactionServiceImpl.notFoundable;
+import static lombok.AccessLevel.PRIVATE;
+
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = PRIVATE)
+public class ReactiveGroupCommitPreparedTransactionService implements ReactivePreparedTransactionService {
+    ReactivePreparedTransactionService delegate;
+    ReactivePreparedTransactionGroupCommitter groupCommitter;
+
+    @Override
+    public Class<PreparedTransaction> getEntityClass() {
+        return delegate.getEntityClass();
+    }
+
+    @Override
+    public Mono<Void> commit(String id) {
+        return notFoundable(id, groupCommitter.commit(id));
+    }
+
+    @Override
+    public Mono<List<PreparedTransaction>> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Mono<PreparedTransaction> findById(String id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public Mono<Void> prepare(String id) {
+        return delegate.prepare(id);
+    }
+
+    @Override
+    public Mono<Void> rollback(String id) {
+        return notFoundable(id, groupCommitter.rollback(id));
+    }
+}
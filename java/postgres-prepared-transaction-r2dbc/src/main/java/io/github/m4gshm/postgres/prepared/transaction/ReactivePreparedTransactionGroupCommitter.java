@@ -0,0 +1,144 @@
+package io.github.m4gshm.postgres.prepared.transaction;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.NonNull;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.Configuration;
+import org.jooq.DSLContext;
+import org.jooq.RowCountQuery;
+import org.jooq.impl.DSL;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+import static lombok.AccessLevel.PRIVATE;
+import static reactor.core.publisher.Mono.defer;
+import static reactor.core.publisher.Mono.error;
+import static reactor.core.publisher.Sinks.EmitFailureHandler.busyLooping;
+
+// PostgreSQL refuses COMMIT/ROLLBACK PREPARED inside a pipeline or an implicit transaction block and flushes WAL
+// for each of them, so the statements of a gathered batch run at the same time, one pooled connection per statement,
+// and their WAL flushes are combined by the server group commit (see commit_delay, commit_siblings)
+@Slf4j
+@FieldDefaults(makeFinal = true, level = PRIVATE)
+public class ReactivePreparedTransactionGroupCommitter implements AutoCloseable {
+    Sinks.Many<Request> requests = Sinks.many().unicast().onBackpressureBuffer();
+    // submitted and not yet completed, failed when the pipeline terminates
+    Set<Request> pending = ConcurrentHashMap.newKeySet();
+    ConnectionFactory connectionFactory;
+    Configuration configuration;
+    Duration emitTimeout;
+    Duration timeout;
+    int maxParallelism;
+    Disposable subscription;
+
+    public ReactivePreparedTransactionGroupCommitter(ConnectionFactory connectionFactory,
+            Configuration configuration,
+            Duration window,
+            int maxBatchSize,
+            int maxParallelism,
+            Duration timeout) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be positive");
+        }
+        if (maxParallelism < 1) {
+            throw new IllegalArgumentException("maxParallelism must be positive");
+        }
+        this.connectionFactory = connectionFactory;
+        this.configuration = configuration;
+        this.emitTimeout = window.plusSeconds(1);
+        this.maxParallelism = maxParallelism;
+        this.timeout = timeout;
+        // the fair backpressure buffer does not overflow while a batch runs;
+        // a failed batch fails its requests only, so the pipeline keeps serving the next ones
+        this.subscription = requests.asFlux()
+                .bufferTimeout(maxBatchSize, window, true)
+                .concatMap(batch -> execute(batch).onErrorResume(error -> {
+                    log.error("group commit of {} prepared transactions error", batch.size(), error);
+                    batch.forEach(request -> fail(request, error));
+                    return Mono.empty();
+                }))
+                .doFinally(_ -> rejectPending())
+                .subscribe();
+    }
+
+    public Mono<Void> commit(@NonNull String id) {
+        return submit(TwoPhaseTransactionUtils::commit, id);
+    }
+
+    public Mono<Void> rollback(@NonNull String id) {
+        return submit(TwoPhaseTransactionUtils::rollback, id);
+    }
+
+    private Mono<Void> submit(BiFunction<DSLContext, String, RowCountQuery> operation, String id) {
+        return defer(() -> {
+            if (subscription.isDisposed()) {
+                return error(new IllegalStateException("group committer is closed"));
+            }
+            var request = new Request(operation, id, Sinks.one());
+            pending.add(request);
+            try {
+                requests.emitNext(request, busyLooping(emitTimeout));
+            } catch (Sinks.EmissionException e) {
+                fail(request, e);
+            }
+            // the pipeline may have terminated before the add
+            if (subscription.isDisposed()) {
+                rejectPending();
+            }
+            return request.result.asMono().timeout(timeout);
+        });
+    }
+
+    private Mono<Void> execute(List<Request> batch) {
+        log.debug("group commit of {} prepared transactions", batch.size());
+        return Flux.fromIterable(batch).flatMap(this::execute, maxParallelism).then();
+    }
+
+    private Mono<Void> execute(Request request) {
+        return Mono.usingWhen(connectionFactory.create(), connection -> {
+            var dsl = DSL.using(connection, configuration.dialect(), configuration.settings());
+            return Mono.from(request.operation.apply(dsl, request.id));
+        }, Connection::close)
+                .doOnSuccess(_ -> complete(request))
+                .doOnError(error -> fail(request, error))
+                .onErrorComplete()
+                .then();
+    }
+
+    private void complete(Request request) {
+        pending.remove(request);
+        request.result.tryEmitEmpty();
+    }
+
+    private void fail(Request request, Throwable error) {
+        pending.remove(request);
+        request.result.tryEmitError(error);
+    }
+
+    private void rejectPending() {
+        var rejected = new IllegalStateException("group committer is closed");
+        pending.forEach(request -> fail(request, rejected));
+    }
+
+    @Override
+    public void close() {
+        requests.tryEmitComplete();
+        subscription.dispose();
+        rejectPending();
+    }
+
+    private record Request(BiFunction<DSLContext, String, RowCountQuery> operation,
+                           String id,
+                           Sinks.One<Void> result) {
+    }
+}
@@ -27,7 +27,7 @@ public class ReactivePreparedTransactionServiceImpl implements ReactivePreparedT
         return notFound ? newNotFoundException(e, PreparedTransaction.class, id) : e;
     }
 
-    private static <T> Mono<T> notFoundable(Object id, Mono<T> mono) {
+    static <T> Mono<T> notFoundable(Object id, Mono<T> mono) {
         return mono.onErrorMap(e -> ifNotExist(id, e));
     }
 
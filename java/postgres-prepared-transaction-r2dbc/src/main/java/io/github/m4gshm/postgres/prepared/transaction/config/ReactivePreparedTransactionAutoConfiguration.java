@@ -2,22 +2,69 @@ package io.github.m4gshm.postgres.prepared.transaction.config;
 
 import io.github.m4gshm.jooq.ReactiveJooq;
 import io.github.m4gshm.jooq.config.R2dbcReactiveJooqAutoConfiguration;
+import io.github.m4gshm.postgres.prepared.transaction.ReactiveGroupCommitPreparedTransactionService;
+import io.github.m4gshm.postgres.prepared.transaction.ReactivePreparedTransactionGroupCommitter;
 import io.github.m4gshm.postgres.prepared.transaction.ReactivePreparedTransactionService;
 import io.github.m4gshm.postgres.prepared.transaction.ReactivePreparedTransactionServiceImpl;
+import io.r2dbc.spi.ConnectionFactory;
 import lombok.RequiredArgsConstructor;
+import org.jooq.Configuration;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
 import org.springframework.context.annotation.Bean;
 
+import java.time.Duration;
+
 @ConditionalOnBean(ReactiveJooq.class)
 @RequiredArgsConstructor
 @AutoConfiguration(after = R2dbcReactiveJooqAutoConfiguration.class)
+@EnableConfigurationProperties(ReactivePreparedTransactionAutoConfiguration.Properties.class)
 public class ReactivePreparedTransactionAutoConfiguration {
 
     private final ReactiveJooq jooq;
 
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(value = "prepared-transaction.group-commit.enabled", havingValue = "true")
+    public ReactivePreparedTransactionGroupCommitter reactivePreparedTransactionGroupCommitter(
+                                                                                               ConnectionFactory connectionFactory,
+                                                                                               Configuration configuration,
+                                                                                               Properties properties
+    ) {
+        var groupCommit = properties.groupCommit;
+        return new ReactivePreparedTransactionGroupCommitter(connectionFactory,
+                configuration,
+                groupCommit.window,
+                groupCommit.maxBatchSize,
+                groupCommit.maxParallelism,
+                groupCommit.timeout);
+    }
+
     @Bean
-    public ReactivePreparedTransactionService reactivePreparedTransactionService() {
-        return new ReactivePreparedTransactionServiceImpl(jooq);
+    public ReactivePreparedTransactionService reactivePreparedTransactionService(
+                                                                                 ObjectProvider<ReactivePreparedTransactionGroupCommitter> groupCommitter
+    ) {
+        var preparedTransactionService = new ReactivePreparedTransactionServiceImpl(jooq);
+        var committer = groupCommitter.getIfAvailable();
+        return committer != null
+                ? new ReactiveGroupCommitPreparedTransactionService(preparedTransactionService, committer)
+                : preparedTransactionService;
+    }
+
+    @ConfigurationProperties("prepared-transaction")
+    public record Properties(@DefaultValue GroupCommit groupCommit) {
+        public record GroupCommit(
+                                  @DefaultValue("false") boolean enabled,
+                                  @DefaultValue("2ms") Duration window,
+                                  @DefaultValue("64") int maxBatchSize,
+                                  // statements of a batch run at the same time, each on its own connection
+                                  @DefaultValue("16") int maxParallelism,
+                                  // the longest wait of a caller for its statement
+                                  @DefaultValue("10s") Duration timeout) {
+        }
     }
 }
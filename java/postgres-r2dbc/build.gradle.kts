@@ -5,6 +5,7 @@ plugins {
 dependencies {
     implementation("org.slf4j:slf4j-api")
     implementation("org.postgresql:r2dbc-postgresql")
+    implementation("io.projectreactor:reactor-core")
     implementation("org.springframework:spring-context")
     implementation("org.springframework.boot:spring-boot-r2dbc")
     implementation("org.springframework.boot:spring-boot-autoconfigure")
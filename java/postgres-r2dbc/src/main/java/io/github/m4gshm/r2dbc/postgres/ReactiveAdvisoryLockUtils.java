@@ -0,0 +1,39 @@
+package io.github.m4gshm.r2dbc.postgres;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static reactor.core.publisher.Mono.just;
+import static reactor.core.publisher.Mono.usingWhen;
+
+@Slf4j
+@UtilityClass
+public class ReactiveAdvisoryLockUtils {
+
+    // a session lock taken without waiting, so the routine runs on one of the sessions at a time and the others skip it;
+    // the lock is released before the connection returns to the pool
+    public static Mono<Boolean> runLocked(ConnectionFactory connectionFactory, String name, Mono<?> routine) {
+        return usingWhen(Mono.<Connection>from(connectionFactory.create()), connection -> {
+            return execute(connection, "select pg_try_advisory_lock(hashtext($1))", name).flatMap(locked -> {
+                if (!locked) {
+                    log.debug("advisory lock [{}] is held by another session", name);
+                    return just(false);
+                }
+                return usingWhen(just(connection), _ -> routine.thenReturn(true), _ -> {
+                    return execute(connection, "select pg_advisory_unlock(hashtext($1))", name);
+                });
+            });
+        }, Connection::close);
+    }
+
+    private static Mono<Boolean> execute(Connection connection, String sql, String name) {
+        return Flux.from(connection.createStatement(sql).bind("$1", name).execute())
+                .flatMap(result -> result.map((row, _) -> Boolean.TRUE.equals(row.get(0, Boolean.class))))
+                .next()
+                .defaultIfEmpty(false);
+    }
+}
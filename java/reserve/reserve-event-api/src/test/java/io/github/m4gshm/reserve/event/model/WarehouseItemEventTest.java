@@ -0,0 +1,44 @@
+package io.github.m4gshm.reserve.event.model;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+
+import static java.time.ZoneOffset.UTC;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class WarehouseItemEventTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    public void testJsonSerialize() throws JsonProcessingException {
+        var itemId = "f7c36185-f570-4e6b-b1b2-f3f0f9c46135";
+        var timestamp = OffsetDateTime.of(LocalDateTime.of(2025, 10, 4, 9, 0), UTC);
+        var json = objectMapper.writeValueAsString(WarehouseItemEvent.builder()
+                .itemId(itemId)
+                .timestamp(timestamp)
+                .build());
+
+        assertEquals(
+                """
+                        {"requestId":null,"itemId":"f7c36185-f570-4e6b-b1b2-f3f0f9c46135","timestamp":"2025-10-04T09:00:00Z"}
+                        """
+                        .trim(),
+                json);
+    }
+
+    @Test
+    public void testJsonDeserialize() throws JsonProcessingException {
+        var event = objectMapper.readValue("""
+                {"requestId":"1","itemId":"f7c36185-f570-4e6b-b1b2-f3f0f9c46135","timestamp":"2025-10-04T09:00:00Z"}
+                """, WarehouseItemEvent.class);
+
+        assertEquals("f7c36185-f570-4e6b-b1b2-f3f0f9c46135", event.itemId());
+        assertEquals(OffsetDateTime.of(LocalDateTime.of(2025, 10, 4, 9, 0), UTC), event.timestamp());
+    }
+}
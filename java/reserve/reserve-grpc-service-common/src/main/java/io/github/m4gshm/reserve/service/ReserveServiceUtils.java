@@ -2,13 +2,19 @@ package io.github.m4gshm.reserve.service;
 
 import io.github.m4gshm.reserve.data.model.ItemOp;
 import io.github.m4gshm.reserve.data.model.Reserve;
+import io.github.m4gshm.reserve.data.model.WarehouseItem;
 import lombok.experimental.UtilityClass;
 import reserve.data.access.jooq.enums.ReserveStatus;
 import reserve.v1.ReserveOuterClass;
 import reserve.v1.ReserveServiceOuterClass.ReserveApproveResponse;
+import warehouse.v1.WarehouseService.GetItemCostsResponse;
 
+import java.util.Collection;
 import java.util.List;
 
+import static io.github.m4gshm.storage.NotFoundException.newNotFoundException;
+import static java.util.stream.Collectors.toMap;
+
 import static reserve.v1.ReserveOuterClass.Reserve.Item;
 import static reserve.v1.ReserveOuterClass.Reserve.Status;
 import static reserve.v1.ReserveOuterClass.Reserve.Status.INSUFFICIENT;
@@ -32,6 +38,17 @@ public class ReserveServiceUtils {
                 .build();
     }
 
+    public static GetItemCostsResponse newGetItemCostsResponse(Collection<String> ids, List<WarehouseItem> items) {
+        var costs = items.stream().collect(toMap(WarehouseItem::id, WarehouseItem::unitCost));
+        var notFound = ids.stream().filter(id -> !costs.containsKey(id)).toList();
+        if (!notFound.isEmpty()) {
+            throw newNotFoundException(WarehouseItem.class, notFound.toArray());
+        }
+        return GetItemCostsResponse.newBuilder()
+                .putAllCosts(costs)
+                .build();
+    }
+
     static List<ItemOp> toItemOps(List<Reserve.Item> items) {
         return items.stream().map(item -> {
             return ItemOp.builder()
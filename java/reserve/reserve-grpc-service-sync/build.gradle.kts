@@ -17,10 +17,11 @@ dependencies {
 
     api(project(":reserve:reserve-storage-jdbc"))
     api(project(":reserve:reserve-grpc-api"))
+    api(project(":reserve:reserve-event-api"))
 
     api(project(":tpc:tpc-grpc-service-sync"))
 
-    implementation("org.springframework.kafka:spring-kafka")
+    implementation("org.springframework.boot:spring-boot-kafka")
 }
 
 tasks.named<Dockerfile>(DockerConventionJvmApplicationPlugin.DOCKERFILE_TASK_NAME) {
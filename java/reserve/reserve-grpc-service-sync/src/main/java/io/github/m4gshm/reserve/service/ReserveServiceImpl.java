@@ -10,6 +10,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import reserve.data.access.jooq.enums.ReserveStatus;
 import reserve.v1.ReserveServiceGrpc;
 import reserve.v1.ReserveServiceOuterClass;
@@ -54,6 +55,7 @@ public class ReserveServiceImpl extends ReserveServiceGrpc.ReserveServiceImplBas
     io.github.m4gshm.reserve.data.ReserveStorage reserveStorage;
     io.github.m4gshm.reserve.data.WarehouseItemStorage warehouseItemStorage;
     PreparedTransactionService preparedTransactionService;
+    TransactionTemplate transactionTemplate;
     Grpc grpc;
 
     private static Reserve witStatus(Reserve reserve, ReserveStatus status) {
@@ -64,7 +66,10 @@ public class ReserveServiceImpl extends ReserveServiceGrpc.ReserveServiceImplBas
     public void approve(ReserveApproveRequest request,
                         StreamObserver<ReserveServiceOuterClass.ReserveApproveResponse> responseObserver) {
         var reserveId = request.getId();
-        reserveInStatus("release", responseObserver, reserveId, Set.of(CREATED), reserve -> {
+        var preparedTransactionId = getOrNull(request,
+                r -> r.hasPreparedTransactionId(),
+                r -> r.getPreparedTransactionId());
+        reserveInStatus("release", responseObserver, reserveId, preparedTransactionId, Set.of(CREATED), reserve -> {
             var items = reserve.items();
             var notReservedItems = items.stream().filter(item -> !item.reserved()).toList();
 
@@ -74,13 +79,6 @@ public class ReserveServiceImpl extends ReserveServiceGrpc.ReserveServiceImplBas
 
             var notReservedItemPerId = notReservedItems.stream().collect(toMap(Item::id, r -> r));
 
-            var preparedTransactionId = getOrNull(request,
-                    r -> r.hasPreparedTransactionId(),
-                    r -> r.getPreparedTransactionId());
-            if (preparedTransactionId != null) {
-                preparedTransactionService.prepare(preparedTransactionId);
-            }
-
             List<ItemOp.ReserveResult> reserveResults = warehouseItemStorage.reserve(toItemOps(notReservedItems));
             var reservedItems = reserveResults.stream().map(itemReserveResult -> {
                 var itemId = itemReserveResult.id();
@@ -112,16 +110,13 @@ public class ReserveServiceImpl extends ReserveServiceGrpc.ReserveServiceImplBas
     @Override
     public void cancel(ReserveCancelRequest request, StreamObserver<ReserveCancelResponse> responseObserver) {
         var reserveId = request.getId();
-        reserveInStatus("cancel", responseObserver, reserveId, Set.of(CREATED, INSUFFICIENT, APPROVED), reserve -> {
+        var preparedTransactionId = getOrNull(request,
+                r -> r.hasPreparedTransactionId(),
+                r -> r.getPreparedTransactionId());
+        var expected = Set.of(CREATED, INSUFFICIENT, APPROVED);
+        reserveInStatus("cancel", responseObserver, reserveId, preparedTransactionId, expected, reserve -> {
             var items = toItemOps(reserve.items());
 
-            var preparedTransactionId = getOrNull(request,
-                    r -> r.hasPreparedTransactionId(),
-                    r -> r.getPreparedTransactionId());
-            if (preparedTransactionId != null) {
-                preparedTransactionService.prepare(preparedTransactionId);
-            }
-
             var i = warehouseItemStorage.cancelReserve(items);
             var r = reserveStorage.save(witStatus(reserve, CANCELLED));
 
@@ -162,11 +157,11 @@ public class ReserveServiceImpl extends ReserveServiceGrpc.ReserveServiceImplBas
             var preparedTransactionId = getOrNull(request,
                     r -> r.hasPreparedTransactionId(),
                     r -> r.getPreparedTransactionId());
-            if (preparedTransactionId != null) {
-                preparedTransactionService.prepare(preparedTransactionId);
-            }
-
-            reserveStorage.save(reserve);
+            // the prepare is the last statement of the transaction of the save
+            transactionTemplate.executeWithoutResult(_ -> {
+                reserveStorage.save(reserve);
+                prepare(preparedTransactionId);
+            });
             return ReserveCreateResponse.newBuilder().setId(paymentId).build();
         });
     }
@@ -192,14 +187,11 @@ public class ReserveServiceImpl extends ReserveServiceGrpc.ReserveServiceImplBas
     @Override
     public void release(ReserveReleaseRequest request, StreamObserver<ReserveReleaseResponse> responseObserver) {
         var reserveId = request.getId();
-        reserveInStatus("release", responseObserver, reserveId, Set.of(APPROVED), reserve -> {
+        var preparedTransactionId = getOrNull(request,
+                r -> r.hasPreparedTransactionId(),
+                r -> r.getPreparedTransactionId());
+        reserveInStatus("release", responseObserver, reserveId, preparedTransactionId, Set.of(APPROVED), reserve -> {
             var items = toItemOps(reserve.items());
-            var preparedTransactionId = getOrNull(request,
-                    r -> r.hasPreparedTransactionId(),
-                    r -> r.getPreparedTransactionId());
-            if (preparedTransactionId != null) {
-                preparedTransactionService.prepare(preparedTransactionId);
-            }
             var i = warehouseItemStorage.release(items);
             var r = reserveStorage.save(witStatus(reserve, RELEASED));
             log.debug("reserve released: id [{}], items: [{}]",
@@ -215,12 +207,26 @@ public class ReserveServiceImpl extends ReserveServiceGrpc.ReserveServiceImplBas
     private <T> void reserveInStatus(String opName,
                                      StreamObserver<T> responseObserver,
                                      String id,
+                                     String preparedTransactionId,
                                      Set<ReserveStatus> expected,
                                      Function<Reserve, T> routine) {
         grpc.subscribe(opName, responseObserver, () -> {
-            var reserve = reserveStorage.getById(id);
-            checkStatus(opName, "reserve", id, reserve.status(), expected, null);
-            return routine.apply(reserve);
+            // the read, the warehouse changes and the versioned save are one transaction,
+            // so a concurrent call that loses the version check rolls back its warehouse changes;
+            // the prepare is its last statement
+            return transactionTemplate.execute(_ -> {
+                var reserve = reserveStorage.getById(id);
+                checkStatus(opName, "reserve", id, reserve.status(), expected, null);
+                var result = routine.apply(reserve);
+                prepare(preparedTransactionId);
+                return result;
+            });
         });
     }
+
+    private void prepare(String preparedTransactionId) {
+        if (preparedTransactionId != null) {
+            preparedTransactionService.prepare(preparedTransactionId);
+        }
+    }
 }
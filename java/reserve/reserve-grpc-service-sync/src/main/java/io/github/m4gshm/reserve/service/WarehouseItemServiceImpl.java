@@ -2,6 +2,7 @@ package io.github.m4gshm.reserve.service;
 
 import io.github.m4gshm.Grpc;
 import io.github.m4gshm.reserve.data.WarehouseItemStorage;
+import io.github.m4gshm.reserve.service.event.WarehouseItemEventService;
 import io.grpc.stub.StreamObserver;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -11,18 +12,25 @@ import warehouse.v1.Warehouse;
 import warehouse.v1.WarehouseItemServiceGrpc;
 import warehouse.v1.WarehouseService.GetItemCostRequest;
 import warehouse.v1.WarehouseService.GetItemCostResponse;
+import warehouse.v1.WarehouseService.GetItemCostsRequest;
+import warehouse.v1.WarehouseService.GetItemCostsResponse;
 import warehouse.v1.WarehouseService.ItemListRequest;
 import warehouse.v1.WarehouseService.ItemListResponse;
 import warehouse.v1.WarehouseService.ItemTopUpRequest;
 import warehouse.v1.WarehouseService.ItemTopUpResponse;
 
+import java.time.OffsetDateTime;
+import java.util.Set;
+
 import static io.github.m4gshm.protobuf.TimestampUtils.toTimestamp;
+import static io.github.m4gshm.reserve.service.ReserveServiceUtils.newGetItemCostsResponse;
 
 @Service
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class WarehouseItemServiceImpl extends WarehouseItemServiceGrpc.WarehouseItemServiceImplBase {
     WarehouseItemStorage warehouseItemStorage;
+    WarehouseItemEventService warehouseItemEventService;
     Grpc grpc;
 
     @Override
@@ -37,6 +45,15 @@ public class WarehouseItemServiceImpl extends WarehouseItemServiceGrpc.Warehouse
         });
     }
 
+    @Override
+    public void getItemCosts(GetItemCostsRequest request,
+                             StreamObserver<GetItemCostsResponse> responseObserver) {
+        grpc.subscribe("getItemCosts", responseObserver, () -> {
+            var ids = Set.copyOf(request.getIdsList());
+            return newGetItemCostsResponse(ids, warehouseItemStorage.findAllById(ids));
+        });
+    }
+
     @Override
     public void itemList(ItemListRequest request, StreamObserver<ItemListResponse> responseObserver) {
         grpc.subscribe("itemList", responseObserver, () -> {
@@ -61,6 +78,7 @@ public class WarehouseItemServiceImpl extends WarehouseItemServiceGrpc.Warehouse
             var id = topUp.getId();
             int amount = topUp.getAmount();
             var item = warehouseItemStorage.topUp(id, amount);
+            warehouseItemEventService.sendWarehouseItemEvent(id, OffsetDateTime.now());
             return ItemTopUpResponse.newBuilder().setAmount(item.remainder()).build();
         });
     }
@@ -0,0 +1,38 @@
+package io.github.m4gshm.reserve.service.event;
+
+import io.github.m4gshm.reserve.event.model.WarehouseItemEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = PRIVATE)
+public class KafkaWarehouseItemEventServiceImpl implements WarehouseItemEventService {
+
+    KafkaTemplate<String, WarehouseItemEvent> sender;
+    String topicName;
+
+    @Override
+    public void sendWarehouseItemEvent(String itemId, OffsetDateTime timestamp) {
+        var warehouseItemEvent = WarehouseItemEvent.builder()
+                .requestId(UUID.randomUUID().toString())
+                .itemId(itemId)
+                .timestamp(timestamp)
+                .build();
+        // consumers only drop cached item data, so the item update doesn't wait for the broker
+        sender.send(topicName, itemId, warehouseItemEvent).whenComplete((result, e) -> {
+            if (e != null) {
+                log.error("warehouse item event sending failed: item [{}]", itemId, e);
+            } else {
+                log.debug("warehouse item event sent: recordMetadata {}", result.getRecordMetadata());
+            }
+        });
+    }
+}
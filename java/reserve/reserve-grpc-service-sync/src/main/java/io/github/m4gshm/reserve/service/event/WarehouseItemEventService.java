@@ -0,0 +1,7 @@
+package io.github.m4gshm.reserve.service.event;
+
+import java.time.OffsetDateTime;
+
+public interface WarehouseItemEventService {
+    void sendWarehouseItemEvent(String itemId, OffsetDateTime timestamp);
+}
@@ -0,0 +1,61 @@
+package io.github.m4gshm.reserve.service.event.config;
+
+import io.github.m4gshm.reserve.event.model.WarehouseItemEvent;
+import io.github.m4gshm.reserve.service.event.KafkaWarehouseItemEventServiceImpl;
+import io.github.m4gshm.reserve.service.event.WarehouseItemEventService;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.boot.kafka.autoconfigure.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+
+import static java.util.Optional.ofNullable;
+
+@RequiredArgsConstructor
+@Configuration
+@EnableConfigurationProperties(KafkaWarehouseItemEventServiceImplConfiguration.Properties.class)
+public class KafkaWarehouseItemEventServiceImplConfiguration {
+
+    private final KafkaProperties kafkaProperties;
+    private final Properties properties;
+
+    @Bean
+    public NewTopic warehouseItemTopic() {
+        var topic = properties.topic;
+        var topicBuilder = TopicBuilder.name(topic.name);
+        ofNullable(topic.partitions).ifPresent(topicBuilder::partitions);
+        ofNullable(topic.replicas).ifPresent(topicBuilder::replicas);
+        return topicBuilder.build();
+    }
+
+    @Bean
+    public ProducerFactory<String, WarehouseItemEvent> warehouseItemEventProducerFactory() {
+        return new DefaultKafkaProducerFactory<>(kafkaProperties.buildProducerProperties());
+    }
+
+    @Bean
+    public KafkaTemplate<String, WarehouseItemEvent> warehouseItemEventKafkaTemplate() {
+        return new KafkaTemplate<>(warehouseItemEventProducerFactory());
+    }
+
+    @Bean
+    public WarehouseItemEventService warehouseItemEventService() {
+        return new KafkaWarehouseItemEventServiceImpl(warehouseItemEventKafkaTemplate(), properties.topic.name);
+    }
+
+    @ConfigurationProperties("service.kafka.warehouse-item")
+    public record Properties(@DefaultValue Topic topic) {
+        public record Topic(
+                            @DefaultValue("warehouse-item") String name,
+                            @DefaultValue("1") Integer partitions,
+                            @DefaultValue("1") Integer replicas) {
+        }
+    }
+}
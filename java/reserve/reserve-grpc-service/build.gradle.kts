@@ -18,9 +18,10 @@ dependencies {
 
     api(project(":reserve:reserve-storage-r2dbc"))
     api(project(":reserve:reserve-grpc-api"))
+    api(project(":reserve:reserve-event-api"))
 
     implementation("io.projectreactor.kafka:reactor-kafka")
-    implementation("org.springframework.kafka:spring-kafka")
+    implementation("org.springframework.boot:spring-boot-kafka")
 }
 
 tasks.named<Dockerfile>(DockerConventionJvmApplicationPlugin.DOCKERFILE_TASK_NAME) {
@@ -2,28 +2,38 @@ package io.github.m4gshm.reserve.service;
 
 import io.github.m4gshm.reactive.ReactiveGrpc;
 import io.github.m4gshm.reserve.data.r2dbc.ReactiveWarehouseItemStorage;
+import io.github.m4gshm.reserve.service.event.ReactiveWarehouseItemEventService;
 import io.grpc.stub.StreamObserver;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import warehouse.v1.Warehouse;
 import warehouse.v1.WarehouseItemServiceGrpc;
 import warehouse.v1.WarehouseService.GetItemCostRequest;
 import warehouse.v1.WarehouseService.GetItemCostResponse;
+import warehouse.v1.WarehouseService.GetItemCostsRequest;
+import warehouse.v1.WarehouseService.GetItemCostsResponse;
 import warehouse.v1.WarehouseService.ItemListRequest;
 import warehouse.v1.WarehouseService.ItemListResponse;
 import warehouse.v1.WarehouseService.ItemTopUpRequest;
 import warehouse.v1.WarehouseService.ItemTopUpResponse;
 
+import java.time.OffsetDateTime;
+import java.util.Set;
+
 import static io.github.m4gshm.protobuf.TimestampUtils.toTimestamp;
+import static io.github.m4gshm.reserve.service.ReserveServiceUtils.newGetItemCostsResponse;
 import static reactor.core.publisher.Mono.defer;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class WarehouseItemServiceGrpcImpl extends WarehouseItemServiceGrpc.WarehouseItemServiceImplBase {
     ReactiveWarehouseItemStorage reactiveWarehouseItemStorage;
+    ReactiveWarehouseItemEventService reactiveWarehouseItemEventService;
     ReactiveGrpc grpc;
 
     @Override
@@ -39,6 +49,17 @@ public class WarehouseItemServiceGrpcImpl extends WarehouseItemServiceGrpc.Wareh
         }));
     }
 
+    @Override
+    public void getItemCosts(GetItemCostsRequest request,
+                             StreamObserver<GetItemCostsResponse> responseObserver) {
+        grpc.subscribe("getItemCosts", responseObserver, () -> defer(() -> {
+            var ids = Set.copyOf(request.getIdsList());
+            return reactiveWarehouseItemStorage.findAllById(ids).map(items -> {
+                return newGetItemCostsResponse(ids, items);
+            });
+        }));
+    }
+
     @Override
     public void itemList(ItemListRequest request, StreamObserver<ItemListResponse> responseObserver) {
         grpc.subscribe("itemList", responseObserver, () -> reactiveWarehouseItemStorage.findAll().map(items -> {
@@ -61,8 +82,13 @@ public class WarehouseItemServiceGrpcImpl extends WarehouseItemServiceGrpc.Wareh
             var topUp = request.getTopUp();
             var id = topUp.getId();
             int amount = topUp.getAmount();
-            return reactiveWarehouseItemStorage.topUp(id, amount).map(item -> {
-                return ItemTopUpResponse.newBuilder().setAmount(item.remainder()).build();
+            return reactiveWarehouseItemStorage.topUp(id, amount).flatMap(item -> {
+                return reactiveWarehouseItemEventService.sendWarehouseItemEvent(id, OffsetDateTime.now())
+                        .doOnError(e -> {
+                            log.error("event send error", e);
+                        })
+                        .onErrorComplete()
+                        .thenReturn(ItemTopUpResponse.newBuilder().setAmount(item.remainder()).build());
             });
         }));
     }
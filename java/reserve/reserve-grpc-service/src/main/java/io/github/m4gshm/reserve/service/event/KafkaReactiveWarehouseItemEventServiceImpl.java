@@ -0,0 +1,53 @@
+package io.github.m4gshm.reserve.service.event;
+
+import io.github.m4gshm.reserve.event.model.WarehouseItemEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import reactor.core.publisher.Mono;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderResult;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import static reactor.core.publisher.Mono.just;
+import static reactor.kafka.sender.SenderRecord.create;
+
+@Slf4j
+@RequiredArgsConstructor
+public class KafkaReactiveWarehouseItemEventServiceImpl implements ReactiveWarehouseItemEventService, DisposableBean {
+
+    private final KafkaSender<String, WarehouseItemEvent> sender;
+    private final String topicName;
+
+    @Override
+    public void destroy() {
+        sender.close();
+    }
+
+    @Override
+    public Mono<SenderResult<String>> sendWarehouseItemEvent(String itemId, OffsetDateTime timestamp) {
+        var warehouseItemEvent = WarehouseItemEvent.builder()
+                .requestId(UUID.randomUUID().toString())
+                .itemId(itemId)
+                .timestamp(timestamp)
+                .build();
+
+        var senderRecord = create(topicName,
+                null,
+                timestamp.toInstant().toEpochMilli(),
+                itemId,
+                warehouseItemEvent,
+                itemId);
+
+        return sender.send(just(senderRecord))
+                .doOnError(e -> log.error("warehouse item event sending failed", e))
+                .doOnNext(r -> {
+                    log.debug("warehouse item event sent: correlationMetadata {}, recordMetadata {}",
+                            r.correlationMetadata(),
+                            r.recordMetadata());
+                })
+                .next();
+    }
+}
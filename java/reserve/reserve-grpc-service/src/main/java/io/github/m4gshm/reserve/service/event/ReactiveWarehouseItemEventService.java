@@ -0,0 +1,10 @@
+package io.github.m4gshm.reserve.service.event;
+
+import reactor.core.publisher.Mono;
+import reactor.kafka.sender.SenderResult;
+
+import java.time.OffsetDateTime;
+
+public interface ReactiveWarehouseItemEventService {
+    Mono<SenderResult<String>> sendWarehouseItemEvent(String itemId, OffsetDateTime timestamp);
+}
@@ -0,0 +1,56 @@
+package io.github.m4gshm.reserve.service.event.config;
+
+import io.github.m4gshm.reserve.event.model.WarehouseItemEvent;
+import io.github.m4gshm.reserve.service.event.KafkaReactiveWarehouseItemEventServiceImpl;
+import io.github.m4gshm.reserve.service.event.ReactiveWarehouseItemEventService;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.boot.kafka.autoconfigure.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderOptions;
+
+import static java.util.Optional.ofNullable;
+import static reactor.kafka.sender.SenderOptions.create;
+
+@RequiredArgsConstructor
+@Configuration
+@EnableConfigurationProperties(ReactiveWarehouseItemEventServiceConfiguration.Properties.class)
+public class ReactiveWarehouseItemEventServiceConfiguration {
+
+    private final KafkaProperties kafkaProperties;
+    private final Properties properties;
+
+    @Bean
+    public NewTopic warehouseItemTopic() {
+        var topic = properties.topic;
+        var topicBuilder = TopicBuilder.name(topic.name);
+        ofNullable(topic.partitions).ifPresent(topicBuilder::partitions);
+        ofNullable(topic.replicas).ifPresent(topicBuilder::replicas);
+        return topicBuilder.build();
+    }
+
+    public SenderOptions<String, WarehouseItemEvent> warehouseItemEventSenderOptions() {
+        return create(kafkaProperties.buildProducerProperties());
+    }
+
+    @Bean
+    public ReactiveWarehouseItemEventService reactiveWarehouseItemEventService() {
+        KafkaSender<String, WarehouseItemEvent> sender = KafkaSender.create(warehouseItemEventSenderOptions());
+        return new KafkaReactiveWarehouseItemEventServiceImpl(sender, properties.topic.name);
+    }
+
+    @ConfigurationProperties("service.kafka.warehouse-item")
+    public record Properties(@DefaultValue Topic topic) {
+        public record Topic(
+                            @DefaultValue("warehouse-item") String name,
+                            @DefaultValue("1") Integer partitions,
+                            @DefaultValue("1") Integer replicas) {
+        }
+    }
+}
@@ -19,6 +19,7 @@ import static io.github.m4gshm.reserve.data.ReserveStorageJooqUtils.selectItemsB
 import static io.github.m4gshm.reserve.data.ReserveStorageJooqUtils.selectReserves;
 import static io.github.m4gshm.reserve.data.ReserveStorageJooqUtils.selectReservesById;
 import static io.github.m4gshm.reserve.data.ReserveStorageJooqUtils.toReserve;
+import static io.github.m4gshm.storage.UpdateUtils.checkVersion;
 import static lombok.AccessLevel.PRIVATE;
 import static org.springframework.transaction.annotation.Propagation.SUPPORTS;
 
@@ -53,9 +54,9 @@ public class ReserveStorageImpl implements ReserveStorage {
     @Override
     @Transactional
     public Reserve save(@Valid Reserve reserve) {
-        mergeReserveFullBatch(dsl, reserve).execute();
-        return reserve;
-
+        // the reserve row goes first in the batch
+        var counts = mergeReserveFullBatch(dsl, reserve).execute();
+        return checkVersion(counts[0], "reserve", reserve.id(), reserve.version(), () -> reserve);
     }
 
 }
@@ -0,0 +1,152 @@
+package io.github.m4gshm.reserve.data;
+
+import io.github.m4gshm.reserve.data.WarehouseItemStripeStorageJooqUtils.Counters;
+import io.github.m4gshm.reserve.data.model.ItemOp;
+import io.github.m4gshm.reserve.data.model.WarehouseItem;
+import jakarta.validation.constraints.Min;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.DSLContext;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static io.github.m4gshm.reserve.data.WarehouseItemStorageJooqUtils.selectAmountForUpdate;
+import static io.github.m4gshm.reserve.data.WarehouseItemStripeStorageJooqUtils.deleteStripesFrom;
+import static io.github.m4gshm.reserve.data.WarehouseItemStripeStorageJooqUtils.distribute;
+import static io.github.m4gshm.reserve.data.WarehouseItemStripeStorageJooqUtils.resetItemCounters;
+import static io.github.m4gshm.reserve.data.WarehouseItemStripeStorageJooqUtils.selectStripedItems;
+import static io.github.m4gshm.reserve.data.WarehouseItemStripeStorageJooqUtils.selectStripesForUpdate;
+import static io.github.m4gshm.reserve.data.WarehouseItemStripeStorageJooqUtils.total;
+import static io.github.m4gshm.reserve.data.WarehouseItemStripeStorageJooqUtils.updateAnyStripe;
+import static io.github.m4gshm.reserve.data.WarehouseItemStripeStorageJooqUtils.upsertStripe;
+import static io.github.m4gshm.storage.UpdateUtils.notFound;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.mapping;
+import static java.util.stream.Collectors.summingInt;
+import static lombok.AccessLevel.PRIVATE;
+import static reserve.data.access.jooq.Tables.WAREHOUSE_ITEM;
+import static reserve.data.access.jooq.Tables.WAREHOUSE_ITEM_STRIPE;
+
+// spreads the counters of an item over several warehouse_item_stripe rows, so concurrent reserves of one item
+// lock different rows; remainders of the stripe fast path are per stripe, the exact totals are computed on rebalance
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = PRIVATE)
+public class StripedWarehouseItemStorageImpl implements WarehouseItemStorage {
+    @Getter
+    private final Class<WarehouseItem> entityClass = WarehouseItem.class;
+
+    DSLContext dsl;
+    int stripes;
+
+    private static Map<String, Integer> amountPerId(Collection<ItemOp> items) {
+        // sorted ids keep the lock order the same as in the non-striped storage
+        return items.stream()
+                .collect(groupingBy(ItemOp::id, TreeMap::new, mapping(ItemOp::amount, summingInt(i -> i))));
+    }
+
+    @Override
+    public List<ItemOp.Result> cancelReserve(Collection<ItemOp> items) {
+        return dsl.transactionResult(configuration -> amountPerId(items).entrySet().stream().map(entry -> {
+            var id = entry.getKey();
+            var counters = apply(configuration.dsl(), id, 0, -entry.getValue());
+            if (counters.isValid()) {
+                return ItemOp.Result.builder().id(id).remainder(counters.available()).build();
+            } else {
+                log.info("reserved cannot be less tah zero: item [{}], reserved [{}]", id, counters.reserved());
+                throw new InvalidReserveValueException(id, counters.reserved());
+            }
+        }).toList());
+    }
+
+    @Override
+    public List<WarehouseItem> findAll() {
+        return selectStripedItems(dsl).stream()
+                .map(WarehouseItemStripeStorageJooqUtils::toStripedWarehouseItem)
+                .toList();
+    }
+
+    @Override
+    public List<WarehouseItem> findAllById(Collection<String> ids) {
+        return selectStripedItems(dsl).where(WAREHOUSE_ITEM.ID.in(ids)).stream()
+                .map(WarehouseItemStripeStorageJooqUtils::toStripedWarehouseItem)
+                .toList();
+    }
+
+    @Override
+    public WarehouseItem findById(String id) {
+        var record = selectStripedItems(dsl).where(WAREHOUSE_ITEM.ID.eq(id)).fetchOne();
+        return record != null ? WarehouseItemStripeStorageJooqUtils.toStripedWarehouseItem(record) : null;
+    }
+
+    @Override
+    public List<ItemOp.Result> release(Collection<ItemOp> items) {
+        return dsl.transactionResult(configuration -> amountPerId(items).entrySet().stream().map(entry -> {
+            var id = entry.getKey();
+            int amountForRelease = entry.getValue();
+            var counters = apply(configuration.dsl(), id, -amountForRelease, -amountForRelease);
+            if (counters.isValid()) {
+                return ItemOp.Result.builder().id(id).remainder(counters.amount()).build();
+            } else {
+                throw new ReleaseItemException(id, -counters.reserved(), -counters.amount());
+            }
+        }).toList());
+    }
+
+    @Override
+    public List<ItemOp.ReserveResult> reserve(Collection<ItemOp> items) {
+        return dsl.transactionResult(configuration -> amountPerId(items).entrySet().stream().map(entry -> {
+            var id = entry.getKey();
+            var counters = apply(configuration.dsl(), id, 0, entry.getValue());
+            var remainder = counters.available();
+            var resultBuilder = ItemOp.ReserveResult.builder().id(id).remainder(remainder);
+            if (counters.isValid()) {
+                return resultBuilder.reserved(true).build();
+            } else {
+                log.info("not enough item amount: item [{}], need [{}]", id, -remainder);
+                return resultBuilder.reserved(false).build();
+            }
+        }).toList());
+    }
+
+    @Override
+    public ItemOp.Result topUp(String id, @Min(1) int amount) {
+        var counters = dsl.transactionResult(configuration -> rebalance(configuration.dsl(), id, amount, 0));
+        return ItemOp.Result.builder().id(id).remainder(counters.available()).build();
+    }
+
+    // returns the counters after the change, invalid counters mean the change was not applied
+    private Counters apply(DSLContext dsl, String id, int deltaAmount, int deltaReserved) {
+        var stripe = updateAnyStripe(dsl, id, deltaAmount, deltaReserved, true).fetchOne();
+        if (stripe == null) {
+            // all suitable stripes are locked by concurrent transactions, wait for any of them
+            stripe = updateAnyStripe(dsl, id, deltaAmount, deltaReserved, false).fetchOne();
+        }
+        return stripe != null
+                ? new Counters(stripe.get(WAREHOUSE_ITEM_STRIPE.AMOUNT), stripe.get(WAREHOUSE_ITEM_STRIPE.RESERVED))
+                : rebalance(dsl, id, deltaAmount, deltaReserved);
+    }
+
+    private Counters rebalance(DSLContext dsl, String id, int deltaAmount, int deltaReserved) {
+        var item = selectAmountForUpdate(dsl, id).fetchOne();
+        if (item == null) {
+            throw notFound("item", id);
+        }
+        var itemCounters = new Counters(item.get(WAREHOUSE_ITEM.AMOUNT), item.get(WAREHOUSE_ITEM.RESERVED));
+        var counters = total(itemCounters, selectStripesForUpdate(dsl, id).fetch()).plus(deltaAmount, deltaReserved);
+        if (counters.isValid()) {
+            var distributed = distribute(counters, stripes);
+            for (var stripe = 0; stripe < distributed.size(); stripe++) {
+                upsertStripe(dsl, id, stripe, distributed.get(stripe)).execute();
+            }
+            deleteStripesFrom(dsl, id, stripes).execute();
+            resetItemCounters(dsl, id).execute();
+        }
+        return counters;
+    }
+}
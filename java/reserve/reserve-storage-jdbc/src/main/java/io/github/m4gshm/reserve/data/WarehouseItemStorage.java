@@ -12,6 +12,8 @@ public interface WarehouseItemStorage extends ReadOperations<WarehouseItem, Stri
 
     List<ItemOp.Result> cancelReserve(Collection<ItemOp> items);
 
+    List<WarehouseItem> findAllById(Collection<String> ids);
+
     List<ItemOp.Result> release(Collection<ItemOp> items);
 
     List<ItemOp.ReserveResult> reserve(Collection<ItemOp> items);
@@ -1,5 +1,6 @@
 package io.github.m4gshm.reserve.data;
 
+import io.github.m4gshm.reserve.data.WarehouseItemStorageJooqUtils.ItemDelta;
 import io.github.m4gshm.reserve.data.model.ItemOp;
 import io.github.m4gshm.reserve.data.model.WarehouseItem;
 import jakarta.validation.constraints.Min;
@@ -9,17 +10,20 @@ import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 import org.jooq.DSLContext;
 import org.springframework.stereotype.Service;
+import reserve.data.access.jooq.tables.records.WarehouseItemRecord;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 import static io.github.m4gshm.reserve.data.WarehouseItemStorageJooqUtils.selectAmountByItemIdsForNonKeyUpdate;
 import static io.github.m4gshm.reserve.data.WarehouseItemStorageJooqUtils.selectAmountForUpdate;
 import static io.github.m4gshm.reserve.data.WarehouseItemStorageJooqUtils.selectItems;
 import static io.github.m4gshm.reserve.data.WarehouseItemStorageJooqUtils.selectItemsByWarehouseId;
+import static io.github.m4gshm.reserve.data.WarehouseItemStorageJooqUtils.selectItemsByWarehouseIds;
 import static io.github.m4gshm.reserve.data.WarehouseItemStorageJooqUtils.updateAmountById;
-import static io.github.m4gshm.reserve.data.WarehouseItemStorageJooqUtils.updateAmountReservedMinus;
-import static io.github.m4gshm.reserve.data.WarehouseItemStorageJooqUtils.updateReservedPlus;
+import static io.github.m4gshm.reserve.data.WarehouseItemStorageJooqUtils.updateAmountReservedPlus;
 import static io.github.m4gshm.storage.UpdateUtils.checkUpdateCount;
 import static io.github.m4gshm.storage.UpdateUtils.notFound;
 import static java.util.Objects.requireNonNull;
@@ -46,34 +50,45 @@ public class WarehouseItemStorageImpl implements WarehouseItemStorage {
         return item;
     }
 
+    private static Map<String, Integer> amountPerId(Collection<ItemOp> items) {
+        return items.stream().collect(groupingBy(ItemOp::id, mapping(ItemOp::amount, summingInt(i -> i))));
+    }
+
+    // the rows are already locked in id order by the preceding select, one statement changes all of them
+    private Map<String, WarehouseItemRecord> update(List<ItemDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return Map.of();
+        }
+        var updated = updateAmountReservedPlus(dsl, deltas).fetch().intoMap(WAREHOUSE_ITEM.ID);
+        for (var delta : deltas) {
+            if (!updated.containsKey(delta.id())) {
+                throw notFound("item", delta.id());
+            }
+        }
+        return new TreeMap<>(updated);
+    }
+
     @Override
     public List<ItemOp.Result> cancelReserve(Collection<ItemOp> items) {
-        var amountPerId = items.stream()
-                .collect(groupingBy(ItemOp::id, mapping(ItemOp::amount, summingInt(i -> i))));
-
-        var reserveIds = amountPerId.keySet();
+        var amountPerId = amountPerId(items);
 
-        return selectAmountByItemIdsForNonKeyUpdate(dsl, reserveIds).fetch().stream().map(record -> {
+        var deltas = selectAmountByItemIdsForNonKeyUpdate(dsl, amountPerId.keySet()).stream().map(record -> {
             var id = record.get(WAREHOUSE_ITEM.ID);
-            var totalAmount = record.get(WAREHOUSE_ITEM.AMOUNT);
             var alreadyReserved = record.get(WAREHOUSE_ITEM.RESERVED);
 
             var amountForReserve = requireNonNull(amountPerId.get(id), "unexpected null amount for item " + id);
             var newReserved = alreadyReserved - amountForReserve;
-            var remainder = totalAmount + newReserved;
-            var resultBuilder = ItemOp.Result.builder().id(id);
-            if (newReserved >= 0) {
-                var step = WarehouseItemStorageJooqUtils.updateReservedMinusById(dsl, amountForReserve, id).execute();
-                return checkUpdateCount(step,
-                        "item",
-                        id,
-                        () -> resultBuilder.remainder(remainder)
-                                .build());
-            } else {
+            if (newReserved < 0) {
                 log.info("reserved cannot be less tah zero: item [{}], reserved [{}]", id, newReserved);
                 throw new InvalidReserveValueException(id, newReserved);
             }
+            return new ItemDelta(id, 0, -amountForReserve);
         }).toList();
+
+        return update(deltas).values().stream().map(record -> ItemOp.Result.builder()
+                .id(record.get(WAREHOUSE_ITEM.ID))
+                .remainder(record.get(WAREHOUSE_ITEM.AMOUNT) + record.get(WAREHOUSE_ITEM.RESERVED))
+                .build()).toList();
     }
 
     @Override
@@ -83,6 +98,13 @@ public class WarehouseItemStorageImpl implements WarehouseItemStorage {
                 .toList();
     }
 
+    @Override
+    public List<WarehouseItem> findAllById(Collection<String> ids) {
+        return selectItemsByWarehouseIds(dsl, ids).stream()
+                .map(WarehouseItemStorageJooqUtils::toWarehouseItem)
+                .toList();
+    }
+
     @Override
     public WarehouseItem findById(String id) {
         var record = selectItemsByWarehouseId(dsl, id).fetchOne();
@@ -91,10 +113,9 @@ public class WarehouseItemStorageImpl implements WarehouseItemStorage {
 
     @Override
     public List<ItemOp.Result> release(Collection<ItemOp> items) {
-        var amountPerId = items.stream()
-                .collect(groupingBy(ItemOp::id, mapping(ItemOp::amount, summingInt(i -> i))));
-        var reserveIds = amountPerId.keySet();
-        return selectAmountByItemIdsForNonKeyUpdate(dsl, reserveIds).stream().sequential().map(record -> {
+        var amountPerId = amountPerId(items);
+
+        var deltas = selectAmountByItemIdsForNonKeyUpdate(dsl, amountPerId.keySet()).stream().map(record -> {
             var id = record.get(WAREHOUSE_ITEM.ID);
             var totalAmount = record.get(WAREHOUSE_ITEM.AMOUNT);
             var alreadyReserved = record.get(WAREHOUSE_ITEM.RESERVED);
@@ -105,49 +126,46 @@ public class WarehouseItemStorageImpl implements WarehouseItemStorage {
             var newTotalAmount = totalAmount - amountForRelease;
             if (reserved < 0 || newTotalAmount < 0) {
                 throw new ReleaseItemException(id, -reserved, -newTotalAmount);
-            } else {
-                var count = updateAmountReservedMinus(dsl, amountForRelease, id).execute();
-                return checkUpdateCount(count,
-                        "item",
-                        id,
-                        () -> ItemOp.Result.builder()
-                                .id(id)
-                                .remainder(newTotalAmount)
-                                .build());
             }
-        })
-                .toList();
+            return new ItemDelta(id, -amountForRelease, -amountForRelease);
+        }).toList();
+
+        return update(deltas).values().stream().map(record -> ItemOp.Result.builder()
+                .id(record.get(WAREHOUSE_ITEM.ID))
+                .remainder(record.get(WAREHOUSE_ITEM.AMOUNT))
+                .build()).toList();
     }
 
     @Override
     public List<ItemOp.ReserveResult> reserve(Collection<ItemOp> items) {
-        var amountPerId = items.stream()
-                .collect(groupingBy(ItemOp::id, mapping(ItemOp::amount, summingInt(i -> i))));
-
-        var reserveIds = amountPerId.keySet();
+        var amountPerId = amountPerId(items);
 
-        return selectAmountByItemIdsForNonKeyUpdate(dsl, reserveIds).stream().map(record -> {
+        var records = selectAmountByItemIdsForNonKeyUpdate(dsl, amountPerId.keySet()).fetch();
+        var deltas = records.stream().<ItemDelta>mapMulti((record, consumer) -> {
             var id = record.get(WAREHOUSE_ITEM.ID);
-            var totalAmount = record.get(WAREHOUSE_ITEM.AMOUNT);
-            var alreadyReserved = record.get(WAREHOUSE_ITEM.RESERVED);
+            var available = record.get(WAREHOUSE_ITEM.AMOUNT) - record.get(WAREHOUSE_ITEM.RESERVED);
+            var amountForReserve = requireNonNull(amountPerId.get(id), "unexpected null amount for item " + id);
+            if (available >= amountForReserve) {
+                consumer.accept(new ItemDelta(id, 0, amountForReserve));
+            }
+        }).toList();
 
-            var available = totalAmount - alreadyReserved;
-            var amountForReserve = requireNonNull(amountPerId.get(id),
-                    "unexpected null amount for item " + id);
-            var remainder = available - amountForReserve;
-            var resultBuilder = ItemOp.ReserveResult.builder().id(id).remainder(remainder);
-            if (remainder >= 0) {
-                var count = updateReservedPlus(dsl, amountForReserve, id).execute();
-                return checkUpdateCount(count,
-                        "item",
-                        id,
-                        () -> resultBuilder.reserved(true).build());
+        var updated = update(deltas);
+
+        return records.stream().map(record -> {
+            var id = record.get(WAREHOUSE_ITEM.ID);
+            var resultBuilder = ItemOp.ReserveResult.builder().id(id);
+            var updatedRecord = updated.get(id);
+            if (updatedRecord != null) {
+                var remainder = updatedRecord.get(WAREHOUSE_ITEM.AMOUNT) - updatedRecord.get(WAREHOUSE_ITEM.RESERVED);
+                return resultBuilder.remainder(remainder).reserved(true).build();
             } else {
+                var available = record.get(WAREHOUSE_ITEM.AMOUNT) - record.get(WAREHOUSE_ITEM.RESERVED);
+                var remainder = available - amountPerId.get(id);
                 log.info("not enough item amount: item [{}], need [{}]", id, -remainder);
-                return resultBuilder.reserved(false).build();
+                return resultBuilder.remainder(remainder).reserved(false).build();
             }
-        })
-                .toList();
+        }).toList();
     }
 
     @Override
@@ -1,15 +1,25 @@
 package io.github.m4gshm.reserve.data.config;
 
+import io.github.m4gshm.reserve.data.StripedWarehouseItemStorageImpl;
 import io.github.m4gshm.reserve.data.WarehouseItemStorage;
 import io.github.m4gshm.reserve.data.WarehouseItemStorageImpl;
 import org.jooq.DSLContext;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
 import org.springframework.context.annotation.Bean;
 
 @AutoConfiguration
+@EnableConfigurationProperties(WarehouseItemStorageImplAutoConfiguration.Properties.class)
 public class WarehouseItemStorageImplAutoConfiguration {
     @Bean
-    WarehouseItemStorage warehouseItemStorage(DSLContext dsl) {
-        return new WarehouseItemStorageImpl(dsl);
+    WarehouseItemStorage warehouseItemStorage(DSLContext dsl, Properties properties) {
+        var stripes = properties.stripes();
+        return stripes > 1 ? new StripedWarehouseItemStorageImpl(dsl, stripes) : new WarehouseItemStorageImpl(dsl);
+    }
+
+    @ConfigurationProperties("service.reserve.warehouse-item")
+    public record Properties(@DefaultValue("1") int stripes) {
     }
 }
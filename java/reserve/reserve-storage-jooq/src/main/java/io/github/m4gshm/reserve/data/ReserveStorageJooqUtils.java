@@ -6,21 +6,24 @@ import lombok.extern.slf4j.Slf4j;
 import org.jooq.Batch;
 import org.jooq.DSLContext;
 import org.jooq.InsertOnDuplicateSetMoreStep;
+import org.jooq.InsertReturningStep;
 import org.jooq.Record;
 import org.jooq.SelectConditionStep;
 import org.jooq.SelectJoinStep;
-import org.jooq.impl.DSL;
 import reserve.data.access.jooq.tables.records.ReserveItemRecord;
 import reserve.data.access.jooq.tables.records.ReserveRecord;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Objects;
 
 import static io.github.m4gshm.DateTimeUtils.orNow;
 import static io.github.m4gshm.storage.jooq.Query.selectAllFrom;
-import static java.util.stream.Stream.ofNullable;
+import static java.util.stream.Collectors.toMap;
+import static org.jooq.impl.DSL.excluded;
+import static org.jooq.impl.DSL.row;
 import static reserve.data.access.jooq.Tables.RESERVE;
 import static reserve.data.access.jooq.Tables.RESERVE_ITEM;
 
@@ -28,47 +31,50 @@ import static reserve.data.access.jooq.Tables.RESERVE_ITEM;
 @UtilityClass
 public class ReserveStorageJooqUtils {
 
-    public static InsertOnDuplicateSetMoreStep<ReserveItemRecord> mergeItem(DSLContext dsl,
-                                                                            String reserveId,
-                                                                            Reserve.Item item) {
-        return dsl.insertInto(RESERVE_ITEM)
-                .set(RESERVE_ITEM.RESERVE_ID, reserveId)
-                .set(RESERVE_ITEM.ID, item.id())
-                .set(RESERVE_ITEM.AMOUNT, item.amount())
-                .set(RESERVE_ITEM.RESERVED, item.reserved())
+    // all items by one INSERT ... VALUES (...), (...) ON CONFLICT statement;
+    // a statement cannot update a row twice, so the last of repeated items wins as it did with a statement per item
+    public static InsertOnDuplicateSetMoreStep<ReserveItemRecord> mergeItems(DSLContext dsl,
+                                                                             String reserveId,
+                                                                             Collection<Reserve.Item> items) {
+        var rows = items.stream()
+                .collect(toMap(Reserve.Item::id, item -> item, (_, last) -> last, LinkedHashMap::new))
+                .values()
+                .stream()
+                .map(item -> row(reserveId, item.id(), item.amount(), item.reserved()))
+                .toList();
+        return dsl.insertInto(RESERVE_ITEM, RESERVE_ITEM.RESERVE_ID, RESERVE_ITEM.ID, RESERVE_ITEM.AMOUNT, RESERVE_ITEM.RESERVED)
+                .valuesOfRows(rows)
                 .onDuplicateKeyUpdate()
-                .set(RESERVE_ITEM.AMOUNT, item.amount())
-                .set(RESERVE_ITEM.RESERVED, item.reserved());
+                .set(RESERVE_ITEM.AMOUNT, excluded(RESERVE_ITEM.AMOUNT))
+                .set(RESERVE_ITEM.RESERVED, excluded(RESERVE_ITEM.RESERVED));
     }
 
-    public static List<InsertOnDuplicateSetMoreStep<ReserveItemRecord>> mergeItems(DSLContext dsl,
-                                                                                   String reserveId,
-                                                                                   Collection<Reserve.Item> items) {
-        return ofNullable(items).flatMap(Collection::stream).map(item -> {
-            return mergeItem(dsl, reserveId, item);
-        }).toList();
-    }
-
-    public static InsertOnDuplicateSetMoreStep<ReserveRecord> mergeReserve(DSLContext dsl, Reserve reserve) {
-        return dsl.insertInto(RESERVE)
+    // a read reserve is written only if its version has not been changed since the read
+    public static InsertReturningStep<ReserveRecord> mergeReserve(DSLContext dsl, Reserve reserve) {
+        var merge = dsl.insertInto(RESERVE)
                 .set(RESERVE.ID, reserve.id())
                 .set(RESERVE.CREATED_AT, orNow(reserve.createdAt()))
                 .set(RESERVE.EXTERNAL_REF, reserve.externalRef())
                 .set(RESERVE.STATUS, reserve.status())
                 .onDuplicateKeyUpdate()
-                .set(RESERVE.STATUS, DSL.excluded(RESERVE.STATUS))
-                .set(RESERVE.UPDATED_AT, orNow(reserve.updatedAt()));
+                .set(RESERVE.STATUS, excluded(RESERVE.STATUS))
+                .set(RESERVE.UPDATED_AT, orNow(reserve.updatedAt()))
+                .set(RESERVE.VERSION, RESERVE.VERSION.plus(1));
+        var version = reserve.version();
+        return version != null ? merge.where(RESERVE.VERSION.eq(version)) : merge;
     }
 
     public static Batch mergeReserveFullBatch(DSLContext dsl, Reserve reserve) {
         return dsl.batch(mergeReserveFullQueries(dsl, reserve));
     }
 
-    public static List<InsertOnDuplicateSetMoreStep<?>> mergeReserveFullQueries(DSLContext dsl, Reserve reserve) {
-        var items = mergeItems(dsl, reserve.id(), reserve.items());
-        var queries = new ArrayList<InsertOnDuplicateSetMoreStep<?>>(items.size() + 1);
+    public static List<InsertReturningStep<?>> mergeReserveFullQueries(DSLContext dsl, Reserve reserve) {
+        var items = reserve.items();
+        var queries = new ArrayList<InsertReturningStep<?>>(2);
         queries.add(mergeReserve(dsl, reserve));
-        queries.addAll(items);
+        if (items != null && !items.isEmpty()) {
+            queries.add(mergeItems(dsl, reserve.id(), items));
+        }
         return queries;
     }
 
@@ -95,6 +101,7 @@ public class ReserveStorageJooqUtils {
                 .createdAt(record.get(RESERVE.CREATED_AT))
                 .updatedAt(record.get(RESERVE.UPDATED_AT))
                 .status(record.get(RESERVE.STATUS))
+                .version(record.get(RESERVE.VERSION))
                 .items(items.stream()
                         .map(item -> Reserve.Item.builder()
                                 .id(item.get(RESERVE_ITEM.ID))
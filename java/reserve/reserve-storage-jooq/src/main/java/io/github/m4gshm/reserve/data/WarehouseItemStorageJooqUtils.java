@@ -6,16 +6,22 @@ import lombok.extern.slf4j.Slf4j;
 import org.jooq.DSLContext;
 import org.jooq.Record;
 import org.jooq.Record3;
+import org.jooq.Row3;
 import org.jooq.SelectConditionStep;
 import org.jooq.SelectForUpdateOfStep;
 import org.jooq.SelectJoinStep;
+import org.jooq.Table;
 import org.jooq.UpdateConditionStep;
+import org.jooq.UpdateResultStep;
 import reserve.data.access.jooq.Tables;
 import reserve.data.access.jooq.tables.records.WarehouseItemRecord;
 
 import java.util.Collection;
 
 import static io.github.m4gshm.storage.jooq.Query.selectAllFrom;
+import static org.jooq.impl.DSL.row;
+import static org.jooq.impl.DSL.val;
+import static org.jooq.impl.DSL.values;
 import static reserve.data.access.jooq.Tables.WAREHOUSE_ITEM;
 
 @Slf4j
@@ -51,6 +57,10 @@ public class WarehouseItemStorageJooqUtils {
         return selectItems(dsl).where(Tables.WAREHOUSE_ITEM.ID.eq(id));
     }
 
+    public static SelectConditionStep<Record> selectItemsByWarehouseIds(DSLContext dsl, Collection<String> ids) {
+        return selectItems(dsl).where(WAREHOUSE_ITEM.ID.in(ids));
+    }
+
     public static WarehouseItem toWarehouseItem(org.jooq.Record record) {
         return WarehouseItem.builder()
                 .id(record.get(WAREHOUSE_ITEM.ID))
@@ -69,29 +79,28 @@ public class WarehouseItemStorageJooqUtils {
                 .where(WAREHOUSE_ITEM.ID.eq(id));
     }
 
-    public static UpdateConditionStep<WarehouseItemRecord> updateAmountReservedMinus(DSLContext dsl,
-                                                                                     int amountForRelease,
-                                                                                     String id) {
+    // changes all items by one UPDATE ... FROM (VALUES ...) statement
+    public static UpdateResultStep<WarehouseItemRecord> updateAmountReservedPlus(DSLContext dsl,
+                                                                                 Collection<ItemDelta> deltas) {
+        @SuppressWarnings("unchecked")
+        Row3<String, Integer, Integer>[] rows = deltas.stream().map(delta -> row(
+                val(delta.id()),
+                val(delta.amount()).cast(Integer.class),
+                val(delta.reserved()).cast(Integer.class)
+        )).toArray(Row3[]::new);
+        Table<Record3<String, Integer, Integer>> delta = values(rows).as("delta", "id", "amount", "reserved");
+        var deltaId = delta.field("id", String.class);
+        var deltaAmount = delta.field("amount", Integer.class);
+        var deltaReserved = delta.field("reserved", Integer.class);
         return dsl.update(WAREHOUSE_ITEM)
-                .set(WAREHOUSE_ITEM.AMOUNT, WAREHOUSE_ITEM.AMOUNT.minus(amountForRelease))
-                .set(WAREHOUSE_ITEM.RESERVED, WAREHOUSE_ITEM.RESERVED.minus(amountForRelease))
-                .where(WAREHOUSE_ITEM.ID.eq(id));
+                .set(WAREHOUSE_ITEM.AMOUNT, WAREHOUSE_ITEM.AMOUNT.plus(deltaAmount))
+                .set(WAREHOUSE_ITEM.RESERVED, WAREHOUSE_ITEM.RESERVED.plus(deltaReserved))
+                .from(delta)
+                .where(WAREHOUSE_ITEM.ID.eq(deltaId))
+                .returning(WAREHOUSE_ITEM.ID, WAREHOUSE_ITEM.AMOUNT, WAREHOUSE_ITEM.RESERVED);
     }
 
-    public static UpdateConditionStep<WarehouseItemRecord> updateReservedMinusById(DSLContext dsl,
-                                                                                   Integer amountForReserve,
-                                                                                   String id) {
-        return dsl.update(WAREHOUSE_ITEM)
-                .set(WAREHOUSE_ITEM.RESERVED, WAREHOUSE_ITEM.RESERVED.minus(amountForReserve))
-                .where(WAREHOUSE_ITEM.ID.eq(id));
-    }
-
-    public static UpdateConditionStep<WarehouseItemRecord> updateReservedPlus(DSLContext dsl,
-                                                                              Integer amountForReserve,
-                                                                              String id) {
-        return dsl.update(WAREHOUSE_ITEM)
-                .set(WAREHOUSE_ITEM.RESERVED, WAREHOUSE_ITEM.RESERVED.plus(amountForReserve))
-                .where(WAREHOUSE_ITEM.ID.eq(id));
+    public record ItemDelta(String id, int amount, int reserved) {
     }
 
 }
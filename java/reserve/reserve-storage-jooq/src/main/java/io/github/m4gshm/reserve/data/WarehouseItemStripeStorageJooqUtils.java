@@ -0,0 +1,161 @@
+package io.github.m4gshm.reserve.data;
+
+import io.github.m4gshm.reserve.data.model.WarehouseItem;
+import lombok.experimental.UtilityClass;
+import org.jooq.DSLContext;
+import org.jooq.DeleteConditionStep;
+import org.jooq.Field;
+import org.jooq.InsertOnDuplicateSetMoreStep;
+import org.jooq.Record;
+import org.jooq.Record1;
+import org.jooq.Record2;
+import org.jooq.Record3;
+import org.jooq.Select;
+import org.jooq.SelectForUpdateOfStep;
+import org.jooq.SelectOnConditionStep;
+import org.jooq.Table;
+import org.jooq.UpdateConditionStep;
+import org.jooq.UpdateResultStep;
+import reserve.data.access.jooq.tables.records.WarehouseItemRecord;
+import reserve.data.access.jooq.tables.records.WarehouseItemStripeRecord;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.jooq.impl.DSL.coalesce;
+import static org.jooq.impl.DSL.excluded;
+import static org.jooq.impl.DSL.inline;
+import static org.jooq.impl.DSL.name;
+import static org.jooq.impl.DSL.rand;
+import static org.jooq.impl.DSL.select;
+import static org.jooq.impl.DSL.sum;
+import static reserve.data.access.jooq.Tables.WAREHOUSE_ITEM;
+import static reserve.data.access.jooq.Tables.WAREHOUSE_ITEM_STRIPE;
+
+// striped layout: the counters of an item are the sum of its warehouse_item row and its warehouse_item_stripe rows
+@UtilityClass
+public class WarehouseItemStripeStorageJooqUtils {
+    private static final Table<Record3<String, Integer, Integer>> STRIPE_SUM = select(
+            WAREHOUSE_ITEM_STRIPE.ITEM_ID,
+            sum(WAREHOUSE_ITEM_STRIPE.AMOUNT).cast(Integer.class).as(WAREHOUSE_ITEM_STRIPE.AMOUNT.getName()),
+            sum(WAREHOUSE_ITEM_STRIPE.RESERVED).cast(Integer.class).as(WAREHOUSE_ITEM_STRIPE.RESERVED.getName())
+    )
+            .from(WAREHOUSE_ITEM_STRIPE)
+            .groupBy(WAREHOUSE_ITEM_STRIPE.ITEM_ID)
+            .asTable("stripe_sum");
+    private static final Field<String> STRIPE_SUM_ITEM_ID = STRIPE_SUM.field(WAREHOUSE_ITEM_STRIPE.ITEM_ID);
+    private static final Field<Integer> TOTAL_AMOUNT = WAREHOUSE_ITEM.AMOUNT
+            .plus(coalesce(STRIPE_SUM.field(WAREHOUSE_ITEM_STRIPE.AMOUNT), inline(0)))
+            .as(name("total_amount"));
+    private static final Field<Integer> TOTAL_RESERVED = WAREHOUSE_ITEM.RESERVED
+            .plus(coalesce(STRIPE_SUM.field(WAREHOUSE_ITEM_STRIPE.RESERVED), inline(0)))
+            .as(name("total_reserved"));
+
+    public static SelectOnConditionStep<Record> selectStripedItems(DSLContext dsl) {
+        return dsl.select(WAREHOUSE_ITEM.fields())
+                .select(TOTAL_AMOUNT, TOTAL_RESERVED)
+                .from(WAREHOUSE_ITEM)
+                .leftJoin(STRIPE_SUM)
+                .on(STRIPE_SUM_ITEM_ID.eq(WAREHOUSE_ITEM.ID));
+    }
+
+    public static WarehouseItem toStripedWarehouseItem(Record record) {
+        return WarehouseItemStorageJooqUtils.toWarehouseItem(record).toBuilder()
+                .amount(record.get(TOTAL_AMOUNT))
+                .reserved(record.get(TOTAL_RESERVED))
+                .build();
+    }
+
+    // takes the delta on a single stripe that keeps 0 <= reserved <= amount, concurrent callers spread over stripes
+    public static UpdateResultStep<WarehouseItemStripeRecord> updateAnyStripe(DSLContext dsl,
+                                                                              String id,
+                                                                              int deltaAmount,
+                                                                              int deltaReserved,
+                                                                              boolean skipLocked) {
+        var stripe = WAREHOUSE_ITEM_STRIPE.as("candidate");
+        var candidate = dsl.select(stripe.STRIPE)
+                .from(stripe)
+                .where(stripe.ITEM_ID.eq(id))
+                .and(stripe.RESERVED.plus(deltaReserved).ge(0))
+                .and(stripe.AMOUNT.plus(deltaAmount).ge(stripe.RESERVED.plus(deltaReserved)))
+                .orderBy(rand())
+                .limit(1)
+                .forNoKeyUpdate();
+        Select<Record1<Integer>> stripeToUpdate = skipLocked ? candidate.skipLocked() : candidate;
+        return dsl.update(WAREHOUSE_ITEM_STRIPE)
+                .set(WAREHOUSE_ITEM_STRIPE.AMOUNT, WAREHOUSE_ITEM_STRIPE.AMOUNT.plus(deltaAmount))
+                .set(WAREHOUSE_ITEM_STRIPE.RESERVED, WAREHOUSE_ITEM_STRIPE.RESERVED.plus(deltaReserved))
+                .where(WAREHOUSE_ITEM_STRIPE.ITEM_ID.eq(id))
+                .and(WAREHOUSE_ITEM_STRIPE.STRIPE.eq(stripeToUpdate))
+                .returning(WAREHOUSE_ITEM_STRIPE.AMOUNT, WAREHOUSE_ITEM_STRIPE.RESERVED);
+    }
+
+    public static SelectForUpdateOfStep<Record2<Integer, Integer>> selectStripesForUpdate(DSLContext dsl, String id) {
+        return dsl.select(WAREHOUSE_ITEM_STRIPE.AMOUNT, WAREHOUSE_ITEM_STRIPE.RESERVED)
+                .from(WAREHOUSE_ITEM_STRIPE)
+                .where(WAREHOUSE_ITEM_STRIPE.ITEM_ID.eq(id))
+                .orderBy(WAREHOUSE_ITEM_STRIPE.STRIPE)
+                .forNoKeyUpdate();
+    }
+
+    public static InsertOnDuplicateSetMoreStep<WarehouseItemStripeRecord> upsertStripe(DSLContext dsl,
+                                                                                      String id,
+                                                                                      int stripe,
+                                                                                      Counters counters) {
+        return dsl.insertInto(WAREHOUSE_ITEM_STRIPE)
+                .set(WAREHOUSE_ITEM_STRIPE.ITEM_ID, id)
+                .set(WAREHOUSE_ITEM_STRIPE.STRIPE, stripe)
+                .set(WAREHOUSE_ITEM_STRIPE.AMOUNT, counters.amount())
+                .set(WAREHOUSE_ITEM_STRIPE.RESERVED, counters.reserved())
+                .onDuplicateKeyUpdate()
+                .set(WAREHOUSE_ITEM_STRIPE.AMOUNT, excluded(WAREHOUSE_ITEM_STRIPE.AMOUNT))
+                .set(WAREHOUSE_ITEM_STRIPE.RESERVED, excluded(WAREHOUSE_ITEM_STRIPE.RESERVED));
+    }
+
+    public static DeleteConditionStep<WarehouseItemStripeRecord> deleteStripesFrom(DSLContext dsl, String id, int stripe) {
+        return dsl.deleteFrom(WAREHOUSE_ITEM_STRIPE)
+                .where(WAREHOUSE_ITEM_STRIPE.ITEM_ID.eq(id))
+                .and(WAREHOUSE_ITEM_STRIPE.STRIPE.ge(stripe));
+    }
+
+    // the item row counters are moved to the stripes on rebalance
+    public static UpdateConditionStep<WarehouseItemRecord> resetItemCounters(DSLContext dsl, String id) {
+        return dsl.update(WAREHOUSE_ITEM)
+                .set(WAREHOUSE_ITEM.AMOUNT, 0)
+                .set(WAREHOUSE_ITEM.RESERVED, 0)
+                .where(WAREHOUSE_ITEM.ID.eq(id));
+    }
+
+    public static Counters total(Counters item, Collection<? extends Record2<Integer, Integer>> stripes) {
+        var amount = item.amount();
+        var reserved = item.reserved();
+        for (var stripe : stripes) {
+            amount += stripe.value1();
+            reserved += stripe.value2();
+        }
+        return new Counters(amount, reserved);
+    }
+
+    // the first amount % count stripes get one extra unit, the same for reserved, so reserved <= amount holds per stripe
+    public static List<Counters> distribute(Counters total, int count) {
+        return IntStream.range(0, count).mapToObj(stripe -> new Counters(
+                total.amount() / count + (stripe < total.amount() % count ? 1 : 0),
+                total.reserved() / count + (stripe < total.reserved() % count ? 1 : 0)
+        )).toList();
+    }
+
+    public record Counters(int amount, int reserved) {
+        public Counters plus(int deltaAmount, int deltaReserved) {
+            return new Counters(amount + deltaAmount, reserved + deltaReserved);
+        }
+
+        public int available() {
+            return amount - reserved;
+        }
+
+        public boolean isValid() {
+            return reserved >= 0 && reserved <= amount;
+        }
+    }
+}
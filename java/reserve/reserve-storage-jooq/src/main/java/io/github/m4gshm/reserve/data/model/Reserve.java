@@ -18,7 +18,9 @@ public record Reserve(
                       ReserveStatus status,
                       OffsetDateTime createdAt,
                       OffsetDateTime updatedAt,
-                      @Valid List<Item> items
+                      @Valid List<Item> items,
+                      // optimistic lock version, null for a reserve that has not been read from the storage
+                      Long version
 ) {
 
     @Builder(toBuilder = true)
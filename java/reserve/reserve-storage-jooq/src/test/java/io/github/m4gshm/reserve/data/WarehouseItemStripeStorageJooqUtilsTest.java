@@ -0,0 +1,68 @@
+package io.github.m4gshm.reserve.data;
+
+import io.github.m4gshm.reserve.data.WarehouseItemStripeStorageJooqUtils.Counters;
+import org.jooq.Record2;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static io.github.m4gshm.reserve.data.WarehouseItemStripeStorageJooqUtils.distribute;
+import static io.github.m4gshm.reserve.data.WarehouseItemStripeStorageJooqUtils.total;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static reserve.data.access.jooq.Tables.WAREHOUSE_ITEM_STRIPE;
+
+public class WarehouseItemStripeStorageJooqUtilsTest {
+
+    private static List<Record2<Integer, Integer>> stripes(List<Counters> counters) {
+        var dsl = DSL.using(SQLDialect.POSTGRES);
+        return counters.stream()
+                .map(c -> dsl.newRecord(WAREHOUSE_ITEM_STRIPE.AMOUNT, WAREHOUSE_ITEM_STRIPE.RESERVED)
+                        .values(c.amount(), c.reserved()))
+                .toList();
+    }
+
+    @Test
+    public void testTotal() {
+        var stripes = stripes(List.of(new Counters(3, 1), new Counters(4, 0), new Counters(5, 5)));
+
+        assertEquals(new Counters(22, 9), total(new Counters(10, 3), stripes));
+        assertEquals(new Counters(10, 3), total(new Counters(10, 3), List.of()));
+    }
+
+    @Test
+    public void testDistributeKeepsTotal() {
+        var total = new Counters(10, 7);
+
+        var stripes = distribute(total, 4);
+
+        assertEquals(List.of(new Counters(3, 2), new Counters(3, 2), new Counters(2, 2), new Counters(2, 1)), stripes);
+        assertEquals(total, total(new Counters(0, 0), stripes(stripes)));
+    }
+
+    @Test
+    public void testDistributeKeepsStripesValid() {
+        for (var amount = 0; amount <= 20; amount++) {
+            for (var reserved = 0; reserved <= amount; reserved++) {
+                for (var count = 1; count <= 8; count++) {
+                    var total = new Counters(amount, reserved);
+                    var stripes = distribute(total, count);
+
+                    assertEquals(count, stripes.size());
+                    assertEquals(total, total(new Counters(0, 0), stripes(stripes)));
+                    for (var stripe : stripes) {
+                        assertTrue(stripe.isValid(), () -> stripe + " of " + total);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testDistributeMoreStripesThanUnits() {
+        assertEquals(List.of(new Counters(1, 1), new Counters(1, 0), new Counters(0, 0)),
+                distribute(new Counters(2, 1), 3));
+    }
+}
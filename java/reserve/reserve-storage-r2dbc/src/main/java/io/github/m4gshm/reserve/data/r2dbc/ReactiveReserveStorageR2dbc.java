@@ -19,6 +19,7 @@ import static io.github.m4gshm.reserve.data.ReserveStorageJooqUtils.selectItemsB
 import static io.github.m4gshm.reserve.data.ReserveStorageJooqUtils.selectReserves;
 import static io.github.m4gshm.reserve.data.ReserveStorageJooqUtils.selectReservesById;
 import static io.github.m4gshm.reserve.data.ReserveStorageJooqUtils.toReserve;
+import static io.github.m4gshm.storage.jooq.ReactiveUpdateUtils.checkVersion;
 import static lombok.AccessLevel.PRIVATE;
 import static reactor.core.publisher.Mono.defer;
 
@@ -56,10 +57,12 @@ public class ReactiveReserveStorageR2dbc implements ReactiveReserveStorage {
     @Override
     public Mono<Reserve> save(@Valid Reserve reserve) {
         return jooq.supportTransaction(getOp("save"), dsl -> defer(() -> {
-            Mono<Void> merge;
 //            merge = Flux.concat(mergeReserveFullQueries(dsl, reserve).stream().map(Mono::from).toList()).then();
-            merge = Flux.from(mergeReserveFullBatch(dsl, reserve)).then();
-            return merge.thenReturn(reserve);
+            // the reserve row goes first in the batch
+            return Flux.from(mergeReserveFullBatch(dsl, reserve))
+                    .collectList()
+                    .map(List::getFirst)
+                    .flatMap(checkVersion("reserve", reserve.id(), reserve.version(), () -> reserve));
         }));
     }
 
@@ -0,0 +1,173 @@
+package io.github.m4gshm.reserve.data.r2dbc;
+
+import io.github.m4gshm.jooq.ReactiveJooq;
+import io.github.m4gshm.reserve.data.InvalidReserveValueException;
+import io.github.m4gshm.reserve.data.ReleaseItemException;
+import io.github.m4gshm.reserve.data.WarehouseItemStripeStorageJooqUtils;
+import io.github.m4gshm.reserve.data.WarehouseItemStripeStorageJooqUtils.Counters;
+import io.github.m4gshm.reserve.data.model.ItemOp;
+import io.github.m4gshm.reserve.data.model.WarehouseItem;
+import jakarta.validation.constraints.Min;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.DSLContext;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static io.github.m4gshm.reserve.data.WarehouseItemStorageJooqUtils.selectAmountForUpdate;
+import static io.github.m4gshm.reserve.data.WarehouseItemStripeStorageJooqUtils.deleteStripesFrom;
+import static io.github.m4gshm.reserve.data.WarehouseItemStripeStorageJooqUtils.distribute;
+import static io.github.m4gshm.reserve.data.WarehouseItemStripeStorageJooqUtils.resetItemCounters;
+import static io.github.m4gshm.reserve.data.WarehouseItemStripeStorageJooqUtils.selectStripedItems;
+import static io.github.m4gshm.reserve.data.WarehouseItemStripeStorageJooqUtils.selectStripesForUpdate;
+import static io.github.m4gshm.reserve.data.WarehouseItemStripeStorageJooqUtils.total;
+import static io.github.m4gshm.reserve.data.WarehouseItemStripeStorageJooqUtils.updateAnyStripe;
+import static io.github.m4gshm.reserve.data.WarehouseItemStripeStorageJooqUtils.upsertStripe;
+import static io.github.m4gshm.storage.jooq.ReactiveUpdateUtils.notFound;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.mapping;
+import static java.util.stream.Collectors.summingInt;
+import static lombok.AccessLevel.PRIVATE;
+import static reactor.core.publisher.Mono.just;
+import static reserve.data.access.jooq.Tables.WAREHOUSE_ITEM;
+import static reserve.data.access.jooq.Tables.WAREHOUSE_ITEM_STRIPE;
+
+// reactive variant of StripedWarehouseItemStorageImpl
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = PRIVATE)
+public class ReactiveStripedWarehouseItemStorageImpl implements ReactiveWarehouseItemStorage {
+    @Getter
+    private final Class<WarehouseItem> entityClass = WarehouseItem.class;
+
+    ReactiveJooq jooq;
+    int stripes;
+
+    private static Map<String, Integer> amountPerId(Collection<ItemOp> items) {
+        return items.stream()
+                .collect(groupingBy(ItemOp::id, TreeMap::new, mapping(ItemOp::amount, summingInt(i -> i))));
+    }
+
+    @Override
+    public Mono<List<ItemOp.Result>> cancelReserve(Collection<ItemOp> items) {
+        return jooq.inTransaction("cancelReserve", dsl -> {
+            return Flux.fromIterable(amountPerId(items).entrySet()).concatMap(entry -> {
+                var id = entry.getKey();
+                return apply(dsl, id, 0, -entry.getValue()).flatMap(counters -> {
+                    if (counters.isValid()) {
+                        return just(ItemOp.Result.builder().id(id).remainder(counters.available()).build());
+                    } else {
+                        log.info("reserved cannot be less tah zero: item [{}], reserved [{}]", id, counters.reserved());
+                        return Mono.error(new InvalidReserveValueException(id, counters.reserved()));
+                    }
+                });
+            }).collectList();
+        });
+    }
+
+    @Override
+    public Mono<List<WarehouseItem>> findAll() {
+        return jooq.supportTransaction("findAll",
+                dsl -> Flux.from(selectStripedItems(dsl))
+                        .map(WarehouseItemStripeStorageJooqUtils::toStripedWarehouseItem)
+                        .collectList());
+    }
+
+    @Override
+    public Mono<List<WarehouseItem>> findAllById(Collection<String> ids) {
+        return jooq.supportTransaction("findAllById",
+                dsl -> Flux.from(selectStripedItems(dsl).where(WAREHOUSE_ITEM.ID.in(ids)))
+                        .map(WarehouseItemStripeStorageJooqUtils::toStripedWarehouseItem)
+                        .collectList());
+    }
+
+    @Override
+    public Mono<WarehouseItem> findById(String id) {
+        return jooq.supportTransaction("findById", dsl -> {
+            return Mono.from(selectStripedItems(dsl).where(WAREHOUSE_ITEM.ID.eq(id)))
+                    .map(WarehouseItemStripeStorageJooqUtils::toStripedWarehouseItem);
+        });
+    }
+
+    @Override
+    public Mono<List<ItemOp.Result>> release(Collection<ItemOp> items) {
+        return jooq.inTransaction("release", dsl -> {
+            return Flux.fromIterable(amountPerId(items).entrySet()).concatMap(entry -> {
+                var id = entry.getKey();
+                int amountForRelease = entry.getValue();
+                return apply(dsl, id, -amountForRelease, -amountForRelease).flatMap(counters -> {
+                    if (counters.isValid()) {
+                        return just(ItemOp.Result.builder().id(id).remainder(counters.amount()).build());
+                    } else {
+                        return Mono.error(new ReleaseItemException(id, -counters.reserved(), -counters.amount()));
+                    }
+                });
+            }).collectList();
+        });
+    }
+
+    @Override
+    public Mono<List<ItemOp.ReserveResult>> reserve(Collection<ItemOp> items) {
+        return jooq.inTransaction("reserve", dsl -> {
+            return Flux.fromIterable(amountPerId(items).entrySet()).concatMap(entry -> {
+                var id = entry.getKey();
+                return apply(dsl, id, 0, entry.getValue()).map(counters -> {
+                    var remainder = counters.available();
+                    var resultBuilder = ItemOp.ReserveResult.builder().id(id).remainder(remainder);
+                    if (counters.isValid()) {
+                        return resultBuilder.reserved(true).build();
+                    } else {
+                        log.info("not enough item amount: item [{}], need [{}]", id, -remainder);
+                        return resultBuilder.reserved(false).build();
+                    }
+                });
+            }).collectList();
+        });
+    }
+
+    @Override
+    public Mono<ItemOp.Result> topUp(String id, @Min(1) int amount) {
+        return jooq.inTransaction("topUp", dsl -> {
+            return rebalance(dsl, id, amount, 0)
+                    .map(counters -> ItemOp.Result.builder().id(id).remainder(counters.available()).build());
+        });
+    }
+
+    // emits the counters after the change, invalid counters mean the change was not applied
+    private Mono<Counters> apply(DSLContext dsl, String id, int deltaAmount, int deltaReserved) {
+        return Mono.from(updateAnyStripe(dsl, id, deltaAmount, deltaReserved, true))
+                .switchIfEmpty(Mono.defer(() -> {
+                    return Mono.from(updateAnyStripe(dsl, id, deltaAmount, deltaReserved, false));
+                }))
+                .map(stripe -> new Counters(stripe.get(WAREHOUSE_ITEM_STRIPE.AMOUNT),
+                        stripe.get(WAREHOUSE_ITEM_STRIPE.RESERVED)))
+                .switchIfEmpty(Mono.defer(() -> rebalance(dsl, id, deltaAmount, deltaReserved)));
+    }
+
+    private Mono<Counters> rebalance(DSLContext dsl, String id, int deltaAmount, int deltaReserved) {
+        return Mono.from(selectAmountForUpdate(dsl, id))
+                .switchIfEmpty(notFound("item", id))
+                .flatMap(item -> {
+                    var itemCounters = new Counters(item.get(WAREHOUSE_ITEM.AMOUNT), item.get(WAREHOUSE_ITEM.RESERVED));
+                    return Flux.from(selectStripesForUpdate(dsl, id)).collectList().flatMap(stripeCounters -> {
+                        var counters = total(itemCounters, stripeCounters).plus(deltaAmount, deltaReserved);
+                        if (!counters.isValid()) {
+                            return just(counters);
+                        }
+                        var distributed = distribute(counters, stripes);
+                        return Flux.range(0, distributed.size())
+                                .concatMap(stripe -> Mono.from(upsertStripe(dsl, id, stripe, distributed.get(stripe))))
+                                .then(Mono.from(deleteStripesFrom(dsl, id, stripes)))
+                                .then(Mono.from(resetItemCounters(dsl, id)))
+                                .thenReturn(counters);
+                    });
+                });
+    }
+}
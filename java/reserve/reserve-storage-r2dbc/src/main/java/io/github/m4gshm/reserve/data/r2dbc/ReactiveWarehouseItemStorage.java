@@ -13,6 +13,8 @@ public interface ReactiveWarehouseItemStorage extends ReactiveReadOperations<War
 
     Mono<List<ItemOp.Result>> cancelReserve(Collection<ItemOp> items);
 
+    Mono<List<WarehouseItem>> findAllById(Collection<String> ids);
+
     Mono<List<ItemOp.Result>> release(Collection<ItemOp> items);
 
     Mono<List<ItemOp.ReserveResult>> reserve(Collection<ItemOp> items);
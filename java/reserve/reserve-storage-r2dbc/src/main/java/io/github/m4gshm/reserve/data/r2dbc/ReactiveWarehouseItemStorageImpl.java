@@ -4,6 +4,7 @@ import io.github.m4gshm.jooq.ReactiveJooq;
 import io.github.m4gshm.reserve.data.InvalidReserveValueException;
 import io.github.m4gshm.reserve.data.ReleaseItemException;
 import io.github.m4gshm.reserve.data.WarehouseItemStorageJooqUtils;
+import io.github.m4gshm.reserve.data.WarehouseItemStorageJooqUtils.ItemDelta;
 import io.github.m4gshm.reserve.data.model.ItemOp;
 import io.github.m4gshm.reserve.data.model.WarehouseItem;
 import jakarta.validation.constraints.Min;
@@ -11,21 +12,24 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
-import org.jooq.Record3;
-import org.jooq.ResultQuery;
+import org.jooq.DSLContext;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reserve.data.access.jooq.tables.records.WarehouseItemRecord;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 import static io.github.m4gshm.reserve.data.WarehouseItemStorageJooqUtils.selectAmountByItemIdsForNonKeyUpdate;
 import static io.github.m4gshm.reserve.data.WarehouseItemStorageJooqUtils.selectAmountForUpdate;
 import static io.github.m4gshm.reserve.data.WarehouseItemStorageJooqUtils.selectItems;
 import static io.github.m4gshm.reserve.data.WarehouseItemStorageJooqUtils.updateAmountById;
-import static io.github.m4gshm.reserve.data.WarehouseItemStorageJooqUtils.updateAmountReservedMinus;
-import static io.github.m4gshm.reserve.data.WarehouseItemStorageJooqUtils.updateReservedMinusById;
+import static io.github.m4gshm.reserve.data.WarehouseItemStorageJooqUtils.updateAmountReservedPlus;
 import static io.github.m4gshm.storage.jooq.ReactiveUpdateUtils.checkUpdateCount;
+import static io.github.m4gshm.storage.jooq.ReactiveUpdateUtils.notFound;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.mapping;
@@ -43,35 +47,47 @@ public class ReactiveWarehouseItemStorageImpl implements ReactiveWarehouseItemSt
 
     ReactiveJooq jooq;
 
+    private static Map<String, Integer> amountPerId(Collection<ItemOp> items) {
+        return items.stream().collect(groupingBy(ItemOp::id, mapping(ItemOp::amount, summingInt(i -> i))));
+    }
+
+    // the rows are already locked in id order by the preceding select, one statement changes all of them
+    private static Mono<Map<String, WarehouseItemRecord>> update(DSLContext dsl, List<ItemDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return just(Map.of());
+        }
+        return Flux.from(updateAmountReservedPlus(dsl, deltas))
+                .collectMap(record -> record.get(WAREHOUSE_ITEM.ID), record -> record, TreeMap::new)
+                .flatMap(updated -> deltas.stream()
+                        .filter(delta -> !updated.containsKey(delta.id()))
+                        .findFirst()
+                        .<Mono<Map<String, WarehouseItemRecord>>>map(delta -> notFound("item", delta.id()))
+                        .orElseGet(() -> just(updated)));
+    }
+
     @Override
     public Mono<List<ItemOp.Result>> cancelReserve(Collection<ItemOp> items) {
         return jooq.inTransaction("cancelReserve", dsl -> {
-            var amountPerId = items.stream()
-                    .collect(groupingBy(ItemOp::id, mapping(ItemOp::amount, summingInt(i -> i))));
-
-            var reserveIds = amountPerId.keySet();
-
-            ResultQuery<Record3<String, Integer, Integer>> source = selectAmountByItemIdsForNonKeyUpdate(dsl,
-                    reserveIds);
-            return Flux.from(source).flatMap(record -> {
-                var id = record.get(WAREHOUSE_ITEM.ID);
-                var totalAmount = record.get(WAREHOUSE_ITEM.AMOUNT);
-                var alreadyReserved = record.get(WAREHOUSE_ITEM.RESERVED);
-
-                var amountForReserve = requireNonNull(amountPerId.get(id), "unexpected null amount for item " + id);
-                var newReserved = alreadyReserved - amountForReserve;
-                var remainder = totalAmount + newReserved;
-                var resultBuilder = ItemOp.Result.builder().id(id);
-                if (newReserved >= 0) {
-                    return Mono.from(updateReservedMinusById(dsl, amountForReserve, id))
-                            .flatMap(checkUpdateCount("item", id, () -> {
-                                return resultBuilder.remainder(remainder).build();
-                            }));
-                } else {
-                    log.info("reserved cannot be less tah zero: item [{}], reserved [{}]", id, newReserved);
-                    return Mono.error(new InvalidReserveValueException(id, newReserved));
+            var amountPerId = amountPerId(items);
+            return Flux.from(selectAmountByItemIdsForNonKeyUpdate(dsl, amountPerId.keySet())).collectList().flatMap(records -> {
+                var deltas = new ArrayList<ItemDelta>(records.size());
+                for (var record : records) {
+                    var id = record.get(WAREHOUSE_ITEM.ID);
+                    var alreadyReserved = record.get(WAREHOUSE_ITEM.RESERVED);
+
+                    var amountForReserve = requireNonNull(amountPerId.get(id), "unexpected null amount for item " + id);
+                    var newReserved = alreadyReserved - amountForReserve;
+                    if (newReserved < 0) {
+                        log.info("reserved cannot be less tah zero: item [{}], reserved [{}]", id, newReserved);
+                        return Mono.<List<ItemOp.Result>>error(new InvalidReserveValueException(id, newReserved));
+                    }
+                    deltas.add(new ItemDelta(id, 0, -amountForReserve));
                 }
-            }).collectList();
+                return update(dsl, deltas).map(updated -> updated.values().stream().map(record -> ItemOp.Result.builder()
+                        .id(record.get(WAREHOUSE_ITEM.ID))
+                        .remainder(record.get(WAREHOUSE_ITEM.AMOUNT) + record.get(WAREHOUSE_ITEM.RESERVED))
+                        .build()).toList());
+            });
         });
     }
 
@@ -83,6 +99,14 @@ public class ReactiveWarehouseItemStorageImpl implements ReactiveWarehouseItemSt
                         .collectList());
     }
 
+    @Override
+    public Mono<List<WarehouseItem>> findAllById(Collection<String> ids) {
+        return jooq.supportTransaction("findAllById",
+                dsl -> Flux.from(WarehouseItemStorageJooqUtils.selectItemsByWarehouseIds(dsl, ids))
+                        .map(WarehouseItemStorageJooqUtils::toWarehouseItem)
+                        .collectList());
+    }
+
     @Override
     public Mono<WarehouseItem> findById(String id) {
         return jooq.supportTransaction("findById", dsl -> {
@@ -94,70 +118,59 @@ public class ReactiveWarehouseItemStorageImpl implements ReactiveWarehouseItemSt
     @Override
     public Mono<List<ItemOp.Result>> release(Collection<ItemOp> items) {
         return jooq.inTransaction("release", dsl -> {
-            var amountPerId = items.stream()
-                    .collect(groupingBy(ItemOp::id, mapping(ItemOp::amount, summingInt(i -> i))));
-            var reserveIds = amountPerId.keySet();
-            return Flux.from(selectAmountByItemIdsForNonKeyUpdate(dsl, reserveIds))
-                    .flatMap(record -> {
-                        var id = record.get(WAREHOUSE_ITEM.ID);
-                        var totalAmount = record.get(WAREHOUSE_ITEM.AMOUNT);
-                        var alreadyReserved = record.get(WAREHOUSE_ITEM.RESERVED);
-
-                        int amountForRelease = requireNonNull(amountPerId.get(id),
-                                "unexpected null amount for item " + id);
-                        var reserved = alreadyReserved - amountForRelease;
-                        var newTotalAmount = totalAmount - amountForRelease;
-                        if (reserved < 0 || newTotalAmount < 0) {
-                            return Mono.error(new ReleaseItemException(id, -reserved, -newTotalAmount));
-                        } else {
-                            return Mono.from(updateAmountReservedMinus(dsl,
-                                    amountForRelease,
-                                    id))
-                                    .flatMap(checkUpdateCount("item",
-                                            id,
-                                            () -> ItemOp.Result.builder()
-                                                    .id(id)
-                                                    .remainder(newTotalAmount)
-                                                    .build()));
-                        }
-                    })
-                    .collectList();
+            var amountPerId = amountPerId(items);
+            return Flux.from(selectAmountByItemIdsForNonKeyUpdate(dsl, amountPerId.keySet())).collectList().flatMap(records -> {
+                var deltas = new ArrayList<ItemDelta>(records.size());
+                for (var record : records) {
+                    var id = record.get(WAREHOUSE_ITEM.ID);
+                    var totalAmount = record.get(WAREHOUSE_ITEM.AMOUNT);
+                    var alreadyReserved = record.get(WAREHOUSE_ITEM.RESERVED);
+
+                    int amountForRelease = requireNonNull(amountPerId.get(id),
+                            "unexpected null amount for item " + id);
+                    var reserved = alreadyReserved - amountForRelease;
+                    var newTotalAmount = totalAmount - amountForRelease;
+                    if (reserved < 0 || newTotalAmount < 0) {
+                        return Mono.<List<ItemOp.Result>>error(new ReleaseItemException(id, -reserved, -newTotalAmount));
+                    }
+                    deltas.add(new ItemDelta(id, -amountForRelease, -amountForRelease));
+                }
+                return update(dsl, deltas).map(updated -> updated.values().stream().map(record -> ItemOp.Result.builder()
+                        .id(record.get(WAREHOUSE_ITEM.ID))
+                        .remainder(record.get(WAREHOUSE_ITEM.AMOUNT))
+                        .build()).toList());
+            });
         });
     }
 
     @Override
     public Mono<List<ItemOp.ReserveResult>> reserve(Collection<ItemOp> items) {
         return jooq.inTransaction("reserve", dsl -> {
-            var amountPerId = items.stream()
-                    .collect(groupingBy(ItemOp::id, mapping(ItemOp::amount, summingInt(i -> i))));
-
-            var reserveIds = amountPerId.keySet();
-
-            return Flux.from(selectAmountByItemIdsForNonKeyUpdate(dsl, reserveIds))
-                    .flatMap(record -> {
-                        var id = record.get(WAREHOUSE_ITEM.ID);
-                        var totalAmount = record.get(WAREHOUSE_ITEM.AMOUNT);
-                        var alreadyReserved = record.get(WAREHOUSE_ITEM.RESERVED);
-
-                        var available = totalAmount - alreadyReserved;
-                        var amountForReserve = requireNonNull(amountPerId.get(id),
-                                "unexpected null amount for item " + id);
-                        var remainder = available - amountForReserve;
-                        var resultBuilder = ItemOp.ReserveResult.builder().id(id).remainder(remainder);
-                        if (remainder >= 0) {
-                            return Mono.from(WarehouseItemStorageJooqUtils.updateReservedPlus(dsl,
-                                    amountForReserve,
-                                    id))
-                                    .flatMap(checkUpdateCount("item",
-                                            id,
-                                            () -> resultBuilder.reserved(true).build()
-                                    ));
-                        } else {
-                            log.info("not enough item amount: item [{}], need [{}]", id, -remainder);
-                            return just(resultBuilder.reserved(false).build());
-                        }
-                    })
-                    .collectList();
+            var amountPerId = amountPerId(items);
+            return Flux.from(selectAmountByItemIdsForNonKeyUpdate(dsl, amountPerId.keySet())).collectList().flatMap(records -> {
+                var deltas = records.stream().<ItemDelta>mapMulti((record, consumer) -> {
+                    var id = record.get(WAREHOUSE_ITEM.ID);
+                    var available = record.get(WAREHOUSE_ITEM.AMOUNT) - record.get(WAREHOUSE_ITEM.RESERVED);
+                    var amountForReserve = requireNonNull(amountPerId.get(id), "unexpected null amount for item " + id);
+                    if (available >= amountForReserve) {
+                        consumer.accept(new ItemDelta(id, 0, amountForReserve));
+                    }
+                }).toList();
+                return update(dsl, deltas).map(updated -> records.stream().map(record -> {
+                    var id = record.get(WAREHOUSE_ITEM.ID);
+                    var resultBuilder = ItemOp.ReserveResult.builder().id(id);
+                    var updatedRecord = updated.get(id);
+                    if (updatedRecord != null) {
+                        var remainder = updatedRecord.get(WAREHOUSE_ITEM.AMOUNT) - updatedRecord.get(WAREHOUSE_ITEM.RESERVED);
+                        return resultBuilder.remainder(remainder).reserved(true).build();
+                    } else {
+                        var available = record.get(WAREHOUSE_ITEM.AMOUNT) - record.get(WAREHOUSE_ITEM.RESERVED);
+                        var remainder = available - amountPerId.get(id);
+                        log.info("not enough item amount: item [{}], need [{}]", id, -remainder);
+                        return resultBuilder.remainder(remainder).reserved(false).build();
+                    }
+                }).toList());
+            });
         });
     }
 
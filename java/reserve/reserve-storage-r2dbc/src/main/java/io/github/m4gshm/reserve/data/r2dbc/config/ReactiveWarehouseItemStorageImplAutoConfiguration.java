@@ -1,15 +1,27 @@
 package io.github.m4gshm.reserve.data.r2dbc.config;
 
 import io.github.m4gshm.jooq.ReactiveJooq;
+import io.github.m4gshm.reserve.data.r2dbc.ReactiveStripedWarehouseItemStorageImpl;
 import io.github.m4gshm.reserve.data.r2dbc.ReactiveWarehouseItemStorage;
 import io.github.m4gshm.reserve.data.r2dbc.ReactiveWarehouseItemStorageImpl;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
 import org.springframework.context.annotation.Bean;
 
 @AutoConfiguration
+@EnableConfigurationProperties(ReactiveWarehouseItemStorageImplAutoConfiguration.Properties.class)
 public class ReactiveWarehouseItemStorageImplAutoConfiguration {
     @Bean
-    ReactiveWarehouseItemStorage reactiveWarehouseItemStorage(ReactiveJooq jooq) {
-        return new ReactiveWarehouseItemStorageImpl(jooq);
+    ReactiveWarehouseItemStorage reactiveWarehouseItemStorage(ReactiveJooq jooq, Properties properties) {
+        var stripes = properties.stripes();
+        return stripes > 1
+                ? new ReactiveStripedWarehouseItemStorageImpl(jooq, stripes)
+                : new ReactiveWarehouseItemStorageImpl(jooq);
+    }
+
+    @ConfigurationProperties("service.reserve.warehouse-item")
+    public record Properties(@DefaultValue("1") int stripes) {
     }
 }
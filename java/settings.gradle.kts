@@ -32,6 +32,7 @@ include(":orders:orders-storage-kotlin-sqlc")
 include(":orders:orders-storage-jooq")
 include(":orders:orders-storage-jooq-api")
 include(":orders:orders-storage-reactive")
+include(":reserve:reserve-event-api")
 include(":reserve:reserve-grpc-api")
 include(":reserve:reserve-grpc-service")
 include(":reserve:reserve-grpc-service-sync")
@@ -55,6 +56,7 @@ include(":postgres-jdbc")
 include(":tests:commons")
 include(":tests:integration")
 include(":tests:stress")
+include(":tests:benchmarks")
 include(":tracing")
 include(":jfr-rest-api")
 include(":async-profile-rest-api")
@@ -18,6 +18,22 @@ public class UpdateUtils {
         throw notFound(entity, id);
     }
 
+    public static <ID, T> T checkVersion(int count, String entity, ID id, Long version, Supplier<T> result) {
+        log.debug("versioned update result count: entity [{}], id [{}], version [{}], rows [{}]",
+                entity,
+                id,
+                version,
+                count);
+        if (count > 0) {
+            return result.get();
+        }
+        throw versionConflict(entity, id, version);
+    }
+
+    public static VersionConflictException versionConflict(String entity, Object id, Long version) {
+        return new VersionConflictException(entity, id, version);
+    }
+
     public static NotFoundException notFound(String entity, Object id) {
         return newNotFoundException("zero updated count on " + entity + " " + id, entity, id);
     }
@@ -0,0 +1,21 @@
+package io.github.m4gshm.storage;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import lombok.Getter;
+
+@Getter
+@ResponseStatus(HttpStatus.CONFLICT)
+public class VersionConflictException extends RuntimeException {
+    private final String entityType;
+    private final Object id;
+    private final Long version;
+
+    public VersionConflictException(String entityType, Object id, Long version) {
+        super(entityType + " " + id + " has been changed concurrently, expected version " + version);
+        this.entityType = entityType;
+        this.id = id;
+        this.version = version;
+    }
+}
@@ -0,0 +1,34 @@
+package io.github.m4gshm.storage;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+// reruns a read-check-write routine that lost an optimistic version check to a concurrent writer
+@Slf4j
+@UtilityClass
+public class VersionConflictRetry {
+    public static final int MAX_RETRIES = 3;
+    public static final Duration MIN_BACKOFF = Duration.ofMillis(10);
+
+    public static <T> T retryOnVersionConflict(String op, Supplier<T> routine) {
+        for (var retry = 0;; retry++) {
+            try {
+                return routine.get();
+            } catch (VersionConflictException e) {
+                if (retry >= MAX_RETRIES) {
+                    throw e;
+                }
+                // exponential backoff with jitter spreads the competing writers
+                var backoff = MIN_BACKOFF.toNanos() << retry;
+                var delay = backoff + ThreadLocalRandom.current().nextLong(backoff);
+                log.debug("retry {} on version conflict, attempt {}: {}", op, retry + 1, e.getMessage());
+                LockSupport.parkNanos(delay);
+            }
+        }
+    }
+}
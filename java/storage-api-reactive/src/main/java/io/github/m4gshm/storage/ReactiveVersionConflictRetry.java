@@ -0,0 +1,18 @@
+package io.github.m4gshm.storage;
+
+import lombok.experimental.UtilityClass;
+import reactor.util.retry.Retry;
+import reactor.util.retry.RetryBackoffSpec;
+
+import static io.github.m4gshm.storage.VersionConflictRetry.MAX_RETRIES;
+import static io.github.m4gshm.storage.VersionConflictRetry.MIN_BACKOFF;
+
+// reactive variant of VersionConflictRetry, resubscribes to the whole read-check-write routine
+@UtilityClass
+public class ReactiveVersionConflictRetry {
+    public static RetryBackoffSpec retryOnVersionConflict() {
+        return Retry.backoff(MAX_RETRIES, MIN_BACKOFF)
+                .filter(VersionConflictException.class::isInstance)
+                .onRetryExhaustedThrow((_, signal) -> signal.failure());
+    }
+}
@@ -4,6 +4,8 @@ import static io.github.m4gshm.storage.NotFoundException.newNotFoundException;
 import static reactor.core.publisher.Mono.error;
 import static reactor.core.publisher.Mono.fromSupplier;
 
+import io.github.m4gshm.storage.VersionConflictException;
+
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -24,6 +26,20 @@ public class ReactiveUpdateUtils {
         };
     }
 
+    public static <ID, T> Function<Integer, Mono<T>> checkVersion(String entity, ID id, Long version, Supplier<T> result) {
+        return count -> {
+            log.debug("versioned update result count: entity [{}], id [{}], version [{}], rows [{}]",
+                    entity,
+                    id,
+                    version,
+                    count);
+            if (count > 0) {
+                return fromSupplier(result);
+            }
+            return error(new VersionConflictException(entity, id, version));
+        };
+    }
+
     public static <ID, T> Mono<T> notFound(String entity, ID id) {
         return error(newNotFoundException("zero updated count on " + entity + " " + id, entity, id));
     }
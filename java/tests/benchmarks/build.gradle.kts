@@ -0,0 +1,102 @@
+import groovy.json.JsonSlurper
+
+plugins {
+    id("me.champeau.jmh") version "0.7.3"
+}
+
+dependencies {
+    jmh(project(":idempotent-consumer-jdbc"))
+    jmh(project(":grpc-service-common"))
+    jmh(project(":protobuf-utils"))
+    jmh(project(":orders:orders-storage-jooq"))
+    jmh(project(":orders:orders-storage-jooq-jdbc"))
+    jmh(project(":orders:orders-storage-r2dbc"))
+    jmh(project(":orders:orders-storage-kotlin-sqlc"))
+    jmh(project(":orders:orders-grpc-service-common"))
+    jmh(project(":reserve:reserve-grpc-service-common"))
+    jmh("io.grpc:grpc-stub")
+    jmh("org.jooq:jooq")
+    jmh("org.springframework:spring-jdbc")
+    jmh("org.postgresql:postgresql")
+    jmh("com.zaxxer:HikariCP")
+    jmh("io.r2dbc:r2dbc-pool")
+    jmh("org.testcontainers:testcontainers-postgresql")
+}
+
+val jmhResults = layout.buildDirectory.file("results/jmh/results.json")
+val jmhBaselineFile = layout.projectDirectory.file(
+    project.findProperty("jmh.baseline")?.toString() ?: "baseline/results.json"
+)
+
+jmh {
+    // ./gradlew :tests:benchmarks:jmh -Pjmh.includes=MessageStorageBenchmark
+    includes = listOf(project.findProperty("jmh.includes")?.toString() ?: ".*")
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
+    // gc.alloc.rate.norm is the allocated bytes per operation
+    profilers = listOf("gc")
+    // read by jmhBaseline and jmhCompare
+    resultsFile = jmhResults
+    resultFormat = "JSON"
+}
+
+// stores the last jmh results as the baseline for jmhCompare
+tasks.register<Copy>("jmhBaseline") {
+    group = "benchmark"
+    from(jmhResults)
+    into(jmhBaselineFile.asFile.parentFile)
+    rename { jmhBaselineFile.asFile.name }
+}
+
+// fails when the score or the allocation per operation of a benchmark is worse than the baseline by more than
+// jmh.threshold percents
+tasks.register("jmhCompare") {
+    group = "benchmark"
+    val threshold = (project.findProperty("jmh.threshold")?.toString() ?: "10").toDouble()
+    val results = jmhResults
+    val baseline = jmhBaselineFile
+    doLast {
+        @Suppress("UNCHECKED_CAST")
+        fun read(file: File) = (JsonSlurper().parse(file) as List<Map<String, Any?>>).associateBy {
+            // benchmarks with several modes have a result per mode
+            "${it["benchmark"]}:${it["mode"]}${it["params"] ?: ""}"
+        }
+
+        fun score(metric: Any?) = ((metric as Map<*, *>?)?.get("score") as Number?)?.toDouble()
+
+        val baselineFile = baseline.asFile
+        if (!baselineFile.exists()) {
+            throw GradleException("no baseline $baselineFile, run jmhBaseline")
+        }
+        val current = read(results.get().asFile)
+        val previous = read(baselineFile)
+        val regressions = mutableListOf<String>()
+        for ((key, result) in current) {
+            val base = previous[key] ?: continue
+            val higherIsBetter = result["mode"] == "thrpt"
+            val primaryMetric = result["primaryMetric"] as Map<*, *>
+            val unit = primaryMetric["scoreUnit"]
+            val scores = mutableListOf(Triple(unit, score(primaryMetric), score(base["primaryMetric"])))
+            val secondary = result["secondaryMetrics"] as Map<*, *>?
+            val baseSecondary = base["secondaryMetrics"] as Map<*, *>?
+            val alloc = "gc.alloc.rate.norm"
+            scores.add(Triple("B/op", score(secondary?.get(alloc)), score(baseSecondary?.get(alloc))))
+            for ((name, now, was) in scores) {
+                if (now == null || was == null || was == 0.0) {
+                    continue
+                }
+                val change = (now - was) / was * 100
+                val worse = if (higherIsBetter && name == unit) -change else change
+                val line = "%s: %.3f -> %.3f %s (%+.1f%%)".format(key, was, now, name, change)
+                logger.lifecycle(line)
+                if (worse > threshold) {
+                    regressions.add(line)
+                }
+            }
+        }
+        if (regressions.isNotEmpty()) {
+            throw GradleException("benchmark regressions over $threshold%:\n" + regressions.joinToString("\n"))
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.m4gshm.tests.benchmarks;
+
+import io.github.m4gshm.Grpc;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// the cost of the blocking service call wrapper over a direct response to the observer
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GrpcSubscribeBenchmark {
+    private final String response = "response";
+    private Grpc grpc;
+
+    private static StreamObserver<String> observer(Blackhole blackhole) {
+        return new StreamObserver<>() {
+            @Override
+            public void onNext(String value) {
+                blackhole.consume(value);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                blackhole.consume(t);
+            }
+
+            @Override
+            public void onCompleted() {
+            }
+        };
+    }
+
+    @Setup
+    public void setUp() {
+        grpc = new Grpc(throwable -> Status.INTERNAL.withCause(throwable).asRuntimeException());
+    }
+
+    @Benchmark
+    public void direct(Blackhole blackhole) {
+        var observer = observer(blackhole);
+        observer.onNext(response);
+        observer.onCompleted();
+    }
+
+    @Benchmark
+    public void subscribe(Blackhole blackhole) {
+        grpc.subscribe("get", observer(blackhole), () -> response);
+    }
+}
@@ -0,0 +1,125 @@
+package io.github.m4gshm.tests.benchmarks;
+
+import io.github.m4gshm.idempotent.consumer.InputMessagesPartitionMetrics;
+import io.github.m4gshm.idempotent.consumer.MappedMessageIds;
+import io.github.m4gshm.idempotent.consumer.MessageAlreadyProcessedException;
+import io.github.m4gshm.idempotent.consumer.MessageImpl;
+import io.github.m4gshm.idempotent.consumer.MessageStorage;
+import io.github.m4gshm.idempotent.consumer.MessageStorageImpl;
+import io.github.m4gshm.idempotent.consumer.MessageStorageMaintenanceServiceImpl;
+import io.github.m4gshm.idempotent.consumer.RecentMessages;
+import io.github.m4gshm.idempotent.consumer.TieredMessageStorage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.TransactionAwareDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.time.Period;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static io.github.m4gshm.idempotent.consumer.PartitionType.CURRENT;
+import static io.github.m4gshm.idempotent.consumer.storage.tables.InputMessages.INPUT_MESSAGES;
+
+// compares the database storage with the mapped message ids tier in front of it,
+// needs the idempotent_consumer database, see -Ddb.url, -Ddb.username, -Ddb.password
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MessageStorageBenchmark {
+    private static final int REDELIVERED = 1024;
+
+    @Param({ "database", "mapped" })
+    public String storage;
+
+    private final String subscriber = "benchmark-" + UUID.randomUUID();
+    private final OffsetDateTime timestamp = OffsetDateTime.now();
+    private MessageStorage messageStorage;
+    private Path directory;
+    private long sequence;
+
+    private MessageImpl message(String id) {
+        return MessageImpl.builder().subscriberID(subscriber).messageID(id).timestamp(timestamp).build();
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        var dataSource = new DriverManagerDataSource(
+                System.getProperty("db.url", "jdbc:postgresql://localhost:5000/idempotent_consumer"),
+                System.getProperty("db.username", "postgres"),
+                System.getProperty("db.password", "postgres"));
+        var dsl = DSL.using(new TransactionAwareDataSourceProxy(dataSource), SQLDialect.POSTGRES);
+        var clock = Clock.systemDefaultZone();
+        var maintenanceService = new MessageStorageMaintenanceServiceImpl(dsl,
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)),
+                INPUT_MESSAGES,
+                "yyyy_MM_dd",
+                clock,
+                true,
+                true,
+                Period.ofDays(7),
+                0,
+                new InputMessagesPartitionMetrics(new SimpleMeterRegistry()));
+        maintenanceService.afterPropertiesSet();
+        var databaseStorage = new MessageStorageImpl(maintenanceService, dsl, INPUT_MESSAGES, clock, true, new RecentMessages(0));
+        if ("mapped".equals(storage)) {
+            directory = Files.createTempDirectory("message-storage-benchmark");
+            messageStorage = new TieredMessageStorage(new MappedMessageIds(directory, 1 << 16, Period.ofDays(7), clock),
+                    databaseStorage,
+                    moment -> maintenanceService.getPartitionStart(CURRENT, moment));
+        } else {
+            messageStorage = databaseStorage;
+        }
+        for (var i = 0; i < REDELIVERED; i++) {
+            messageStorage.storeUnique(message("redelivered-" + i));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (messageStorage instanceof TieredMessageStorage tiered) {
+            tiered.close();
+        }
+        if (directory != null) {
+            try (var files = Files.walk(directory)) {
+                for (var file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void storeNew() {
+        messageStorage.storeUnique(message("new-" + sequence++));
+    }
+
+    @Benchmark
+    public boolean storeRedelivered() {
+        try {
+            messageStorage.storeUnique(message("redelivered-" + (sequence++ % REDELIVERED)));
+            return false;
+        } catch (MessageAlreadyProcessedException e) {
+            return true;
+        }
+    }
+}
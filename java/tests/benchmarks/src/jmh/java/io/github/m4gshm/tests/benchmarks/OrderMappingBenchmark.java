@@ -0,0 +1,102 @@
+package io.github.m4gshm.tests.benchmarks;
+
+import io.github.m4gshm.orders.data.access.jooq.enums.DeliveryType;
+import io.github.m4gshm.orders.data.access.jooq.enums.OrderStatus;
+import io.github.m4gshm.orders.data.access.jooq.tables.records.DeliveryRecord;
+import io.github.m4gshm.orders.data.access.jooq.tables.records.ItemRecord;
+import io.github.m4gshm.orders.data.access.jooq.tables.records.OrdersRecord;
+import io.github.m4gshm.orders.data.model.Order;
+import io.github.m4gshm.orders.data.storage.jooq.OrderStorageJooqMapperUtils;
+import io.github.m4gshm.orders.service.OrderServiceUtils;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import payment.v1.PaymentOuterClass.Payment;
+import reserve.v1.ReserveOuterClass.Reserve;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static io.github.m4gshm.orders.data.access.jooq.Tables.DELIVERY;
+import static io.github.m4gshm.orders.data.access.jooq.Tables.ITEM;
+import static io.github.m4gshm.orders.data.access.jooq.Tables.ORDERS;
+
+// the mappings every order call runs: the storage row to the model and the model to the response
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OrderMappingBenchmark {
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    @Param({ "1", "10" })
+    public int items;
+
+    private OrdersRecord ordersRecord;
+    private DeliveryRecord deliveryRecord;
+    private List<ItemRecord> itemRecords;
+    private Order order;
+    private List<Reserve.Item> reserveItems;
+
+    @Setup
+    public void setUp() {
+        var dsl = DSL.using(SQLDialect.POSTGRES);
+        var now = OffsetDateTime.now();
+
+        ordersRecord = dsl.newRecord(ORDERS);
+        ordersRecord.set(ORDERS.ID, "order-1");
+        ordersRecord.set(ORDERS.STATUS, OrderStatus.CREATED);
+        ordersRecord.set(ORDERS.CUSTOMER_ID, "customer-1");
+        ordersRecord.set(ORDERS.PAYMENT_ID, "payment-1");
+        ordersRecord.set(ORDERS.RESERVE_ID, "reserve-1");
+        ordersRecord.set(ORDERS.CREATED_AT, now);
+        ordersRecord.set(ORDERS.UPDATED_AT, now);
+        ordersRecord.set(ORDERS.VERSION, 1L);
+
+        deliveryRecord = dsl.newRecord(DELIVERY);
+        deliveryRecord.set(DELIVERY.ORDER_ID, "order-1");
+        deliveryRecord.set(DELIVERY.ADDRESS, "address");
+        deliveryRecord.set(DELIVERY.TYPE, DeliveryType.PICKUP);
+
+        itemRecords = IntStream.range(0, items).mapToObj(i -> {
+            var itemRecord = dsl.newRecord(ITEM);
+            itemRecord.set(ITEM.ID, "item-" + i);
+            itemRecord.set(ITEM.ORDER_ID, "order-1");
+            itemRecord.set(ITEM.AMOUNT, 1);
+            return itemRecord;
+        }).toList();
+
+        order = OrderStorageJooqMapperUtils.toOrder(ordersRecord, deliveryRecord, itemRecords);
+        reserveItems = IntStream.range(0, items).mapToObj(i -> Reserve.Item.newBuilder()
+                .setId("item-" + i)
+                .setAmount(1)
+                .setReserved(true)
+                .build()).toList();
+    }
+
+    @Benchmark
+    public Order toOrder() {
+        return OrderStorageJooqMapperUtils.toOrder(ordersRecord, deliveryRecord, itemRecords);
+    }
+
+    @Benchmark
+    public orders.v1.OrderOuterClass.Order toOrderGrpc() {
+        return OrderServiceUtils.toOrderGrpc(order, Payment.Status.HOLD, reserveItems);
+    }
+
+    @Benchmark
+    public void toOrderStatusGrpc(Blackhole blackhole) {
+        for (var status : STATUSES) {
+            blackhole.consume(OrderServiceUtils.toOrderStatusGrpc(status));
+        }
+    }
+}
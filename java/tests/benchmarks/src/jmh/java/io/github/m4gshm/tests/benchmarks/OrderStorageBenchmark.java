@@ -0,0 +1,314 @@
+package io.github.m4gshm.tests.benchmarks;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.github.m4gshm.jooq.R2dbcReactiveJooqImpl;
+import io.github.m4gshm.jooq.R2dbcSubscriberProvider;
+import io.github.m4gshm.orders.data.access.jooq.enums.DeliveryType;
+import io.github.m4gshm.orders.data.access.jooq.enums.OrderStatus;
+import io.github.m4gshm.orders.data.model.Order;
+import io.github.m4gshm.orders.data.storage.OrderStorage;
+import io.github.m4gshm.orders.data.storage.ReactiveOrderStorage;
+import io.github.m4gshm.orders.data.storage.jdbc.OrderStorageImpl;
+import io.github.m4gshm.orders.data.storage.jooq.OrderReadStrategy;
+import io.github.m4gshm.orders.data.storage.r2dbc.ReactiveOrderStorageR2dbc;
+import io.github.m4gshm.storage.Page;
+import io.github.m4gshm.tracing.TraceService;
+import io.m4gshm.dtp.orders.sqlc.OrderStorageSqlcImpl;
+import io.micrometer.observation.ObservationRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.postgresql.PostgresqlConnectionConfiguration;
+import io.r2dbc.postgresql.PostgresqlConnectionFactory;
+import liquibase.integration.spring.SpringLiquibase;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.jooq.impl.DefaultConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.TransactionAwareDataSourceProxy;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static io.github.m4gshm.orders.data.access.jooq.enums.OrderStatus.CREATED;
+import static io.github.m4gshm.orders.data.access.jooq.enums.OrderStatus.INSUFFICIENT;
+import static java.util.Objects.requireNonNull;
+
+// drives the same order workloads through the jdbc, r2dbc and sqlc storages over one seeded database,
+// starts a postgres container unless -Ddb.url points to an existing one, the seeded rows are deleted after the trial
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class OrderStorageBenchmark {
+    private static final String IMAGE = "postgres:17.5";
+    private static final String ORDERS_SCHEMA = "schema-orders.sql";
+    private static final int POOL_SIZE = 16;
+    private static final int ITEMS = 3;
+    private static final int PAGE_SIZE = 50;
+    private static final int PAGES = 20;
+    private static final List<OrderStatus> STATUSES = List.of(CREATED, INSUFFICIENT);
+
+    @Param({ "jdbc-two-queries", "jdbc-multiset", "r2dbc-two-queries", "r2dbc-multiset", "sqlc" })
+    public String storage;
+
+    @Param({ "100000" })
+    public int orders;
+
+    @Param({ "1000" })
+    public int customers;
+
+    private final String prefix = "benchmark-" + UUID.randomUUID() + "-";
+    private final AtomicLong sequence = new AtomicLong();
+    private PostgreSQLContainer postgres;
+    private HikariDataSource dataSource;
+    private ConnectionPool connectionPool;
+    private Workload workload;
+
+    private static void migrate(HikariDataSource dataSource) throws Exception {
+        var liquibase = new SpringLiquibase();
+        liquibase.setDataSource(dataSource);
+        liquibase.setChangeLog("classpath:db/changelog/db.changelog-master.yaml");
+        try (var resources = ordersStorageResources()) {
+            liquibase.setResourceLoader(new DefaultResourceLoader(resources));
+            liquibase.afterPropertiesSet();
+        }
+    }
+
+    // the reserve storage ships the same changelog path, so the changelog is read only from the resources root
+    // of the orders storage, which is found by its own schema file
+    private static URLClassLoader ordersStorageResources() throws Exception {
+        var schema = requireNonNull(OrderStorageBenchmark.class.getClassLoader().getResource(ORDERS_SCHEMA),
+                ORDERS_SCHEMA).toString();
+        var root = URI.create(schema.substring(0, schema.length() - ORDERS_SCHEMA.length())).toURL();
+        return new URLClassLoader(new URL[] { root }, null);
+    }
+
+    private static Workload blocking(OrderStorage orderStorage, TransactionTemplate transactionTemplate) {
+        return new Workload() {
+            @Override
+            public Order save(Order order) {
+                return transactionTemplate != null
+                        ? transactionTemplate.execute(_ -> orderStorage.save(order))
+                        : orderStorage.save(order);
+            }
+
+            @Override
+            public Order findById(String id) {
+                return orderStorage.findById(id);
+            }
+
+            @Override
+            public List<Order> findByClientIdAndStatuses(String clientId, Collection<OrderStatus> statuses) {
+                return orderStorage.findByClientIdAndStatuses(clientId, statuses);
+            }
+
+            @Override
+            public List<Order> findAll(Page page, OrderStatus status) {
+                return orderStorage.findAll(page, status);
+            }
+        };
+    }
+
+    private static Workload reactive(ReactiveOrderStorage orderStorage) {
+        return new Workload() {
+            @Override
+            public Order save(Order order) {
+                return orderStorage.save(order).block();
+            }
+
+            @Override
+            public Order findById(String id) {
+                return orderStorage.findById(id).block();
+            }
+
+            @Override
+            public List<Order> findByClientIdAndStatuses(String clientId, Collection<OrderStatus> statuses) {
+                return orderStorage.findByClientIdAndStatuses(clientId, statuses).block();
+            }
+
+            @Override
+            public List<Order> findAll(Page page, OrderStatus status) {
+                return orderStorage.findAll(page, status).block();
+            }
+        };
+    }
+
+    private static OrderReadStrategy readStrategy(String storage) {
+        return storage.endsWith("multiset") ? OrderReadStrategy.MULTISET : OrderReadStrategy.TWO_QUERIES;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        var url = System.getProperty("db.url");
+        var username = System.getProperty("db.username", "postgres");
+        var password = System.getProperty("db.password", "postgres");
+        if (url == null) {
+            postgres = new PostgreSQLContainer(IMAGE);
+            postgres.start();
+            url = postgres.getJdbcUrl();
+            username = postgres.getUsername();
+            password = postgres.getPassword();
+        }
+
+        var config = new HikariConfig();
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setMaximumPoolSize(POOL_SIZE);
+        dataSource = new HikariDataSource(config);
+        migrate(dataSource);
+
+        var dsl = DSL.using(new TransactionAwareDataSourceProxy(dataSource), SQLDialect.POSTGRES);
+        seed(dsl);
+
+        workload = switch (storage) {
+            case "jdbc-two-queries", "jdbc-multiset" -> blocking(
+                    new OrderStorageImpl(dsl, readStrategy(storage)),
+                    new TransactionTemplate(new DataSourceTransactionManager(dataSource))
+            );
+            case "r2dbc-two-queries", "r2dbc-multiset" -> {
+                // the jdbc url is reused for the r2dbc connection factory
+                var uri = URI.create(url.substring("jdbc:".length()));
+                var connectionFactory = new PostgresqlConnectionFactory(PostgresqlConnectionConfiguration.builder()
+                        .host(uri.getHost())
+                        .port(uri.getPort())
+                        .database(uri.getPath().substring(1))
+                        .username(username)
+                        .password(password)
+                        .build());
+                connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                        .maxSize(POOL_SIZE)
+                        .build());
+                var configuration = new DefaultConfiguration();
+                configuration.set(SQLDialect.POSTGRES);
+                configuration.set(connectionPool);
+                configuration.set(new R2dbcSubscriberProvider());
+                var traceService = new TraceService(ObservationRegistry.NOOP);
+                var jooq = new R2dbcReactiveJooqImpl(new R2dbcTransactionManager(connectionPool),
+                        connectionPool,
+                        configuration,
+                        traceService,
+                        DSL.using(configuration));
+                yield reactive(new ReactiveOrderStorageR2dbc(jooq, traceService, readStrategy(storage)));
+            }
+            // the sqlc storage takes a connection per call and does not join a transaction
+            case "sqlc" -> blocking(new OrderStorageSqlcImpl(dataSource), null);
+            default -> throw new IllegalArgumentException("unexpected storage " + storage);
+        };
+    }
+
+    private void seed(DSLContext dsl) {
+        dsl.execute("""
+                insert into orders (id, customer_id, status, created_at, updated_at)
+                select ? || i, ? || 'customer-' || (i % ?),
+                       (enum_range(null::order_status))[1 + i % array_length(enum_range(null::order_status), 1)],
+                       now() - i * interval '1 second', now() - i * interval '1 second'
+                from generate_series(1, ?) i
+                """, prefix, prefix, customers, orders);
+        dsl.execute("""
+                insert into delivery (order_id, address, type)
+                select ? || i, 'address ' || i,
+                       (enum_range(null::delivery_type))[1 + i % array_length(enum_range(null::delivery_type), 1)]
+                from generate_series(1, ?) i
+                """, prefix, orders);
+        dsl.execute("""
+                insert into item (id, order_id, amount)
+                select 'item-' || j, ? || i, j
+                from generate_series(1, ?) i, generate_series(1, ?) j
+                """, prefix, orders, ITEMS);
+        dsl.execute("analyze orders");
+        dsl.execute("analyze delivery");
+        dsl.execute("analyze item");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (dataSource != null) {
+            var dsl = DSL.using(dataSource, SQLDialect.POSTGRES);
+            var pattern = prefix + "%";
+            dsl.execute("delete from item where order_id like ?", pattern);
+            dsl.execute("delete from delivery where order_id like ?", pattern);
+            dsl.execute("delete from orders where id like ?", pattern);
+            dataSource.close();
+        }
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+
+    private String randomOrderId() {
+        return prefix + (1 + ThreadLocalRandom.current().nextInt(orders));
+    }
+
+    private String randomCustomerId() {
+        return prefix + "customer-" + ThreadLocalRandom.current().nextInt(customers);
+    }
+
+    @Benchmark
+    public Order save() {
+        var now = OffsetDateTime.now();
+        var id = prefix + "new-" + sequence.incrementAndGet();
+        return workload.save(Order.builder()
+                .id(id)
+                .status(CREATED)
+                .customerId(randomCustomerId())
+                .createdAt(now)
+                .updatedAt(now)
+                .delivery(Order.Delivery.builder().address("address").type(DeliveryType.COURIER).build())
+                .items(IntStream.rangeClosed(1, ITEMS).mapToObj(i -> new Order.Item("item-" + i, i)).toList())
+                .build());
+    }
+
+    @Benchmark
+    public Order findById() {
+        return workload.findById(randomOrderId());
+    }
+
+    @Benchmark
+    public List<Order> findByClientIdAndStatuses() {
+        return workload.findByClientIdAndStatuses(randomCustomerId(), STATUSES);
+    }
+
+    @Benchmark
+    public List<Order> findAllPaged() {
+        return workload.findAll(new Page(ThreadLocalRandom.current().nextInt(PAGES), PAGE_SIZE), CREATED);
+    }
+
+    // the storages have no common interface, the blocking and reactive ones are brought to one
+    private interface Workload {
+        Order save(Order order);
+
+        Order findById(String id);
+
+        List<Order> findByClientIdAndStatuses(String clientId, Collection<OrderStatus> statuses);
+
+        List<Order> findAll(Page page, OrderStatus status);
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.m4gshm.tests.benchmarks;
+
+import io.github.m4gshm.reserve.data.model.Reserve;
+import io.github.m4gshm.reserve.service.ReserveServiceUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import reserve.data.access.jooq.enums.ReserveStatus;
+import reserve.v1.ReserveOuterClass;
+
+import java.time.OffsetDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ReserveMappingBenchmark {
+
+    @Param({ "1", "10" })
+    public int items;
+
+    private Reserve reserve;
+
+    @Setup
+    public void setUp() {
+        var now = OffsetDateTime.now();
+        reserve = Reserve.builder()
+                .id("reserve-1")
+                .externalRef("order-1")
+                .status(ReserveStatus.CREATED)
+                .createdAt(now)
+                .updatedAt(now)
+                .items(IntStream.range(0, items).mapToObj(i -> Reserve.Item.builder()
+                        .id("item-" + i)
+                        .amount(1)
+                        // every other item is short to map the optional field both ways
+                        .insufficient(i % 2 == 0 ? null : 1)
+                        .reserved(i % 2 == 0)
+                        .build()).toList())
+                .version(1L)
+                .build();
+    }
+
+    @Benchmark
+    public ReserveOuterClass.Reserve toReserveProto() {
+        return ReserveServiceUtils.toReserveProto(reserve);
+    }
+}
@@ -0,0 +1,39 @@
+package io.github.m4gshm.tests.benchmarks;
+
+import com.google.protobuf.Timestamp;
+import io.github.m4gshm.protobuf.TimestampUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TimestampUtilsBenchmark {
+    private OffsetDateTime offsetDateTime;
+    private Timestamp timestamp;
+
+    @Setup
+    public void setUp() {
+        offsetDateTime = OffsetDateTime.now();
+        timestamp = TimestampUtils.toTimestamp(offsetDateTime);
+    }
+
+    @Benchmark
+    public Timestamp toTimestamp() {
+        return TimestampUtils.toTimestamp(offsetDateTime);
+    }
+
+    @Benchmark
+    public Instant toInstant() {
+        return TimestampUtils.toInstant(timestamp);
+    }
+}
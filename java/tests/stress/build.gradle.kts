@@ -42,6 +42,18 @@ tasks.register<GatlingRunTask>("gatlingRunGrpc") {
     simulationClassName = "io.github.m4gshm.tests.stress.gatling.OrderFlowSimulationGrpc"
 }
 
+tasks.register<GatlingRunTask>("gatlingRunHotItem") {
+    dependsOn(project.tasks.named("gatlingClasses"))
+    group = "Gatling"
+    simulationClassName = "io.github.m4gshm.tests.stress.gatling.HotItemReserveSimulationGrpc"
+}
+
+tasks.register<GatlingRunTask>("gatlingRunAccountLock") {
+    dependsOn(project.tasks.named("gatlingClasses"))
+    group = "Gatling"
+    simulationClassName = "io.github.m4gshm.tests.stress.gatling.AccountLockSimulationGrpc"
+}
+
 val goEnv = mapOf(
     "ORDER_URL" to "http://localhost:8001",
     "ACCOUNT_URL" to "http://localhost:8002",
@@ -0,0 +1,114 @@
+package io.github.m4gshm.tests.stress.gatling;
+
+import account.v1.AccountServiceOuterClass.AccountListRequest;
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+import io.github.m4gshm.grpc.client.ClientProperties;
+import lombok.extern.slf4j.Slf4j;
+import payment.v1.PaymentServiceGrpc;
+import payment.v1.PaymentServiceOuterClass.PaymentApproveRequest;
+import payment.v1.PaymentServiceOuterClass.PaymentApproveResponse;
+import payment.v1.PaymentServiceOuterClass.PaymentCreateRequest;
+import payment.v1.PaymentServiceOuterClass.PaymentCreateResponse;
+import payment.v1.PaymentServiceOuterClass.PaymentPayRequest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static account.v1.AccountServiceGrpc.newBlockingStub;
+import static io.gatling.javaapi.core.CoreDsl.constantConcurrentUsers;
+import static io.gatling.javaapi.core.CoreDsl.global;
+import static io.gatling.javaapi.core.CoreDsl.scenario;
+import static io.gatling.javaapi.grpc.GrpcDsl.grpc;
+import static io.gatling.javaapi.grpc.GrpcDsl.response;
+import static io.gatling.javaapi.grpc.GrpcDsl.statusCode;
+import static io.github.m4gshm.test.commons.ManagedChannelUtils.newManagedChannel;
+import static io.github.m4gshm.test.commons.orders.OrderUtils.CUSTOMER_ID;
+import static io.github.m4gshm.test.commons.orders.OrderUtils.newAccountTopUpRequest;
+import static io.grpc.Status.Code.OK;
+import static java.time.Duration.ofSeconds;
+import static payment.v1.PaymentOuterClass.Payment.Status.HOLD;
+
+// locks and writes off payments of one client directly in the payments service,
+// run it with service.payments.account.update-strategy=select_for_update and conditional_update
+// and compare the ApprovePayment and PayPayment response times, they are dominated by the account row lock wait
+@Slf4j
+public class AccountLockSimulationGrpc extends Simulation {
+    private static final Map<String, String> env = System.getenv();
+    public static final String ACCOUNT_ADDRESS = env.getOrDefault("ACCOUNT_ADDRESS", "localhost:9082");
+    public static final int USERS = Integer.parseInt(env.getOrDefault("ACCOUNT_LOCK_USERS", "64"));
+    public static final int DURATION = Integer.parseInt(env.getOrDefault("ACCOUNT_LOCK_DURATION", "60"));
+
+    private static final double PAYMENT_AMOUNT = 1.0;
+    private static final int REQUESTS = 10_000_000;
+
+    {
+        setUp(newScenario().injectClosed(constantConcurrentUsers(USERS).during(DURATION)))
+                .assertions(global().failedRequests().count().lt(1L))
+                .protocols(
+                        grpc.serverConfigurations(
+                                grpc
+                                        .serverConfiguration("payments")
+                                        .forTarget(ACCOUNT_ADDRESS)
+                                        .usePlaintext()
+                        )
+                )
+                .maxDuration(ofSeconds(DURATION * 2L));
+    }
+
+    private static ClientProperties clientProperties(String address) {
+        var properties = new ClientProperties();
+        properties.setAddress(address);
+        properties.setSecure(false);
+        return properties;
+    }
+
+    private static ScenarioBuilder newScenario() {
+        var create = grpc("CreatePayment")
+                .unary(PaymentServiceGrpc.getCreateMethod())
+                .send(_ -> PaymentCreateRequest.newBuilder()
+                        .setBody(PaymentCreateRequest.PaymentCreate.newBuilder()
+                                .setClientId(CUSTOMER_ID)
+                                .setExternalRef(UUID.randomUUID().toString())
+                                .setAmount(PAYMENT_AMOUNT)
+                                .build())
+                        .build())
+                .check(statusCode().is(OK))
+                .check(response(PaymentCreateResponse::getId).notNull().saveAs("id"));
+
+        var approve = grpc("ApprovePayment")
+                .unary(PaymentServiceGrpc.getApproveMethod())
+                .send(session -> PaymentApproveRequest.newBuilder().setId(session.getString("id")).build())
+                .check(statusCode().is(OK))
+                .check(response(PaymentApproveResponse::getStatus).is(HOLD));
+
+        var pay = grpc("PayPayment")
+                .unary(PaymentServiceGrpc.getPayMethod())
+                .send(session -> PaymentPayRequest.newBuilder().setId(session.getString("id")).build())
+                .check(statusCode().is(OK));
+
+        return scenario("Account Lock").exitBlockOnFail().on(create, approve, pay);
+    }
+
+    @Override
+    public void before() {
+        var accountChannel = newManagedChannel(clientProperties(ACCOUNT_ADDRESS), List.of());
+        try {
+            var accountService = newBlockingStub(accountChannel);
+            double balance = accountService.list(AccountListRequest.newBuilder().build())
+                    .getAccountsList()
+                    .stream()
+                    .filter(a -> CUSTOMER_ID.equals(a.getClientId()))
+                    .map(a -> a.getAmount() - a.getLocked())
+                    .reduce(0.0, Double::sum);
+            var expectedUserBalance = PAYMENT_AMOUNT * REQUESTS;
+            log.info("balance {}, users {}", balance, USERS);
+            if (balance < expectedUserBalance) {
+                accountService.topUp(newAccountTopUpRequest(CUSTOMER_ID, expectedUserBalance - balance));
+            }
+        } finally {
+            accountChannel.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package io.github.m4gshm.tests.stress.gatling;
+
+import account.v1.AccountServiceOuterClass.AccountListRequest;
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+import io.github.m4gshm.grpc.client.ClientProperties;
+import lombok.extern.slf4j.Slf4j;
+import orders.v1.OrderServiceGrpc;
+import orders.v1.OrderServiceOuterClass.OrderApproveResponse;
+import orders.v1.OrderServiceOuterClass.OrderCreateResponse;
+import orders.v1.OrderServiceOuterClass.OrderReleaseResponse;
+import warehouse.v1.WarehouseItemServiceGrpc;
+import warehouse.v1.WarehouseService.GetItemCostRequest;
+import warehouse.v1.WarehouseService.ItemListRequest;
+
+import java.util.List;
+import java.util.Map;
+
+import static account.v1.AccountServiceGrpc.newBlockingStub;
+import static io.gatling.javaapi.core.CoreDsl.constantConcurrentUsers;
+import static io.gatling.javaapi.core.CoreDsl.global;
+import static io.gatling.javaapi.core.CoreDsl.scenario;
+import static io.gatling.javaapi.grpc.GrpcDsl.grpc;
+import static io.gatling.javaapi.grpc.GrpcDsl.response;
+import static io.gatling.javaapi.grpc.GrpcDsl.statusCode;
+import static io.github.m4gshm.test.commons.ManagedChannelUtils.newManagedChannel;
+import static io.github.m4gshm.test.commons.orders.OrderUtils.CUSTOMER_ID;
+import static io.github.m4gshm.test.commons.orders.OrderUtils.newAccountTopUpRequest;
+import static io.github.m4gshm.test.commons.orders.OrderUtils.newApproveRequest;
+import static io.github.m4gshm.test.commons.orders.OrderUtils.newCreateRequest;
+import static io.github.m4gshm.test.commons.orders.OrderUtils.newItemTopUpRequest;
+import static io.github.m4gshm.test.commons.orders.OrderUtils.newReleaseRequest;
+import static io.grpc.Status.Code.OK;
+import static java.time.Duration.ofSeconds;
+import static orders.v1.OrderOuterClass.Order.Status.APPROVED;
+import static orders.v1.OrderOuterClass.Order.Status.RELEASED;
+
+// all users order the same single item, run it against reserve services with different
+// service.reserve.warehouse-item.stripes values to compare the hot row contention
+@Slf4j
+public class HotItemReserveSimulationGrpc extends Simulation {
+    private static final Map<String, String> env = System.getenv();
+    public static final String ACCOUNT_ADDRESS = env.getOrDefault("ACCOUNT_ADDRESS", "localhost:9082");
+    public static final String WAREHOUSE_ADDRESS = env.getOrDefault("WAREHOUSE_ADDRESS", "localhost:9081");
+    public static final String ORDER_ADDRESS = env.getOrDefault("ORDER_ADDRESS", "localhost:9080");
+    public static final String HOT_ITEM_ID = env.getOrDefault("HOT_ITEM_ID", "f7c36185-f570-4e6b-b1b2-f3f0f9c46135");
+    public static final int USERS = Integer.parseInt(env.getOrDefault("HOT_ITEM_USERS", "64"));
+    public static final int DURATION = Integer.parseInt(env.getOrDefault("HOT_ITEM_DURATION", "60"));
+
+    private static final int REQUESTS = 10_000_000;
+
+    {
+        setUp(newScenario().injectClosed(constantConcurrentUsers(USERS).during(DURATION)))
+                .assertions(global().failedRequests().count().lt(1L))
+                .protocols(
+                        grpc.serverConfigurations(
+                                grpc
+                                        .serverConfiguration("order")
+                                        .forTarget(ORDER_ADDRESS)
+                                        .usePlaintext()
+                        )
+                )
+                .maxDuration(ofSeconds(DURATION * 2L));
+    }
+
+    private static ClientProperties clientProperties(String address) {
+        var properties = new ClientProperties();
+        properties.setAddress(address);
+        properties.setSecure(false);
+        return properties;
+    }
+
+    private static ScenarioBuilder newScenario() {
+        var create = grpc("CreateOrder")
+                .unary(OrderServiceGrpc.getCreateMethod())
+                .send(newCreateRequest(Map.of(HOT_ITEM_ID, 1), CUSTOMER_ID, false))
+                .check(statusCode().is(OK))
+                .check(response(OrderCreateResponse::getId).notNull().saveAs("id"));
+
+        var approve = grpc("ApproveOrder")
+                .unary(OrderServiceGrpc.getApproveMethod())
+                .send(session -> newApproveRequest(session.get("id"), false))
+                .check(statusCode().is(OK))
+                .check(response(OrderApproveResponse::getStatus).is(APPROVED));
+
+        var release = grpc("ReleaseOrder")
+                .unary(OrderServiceGrpc.getReleaseMethod())
+                .send(session -> newReleaseRequest(session.get("id"), false))
+                .check(statusCode().is(OK))
+                .check(response(OrderReleaseResponse::getStatus).is(RELEASED));
+
+        return scenario("Hot Item Reserve").exitBlockOnFail().on(create, approve, release);
+    }
+
+    @Override
+    public void before() {
+        var accountChannel = newManagedChannel(clientProperties(ACCOUNT_ADDRESS), List.of());
+        var warehouseChannel = newManagedChannel(clientProperties(WAREHOUSE_ADDRESS), List.of());
+        try {
+            var accountService = newBlockingStub(accountChannel);
+            var warehouseItemService = WarehouseItemServiceGrpc.newBlockingStub(warehouseChannel);
+
+            var cost = warehouseItemService.getItemCost(GetItemCostRequest.newBuilder().setId(HOT_ITEM_ID).build())
+                    .getCost();
+            double balance = accountService.list(AccountListRequest.newBuilder().build())
+                    .getAccountsList()
+                    .stream()
+                    .filter(a -> CUSTOMER_ID.equals(a.getClientId()))
+                    .map(a -> a.getAmount() - a.getLocked())
+                    .reduce(0.0, Double::sum);
+            var expectedUserBalance = cost * REQUESTS;
+            if (balance < expectedUserBalance) {
+                accountService.topUp(newAccountTopUpRequest(CUSTOMER_ID, expectedUserBalance - balance));
+            }
+
+            var item = warehouseItemService.itemList(ItemListRequest.newBuilder().build())
+                    .getAccountsList()
+                    .stream()
+                    .filter(i -> HOT_ITEM_ID.equals(i.getId()))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("item not found " + HOT_ITEM_ID));
+            var available = item.getAmount() - item.getReserved();
+            log.info("hot item {}, available {}, users {}", HOT_ITEM_ID, available, USERS);
+            if (available < REQUESTS) {
+                warehouseItemService.topUp(newItemTopUpRequest(HOT_ITEM_ID, REQUESTS - available));
+            }
+        } finally {
+            accountChannel.shutdownNow();
+            warehouseChannel.shutdownNow();
+        }
+    }
+}
@@ -1,26 +1,64 @@
 package io.github.m4gshm.tpc.service;
 
+import io.github.m4gshm.postgres.prepared.transaction.PreparedTransaction;
 import io.github.m4gshm.postgres.prepared.transaction.PreparedTransactionService;
+import io.grpc.Status;
 import io.grpc.stub.StreamObserver;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
 import tpc.v1.TpcService;
+import tpc.v1.TpcService.TwoPhaseBatchResponse;
+import tpc.v1.TpcService.TwoPhaseCommitBatchRequest;
 import tpc.v1.TpcService.TwoPhaseCommitRequest;
 import tpc.v1.TpcService.TwoPhaseCommitResponse;
 import tpc.v1.TpcService.TwoPhaseListActivesRequest;
 import tpc.v1.TpcService.TwoPhaseListActivesResponse;
 import tpc.v1.TpcService.TwoPhaseListActivesResponse.Transaction;
+import tpc.v1.TpcService.TwoPhaseRollbackBatchRequest;
 import tpc.v1.TpcService.TwoPhaseRollbackRequest;
 import tpc.v1.TpcService.TwoPhaseRollbackResponse;
 
+import java.util.List;
+import java.util.function.Consumer;
+
+import static io.github.m4gshm.protobuf.TimestampUtils.toTimestamp;
+import static java.util.Objects.requireNonNullElse;
+import static java.util.Optional.ofNullable;
 import static lombok.AccessLevel.PRIVATE;
 
+@Slf4j
 @RequiredArgsConstructor
 @FieldDefaults(makeFinal = true, level = PRIVATE)
 public class TwoPhaseCommitServiceImpl extends tpc.v1.TwoPhaseCommitServiceGrpc.TwoPhaseCommitServiceImplBase {
     io.github.m4gshm.Grpc grpc;
     PreparedTransactionService transactionService;
 
+    private static Transaction toTransaction(PreparedTransaction preparedTransaction) {
+        var transaction = Transaction.newBuilder().setId(preparedTransaction.gid());
+        ofNullable(toTimestamp(preparedTransaction.prepared())).ifPresent(transaction::setPrepared);
+        return transaction.build();
+    }
+
+    private TwoPhaseBatchResponse newBatchResponse(List<String> ids, Consumer<String> operation) {
+        return TwoPhaseBatchResponse.newBuilder()
+                .addAllResults(ids.stream().map(id -> {
+                    try {
+                        operation.accept(id);
+                        return TwoPhaseBatchResponse.Result.newBuilder().setId(id).build();
+                    } catch (Exception e) {
+                        log.error("batch operation error, transaction {}", id, e);
+                        var status = Status.fromThrowable(grpc.grpcExceptionConverter().convertToGrpcStatusException(e));
+                        return TwoPhaseBatchResponse.Result.newBuilder()
+                                .setId(id)
+                                .setCode(status.getCode().value())
+                                .setMessage(requireNonNullElse(status.getDescription(), ""))
+                                .build();
+                    }
+                }).toList())
+                .build();
+    }
+
     @Override
     public void commit(TwoPhaseCommitRequest request, StreamObserver<TpcService.TwoPhaseCommitResponse> response) {
         var requestId = request.getId();
@@ -38,9 +76,7 @@ public class TwoPhaseCommitServiceImpl extends tpc.v1.TwoPhaseCommitServiceGrpc.
             var transactions = transactionService.findAll();
             return TwoPhaseListActivesResponse.newBuilder()
                     .addAllTransactions(transactions.stream()
-                            .map(t -> Transaction.newBuilder()
-                                    .setId(t.gid())
-                                    .build())
+                            .map(TwoPhaseCommitServiceImpl::toTransaction)
                             .toList())
                     .build();
         });
@@ -56,4 +92,18 @@ public class TwoPhaseCommitServiceImpl extends tpc.v1.TwoPhaseCommitServiceGrpc.
                     .build();
         });
     }
+
+    @Override
+    public void commitBatch(TwoPhaseCommitBatchRequest request, StreamObserver<TwoPhaseBatchResponse> response) {
+        grpc.subscribe("commitBatch", response, () -> {
+            return newBatchResponse(request.getIdsList(), transactionService::commit);
+        });
+    }
+
+    @Override
+    public void rollbackBatch(TwoPhaseRollbackBatchRequest request, StreamObserver<TwoPhaseBatchResponse> response) {
+        grpc.subscribe("rollbackBatch", response, () -> {
+            return newBatchResponse(request.getIdsList(), transactionService::rollback);
+        });
+    }
 }
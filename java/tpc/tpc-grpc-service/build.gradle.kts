@@ -4,6 +4,7 @@ plugins {
 
 dependencies {
     api(project(":tpc:tpc-grpc-api"))
+    api(project(":protobuf-utils"))
     api(project(":postgres-prepared-transaction-r2dbc"))
     api(project(":grpc-service-webflux"))
 
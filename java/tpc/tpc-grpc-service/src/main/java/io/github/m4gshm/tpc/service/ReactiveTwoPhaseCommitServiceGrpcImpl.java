@@ -1,27 +1,67 @@
 package io.github.m4gshm.tpc.service;
 
+import io.github.m4gshm.GrpcExceptionConverter;
+import io.github.m4gshm.postgres.prepared.transaction.PreparedTransaction;
 import io.github.m4gshm.postgres.prepared.transaction.ReactivePreparedTransactionService;
 import io.github.m4gshm.reactive.ReactiveGrpc;
+import io.grpc.Status;
 import io.grpc.stub.StreamObserver;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import tpc.v1.TpcService;
+import tpc.v1.TpcService.TwoPhaseBatchResponse;
+import tpc.v1.TpcService.TwoPhaseCommitBatchRequest;
 import tpc.v1.TpcService.TwoPhaseCommitRequest;
 import tpc.v1.TpcService.TwoPhaseCommitResponse;
 import tpc.v1.TpcService.TwoPhaseListActivesRequest;
 import tpc.v1.TpcService.TwoPhaseListActivesResponse;
 import tpc.v1.TpcService.TwoPhaseListActivesResponse.Transaction;
+import tpc.v1.TpcService.TwoPhaseRollbackBatchRequest;
 import tpc.v1.TpcService.TwoPhaseRollbackRequest;
 import tpc.v1.TpcService.TwoPhaseRollbackResponse;
 
+import java.util.List;
+import java.util.function.Function;
+
+import static io.github.m4gshm.protobuf.TimestampUtils.toTimestamp;
+import static java.util.Objects.requireNonNullElse;
+import static java.util.Optional.ofNullable;
 import static lombok.AccessLevel.PRIVATE;
+import static reactor.core.publisher.Mono.just;
 
+@Slf4j
 @RequiredArgsConstructor
 @FieldDefaults(makeFinal = true, level = PRIVATE)
 public class ReactiveTwoPhaseCommitServiceGrpcImpl extends
         tpc.v1.TwoPhaseCommitServiceGrpc.TwoPhaseCommitServiceImplBase {
     ReactiveGrpc grpc;
     ReactivePreparedTransactionService transactionService;
+    GrpcExceptionConverter grpcExceptionConverter;
+
+    private static Transaction toTransaction(PreparedTransaction preparedTransaction) {
+        var transaction = Transaction.newBuilder().setId(preparedTransaction.gid());
+        ofNullable(toTimestamp(preparedTransaction.prepared())).ifPresent(transaction::setPrepared);
+        return transaction.build();
+    }
+
+    private Mono<TwoPhaseBatchResponse> newBatchResponse(List<String> ids, Function<String, Mono<Void>> operation) {
+        return Flux.fromIterable(ids).concatMap(id -> {
+            return operation.apply(id)
+                    .thenReturn(TwoPhaseBatchResponse.Result.newBuilder().setId(id).build())
+                    .onErrorResume(e -> {
+                        log.error("batch operation error, transaction {}", id, e);
+                        var status = Status.fromThrowable(grpcExceptionConverter.convertToGrpcStatusException(e));
+                        return just(TwoPhaseBatchResponse.Result.newBuilder()
+                                .setId(id)
+                                .setCode(status.getCode().value())
+                                .setMessage(requireNonNullElse(status.getDescription(), ""))
+                                .build());
+                    });
+        }).collectList().map(results -> TwoPhaseBatchResponse.newBuilder().addAllResults(results).build());
+    }
 
     @Override
     public void commit(TwoPhaseCommitRequest request, StreamObserver<TpcService.TwoPhaseCommitResponse> response) {
@@ -44,9 +84,7 @@ public class ReactiveTwoPhaseCommitServiceGrpcImpl extends
                 () -> transactionService.findAll().map(transactions -> {
                     return TwoPhaseListActivesResponse.newBuilder()
                             .addAllTransactions(transactions.stream()
-                                    .map(t -> Transaction.newBuilder()
-                                            .setId(t.gid())
-                                            .build())
+                                    .map(ReactiveTwoPhaseCommitServiceGrpcImpl::toTransaction)
                                     .toList())
                             .build();
                 })
@@ -65,4 +103,22 @@ public class ReactiveTwoPhaseCommitServiceGrpcImpl extends
                                 .build())
         );
     }
+
+    @Override
+    public void commitBatch(TwoPhaseCommitBatchRequest request, StreamObserver<TwoPhaseBatchResponse> response) {
+        grpc.subscribe(
+                "commitBatch",
+                response,
+                () -> newBatchResponse(request.getIdsList(), transactionService::commit)
+        );
+    }
+
+    @Override
+    public void rollbackBatch(TwoPhaseRollbackBatchRequest request, StreamObserver<TwoPhaseBatchResponse> response) {
+        grpc.subscribe(
+                "rollbackBatch",
+                response,
+                () -> newBatchResponse(request.getIdsList(), transactionService::rollback)
+        );
+    }
 }
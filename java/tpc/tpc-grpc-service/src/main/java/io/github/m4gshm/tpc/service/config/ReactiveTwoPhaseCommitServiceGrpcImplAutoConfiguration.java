@@ -1,5 +1,6 @@
 package io.github.m4gshm.tpc.service.config;
 
+import io.github.m4gshm.GrpcExceptionConverter;
 import io.github.m4gshm.postgres.prepared.transaction.ReactivePreparedTransactionService;
 import io.github.m4gshm.reactive.ReactiveGrpc;
 import io.github.m4gshm.tpc.service.ReactiveTwoPhaseCommitServiceGrpcImpl;
@@ -20,10 +21,11 @@ public class ReactiveTwoPhaseCommitServiceGrpcImplAutoConfiguration {
 
     ReactiveGrpc grpc;
     ReactivePreparedTransactionService transactionService;
+    GrpcExceptionConverter grpcExceptionConverter;
 
     @Bean
     public TwoPhaseCommitServiceImplBase twoPhaseCommitService() {
-        return new ReactiveTwoPhaseCommitServiceGrpcImpl(grpc, transactionService);
+        return new ReactiveTwoPhaseCommitServiceGrpcImpl(grpc, transactionService, grpcExceptionConverter);
     }
 
 }